@@ -28,6 +28,7 @@ import io.cryostat.core.sys.Environment;
 import io.cryostat.discovery.DiscoveryStorage;
 import io.cryostat.messaging.MessagingServer;
 import io.cryostat.net.HttpServer;
+import io.cryostat.net.reports.ReportService;
 import io.cryostat.net.web.WebServer;
 import io.cryostat.recordings.RecordingMetadataManager;
 import io.cryostat.rules.RuleProcessor;
@@ -92,6 +93,10 @@ class Cryostat extends AbstractVerticle {
                         (m) -> {
                             return client.deployer().deploy(client.discoveryStorage(), true);
                         })
+                .compose(
+                        (m) -> {
+                            return client.deployer().deploy(client.reportService(), false);
+                        })
                 .onSuccess(cf -> future.complete())
                 .onFailure(
                         t -> {
@@ -158,6 +163,8 @@ class Cryostat extends AbstractVerticle {
 
         RecordingMetadataManager recordingMetadataManager();
 
+        ReportService reportService();
+
         @Component.Builder
         interface Builder {
             Client build();
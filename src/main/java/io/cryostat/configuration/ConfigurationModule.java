@@ -20,7 +20,7 @@ import java.nio.file.Paths;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
-import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import io.cryostat.core.sys.Environment;
 import io.cryostat.core.sys.FileSystem;
@@ -73,7 +73,7 @@ public abstract class ConfigurationModule {
 
     @Provides
     @Singleton
-    static StoredCredentialsDao provideStoredCredentialsDao(EntityManager em) {
-        return new StoredCredentialsDao(em);
+    static StoredCredentialsDao provideStoredCredentialsDao(EntityManagerFactory emf) {
+        return new StoredCredentialsDao(emf);
     }
 }
@@ -29,6 +29,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
 
 import javax.script.ScriptException;
 
@@ -43,6 +45,8 @@ import io.cryostat.util.URIUtil;
 import io.cryostat.util.events.AbstractEventEmitter;
 import io.cryostat.util.events.EventType;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import dagger.Lazy;
@@ -54,6 +58,9 @@ import org.slf4j.LoggerFactory;
 public class CredentialsManager
         extends AbstractEventEmitter<CredentialsManager.CredentialsEvent, String> {
 
+    // upper bound on the number of targets for which resolved credentials are held in memory
+    static final int RESOLUTION_CACHE_SIZE = 4096;
+
     private final Path credentialsDir;
     private final MatchExpressionValidator matchExpressionValidator;
     private final Lazy<MatchExpressionEvaluator> matchExpressionEvaluator;
@@ -61,6 +68,12 @@ public class CredentialsManager
     private final StoredCredentialsDao dao;
     private final FileSystem fs;
     private final Gson gson;
+    private final LoadingCache<ServiceRef, Optional<StoredCredentials>> resolutionCache;
+    // the stored credentials in order of precedence, loaded on demand. The generation counts
+    // changes to them, so that a list loaded across a change is not kept
+    private final Object storedCredentialsLock = new Object();
+    private List<StoredCredentials> storedCredentials;
+    private long storedCredentialsGeneration;
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     CredentialsManager(
@@ -78,6 +91,46 @@ public class CredentialsManager
         this.dao = dao;
         this.fs = fs;
         this.gson = gson;
+        this.resolutionCache =
+                Caffeine.newBuilder()
+                        .maximumSize(RESOLUTION_CACHE_SIZE)
+                        .build(this::resolveStoredCredentials);
+
+        addListener(
+                event -> {
+                    switch (event.getEventType()) {
+                        case ADDED:
+                            // the new credentials may take precedence for any target
+                            invalidateStoredCredentials();
+                            resolutionCache.invalidateAll();
+                            break;
+                        case REMOVED:
+                            invalidateStoredCredentials();
+                            invalidateResolutions(
+                                    sc ->
+                                            Objects.equals(
+                                                    event.getPayload(), sc.getMatchExpression()));
+                            break;
+                        default:
+                            throw new UnsupportedOperationException(
+                                    event.getEventType().toString());
+                    }
+                });
+        platformClient.addTargetDiscoveryListener(
+                tde -> {
+                    switch (tde.getEventKind()) {
+                        case MODIFIED:
+                        case LOST:
+                            URI connectUrl = tde.getServiceRef().getServiceUri();
+                            resolutionCache
+                                    .asMap()
+                                    .keySet()
+                                    .removeIf(sr -> Objects.equals(connectUrl, sr.getServiceUri()));
+                            break;
+                        default:
+                            break;
+                    }
+                });
     }
 
     // TODO remove after 2.2 release
@@ -163,20 +216,28 @@ public class CredentialsManager
     }
 
     public Credentials getCredentialsByTargetId(String targetId) throws ScriptException {
+        URI in;
         try {
+            in = new URI(targetId);
+        } catch (URISyntaxException use) {
+            // cannot be equal to the connectUrl of any discovered service
+            return null;
+        }
+        for (ServiceRef service : this.platformClient.lookupServicesByConnectUrl(in)) {
+            if (!URIUtil.isJmxUrl(service.getServiceUri())
+                    || Objects.equals(service.getServiceUri().toString(), targetId)) {
+                return getCredentials(service);
+            }
+        }
+        try {
+            // non-JMX services may also be referred to by their connectUrl without userinfo
             for (ServiceRef service : this.platformClient.listDiscoverableServices()) {
                 URI uri = service.getServiceUri();
-                boolean match = false;
-                boolean isJmx = URIUtil.isJmxUrl(uri);
-                if (isJmx) {
-                    match = Objects.equals(uri.toString(), targetId);
-                } else {
-                    URI in = new URI(targetId);
-                    match = Objects.equals(uri, in);
-                    URI userless = new URIBuilder(uri).setUserInfo(null).build();
-                    match |= Objects.equals(userless, in);
+                if (uri.getUserInfo() == null || URIUtil.isJmxUrl(uri)) {
+                    continue;
                 }
-                if (match) {
+                URI userless = new URIBuilder(uri).setUserInfo(null).build();
+                if (Objects.equals(userless, in)) {
                     return getCredentials(service);
                 }
             }
@@ -187,12 +248,55 @@ public class CredentialsManager
     }
 
     public Credentials getCredentials(ServiceRef serviceRef) throws ScriptException {
-        for (StoredCredentials sc : dao.getAll()) {
+        try {
+            return resolutionCache
+                    .get(serviceRef)
+                    .map(StoredCredentials::getCredentials)
+                    .orElse(null);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ScriptException) {
+                throw (ScriptException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Optional<StoredCredentials> resolveStoredCredentials(ServiceRef serviceRef)
+            throws ScriptException {
+        List<StoredCredentials> all;
+        long generation;
+        synchronized (storedCredentialsLock) {
+            all = storedCredentials;
+            generation = storedCredentialsGeneration;
+        }
+        if (all == null) {
+            all = List.copyOf(dao.getAll());
+            synchronized (storedCredentialsLock) {
+                if (generation == storedCredentialsGeneration) {
+                    storedCredentials = all;
+                }
+            }
+        }
+        for (StoredCredentials sc : all) {
             if (matchExpressionEvaluator.get().applies(sc.getMatchExpression(), serviceRef)) {
-                return sc.getCredentials();
+                return Optional.of(sc);
             }
         }
-        return null;
+        return Optional.empty();
+    }
+
+    private void invalidateStoredCredentials() {
+        synchronized (storedCredentialsLock) {
+            storedCredentialsGeneration++;
+            storedCredentials = null;
+        }
+    }
+
+    private void invalidateResolutions(Predicate<StoredCredentials> predicate) {
+        resolutionCache
+                .asMap()
+                .values()
+                .removeIf(resolved -> resolved.filter(predicate).isPresent());
     }
 
     public Collection<ServiceRef> getServiceRefsWithCredentials() throws ScriptException {
@@ -238,10 +342,10 @@ public class CredentialsManager
     }
 
     public boolean delete(int id) {
-        dao.get(id)
-                .map(StoredCredentials::getMatchExpression)
-                .ifPresent(c -> emit(CredentialsEvent.REMOVED, c));
-        return dao.delete(id);
+        Optional<String> matchExpression = dao.get(id).map(StoredCredentials::getMatchExpression);
+        boolean deleted = dao.delete(id);
+        matchExpression.ifPresent(c -> emit(CredentialsEvent.REMOVED, c));
+        return deleted;
     }
 
     public Map<Integer, String> getAll() {
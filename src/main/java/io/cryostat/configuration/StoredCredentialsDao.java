@@ -15,12 +15,12 @@
  */
 package io.cryostat.configuration;
 
-import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import io.cryostat.storage.AbstractDao;
 
 class StoredCredentialsDao extends AbstractDao<Integer, StoredCredentials> {
-    StoredCredentialsDao(EntityManager em) {
-        super(StoredCredentials.class, em);
+    StoredCredentialsDao(EntityManagerFactory emf) {
+        super(StoredCredentials.class, emf);
     }
 }
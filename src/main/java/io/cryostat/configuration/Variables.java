@@ -26,10 +26,13 @@ public final class Variables {
     // report generation
     public static final String REPORT_GENERATOR_ENV = "CRYOSTAT_REPORT_GENERATOR";
     public static final String SUBPROCESS_MAX_HEAP_ENV = "CRYOSTAT_REPORT_GENERATION_MAX_HEAP";
+    public static final String SUBPROCESS_WORKERS_ENV = "CRYOSTAT_REPORT_GENERATION_WORKERS";
     public static final String ACTIVE_REPORTS_CACHE_EXPIRY_ENV =
             "CRYOSTAT_ACTIVE_REPORTS_CACHE_EXPIRY_SECONDS";
     public static final String ACTIVE_REPORTS_CACHE_REFRESH_ENV =
             "CRYOSTAT_ACTIVE_REPORTS_CACHE_REFRESH_SECONDS";
+    public static final String ARCHIVED_REPORTS_CACHE_MAX_SIZE_ENV =
+            "CRYOSTAT_ARCHIVED_REPORTS_CACHE_MAX_SIZE";
 
     // agent configuration
     public static final String PUSH_MAX_FILES_ENV = "CRYOSTAT_PUSH_MAX_FILES";
@@ -58,18 +61,34 @@ public final class Variables {
     public static final String WEBSERVER_SSL_PROXIED = "CRYOSTAT_SSL_PROXIED";
     public static final String WEBSERVER_ALLOW_UNTRUSTED_SSL = "CRYOSTAT_ALLOW_UNTRUSTED_SSL";
     public static final String MAX_CONNECTIONS_ENV_VAR = "CRYOSTAT_MAX_WS_CONNECTIONS";
+    public static final String WS_MAX_QUEUED_MESSAGES = "CRYOSTAT_WS_MAX_QUEUED_MESSAGES";
+    public static final String WS_COALESCE_WINDOW_MS = "CRYOSTAT_WS_COALESCE_WINDOW_MS";
     public static final String ENABLE_CORS_ENV = "CRYOSTAT_CORS_ORIGIN";
     public static final String HTTP_REQUEST_TIMEOUT = "CRYOSTAT_HTTP_REQUEST_TIMEOUT";
+    public static final String HTTP_WORKER_POOL_SIZE = "CRYOSTAT_HTTP_WORKER_POOL_SIZE";
     public static final String DEV_MODE = "CRYOSTAT_DEV_MODE";
 
     // JMX connections configuration
     public static final String TARGET_MAX_CONCURRENT_CONNECTIONS =
             "CRYOSTAT_TARGET_MAX_CONCURRENT_CONNECTIONS";
     public static final String TARGET_CACHE_TTL = "CRYOSTAT_TARGET_CACHE_TTL";
+    public static final String TARGET_KEEPALIVE = "CRYOSTAT_TARGET_KEEPALIVE_SECONDS";
+    public static final String TARGET_TASK_THREADS = "CRYOSTAT_TARGET_TASK_THREADS";
+    public static final String TARGET_MAX_CONCURRENT_TASKS = "CRYOSTAT_TARGET_MAX_CONCURRENT_TASKS";
+    public static final String TARGET_MAX_QUEUED_TASKS = "CRYOSTAT_TARGET_MAX_QUEUED_TASKS";
+    public static final String MAX_QUEUED_TARGET_TASKS = "CRYOSTAT_MAX_QUEUED_TARGET_TASKS";
+    public static final String TARGET_CATALOG_CACHE_TTL =
+            "CRYOSTAT_TARGET_CATALOG_CACHE_TTL_SECONDS";
+    public static final String GRAPHQL_TARGET_PARALLELISM = "CRYOSTAT_GRAPHQL_TARGET_PARALLELISM";
+    public static final String GRAPHQL_WORKER_POOL_SIZE = "CRYOSTAT_GRAPHQL_WORKER_POOL_SIZE";
+    public static final String GRAPHQL_MAX_QUERY_COST = "CRYOSTAT_GRAPHQL_MAX_QUERY_COST";
+    public static final String GRAPHQL_CLIENT_COST_BUDGET = "CRYOSTAT_GRAPHQL_CLIENT_COST_BUDGET";
     public static final String JMX_CONNECTION_TIMEOUT = "CRYOSTAT_JMX_CONNECTION_TIMEOUT_SECONDS";
 
     // paths configuration
     public static final String ARCHIVE_PATH = "CRYOSTAT_ARCHIVE_PATH";
+    public static final String RECORDING_METADATA_FLUSH_INTERVAL_MS_ENV =
+            "CRYOSTAT_RECORDING_METADATA_FLUSH_INTERVAL_MS";
     public static final String CONFIG_PATH = "CRYOSTAT_CONFIG_PATH";
 
     // database configuration
@@ -77,6 +96,10 @@ public final class Variables {
     public static final String JDBC_URL = "CRYOSTAT_JDBC_URL";
     public static final String JDBC_USERNAME = "CRYOSTAT_JDBC_USERNAME";
     public static final String JDBC_PASSWORD = "CRYOSTAT_JDBC_PASSWORD";
+    public static final String JDBC_POOL_SIZE = "CRYOSTAT_JDBC_POOL_SIZE";
+    public static final String JDBC_CONNECTION_TIMEOUT_MS = "CRYOSTAT_JDBC_CONNECTION_TIMEOUT_MS";
+    public static final String JDBC_VALIDATION_TIMEOUT_MS = "CRYOSTAT_JDBC_VALIDATION_TIMEOUT_MS";
+    public static final String JDBC_BATCH_SIZE = "CRYOSTAT_JDBC_BATCH_SIZE";
     public static final String JMX_CREDENTIALS_DB_PASSWORD = "CRYOSTAT_JMX_CREDENTIALS_DB_PASSWORD";
     public static final String HIBERNATE_DIALECT = "CRYOSTAT_HIBERNATE_DIALECT";
     public static final String HBM2DDL = "CRYOSTAT_HBM2DDL";
@@ -22,6 +22,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 
+import io.cryostat.core.net.discovery.JvmDiscoveryClient.EventKind;
 import io.cryostat.messaging.notifications.NotificationFactory;
 import io.cryostat.platform.PlatformClient;
 import io.cryostat.platform.TargetDiscoveryEvent;
@@ -151,6 +152,11 @@ public class BuiltInDiscovery extends AbstractVerticle implements Consumer<Targe
                                         tde.getEventKind(),
                                         "serviceRef",
                                         tde.getServiceRef())))
+                // a later modification of the same target supersedes an earlier one
+                .coalesceKey(
+                        tde.getEventKind() == EventKind.MODIFIED
+                                ? tde.getServiceRef().getServiceUri().toString()
+                                : null)
                 .build()
                 .send();
     }
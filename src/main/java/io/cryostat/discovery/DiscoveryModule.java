@@ -21,7 +21,7 @@ import java.util.concurrent.Executors;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
-import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import io.cryostat.VerticleDeployer;
 import io.cryostat.configuration.CredentialsManager;
@@ -61,8 +61,8 @@ public abstract class DiscoveryModule {
 
     @Provides
     @Singleton
-    static PluginInfoDao providePluginInfoDao(EntityManager em, Gson gson) {
-        return new PluginInfoDao(em, gson);
+    static PluginInfoDao providePluginInfoDao(EntityManagerFactory emf, Gson gson) {
+        return new PluginInfoDao(emf, gson);
     }
 
     @Provides
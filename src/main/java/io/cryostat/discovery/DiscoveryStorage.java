@@ -19,8 +19,8 @@ import java.net.URI;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -89,6 +89,8 @@ public class DiscoveryStorage extends AbstractPlatformClientVerticle {
 
     private final Map<Pair<TargetNode, UUID>, ConnectionAttemptRecord> nonConnectableTargets =
             new ConcurrentHashMap<>();
+    private final DiscoveryTreeIndex index = new DiscoveryTreeIndex();
+    private final Map<UUID, String> contentHashes = new ConcurrentHashMap<>();
 
     public static final String DISCOVERY_STARTUP_ADDRESS = "discovery-startup";
 
@@ -258,9 +260,7 @@ public class DiscoveryStorage extends AbstractPlatformClientVerticle {
                             if (predicate.test(entry.getKey())) {
                                 nonConnectableTargets.remove(entry.getKey());
                                 UUID id = entry.getKey().getValue();
-                                PluginInfo plugin = getById(id).orElseThrow();
-                                EnvironmentNode original =
-                                        gson.fromJson(plugin.getSubtree(), EnvironmentNode.class);
+                                EnvironmentNode original = getSubtree(id).orElseThrow();
                                 update(id, original.getChildren());
                             }
                         } catch (JsonSyntaxException e) {
@@ -410,7 +410,11 @@ public class DiscoveryStorage extends AbstractPlatformClientVerticle {
                                     initial.getLabels(),
                                     Map.of(AnnotationKey.REALM.name(), id.toString())),
                             initial.getChildren());
-            PluginInfo updated = dao.update(id, update);
+            PluginInfo updated;
+            synchronized (index) {
+                updated = dao.update(id, update);
+                index().put(id, update);
+            }
             logger.trace("Discovery Registration: \"{}\" [{}]", realm, id);
             return updated.getId();
         } catch (Exception e) {
@@ -460,72 +464,230 @@ public class DiscoveryStorage extends AbstractPlatformClientVerticle {
         return modifiedChildren;
     }
 
+    /**
+     * @return true if the plugin's most recent full publish had the given content hash and its
+     *     subtree has not been changed by a delta since, so publishing the same content again would
+     *     not change anything
+     */
+    public boolean isUnchanged(UUID id, String contentHash) {
+        if (StringUtils.isBlank(contentHash)) {
+            return false;
+        }
+        String current =
+                contentHashes.computeIfAbsent(
+                        id, k -> dao.get(k).map(PluginInfo::getContentHash).orElse(null));
+        return contentHash.equals(current);
+    }
+
     public List<? extends AbstractNode> update(
             UUID id, Collection<? extends AbstractNode> children) {
+        return update(id, children, false, null);
+    }
+
+    /**
+     * Replace the plugin's subtree contents as {@link #update(UUID, Collection)} does, and record
+     * the hash of the published content the children were parsed from for later {@link
+     * #isUnchanged(UUID, String)} checks.
+     */
+    public List<? extends AbstractNode> update(
+            UUID id, Collection<? extends AbstractNode> children, String contentHash) {
+        return update(id, children, true, contentHash);
+    }
+
+    private List<? extends AbstractNode> update(
+            UUID id,
+            Collection<? extends AbstractNode> children,
+            boolean replaceHash,
+            String contentHash) {
         var updatedChildren =
                 modifyChildrenWithJvmIds(id, Objects.requireNonNull(children, "children"));
 
         PluginInfo plugin = dao.get(id).orElseThrow(() -> new NotFoundException(id));
 
-        EnvironmentNode originalTree = gson.fromJson(plugin.getSubtree(), EnvironmentNode.class);
-        plugin = dao.update(id, updatedChildren);
+        List<ServiceRef> previousRefs;
+        EnvironmentNode currentTree;
+        synchronized (index) {
+            previousRefs = listDiscoverableServices(plugin, id);
+            plugin =
+                    replaceHash
+                            ? dao.update(id, updatedChildren, contentHash)
+                            : dao.update(id, updatedChildren);
+            currentTree = gson.fromJson(plugin.getSubtree(), EnvironmentNode.class);
+            index().put(id, currentTree);
+            if (replaceHash) {
+                putContentHash(id, contentHash);
+            }
+        }
         logger.trace("Discovery Update {} ({}): {}", id, plugin.getRealm(), updatedChildren);
-        EnvironmentNode currentTree = gson.fromJson(plugin.getSubtree(), EnvironmentNode.class);
 
-        List<ServiceRef> previousRefs = getRefsFromLeaves(findLeavesFrom(originalTree));
-        List<ServiceRef> currentRefs = getRefsFromLeaves(findLeavesFrom(currentTree));
+        notifyChanges(previousRefs, getRefsFromLeaves(findLeavesFrom(currentTree)));
+
+        return currentTree.getChildren();
+    }
+
+    /**
+     * Apply a sequence of changes to the plugin's current subtree, rather than replacing it
+     * wholesale. Only the nodes carried by the deltas have their JVM IDs resolved, and the
+     * untouched remainder of the subtree is reused from the in-memory index. The deltas are applied
+     * all-or-nothing: if any of them does not match the current subtree then nothing is persisted.
+     * The recorded content hash is cleared, since the subtree no longer corresponds to any single
+     * full publish.
+     *
+     * @throws IllegalArgumentException if any delta is malformed or does not apply
+     */
+    public List<? extends AbstractNode> applyDelta(UUID id, List<NodeDelta> deltas) {
+        Objects.requireNonNull(deltas, "deltas").forEach(NodeDelta::validate);
+        PluginInfo plugin = dao.get(id).orElseThrow(() -> new NotFoundException(id));
 
-        ServiceRef.compare(previousRefs).to(currentRefs).updated().stream()
-                .forEach(sr -> notifyAsyncTargetDiscovery(EventKind.MODIFIED, sr));
+        List<NodeDelta> resolved = new ArrayList<>(deltas.size());
+        for (NodeDelta delta : deltas) {
+            if (delta.getNode() != null) {
+                delta =
+                        delta.withNode(
+                                modifyChildrenWithJvmIds(id, List.of(delta.getNode())).get(0));
+            }
+            resolved.add(delta);
+        }
 
-        ServiceRef.compare(previousRefs).to(currentRefs).added().stream()
-                .forEach(sr -> notifyAsyncTargetDiscovery(EventKind.FOUND, sr));
+        List<ServiceRef> previousRefs;
+        EnvironmentNode currentTree;
+        synchronized (index) {
+            EnvironmentNode original =
+                    index().getSubtree(id)
+                            .orElseGet(
+                                    () ->
+                                            gson.fromJson(
+                                                    plugin.getSubtree(), EnvironmentNode.class));
+            List<AbstractNode> children = original.getChildren();
+            for (NodeDelta delta : resolved) {
+                children = delta.applyTo(children);
+            }
+            previousRefs = listDiscoverableServices(plugin, id);
+            dao.update(id, children, null);
+            currentTree =
+                    new EnvironmentNode(
+                            original.getName(),
+                            original.getNodeType(),
+                            original.getLabels(),
+                            children);
+            index().put(id, currentTree);
+            putContentHash(id, null);
+        }
+        logger.trace("Discovery Delta {} ({}): {}", id, plugin.getRealm(), resolved);
 
-        ServiceRef.compare(previousRefs).to(currentRefs).removed().stream()
-                .forEach(sr -> notifyAsyncTargetDiscovery(EventKind.LOST, sr));
-        ;
+        notifyChanges(previousRefs, getRefsFromLeaves(findLeavesFrom(currentTree)));
 
         return currentTree.getChildren();
     }
 
+    private void putContentHash(UUID id, String contentHash) {
+        if (contentHash == null) {
+            contentHashes.remove(id);
+        } else {
+            contentHashes.put(id, contentHash);
+        }
+    }
+
+    private void notifyChanges(List<ServiceRef> previousRefs, List<ServiceRef> currentRefs) {
+        ServiceRef.Compare compare = ServiceRef.compare(previousRefs).to(currentRefs);
+
+        compare.updated().forEach(sr -> notifyAsyncTargetDiscovery(EventKind.MODIFIED, sr));
+        compare.added().forEach(sr -> notifyAsyncTargetDiscovery(EventKind.FOUND, sr));
+        compare.removed().forEach(sr -> notifyAsyncTargetDiscovery(EventKind.LOST, sr));
+    }
+
     public PluginInfo deregister(UUID id) {
         PluginInfo plugin = dao.get(id).orElseThrow(() -> new NotFoundException(id));
         deleteStoredCredentials(plugin.getCallback());
-        dao.delete(id);
-        findLeavesFrom(gson.fromJson(plugin.getSubtree(), EnvironmentNode.class)).stream()
-                .map(TargetNode::getTarget)
-                .forEach(sr -> notifyAsyncTargetDiscovery(EventKind.LOST, sr));
+        List<ServiceRef> lost;
+        synchronized (index) {
+            lost = listDiscoverableServices(plugin, id);
+            dao.delete(id);
+            index().remove(id);
+            contentHashes.remove(id);
+        }
+        lost.forEach(sr -> notifyAsyncTargetDiscovery(EventKind.LOST, sr));
         return plugin;
     }
 
-    public EnvironmentNode getDiscoveryTree() {
-        List<EnvironmentNode> realms =
-                dao.getAll().stream()
-                        .map(PluginInfo::getSubtree)
-                        .map(s -> gson.fromJson(s, EnvironmentNode.class))
-                        .sorted((s1, s2) -> s1.compareTo(s2))
-                        .toList();
-        return new EnvironmentNode(
-                "Universe", BaseNodeType.UNIVERSE, Collections.emptyMap(), realms);
+    private DiscoveryTreeIndex index() {
+        if (!index.isLoaded()) {
+            synchronized (index) {
+                if (!index.isLoaded()) {
+                    Map<UUID, EnvironmentNode> subtrees = new LinkedHashMap<>();
+                    dao.getAll()
+                            .forEach(
+                                    plugin ->
+                                            subtrees.put(
+                                                    plugin.getId(),
+                                                    gson.fromJson(
+                                                            plugin.getSubtree(),
+                                                            EnvironmentNode.class)));
+                    index.load(subtrees);
+                }
+            }
+        }
+        return index;
     }
 
-    private List<TargetNode> getLeafNodes() {
-        return findLeavesFrom(getDiscoveryTree());
+    private Optional<EnvironmentNode> getSubtree(UUID id) {
+        Optional<EnvironmentNode> subtree = index().getSubtree(id);
+        if (subtree.isPresent()) {
+            return subtree;
+        }
+        return getById(id).map(plugin -> gson.fromJson(plugin.getSubtree(), EnvironmentNode.class));
+    }
+
+    @Override
+    public EnvironmentNode getDiscoveryTree() {
+        return index().getUniverse();
     }
 
     @Override
     public List<ServiceRef> listDiscoverableServices() {
-        return getLeafNodes().stream().map(TargetNode::getTarget).toList();
+        return index().getServices();
+    }
+
+    @Override
+    public List<ServiceRef> lookupServicesByConnectUrl(URI connectUrl) {
+        return index().getByConnectUrl(connectUrl);
+    }
+
+    @Override
+    public List<ServiceRef> lookupServicesByJvmId(String jvmId) {
+        return index().getByJvmId(jvmId);
+    }
+
+    @Override
+    public boolean contains(ServiceRef ref) {
+        return !lookupServicesByJvmId(ref.getJvmId()).isEmpty()
+                || lookupServicesByConnectUrl(ref.getServiceUri()).contains(ref);
+    }
+
+    public List<ServiceRef> listDiscoverableServicesByRealm(String realm) {
+        DiscoveryTreeIndex idx = index();
+        List<ServiceRef> refs = new ArrayList<>();
+        idx.getByRealm(realm).forEach(id -> refs.addAll(idx.getServices(id)));
+        return refs;
     }
 
     public Optional<PluginInfo> getBuiltInPluginByRealm(String realm) {
-        return dao.getByRealm(realm).stream()
+        return index().getByRealm(realm).stream()
+                .map(dao::get)
+                .flatMap(Optional::stream)
                 .filter(plugin -> plugin.getRealm().equals(realm))
                 .filter(plugin -> Objects.equals(plugin.getCallback(), NO_CALLBACK))
                 .findFirst();
     }
 
     public List<ServiceRef> listDiscoverableServices(PluginInfo plugin) {
+        return listDiscoverableServices(plugin, plugin.getId());
+    }
+
+    private List<ServiceRef> listDiscoverableServices(PluginInfo plugin, UUID id) {
+        if (id != null && index().contains(id)) {
+            return index().getServices(id);
+        }
         return findLeavesFrom(gson.fromJson(plugin.getSubtree(), EnvironmentNode.class)).stream()
                 .map(TargetNode::getTarget)
                 .toList();
@@ -0,0 +1,251 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.discovery;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import io.cryostat.platform.ServiceRef;
+import io.cryostat.platform.discovery.AbstractNode;
+import io.cryostat.platform.discovery.BaseNodeType;
+import io.cryostat.platform.discovery.EnvironmentNode;
+import io.cryostat.platform.discovery.TargetNode;
+
+/**
+ * In-memory materialization of the discovery tree persisted by {@link PluginInfoDao}. Each plugin
+ * registration's subtree is held in its deserialized form, along with secondary indexes from
+ * connectUrl, jvmId and realm name to the discovered {@link ServiceRef}s. {@link DiscoveryStorage}
+ * writes through to this index whenever it modifies the database so that reads never need to query
+ * the database or deserialize JSON.
+ */
+class DiscoveryTreeIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // insertion-ordered so that realms with equal sort order retain a stable position
+    private final Map<UUID, EnvironmentNode> realms = new LinkedHashMap<>();
+    private final Map<UUID, List<ServiceRef>> leaves = new HashMap<>();
+    private final Map<URI, List<ServiceRef>> byConnectUrl = new HashMap<>();
+    private final Map<String, List<ServiceRef>> byJvmId = new HashMap<>();
+    private final Map<String, List<UUID>> byRealm = new HashMap<>();
+
+    private volatile boolean loaded;
+    private volatile EnvironmentNode universe;
+    private volatile List<ServiceRef> services;
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    void load(Map<UUID, EnvironmentNode> subtrees) {
+        lock.writeLock().lock();
+        try {
+            realms.clear();
+            leaves.clear();
+            byConnectUrl.clear();
+            byJvmId.clear();
+            byRealm.clear();
+            subtrees.forEach(this::doPut);
+            invalidate();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void put(UUID id, EnvironmentNode subtree) {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(subtree);
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+            doPut(id, subtree);
+            invalidate();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            doRemove(id);
+            invalidate();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    EnvironmentNode getUniverse() {
+        EnvironmentNode tree = universe;
+        if (tree != null) {
+            return tree;
+        }
+        lock.readLock().lock();
+        try {
+            List<EnvironmentNode> children = new ArrayList<>(realms.values());
+            children.sort((s1, s2) -> s1.compareTo(s2));
+            tree =
+                    new EnvironmentNode(
+                            "Universe", BaseNodeType.UNIVERSE, Collections.emptyMap(), children);
+            universe = tree;
+            return tree;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<ServiceRef> getServices() {
+        List<ServiceRef> list = services;
+        if (list != null) {
+            return list;
+        }
+        lock.readLock().lock();
+        try {
+            List<ServiceRef> all = new ArrayList<>();
+            leaves.values().forEach(all::addAll);
+            list = Collections.unmodifiableList(all);
+            services = list;
+            return list;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean contains(UUID id) {
+        lock.readLock().lock();
+        try {
+            return realms.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Optional<EnvironmentNode> getSubtree(UUID id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(realms.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<ServiceRef> getServices(UUID id) {
+        return read(leaves, id);
+    }
+
+    List<ServiceRef> getByConnectUrl(URI connectUrl) {
+        return read(byConnectUrl, connectUrl);
+    }
+
+    List<ServiceRef> getByJvmId(String jvmId) {
+        return read(byJvmId, jvmId);
+    }
+
+    List<UUID> getByRealm(String realm) {
+        return read(byRealm, realm);
+    }
+
+    private <K, V> List<V> read(Map<K, List<V>> index, K key) {
+        if (key == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<V> values = index.get(key);
+            return values == null ? List.of() : List.copyOf(values);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void doPut(UUID id, EnvironmentNode subtree) {
+        List<ServiceRef> refs = new ArrayList<>();
+        collectLeaves(subtree, refs);
+        realms.put(id, subtree);
+        leaves.put(id, refs);
+        for (ServiceRef ref : refs) {
+            index(byConnectUrl, ref.getServiceUri(), ref);
+            index(byJvmId, ref.getJvmId(), ref);
+        }
+        index(byRealm, subtree.getName(), id);
+    }
+
+    private void doRemove(UUID id) {
+        unindex(id);
+        realms.remove(id);
+    }
+
+    private void unindex(UUID id) {
+        EnvironmentNode subtree = realms.get(id);
+        List<ServiceRef> refs = leaves.remove(id);
+        if (refs != null) {
+            for (ServiceRef ref : refs) {
+                unindex(byConnectUrl, ref.getServiceUri(), ref);
+                unindex(byJvmId, ref.getJvmId(), ref);
+            }
+        }
+        if (subtree != null) {
+            unindex(byRealm, subtree.getName(), id);
+        }
+    }
+
+    private void invalidate() {
+        universe = null;
+        services = null;
+    }
+
+    private static <K, V> void index(Map<K, List<V>> index, K key, V value) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+    }
+
+    private static <K, V> void unindex(Map<K, List<V>> index, K key, V value) {
+        if (key == null) {
+            return;
+        }
+        List<V> values = index.get(key);
+        if (values == null) {
+            return;
+        }
+        // identity comparison since ServiceRef is mutable and its equality may have drifted
+        values.removeIf(v -> v == value);
+        if (values.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static void collectLeaves(AbstractNode node, List<ServiceRef> refs) {
+        if (node instanceof TargetNode) {
+            refs.add(((TargetNode) node).getTarget());
+        } else if (node instanceof EnvironmentNode) {
+            ((EnvironmentNode) node).getChildren().forEach(child -> collectLeaves(child, refs));
+        } else {
+            throw new IllegalArgumentException(node.getClass().getCanonicalName());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.discovery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import io.cryostat.platform.discovery.AbstractNode;
+import io.cryostat.platform.discovery.EnvironmentNode;
+
+/**
+ * A single change to a discovery plugin's published subtree. The {@code path} lists the names of
+ * the {@link EnvironmentNode}s leading from the plugin's REALM node down to the parent of the node
+ * being changed, so an empty path addresses the REALM's direct children. {@code ADD} inserts {@code
+ * node} under that parent ({@code name} may be omitted, but must otherwise match {@code node}'s own
+ * name), {@code MODIFY} replaces the child named {@code name} (or {@code node}'s own name if {@code
+ * name} is omitted) with {@code node}, and {@code REMOVE} drops the child named {@code name} along
+ * with all of its descendants.
+ */
+public class NodeDelta {
+
+    public enum Operation {
+        ADD,
+        MODIFY,
+        REMOVE,
+    }
+
+    private final Operation op;
+    private final List<String> path;
+    private final String name;
+    private final AbstractNode node;
+
+    public NodeDelta(Operation op, List<String> path, String name, AbstractNode node) {
+        this.op = op;
+        this.path = path == null ? null : new ArrayList<>(path);
+        this.name = name;
+        this.node = node;
+    }
+
+    public Operation getOp() {
+        return op;
+    }
+
+    public List<String> getPath() {
+        return path == null ? List.of() : Collections.unmodifiableList(path);
+    }
+
+    public String getName() {
+        if (name == null && node != null) {
+            return node.getName();
+        }
+        return name;
+    }
+
+    public AbstractNode getNode() {
+        return node;
+    }
+
+    NodeDelta withNode(AbstractNode node) {
+        return new NodeDelta(op, path, name, node);
+    }
+
+    /**
+     * Check that this delta carries the fields its operation requires. Deltas are deserialized from
+     * plugin requests, so this is performed before any of them are applied.
+     *
+     * @throws IllegalArgumentException if a required field is missing
+     */
+    void validate() {
+        if (op == null) {
+            throw new IllegalArgumentException("\"op\" is required");
+        }
+        if (getPath().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("path must not contain null elements");
+        }
+        switch (op) {
+            case ADD:
+                requireField(node, "node");
+                if (name != null && !name.equals(node.getName())) {
+                    throw new IllegalArgumentException(
+                            String.format(
+                                    "\"name\" %s does not match the added node's name %s",
+                                    name, node.getName()));
+                }
+                break;
+            case MODIFY:
+                requireField(node, "node");
+                break;
+            case REMOVE:
+                requireField(name, "name");
+                break;
+            default:
+                throw new IllegalArgumentException(op.name());
+        }
+    }
+
+    /**
+     * @return a copy of {@code children} with this delta applied. Only the nodes along {@code path}
+     *     are copied, the rest of the tree is shared with the input.
+     * @throws IllegalArgumentException if the path or the named child does not exist, if a name is
+     *     ambiguous, or if an added or modified node's name is already taken by a sibling
+     */
+    List<AbstractNode> applyTo(Collection<? extends AbstractNode> children) {
+        return applyTo(children, 0);
+    }
+
+    private List<AbstractNode> applyTo(Collection<? extends AbstractNode> children, int depth) {
+        List<AbstractNode> result = new ArrayList<>(children);
+        List<String> path = getPath();
+        if (depth < path.size()) {
+            int idx = indexOf(result, path.get(depth));
+            if (idx < 0 || !(result.get(idx) instanceof EnvironmentNode)) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "No such environment node: %s",
+                                String.join("/", path.subList(0, depth + 1))));
+            }
+            EnvironmentNode parent = (EnvironmentNode) result.get(idx);
+            result.set(
+                    idx,
+                    new EnvironmentNode(
+                            parent.getName(),
+                            parent.getNodeType(),
+                            parent.getLabels(),
+                            applyTo(parent.getChildren(), depth + 1)));
+            return result;
+        }
+
+        int idx = indexOf(result, getName());
+        switch (op) {
+            case ADD:
+                requireNameFree(result, -1);
+                result.add(node);
+                break;
+            case MODIFY:
+                requireFound(idx);
+                requireNameFree(result, idx);
+                result.set(idx, node);
+                break;
+            case REMOVE:
+                requireFound(idx);
+                result.remove(idx);
+                break;
+            default:
+                throw new IllegalArgumentException(op.name());
+        }
+        return result;
+    }
+
+    private void requireField(Object value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException(
+                    String.format("\"%s\" is required for %s", field, op));
+        }
+    }
+
+    private void requireFound(int idx) {
+        if (idx < 0) {
+            throw new IllegalArgumentException(String.format("No such node: %s", getName()));
+        }
+    }
+
+    // the node being inserted must not share its name with any sibling other than the one it
+    // replaces
+    private void requireNameFree(List<AbstractNode> siblings, int replacedIdx) {
+        int idx = indexOf(siblings, node.getName());
+        if (idx >= 0 && idx != replacedIdx) {
+            throw new IllegalArgumentException(
+                    String.format("Node already exists: %s", node.getName()));
+        }
+    }
+
+    private static int indexOf(List<AbstractNode> nodes, String name) {
+        int found = -1;
+        for (int i = 0; i < nodes.size(); i++) {
+            if (Objects.equals(name, nodes.get(i).getName())) {
+                if (found >= 0) {
+                    throw new IllegalArgumentException(
+                            String.format("Ambiguous node name: %s", name));
+                }
+                found = i;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s/%s", op, String.join("/", getPath()), getName());
+    }
+}
@@ -51,6 +51,9 @@ public class PluginInfo {
     @Column(nullable = false, columnDefinition = "jsonb")
     private String subtree;
 
+    @Column(nullable = true)
+    private String contentHash;
+
     PluginInfo() {}
 
     PluginInfo(String realm, URI callback, String subtree) {
@@ -75,6 +78,10 @@ public class PluginInfo {
         return subtree;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
     public void setId(UUID id) {
         this.id = Objects.requireNonNull(id);
     }
@@ -91,9 +98,13 @@ public class PluginInfo {
         this.subtree = Objects.requireNonNull(subtree);
     }
 
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(callback, id, realm, subtree);
+        return Objects.hash(callback, id, realm, subtree, contentHash);
     }
 
     @Override
@@ -111,6 +122,7 @@ public class PluginInfo {
         return Objects.equals(callback, other.callback)
                 && Objects.equals(id, other.id)
                 && Objects.equals(realm, other.realm)
-                && Objects.equals(subtree, other.subtree);
+                && Objects.equals(subtree, other.subtree)
+                && Objects.equals(contentHash, other.contentHash);
     }
 }
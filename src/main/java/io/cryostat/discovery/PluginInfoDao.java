@@ -23,7 +23,7 @@ import java.util.Objects;
 import java.util.UUID;
 
 import javax.persistence.EntityManager;
-import javax.persistence.EntityTransaction;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -39,93 +39,101 @@ class PluginInfoDao extends AbstractDao<UUID, PluginInfo> {
 
     private final Gson gson;
 
-    PluginInfoDao(EntityManager em, Gson gson) {
-        super(PluginInfo.class, em);
+    PluginInfoDao(EntityManagerFactory emf, Gson gson) {
+        super(PluginInfo.class, emf);
         this.gson = gson;
     }
 
     public final PluginInfo save(String realm, URI callback, EnvironmentNode subtree) {
-        synchronized (entityManager) {
-            Objects.requireNonNull(realm);
-            Objects.requireNonNull(subtree);
-            return super.save(new PluginInfo(realm, callback, gson.toJson(subtree)));
-        }
+        Objects.requireNonNull(realm);
+        Objects.requireNonNull(subtree);
+        return super.save(new PluginInfo(realm, callback, gson.toJson(subtree)));
     }
 
     public final List<PluginInfo> getByRealm(String realm) {
-        synchronized (entityManager) {
-            Objects.requireNonNull(realm);
-
-            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-            CriteriaQuery<PluginInfo> cq = cb.createQuery(klazz);
-            Root<PluginInfo> rootEntry = cq.from(klazz);
-            CriteriaQuery<PluginInfo> all = cq.select(rootEntry);
-            CriteriaQuery<PluginInfo> withRealm =
-                    all.where(cb.equal(rootEntry.get("realm"), realm));
-            TypedQuery<PluginInfo> realmQuery = entityManager.createQuery(withRealm);
-
-            return realmQuery.getResultList();
-        }
+        Objects.requireNonNull(realm);
+        return read(
+                entityManager -> {
+                    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                    CriteriaQuery<PluginInfo> cq = cb.createQuery(klazz);
+                    Root<PluginInfo> rootEntry = cq.from(klazz);
+                    CriteriaQuery<PluginInfo> all = cq.select(rootEntry);
+                    CriteriaQuery<PluginInfo> withRealm =
+                            all.where(cb.equal(rootEntry.get("realm"), realm));
+                    TypedQuery<PluginInfo> realmQuery = entityManager.createQuery(withRealm);
+
+                    return realmQuery.getResultList();
+                });
     }
 
     public final PluginInfo update(UUID id, EnvironmentNode subtree) {
-        synchronized (entityManager) {
-            Objects.requireNonNull(id);
-            Objects.requireNonNull(subtree);
-            EntityTransaction transaction = entityManager.getTransaction();
-            try {
-                PluginInfo plugin =
-                        get(id).orElseThrow(() -> new NoSuchElementException(id.toString()));
-
-                transaction.begin();
-                plugin.setSubtree(gson.toJson(subtree));
-                entityManager.merge(plugin);
-                transaction.commit();
-                entityManager.detach(plugin);
-
-                return plugin;
-            } catch (Exception e) {
-                if (transaction != null) {
-                    transaction.rollback();
-                }
-                logger.error("Update exception", e);
-                throw e;
-            }
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(subtree);
+        String json = gson.toJson(subtree);
+        try {
+            return write(
+                    entityManager -> {
+                        PluginInfo plugin = find(entityManager, id);
+                        plugin.setSubtree(json);
+                        return plugin;
+                    });
+        } catch (RuntimeException e) {
+            logger.error("Update exception", e);
+            throw e;
         }
     }
 
     public final PluginInfo update(UUID id, Collection<? extends AbstractNode> children) {
-        synchronized (entityManager) {
-            Objects.requireNonNull(id);
-            Objects.requireNonNull(children);
-            EntityTransaction transaction = entityManager.getTransaction();
-            try {
-                PluginInfo plugin =
-                        get(id).orElseThrow(() -> new NoSuchElementException(id.toString()));
-                EnvironmentNode original =
-                        gson.fromJson(plugin.getSubtree(), EnvironmentNode.class);
-
-                EnvironmentNode subtree =
-                        new EnvironmentNode(
-                                original.getName(),
-                                original.getNodeType(),
-                                original.getLabels(),
-                                children);
-
-                transaction.begin();
-                plugin.setSubtree(gson.toJson(subtree));
-                entityManager.merge(plugin);
-                transaction.commit();
-                entityManager.detach(plugin);
-
-                return plugin;
-            } catch (Exception e) {
-                if (transaction != null) {
-                    transaction.rollback();
-                }
-                logger.error("Update exception", e);
-                throw e;
-            }
+        return update(id, children, false, null);
+    }
+
+    /**
+     * Replace the plugin's published children and record the hash of the content they were
+     * published from, or clear the recorded hash if {@code contentHash} is null.
+     */
+    public final PluginInfo update(
+            UUID id, Collection<? extends AbstractNode> children, String contentHash) {
+        return update(id, children, true, contentHash);
+    }
+
+    private PluginInfo update(
+            UUID id,
+            Collection<? extends AbstractNode> children,
+            boolean replaceHash,
+            String contentHash) {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(children);
+        try {
+            return write(
+                    entityManager -> {
+                        PluginInfo plugin = find(entityManager, id);
+                        if (replaceHash) {
+                            plugin.setContentHash(contentHash);
+                        }
+                        EnvironmentNode original =
+                                gson.fromJson(plugin.getSubtree(), EnvironmentNode.class);
+
+                        EnvironmentNode subtree =
+                                new EnvironmentNode(
+                                        original.getName(),
+                                        original.getNodeType(),
+                                        original.getLabels(),
+                                        children);
+
+                        plugin.setSubtree(gson.toJson(subtree));
+                        return plugin;
+                    });
+        } catch (RuntimeException e) {
+            logger.error("Update exception", e);
+            throw e;
+        }
+    }
+
+    private PluginInfo find(EntityManager entityManager, UUID id) {
+        PluginInfo plugin = entityManager.find(klazz, id);
+        if (plugin == null) {
+            throw new NoSuchElementException(id.toString());
         }
+        return plugin;
     }
 }
@@ -43,6 +43,8 @@ import org.slf4j.LoggerFactory;
 public abstract class MessagingModule {
 
     static final String WS_MAX_CONNECTIONS = "WS_MAX_CONNECTIONS";
+    static final String WS_MAX_QUEUED_MESSAGES = "WS_MAX_QUEUED_MESSAGES";
+    static final String WS_COALESCE_WINDOW_MS = "WS_COALESCE_WINDOW_MS";
     private static final Logger logger = LoggerFactory.getLogger(MessagingModule.class);
 
     @Provides
@@ -54,10 +56,21 @@ public abstract class MessagingModule {
             AuthManager authManager,
             NotificationFactory notificationFactory,
             @Named(WS_MAX_CONNECTIONS) int maxConnections,
+            @Named(WS_MAX_QUEUED_MESSAGES) int maxQueuedMessages,
+            @Named(WS_COALESCE_WINDOW_MS) long coalesceWindowMs,
             Clock clock,
             Gson gson) {
         return new MessagingServer(
-                vertx, server, env, authManager, notificationFactory, maxConnections, clock, gson);
+                vertx,
+                server,
+                env,
+                authManager,
+                notificationFactory,
+                maxConnections,
+                maxQueuedMessages,
+                coalesceWindowMs,
+                clock,
+                gson);
     }
 
     @Binds
@@ -84,4 +97,31 @@ public abstract class MessagingModule {
             return Integer.MAX_VALUE;
         }
     }
+
+    @Provides
+    @Named(WS_MAX_QUEUED_MESSAGES)
+    static int provideWebSocketMaxQueuedMessages(Environment env) {
+        try {
+            int count = Integer.parseInt(env.getEnv(Variables.WS_MAX_QUEUED_MESSAGES, "256"));
+            if (count <= 0) {
+                logger.warn("{} was set to {} - ignoring", Variables.WS_MAX_QUEUED_MESSAGES, count);
+                count = 256;
+            }
+            return count;
+        } catch (NumberFormatException nfe) {
+            logger.warn("Max WS queued messages exception", nfe);
+            return 256;
+        }
+    }
+
+    @Provides
+    @Named(WS_COALESCE_WINDOW_MS)
+    static long provideWebSocketCoalesceWindow(Environment env) {
+        try {
+            return Math.max(0, Long.parseLong(env.getEnv(Variables.WS_COALESCE_WINDOW_MS, "0")));
+        } catch (NumberFormatException nfe) {
+            logger.warn("WS coalesce window exception", nfe);
+            return 0;
+        }
+    }
 }
@@ -18,13 +18,18 @@ package io.cryostat.messaging;
 import java.io.IOException;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import javax.inject.Named;
 
@@ -40,6 +45,7 @@ import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.HttpMimeType;
 
 import com.google.gson.Gson;
+import io.netty.handler.codec.http.QueryStringDecoder;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Vertx;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -49,12 +55,18 @@ import org.slf4j.LoggerFactory;
 public class MessagingServer extends AbstractVerticle
         implements AutoCloseable, NotificationListener {
 
+    static final String CATEGORIES_QUERY_PARAM = "categories";
+
     private final Set<WsClient> connections;
     private final HttpServer server;
     private final AuthManager authManager;
     private final NotificationFactory notificationFactory;
     private final Clock clock;
     private final int maxConnections;
+    private final int maxQueuedMessages;
+    private final long coalesceWindowMs;
+    // notification category -> coalesce key -> latest notification awaiting the end of its window
+    private final Map<String, Map<String, Notification<?>>> coalescing = new HashMap<>();
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final Gson gson;
 
@@ -68,6 +80,8 @@ public class MessagingServer extends AbstractVerticle
             AuthManager authManager,
             NotificationFactory notificationFactory,
             @Named(MessagingModule.WS_MAX_CONNECTIONS) int maxConnections,
+            @Named(MessagingModule.WS_MAX_QUEUED_MESSAGES) int maxQueuedMessages,
+            @Named(MessagingModule.WS_COALESCE_WINDOW_MS) long coalesceWindowMs,
             Clock clock,
             Gson gson) {
         this.vertx = vertx;
@@ -76,6 +90,8 @@ public class MessagingServer extends AbstractVerticle
         this.authManager = authManager;
         this.notificationFactory = notificationFactory;
         this.maxConnections = maxConnections;
+        this.maxQueuedMessages = maxQueuedMessages;
+        this.coalesceWindowMs = coalesceWindowMs;
         this.clock = clock;
         this.gson = gson;
         this.pingTasks = new ConcurrentHashMap<>();
@@ -84,6 +100,7 @@ public class MessagingServer extends AbstractVerticle
     @Override
     public void start() throws SocketException, UnknownHostException {
         logger.info("Max concurrent WebSocket connections: {}", maxConnections);
+        logger.info("Max queued WebSocket messages per client: {}", maxQueuedMessages);
 
         prunerTaskId =
                 this.vertx.setPeriodic(TimeUnit.SECONDS.toMillis(1), id -> this.pruneConnections());
@@ -111,7 +128,9 @@ public class MessagingServer extends AbstractVerticle
                     }
                     logger.info("Connected remote client {}", remoteAddress);
 
-                    WsClient wsc = new WsClient(sws, clock);
+                    WsClient wsc =
+                            new WsClient(
+                                    sws, clock, parseCategories(sws.query()), maxQueuedMessages);
                     sws.closeHandler((unused) -> removeConnection(wsc));
                     sws.textMessageHandler(
                             msg -> {
@@ -200,11 +219,47 @@ public class MessagingServer extends AbstractVerticle
 
     @Override
     public void onNotification(Notification notification) {
+        String category = notification.getCategory();
+        String coalesceKey = notification.getCoalesceKey();
+        if (coalesceWindowMs > 0 && coalesceKey != null) {
+            boolean startWindow;
+            synchronized (coalescing) {
+                Map<String, Notification<?>> pending =
+                        coalescing.computeIfAbsent(category, k -> new LinkedHashMap<>());
+                startWindow = pending.isEmpty();
+                pending.put(coalesceKey, notification);
+            }
+            if (startWindow) {
+                vertx.setTimer(coalesceWindowMs, id -> flushCoalesced(category));
+            }
+            return;
+        }
+        // send any coalesced notifications of the same category first, so that clients still
+        // receive the category's notifications in order
+        flushCoalesced(category);
+        publish(notification);
+    }
+
+    private void flushCoalesced(String category) {
+        Map<String, Notification<?>> pending;
+        synchronized (coalescing) {
+            pending = coalescing.remove(category);
+        }
+        if (pending != null) {
+            pending.values().forEach(this::publish);
+        }
+    }
+
+    private void publish(Notification<?> notification) {
+        String category = notification.getCategory();
+        if (getRecipients(category).isEmpty()) {
+            return;
+        }
         getVertx()
                 .executeBlocking(
                         promise -> {
                             try {
-                                writeMessage(notification);
+                                writeMessage(category, notification);
                             } finally {
                                 promise.complete();
                             }
@@ -212,11 +267,42 @@ public class MessagingServer extends AbstractVerticle
     }
 
     void writeMessage(Object message) {
+        writeMessage(null, message);
+    }
+
+    /**
+     * Serialize the message once and queue it to each accepted client subscribed to the category.
+     * Slow clients do not hold up the others, since queueing a message does not wait for it to be
+     * written.
+     */
+    void writeMessage(String category, Object message) {
+        List<WsClient> recipients = getRecipients(category);
+        if (recipients.isEmpty()) {
+            return;
+        }
         String json = gson.toJson(message);
-        logger.info("Outgoing WS message: {}", json);
+        logger.debug("Outgoing WS message: {}", json);
+        recipients.forEach(c -> c.writeMessage(json));
+    }
+
+    private List<WsClient> getRecipients(String category) {
         synchronized (connections) {
-            connections.forEach(c -> c.writeMessage(json));
+            return connections.stream()
+                    .filter(c -> c.isAccepted() && c.isSubscribed(category))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static Set<String> parseCategories(String query) {
+        if (query == null) {
+            return Set.of();
         }
+        return new QueryStringDecoder(query, false)
+                .parameters().getOrDefault(CATEGORIES_QUERY_PARAM, List.of()).stream()
+                        .flatMap(v -> Arrays.stream(v.split(",")))
+                        .map(String::trim)
+                        .filter(c -> !c.isEmpty())
+                        .collect(Collectors.toSet());
     }
 
     @Override
@@ -15,6 +15,10 @@
  */
 package io.cryostat.messaging;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
 import io.cryostat.core.sys.Clock;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -32,12 +36,24 @@ class WsClient implements AutoCloseable {
 
     private final ServerWebSocket sws;
     private final long connectionTime;
+    private final Set<String> categories;
+    private final int maxQueuedMessages;
+    private final Deque<String> queue = new ArrayDeque<>();
+    private long droppedMessages;
     private volatile boolean isAccepted;
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    WsClient(ServerWebSocket sws, Clock clock) {
+    /**
+     * @param categories the notification categories this client is subscribed to, or empty to
+     *     subscribe to all categories
+     * @param maxQueuedMessages the maximum number of messages held for this client while its
+     *     connection's write queue is full. Beyond this the oldest queued messages are dropped.
+     */
+    WsClient(ServerWebSocket sws, Clock clock, Set<String> categories, int maxQueuedMessages) {
         this.sws = sws;
         this.connectionTime = clock.getMonotonicTime();
+        this.categories = Set.copyOf(categories);
+        this.maxQueuedMessages = Math.max(1, maxQueuedMessages);
     }
 
     void setAccepted() {
@@ -52,8 +68,57 @@ class WsClient implements AutoCloseable {
         return connectionTime;
     }
 
+    /**
+     * @param category the notification category of a message, or null for messages outside of any
+     *     category, which every client receives
+     */
+    boolean isSubscribed(String category) {
+        return category == null || categories.isEmpty() || categories.contains(category);
+    }
+
+    /**
+     * Queue the message to be written to the client once the connection's write queue has room.
+     * This does not block if the client is slow to read its messages.
+     */
     void writeMessage(String message) {
-        if (isAccepted() && !this.sws.isClosed()) {
+        if (!isAccepted() || this.sws.isClosed()) {
+            return;
+        }
+        synchronized (queue) {
+            queue.add(message);
+            if (queue.size() > maxQueuedMessages) {
+                queue.remove();
+                if (droppedMessages++ == 0) {
+                    logger.warn(
+                            "Remote client {} is not keeping up, dropping its oldest messages",
+                            getRemoteAddress());
+                }
+            }
+        }
+        drain();
+    }
+
+    long getDroppedMessages() {
+        synchronized (queue) {
+            return droppedMessages;
+        }
+    }
+
+    private void drain() {
+        // writes do not block, so hold the lock while writing to keep messages in order
+        synchronized (queue) {
+            while (!queue.isEmpty()) {
+                if (sws.writeQueueFull()) {
+                    sws.drainHandler(v -> drain());
+                    return;
+                }
+                write(queue.remove());
+            }
+        }
+    }
+
+    private void write(String message) {
+        if (!this.sws.isClosed()) {
             WsMessageEmitted evt =
                     new WsMessageEmitted(
                             sws.remoteAddress().host(),
@@ -23,6 +23,7 @@ import io.cryostat.net.web.http.HttpMimeType;
 public class Notification<T> {
 
     private final transient NotificationSource source;
+    private final transient String coalesceKey;
 
     private final Notification.Meta meta;
     private final T message;
@@ -31,6 +32,7 @@ public class Notification<T> {
         this.source = builder.source;
         this.meta = new Meta(builder.category, builder.type);
         this.message = builder.message;
+        this.coalesceKey = builder.coalesceKey;
     }
 
     public void send() {
@@ -45,11 +47,21 @@ public class Notification<T> {
         return this.meta.category;
     }
 
+    /**
+     * @return the key identifying what this notification describes, such that a later notification
+     *     of the same category and key supersedes this one, or null if this notification must
+     *     always be delivered
+     */
+    public String getCoalesceKey() {
+        return this.coalesceKey;
+    }
+
     public static class Builder<T> {
         private final NotificationSource source;
         private String category = "generic";
         private MetaType type = new MetaType(HttpMimeType.JSON);
         private T message;
+        private String coalesceKey;
 
         Builder(NotificationSource source) {
             this.source = source;
@@ -80,6 +92,15 @@ public class Notification<T> {
             return this;
         }
 
+        /**
+         * Mark the notification as superseding any earlier one of the same category and key, so
+         * that notifications sent in quick succession may be coalesced into the latest one.
+         */
+        public Builder<T> coalesceKey(String key) {
+            this.coalesceKey = key;
+            return this;
+        }
+
         public Notification<T> build() {
             return new Notification<>(this);
         }
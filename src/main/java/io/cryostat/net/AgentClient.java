@@ -15,8 +15,11 @@
  */
 package io.cryostat.net;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -25,6 +28,8 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.script.ScriptException;
 
@@ -46,12 +51,21 @@ import io.cryostat.core.net.MBeanMetrics;
 import io.cryostat.core.serialization.SerializableRecordingDescriptor;
 import io.cryostat.net.AgentJFRService.StartRecordingRequest;
 import io.cryostat.util.HttpStatusCodeIdentifier;
+import io.cryostat.util.WriteStreamToInputStream;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.authentication.UsernamePasswordCredentials;
@@ -68,10 +82,14 @@ import org.slf4j.LoggerFactory;
 
 public class AgentClient {
     public static final String NULL_CREDENTIALS = "No credentials found for agent";
+    // maximum amount of a streamed recording held in memory before the transfer is paused
+    static final long STREAM_BUFFER_BYTES = 1024 * 1024;
 
     private final ExecutorService executor;
     private final Gson gson;
     private final long httpTimeout;
+    private final Vertx vertx;
+    private final HttpClient httpClient;
     private final WebClient webClient;
     private final CredentialsManager credentialsManager;
     private final URI agentUri;
@@ -81,12 +99,16 @@ public class AgentClient {
             ExecutorService executor,
             Gson gson,
             long httpTimeout,
+            Vertx vertx,
+            HttpClient httpClient,
             WebClient webClient,
             CredentialsManager credentialsManager,
             URI agentUri) {
         this.executor = executor;
         this.gson = gson;
         this.httpTimeout = httpTimeout;
+        this.vertx = vertx;
+        this.httpClient = httpClient;
         this.webClient = webClient;
         this.credentialsManager = credentialsManager;
         this.agentUri = agentUri;
@@ -192,21 +214,103 @@ public class AgentClient {
                 });
     }
 
-    Future<Buffer> openStream(long id) {
-        Future<HttpResponse<Buffer>> f =
-                invoke(HttpMethod.GET, "/recordings/" + id, BodyCodec.buffer());
-        return f.map(
-                resp -> {
-                    int statusCode = resp.statusCode();
-                    if (HttpStatusCodeIdentifier.isSuccessCode(statusCode)) {
-                        return resp.body();
-                    } else if (statusCode == 403) {
-                        throw new AuthorizationErrorException(
-                                new UnsupportedOperationException("openStream"));
-                    } else {
-                        throw new AgentApiException(statusCode);
-                    }
-                });
+    /**
+     * Stream the recording data from the agent. The response body is piped into the returned {@link
+     * InputStream} with backpressure as it is read, rather than buffered in memory in full.
+     */
+    Future<InputStream> openStream(long id) {
+        return Future.fromCompletionStage(
+                        CompletableFuture.supplyAsync(
+                                () ->
+                                        new RequestOptions()
+                                                .setMethod(HttpMethod.GET)
+                                                .setHost(agentUri.getHost())
+                                                .setPort(agentUri.getPort())
+                                                .setURI("/recordings/" + id)
+                                                .setSsl("https".equals(agentUri.getScheme()))
+                                                .setFollowRedirects(true)
+                                                .putHeader(
+                                                        HttpHeaders.AUTHORIZATION,
+                                                        basicAuthorization(getCredentials())),
+                                executor))
+                .compose(httpClient::request)
+                .compose(this::openStream);
+    }
+
+    private Future<InputStream> openStream(HttpClientRequest request) {
+        logger.info("{} {} {}", request.getMethod(), agentUri, request.getURI());
+        // only time out the wait for the response. The body is transferred at the reader's pace,
+        // which may stall for longer than the timeout without the transfer being stuck
+        Promise<HttpClientResponse> response = Promise.promise();
+        long timer =
+                vertx.setTimer(
+                        Duration.ofSeconds(httpTimeout).toMillis(),
+                        t -> {
+                            if (response.tryFail(
+                                    new TimeoutException(
+                                            "No response from "
+                                                    + agentUri
+                                                    + " within "
+                                                    + httpTimeout
+                                                    + "s"))) {
+                                request.reset();
+                            }
+                        });
+        request.send()
+                .onComplete(
+                        ar -> {
+                            vertx.cancelTimer(timer);
+                            if (ar.succeeded()) {
+                                response.tryComplete(ar.result());
+                            } else {
+                                response.tryFail(ar.cause());
+                            }
+                        });
+        return response.future()
+                .compose(
+                        resp -> {
+                            if (!HttpStatusCodeIdentifier.isSuccessCode(resp.statusCode())) {
+                                request.reset();
+                                return Future.failedFuture(openStreamError(resp.statusCode()));
+                            }
+                            return Future.succeededFuture(pipeToStream(request, resp));
+                        });
+    }
+
+    @SuppressFBWarnings(
+            value = "OS_OPEN_STREAM",
+            justification = "The caller owns and closes the returned stream")
+    private InputStream pipeToStream(HttpClientRequest request, HttpClientResponse resp) {
+        AtomicBoolean closed = new AtomicBoolean();
+        WriteStreamToInputStream stream =
+                new WriteStreamToInputStream(STREAM_BUFFER_BYTES)
+                        .closeHandler(
+                                v -> {
+                                    // stop the agent sending the rest of the recording rather
+                                    // than draining it
+                                    closed.set(true);
+                                    request.reset();
+                                });
+        resp.pipe()
+                .endOnFailure(false)
+                .to(
+                        stream,
+                        ar -> {
+                            if (ar.failed()) {
+                                if (!closed.get()) {
+                                    logger.error("Remote recording stream exception", ar.cause());
+                                }
+                                stream.fail(ar.cause());
+                            }
+                        });
+        return stream;
+    }
+
+    private static RuntimeException openStreamError(int statusCode) {
+        if (statusCode == 403) {
+            return new AuthorizationErrorException(new UnsupportedOperationException("openStream"));
+        }
+        return new AgentApiException(statusCode);
     }
 
     Future<Void> stopRecording(long id) {
@@ -361,40 +465,7 @@ public class AgentClient {
         return Future.fromCompletionStage(
                 CompletableFuture.supplyAsync(
                                 () -> {
-                                    logger.info("{} {} {}", mtd, agentUri, path);
-                                    HttpRequest<T> req =
-                                            webClient
-                                                    .request(
-                                                            mtd,
-                                                            agentUri.getPort(),
-                                                            agentUri.getHost(),
-                                                            path)
-                                                    .ssl("https".equals(agentUri.getScheme()))
-                                                    .timeout(
-                                                            Duration.ofSeconds(httpTimeout)
-                                                                    .toMillis())
-                                                    .followRedirects(true)
-                                                    .as(codec);
-                                    try {
-                                        Credentials credentials =
-                                                credentialsManager.getCredentialsByTargetId(
-                                                        agentUri.toString());
-                                        if (credentials == null
-                                                || credentials.getUsername() == null
-                                                || credentials.getPassword() == null) {
-                                            throw new InvalidCredentialsException(
-                                                    NULL_CREDENTIALS + " " + agentUri);
-                                        }
-                                        req =
-                                                req.authentication(
-                                                        new UsernamePasswordCredentials(
-                                                                credentials.getUsername(),
-                                                                credentials.getPassword()));
-                                    } catch (ScriptException | InvalidCredentialsException e) {
-                                        logger.error("Authentication exception", e);
-                                        throw new IllegalStateException(e);
-                                    }
-
+                                    HttpRequest<T> req = request(mtd, path, codec);
                                     try {
                                         if (payload != null) {
                                             return req.sendBuffer(payload)
@@ -419,11 +490,52 @@ public class AgentClient {
                                 }));
     }
 
+    private <T> HttpRequest<T> request(HttpMethod mtd, String path, BodyCodec<T> codec) {
+        logger.info("{} {} {}", mtd, agentUri, path);
+        HttpRequest<T> req =
+                webClient
+                        .request(mtd, agentUri.getPort(), agentUri.getHost(), path)
+                        .ssl("https".equals(agentUri.getScheme()))
+                        .timeout(Duration.ofSeconds(httpTimeout).toMillis())
+                        .followRedirects(true)
+                        .as(codec);
+        Credentials credentials = getCredentials();
+        return req.authentication(
+                new UsernamePasswordCredentials(
+                        credentials.getUsername(), credentials.getPassword()));
+    }
+
+    private Credentials getCredentials() {
+        try {
+            Credentials credentials =
+                    credentialsManager.getCredentialsByTargetId(agentUri.toString());
+            if (credentials == null
+                    || credentials.getUsername() == null
+                    || credentials.getPassword() == null) {
+                throw new InvalidCredentialsException(NULL_CREDENTIALS + " " + agentUri);
+            }
+            return credentials;
+        } catch (ScriptException | InvalidCredentialsException e) {
+            logger.error("Authentication exception", e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String basicAuthorization(Credentials credentials) {
+        return "Basic "
+                + Base64.getEncoder()
+                        .encodeToString(
+                                (credentials.getUsername() + ":" + credentials.getPassword())
+                                        .getBytes(StandardCharsets.UTF_8));
+    }
+
     static class Factory {
 
         private final ExecutorService executor;
         private final Gson gson;
         private final long httpTimeout;
+        private final Vertx vertx;
+        private final HttpClient httpClient;
         private final WebClient webClient;
         private final CredentialsManager credentialsManager;
 
@@ -431,18 +543,29 @@ public class AgentClient {
                 ExecutorService executor,
                 Gson gson,
                 long httpTimeout,
+                Vertx vertx,
+                HttpClient httpClient,
                 WebClient webClient,
                 CredentialsManager credentialsManager) {
             this.executor = executor;
             this.gson = gson;
             this.httpTimeout = httpTimeout;
+            this.vertx = vertx;
+            this.httpClient = httpClient;
             this.webClient = webClient;
             this.credentialsManager = credentialsManager;
         }
 
         AgentClient create(URI agentUri) {
             return new AgentClient(
-                    executor, gson, httpTimeout, webClient, credentialsManager, agentUri);
+                    executor,
+                    gson,
+                    httpTimeout,
+                    vertx,
+                    httpClient,
+                    webClient,
+                    credentialsManager,
+                    agentUri);
         }
     }
 
@@ -15,8 +15,6 @@
  */
 package io.cryostat.net;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.ParseException;
@@ -53,7 +51,6 @@ import io.cryostat.core.templates.Template;
 import io.cryostat.core.templates.TemplateType;
 
 import io.vertx.core.Future;
-import io.vertx.core.buffer.Buffer;
 import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -196,10 +193,9 @@ class AgentJFRService implements CryostatFlightRecorderService {
     @Override
     public InputStream openStream(IRecordingDescriptor descriptor, boolean removeOnClose)
             throws FlightRecorderException {
-        Future<Buffer> f = client.openStream(descriptor.getId());
+        Future<InputStream> f = client.openStream(descriptor.getId());
         try {
-            Buffer b = f.toCompletionStage().toCompletableFuture().get();
-            return new BufferedInputStream(new ByteArrayInputStream(b.getBytes()));
+            return f.toCompletionStage().toCompletableFuture().get();
         } catch (ExecutionException | InterruptedException e) {
             logger.warn("JFR stream exception", e);
             throw new FlightRecorderException("Failed to open remote recording stream", e);
@@ -18,6 +18,7 @@ package io.cryostat.net;
 import java.io.IOException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.function.Function;
@@ -37,13 +38,13 @@ public interface AuthManager {
     Optional<String> logout(Supplier<String> httpHeaderProvider)
             throws ExecutionException, InterruptedException, IOException, TokenNotFoundException;
 
-    Future<Boolean> validateToken(
+    CompletableFuture<Boolean> validateToken(
             Supplier<String> tokenProvider, Set<ResourceAction> resourceActions);
 
-    Future<Boolean> validateHttpHeader(
+    CompletableFuture<Boolean> validateHttpHeader(
             Supplier<String> headerProvider, Set<ResourceAction> resourceActions);
 
-    Future<Boolean> validateWebSocketSubProtocol(
+    CompletableFuture<Boolean> validateWebSocketSubProtocol(
             Supplier<String> subProtocolProvider, Set<ResourceAction> resourceActions);
 
     AuthenticatedAction doAuthenticated(
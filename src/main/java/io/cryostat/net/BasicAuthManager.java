@@ -82,7 +82,7 @@ class BasicAuthManager extends AbstractAuthManager {
     }
 
     @Override
-    public Future<Boolean> validateToken(
+    public CompletableFuture<Boolean> validateToken(
             Supplier<String> tokenProvider, Set<ResourceAction> resourceActions) {
         if (!configLoaded) {
             this.loadConfig();
@@ -108,7 +108,7 @@ class BasicAuthManager extends AbstractAuthManager {
     }
 
     @Override
-    public Future<Boolean> validateHttpHeader(
+    public CompletableFuture<Boolean> validateHttpHeader(
             Supplier<String> headerProvider, Set<ResourceAction> resourceActions) {
         String decoded = getCredentialsFromHeader(headerProvider.get());
         if (decoded == null) {
@@ -118,7 +118,7 @@ class BasicAuthManager extends AbstractAuthManager {
     }
 
     @Override
-    public Future<Boolean> validateWebSocketSubProtocol(
+    public CompletableFuture<Boolean> validateWebSocketSubProtocol(
             Supplier<String> subProtocolProvider, Set<ResourceAction> resourceActions) {
         String subprotocol = subProtocolProvider.get();
         if (StringUtils.isBlank(subprotocol)) {
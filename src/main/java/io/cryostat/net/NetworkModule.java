@@ -20,6 +20,9 @@ import java.net.UnknownHostException;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -47,6 +50,8 @@ import dagger.Provides;
 import dagger.multibindings.IntoSet;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 
@@ -85,6 +90,38 @@ public abstract class NetworkModule {
         return Integer.parseInt(env.getEnv(Variables.TARGET_MAX_CONCURRENT_CONNECTIONS, "-1"));
     }
 
+    @Provides
+    @Named(Variables.TARGET_KEEPALIVE)
+    static Duration provideTargetKeepAlive(Environment env) {
+        return Duration.ofSeconds(
+                Math.max(0, Integer.parseInt(env.getEnv(Variables.TARGET_KEEPALIVE, "0"))));
+    }
+
+    @Provides
+    @Named(Variables.TARGET_TASK_THREADS)
+    static int provideTargetTaskThreads(Environment env) {
+        return Math.max(1, Integer.parseInt(env.getEnv(Variables.TARGET_TASK_THREADS, "16")));
+    }
+
+    @Provides
+    @Named(Variables.TARGET_MAX_CONCURRENT_TASKS)
+    static int provideTargetMaxConcurrentTasks(Environment env) {
+        return Math.max(
+                1, Integer.parseInt(env.getEnv(Variables.TARGET_MAX_CONCURRENT_TASKS, "4")));
+    }
+
+    @Provides
+    @Named(Variables.TARGET_MAX_QUEUED_TASKS)
+    static int provideTargetMaxQueuedTasks(Environment env) {
+        return Math.max(0, Integer.parseInt(env.getEnv(Variables.TARGET_MAX_QUEUED_TASKS, "64")));
+    }
+
+    @Provides
+    @Named(Variables.MAX_QUEUED_TARGET_TASKS)
+    static int provideMaxQueuedTargetTasks(Environment env) {
+        return Math.max(0, Integer.parseInt(env.getEnv(Variables.MAX_QUEUED_TARGET_TASKS, "1024")));
+    }
+
     @Provides
     @Named(Variables.TARGET_CACHE_TTL)
     static Duration provideMaxTargetTTL(Environment env) {
@@ -104,10 +141,18 @@ public abstract class NetworkModule {
     static AgentClient.Factory provideAgentClientFactory(
             Gson gson,
             @Named(HttpModule.HTTP_REQUEST_TIMEOUT_SECONDS) long httpTimeout,
+            Vertx vertx,
+            HttpClient httpClient,
             WebClient webClient,
             CredentialsManager credentialsManager) {
         return new AgentClient.Factory(
-                Executors.newCachedThreadPool(), gson, httpTimeout, webClient, credentialsManager);
+                Executors.newCachedThreadPool(),
+                gson,
+                httpTimeout,
+                vertx,
+                httpClient,
+                webClient,
+                credentialsManager);
     }
 
     @Provides
@@ -117,15 +162,37 @@ public abstract class NetworkModule {
             Lazy<AgentConnection.Factory> agentConnectionFactory,
             DiscoveryStorage storage,
             @Named(Variables.TARGET_CACHE_TTL) Duration maxTargetTtl,
+            @Named(Variables.TARGET_KEEPALIVE) Duration keepAlive,
             @Named(Variables.TARGET_MAX_CONCURRENT_CONNECTIONS) int maxTargetConnections,
+            @Named(Variables.TARGET_TASK_THREADS) int taskThreads,
+            @Named(Variables.TARGET_MAX_CONCURRENT_TASKS) int maxConcurrentTasksPerTarget,
+            @Named(Variables.TARGET_MAX_QUEUED_TASKS) int maxQueuedTasksPerTarget,
+            @Named(Variables.MAX_QUEUED_TARGET_TASKS) int maxQueuedTasks,
             @Named(Variables.JMX_CONNECTION_TIMEOUT) long connectionTimeoutSeconds) {
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        taskThreads,
+                        taskThreads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>());
+        executor.allowCoreThreadTimeOut(true);
         return new TargetConnectionManager(
                 connectionToolkit,
                 agentConnectionFactory,
                 storage,
+                // connection loads may wait for a connection slot which is only freed by the
+                // removal listener, so neither may share the bounded task pool
                 Executors.newCachedThreadPool(),
+                new TargetTaskScheduler(
+                        executor,
+                        taskThreads,
+                        maxConcurrentTasksPerTarget,
+                        maxQueuedTasksPerTarget,
+                        maxQueuedTasks),
                 Scheduler.systemScheduler(),
                 maxTargetTtl,
+                keepAlive,
                 maxTargetConnections,
                 connectionTimeoutSeconds);
     }
@@ -149,24 +216,29 @@ public abstract class NetworkModule {
 
     @Provides
     @Singleton
-    static WebClient provideWebClient(Vertx vertx, NetworkConfiguration netConf) {
+    static HttpClient provideHttpClient(Vertx vertx, NetworkConfiguration netConf) {
         try {
-            WebClientOptions opts =
-                    new WebClientOptions()
+            HttpClientOptions opts =
+                    new HttpClientOptions()
                             .setSsl(true)
                             .setDefaultHost(netConf.getWebServerHost())
                             .setDefaultPort(netConf.getExternalWebServerPort())
-                            .setFollowRedirects(true)
                             .setTryUseCompression(true);
             if (netConf.isUntrustedSslAllowed()) {
                 opts = opts.setTrustAll(true).setVerifyHost(false);
             }
-            return WebClient.create(vertx, opts);
+            return vertx.createHttpClient(opts);
         } catch (SocketException | UnknownHostException e) {
             throw new RuntimeException(e); // @Provides methods may only throw unchecked exceptions
         }
     }
 
+    @Provides
+    @Singleton
+    static WebClient provideWebClient(HttpClient httpClient) {
+        return WebClient.wrap(httpClient, new WebClientOptions().setFollowRedirects(true));
+    }
+
     @Provides
     @Singleton
     static SslConfiguration provideSslConfiguration(Environment env, FileSystem fs) {
@@ -42,19 +42,19 @@ public class NoopAuthManager extends AbstractAuthManager {
     }
 
     @Override
-    public Future<Boolean> validateToken(
+    public CompletableFuture<Boolean> validateToken(
             Supplier<String> tokenProvider, Set<ResourceAction> resourceActions) {
         return CompletableFuture.completedFuture(true);
     }
 
     @Override
-    public Future<Boolean> validateHttpHeader(
+    public CompletableFuture<Boolean> validateHttpHeader(
             Supplier<String> headerProvider, Set<ResourceAction> resourceActions) {
         return CompletableFuture.completedFuture(true);
     }
 
     @Override
-    public Future<Boolean> validateWebSocketSubProtocol(
+    public CompletableFuture<Boolean> validateWebSocketSubProtocol(
             Supplier<String> subProtocolProvider, Set<ResourceAction> resourceActions) {
         return CompletableFuture.completedFuture(true);
     }
@@ -19,16 +19,22 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -61,29 +67,48 @@ public class TargetConnectionManager {
 
     private final Lazy<JFRConnectionToolkit> jfrConnectionToolkit;
     private final Lazy<AgentConnection.Factory> agentConnectionFactory;
-    private final Executor executor;
+    // runs connection loads, cache maintenance and removal listeners, separately from tasks
+    private final Executor connectionExecutor;
+    private final TargetTaskScheduler taskScheduler;
+    private final Scheduler scheduler;
+    private final Duration keepAlive;
+    private final Duration keepAlivePeriod;
     private final long connectionTimeoutSeconds;
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final AsyncLoadingCache<ConnectionDescriptor, JFRConnection> connections;
-    private final Map<String, Object> targetLocks;
+    private final Map<String, TargetTaskQueue> taskQueues;
+    // targets whose tasks are running on the current thread, so that tasks which themselves
+    // execute further tasks run them directly instead of queueing behind themselves or waiting on
+    // a task thread for another task thread
+    private final ThreadLocal<Set<String>> executingTargets = ThreadLocal.withInitial(HashSet::new);
     private final Optional<Semaphore> semaphore;
+    private final Map<ConnectionDescriptor, TargetAccess> accesses = new ConcurrentHashMap<>();
+    private final Map<ConnectionDescriptor, Set<Future<?>>> keepAlivePins =
+            new ConcurrentHashMap<>();
 
     TargetConnectionManager(
             Lazy<JFRConnectionToolkit> jfrConnectionToolkit,
             Lazy<AgentConnection.Factory> agentConnectionFactory,
             PlatformClient platform,
-            Executor executor,
+            Executor connectionExecutor,
+            TargetTaskScheduler taskScheduler,
             Scheduler scheduler,
             Duration ttl,
+            Duration keepAlive,
             int maxTargetConnections,
             long connectionTimeoutSeconds) {
         this.jfrConnectionToolkit = jfrConnectionToolkit;
         this.agentConnectionFactory = agentConnectionFactory;
-        this.executor = executor;
+        this.connectionExecutor = connectionExecutor;
+        this.taskScheduler = taskScheduler;
+        this.scheduler = scheduler;
+        this.keepAlive = keepAlive;
+        // refresh kept-alive connections often enough that they never expire from the cache
+        this.keepAlivePeriod = ttl.dividedBy(2).isZero() ? ttl : ttl.dividedBy(2);
         this.connectionTimeoutSeconds = connectionTimeoutSeconds;
 
-        this.targetLocks = new ConcurrentHashMap<>();
+        this.taskQueues = new ConcurrentHashMap<>();
         if (maxTargetConnections > 0) {
             this.semaphore = Optional.of(new Semaphore(maxTargetConnections, true));
         } else {
@@ -92,7 +117,7 @@ public class TargetConnectionManager {
 
         Caffeine<ConnectionDescriptor, JFRConnection> cacheBuilder =
                 Caffeine.newBuilder()
-                        .executor(executor)
+                        .executor(connectionExecutor)
                         .scheduler(scheduler)
                         .removalListener(this::closeConnection);
         if (ttl.isZero() || ttl.isNegative()) {
@@ -115,39 +140,291 @@ public class TargetConnectionManager {
                                     cd.getTargetId(),
                                     tde.getServiceRef().getServiceUri().toString())) {
                                 connections.synchronous().invalidate(cd);
+                                accesses.remove(cd);
+                                keepAlivePins.remove(cd);
                             }
                         }
                     }
                 });
+
+        if (isKeepAliveEnabled()) {
+            scheduleKeepAlive();
+        }
     }
 
+    /**
+     * Execute a task against the target's connection on the shared executor, once any tasks
+     * previously submitted for the same target are done. Tasks marked with {@link
+     * ConnectedTask#readOnly(ConnectedTask)} only wait for previously submitted tasks which are
+     * not, and may run concurrently with one another. Targets share the executor fairly, and the
+     * returned future fails immediately with a {@link TargetTaskRejectedException} if too many
+     * tasks are already outstanding against the target or in total. Otherwise it fails if
+     * connecting and executing the task take longer than the connection timeout, in which case the
+     * task is skipped if it has not started yet, but is not interrupted if it has.
+     */
     public <T> CompletableFuture<T> executeConnectedTaskAsync(
             ConnectionDescriptor connectionDescriptor, ConnectedTask<T> task) {
-        synchronized (
-                targetLocks.computeIfAbsent(
-                        connectionDescriptor.getTargetId(), k -> new Object())) {
-            return connections
-                    .get(connectionDescriptor)
-                    .thenApplyAsync(
-                            conn -> {
-                                try {
-                                    return task.execute(conn);
-                                } catch (Exception e) {
-                                    logger.error("Execution exception", e);
-                                    throw new CompletionException(e);
-                                }
-                            },
-                            executor)
-                    .orTimeout(connectionTimeoutSeconds, TimeUnit.SECONDS);
-        }
+        return submit(connectionDescriptor, task, true);
+    }
+
+    /**
+     * Execute a task as {@link #executeConnectedTaskAsync(ConnectionDescriptor, ConnectedTask)}
+     * does, but without any timeout, so that the returned future is only done once the task is.
+     * This is for tasks which modify the target, or which may legitimately take longer than the
+     * connection timeout.
+     */
+    public <T> CompletableFuture<T> submitConnectedTask(
+            ConnectionDescriptor connectionDescriptor, ConnectedTask<T> task) {
+        return submit(connectionDescriptor, task, false);
     }
 
+    /**
+     * Execute a task as {@link #submitConnectedTask(ConnectionDescriptor, ConnectedTask)} does, and
+     * wait for its result.
+     */
     public <T> T executeConnectedTask(
             ConnectionDescriptor connectionDescriptor, ConnectedTask<T> task) throws Exception {
-        synchronized (
-                targetLocks.computeIfAbsent(
-                        connectionDescriptor.getTargetId(), k -> new Object())) {
-            return task.execute(connections.get(connectionDescriptor).get());
+        try {
+            return submit(connectionDescriptor, task, false).join();
+        } catch (TaskExecutionException tee) {
+            throw (Exception) tee.getCause();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof TargetTaskRejectedException) {
+                throw (TargetTaskRejectedException) ce.getCause();
+            }
+            // failed to connect
+            throw new ExecutionException(ce.getCause());
+        }
+    }
+
+    /**
+     * @return the number of tasks queued or running against the target
+     */
+    public int getTaskQueueDepth(String targetId) {
+        TargetTaskQueue queue = taskQueues.get(targetId);
+        return queue == null ? 0 : queue.getDepth();
+    }
+
+    /**
+     * @return the mean time that tasks against the target have spent queued behind other tasks
+     *     before starting, since the target last had no tasks queued or running
+     */
+    public Duration getTaskQueueWaitTime(String targetId) {
+        TargetTaskQueue queue = taskQueues.get(targetId);
+        return queue == null ? Duration.ZERO : queue.getMeanWaitTime();
+    }
+
+    /**
+     * @return the current load on the shared target task executor
+     */
+    public TaskStatistics getTaskStatistics() {
+        return taskScheduler.getStatistics();
+    }
+
+    /**
+     * Keep the connection for the target open, and reopen it if it is lost, for as long as the
+     * given future is not done, ex. while a recurring task against the target remains scheduled.
+     * The connection is opened now if it is not already. This has no effect unless keep-alive is
+     * enabled.
+     */
+    public void keepAliveWhile(ConnectionDescriptor connectionDescriptor, Future<?> until) {
+        if (!isKeepAliveEnabled() || until.isDone()) {
+            return;
+        }
+        keepAlivePins
+                .computeIfAbsent(connectionDescriptor, k -> ConcurrentHashMap.newKeySet())
+                .add(until);
+        keepAlive(connectionDescriptor);
+    }
+
+    private boolean isKeepAliveEnabled() {
+        return !keepAlive.isZero() && !keepAlive.isNegative();
+    }
+
+    private void scheduleKeepAlive() {
+        scheduler.schedule(
+                connectionExecutor,
+                () -> {
+                    try {
+                        keepAliveConnections();
+                    } catch (Exception e) {
+                        logger.error("Connection keep-alive exception", e);
+                    } finally {
+                        scheduleKeepAlive();
+                    }
+                },
+                keepAlivePeriod.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Refresh the cached connections of targets which are pinned or have recently been used
+     * frequently, and reopen those which have been closed or have lost their connection.
+     */
+    void keepAliveConnections() {
+        long now = System.nanoTime();
+        keepAlivePins.values().forEach(pins -> pins.removeIf(Future::isDone));
+        keepAlivePins.values().removeIf(Set::isEmpty);
+        accesses.values().removeIf(access -> access.isIdle(now, keepAlive));
+
+        if (semaphore.map(Semaphore::hasQueuedThreads).orElse(false)) {
+            // let idle connections expire so that requests waiting for a connection can proceed
+            logger.debug("Skipping connection keep-alive, connection limit reached");
+            return;
+        }
+        Set<ConnectionDescriptor> targets = new HashSet<>(keepAlivePins.keySet());
+        accesses.forEach(
+                (cd, access) -> {
+                    if (access.isFrequent(keepAlive)) {
+                        targets.add(cd);
+                    }
+                });
+        targets.forEach(this::keepAlive);
+    }
+
+    private void keepAlive(ConnectionDescriptor connectionDescriptor) {
+        // this counts as an access, extending the cached connection's lifetime
+        CompletableFuture<JFRConnection> connection =
+                connections.getIfPresent(connectionDescriptor);
+        if (connection != null) {
+            connection.thenAccept(
+                    conn -> {
+                        if (!conn.isConnected()) {
+                            logger.info(
+                                    "Kept-alive connection for {} was lost",
+                                    connectionDescriptor.getTargetId());
+                            connections.synchronous().invalidate(connectionDescriptor);
+                        }
+                    });
+            return;
+        }
+        if (semaphore.map(s -> s.availablePermits() > 0).orElse(true)) {
+            logger.debug("Warming up connection for {}", connectionDescriptor.getTargetId());
+            connections.get(connectionDescriptor);
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(
+            ConnectionDescriptor connectionDescriptor, ConnectedTask<T> task, boolean timeout) {
+        String targetId = connectionDescriptor.getTargetId();
+        if (!executingTargets.get().isEmpty()) {
+            return executeNested(connectionDescriptor, task);
+        }
+        if (isKeepAliveEnabled()) {
+            accesses.computeIfAbsent(connectionDescriptor, k -> new TargetAccess())
+                    .record(System.nanoTime());
+        }
+        try {
+            taskScheduler.admit(targetId);
+        } catch (TargetTaskRejectedException e) {
+            logger.warn(e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+        boolean readOnly = task instanceof ReadOnlyTask;
+        // the caller's view of the task, which may time out. The task keeps its place in the
+        // target's queue and its admission until it is actually done
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<T> execution;
+        do {
+            execution =
+                    taskQueues
+                            .computeIfAbsent(
+                                    targetId,
+                                    k -> new TargetTaskQueue(q -> taskQueues.remove(k, q)))
+                            .submit(
+                                    readOnly,
+                                    waitNanos ->
+                                            start(
+                                                    connectionDescriptor,
+                                                    task,
+                                                    readOnly,
+                                                    waitNanos,
+                                                    timeout,
+                                                    result));
+        } while (execution == null);
+        execution.whenComplete(
+                (v, t) -> {
+                    taskScheduler.release(targetId);
+                    if (t != null) {
+                        result.completeExceptionally(t);
+                    } else {
+                        result.complete(v);
+                    }
+                });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> start(
+            ConnectionDescriptor connectionDescriptor,
+            ConnectedTask<T> task,
+            boolean readOnly,
+            long waitNanos,
+            boolean timeout,
+            CompletableFuture<T> caller) {
+        CompletableFuture<JFRConnection> connection = connections.get(connectionDescriptor);
+        if (timeout) {
+            // time the task from now, not counting its wait behind the target's other tasks
+            caller.orTimeout(connectionTimeoutSeconds, TimeUnit.SECONDS);
+        }
+        String targetId = connectionDescriptor.getTargetId();
+        return connection.thenCompose(
+                conn ->
+                        taskScheduler.dispatch(
+                                targetId,
+                                () -> execute(targetId, task, conn, readOnly, waitNanos, caller)));
+    }
+
+    // run a task from within another task, on its thread. Queueing it and waiting for it could
+    // deadlock, either behind the calling task or once every task thread is waiting in this way
+    private <T> CompletableFuture<T> executeNested(
+            ConnectionDescriptor connectionDescriptor, ConnectedTask<T> task) {
+        Set<String> executing = executingTargets.get();
+        boolean added = executing.add(connectionDescriptor.getTargetId());
+        try {
+            return CompletableFuture.completedFuture(
+                    task.execute(connections.get(connectionDescriptor).get()));
+        } catch (Exception e) {
+            logger.error("Execution exception", e);
+            return CompletableFuture.failedFuture(new TaskExecutionException(e));
+        } finally {
+            if (added) {
+                executing.remove(connectionDescriptor.getTargetId());
+            }
+        }
+    }
+
+    private <T> T execute(
+            String targetId,
+            ConnectedTask<T> task,
+            JFRConnection connection,
+            boolean readOnly,
+            long waitNanos,
+            Future<T> caller) {
+        if (caller.isDone()) {
+            // the caller already timed out waiting, so nothing is left to use the result
+            throw new CancellationException("Skipped task against " + targetId + " after timeout");
+        }
+        TargetTaskExecuted evt =
+                new TargetTaskExecuted(
+                        targetId,
+                        readOnly,
+                        getTaskQueueDepth(targetId),
+                        TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        evt.begin();
+        Set<String> executing = executingTargets.get();
+        executing.add(targetId);
+        try {
+            return task.execute(connection);
+        } catch (Exception e) {
+            evt.setExceptionThrown(true);
+            logger.error("Execution exception", e);
+            throw new TaskExecutionException(e);
+        } finally {
+            executing.remove(targetId);
+            evt.end();
+            if (evt.shouldCommit()) {
+                evt.commit();
+            }
         }
     }
 
@@ -185,7 +462,6 @@ public class TargetConnectionManager {
             evt.begin();
             try {
                 connection.close();
-                targetLocks.remove(descriptor.getTargetId());
             } catch (RuntimeException e) {
                 evt.setExceptionThrown(true);
                 throw e;
@@ -251,23 +527,35 @@ public class TargetConnectionManager {
         JMXConnectionOpened evt = new JMXConnectionOpened(url.toString());
         logger.info("Creating connection for {}", url);
         evt.begin();
+        boolean acquired = false;
         try {
             if (semaphore.isPresent()) {
-                semaphore.get().acquire();
+                // bounded so that a loader thread is never parked indefinitely behind connections
+                // which will only release their permits once they expire
+                acquired = semaphore.get().tryAcquire(connectionTimeoutSeconds, TimeUnit.SECONDS);
+                if (!acquired) {
+                    throw new TimeoutException(
+                            String.format(
+                                    "Timed out waiting for a free connection slot to %s", url));
+                }
             }
-            return jfrConnectionToolkit
-                    .get()
-                    .connect(
-                            url,
-                            credentials.orElse(null),
-                            Collections.singletonList(
-                                    () -> {
-                                        logger.info("Connection for {} closed", url);
-                                        this.connections.synchronous().invalidate(cacheKey);
-                                    }));
+            AtomicReference<JFRConnection> opened = new AtomicReference<>();
+            JFRConnection connection =
+                    jfrConnectionToolkit
+                            .get()
+                            .connect(
+                                    url,
+                                    credentials.orElse(null),
+                                    Collections.singletonList(
+                                            () -> {
+                                                logger.info("Connection for {} closed", url);
+                                                invalidateIfCached(cacheKey, opened.get());
+                                            }));
+            opened.set(connection);
+            return connection;
         } catch (Exception e) {
             evt.setExceptionThrown(true);
-            if (semaphore.isPresent()) {
+            if (acquired) {
                 semaphore.get().release();
             }
             throw e;
@@ -279,6 +567,38 @@ public class TargetConnectionManager {
         }
     }
 
+    // only invalidate the cache entry if it still holds the closed connection, and not one which
+    // has since replaced it or a connection which was discarded without ever being cached
+    private void invalidateIfCached(ConnectionDescriptor cacheKey, JFRConnection connection) {
+        CompletableFuture<JFRConnection> cached = connections.asMap().get(cacheKey);
+        if (cached == null) {
+            return;
+        }
+        if (connection == null
+                || !cached.isDone()
+                || cached.isCompletedExceptionally()
+                || cached.join() == connection) {
+            connections.asMap().remove(cacheKey, cached);
+        }
+    }
+
+    // close a connection which was opened after its load had already timed out. No cache entry
+    // owns it, so the removal listener will never close it or release its permit
+    private void discardConnection(ConnectionDescriptor descriptor, JFRConnection connection) {
+        logger.warn(
+                "Closing connection for {} which was opened after its load timed out",
+                descriptor.getTargetId());
+        try {
+            connection.close();
+        } catch (Exception e) {
+            logger.error("Connection closure exception", e);
+        } finally {
+            if (semaphore.isPresent()) {
+                semaphore.get().release();
+            }
+        }
+    }
+
     @Override
     protected final void finalize() {}
 
@@ -288,16 +608,21 @@ public class TargetConnectionManager {
         @Override
         public CompletableFuture<JFRConnection> asyncLoad(
                 ConnectionDescriptor key, Executor executor) throws Exception {
-            return CompletableFuture.supplyAsync(
-                            () -> {
-                                try {
-                                    return connect(key);
-                                } catch (Exception e) {
-                                    throw new CompletionException(e);
-                                }
-                            },
-                            executor)
-                    .orTimeout(connectionTimeoutSeconds, TimeUnit.SECONDS);
+            CompletableFuture<JFRConnection> future = new CompletableFuture<>();
+            executor.execute(
+                    () -> {
+                        JFRConnection connection;
+                        try {
+                            connection = connect(key);
+                        } catch (Exception e) {
+                            future.completeExceptionally(e);
+                            return;
+                        }
+                        if (!future.complete(connection)) {
+                            discardConnection(key, connection);
+                        }
+                    });
+            return future.orTimeout(connectionTimeoutSeconds, TimeUnit.SECONDS);
         }
 
         @Override
@@ -313,6 +638,161 @@ public class TargetConnectionManager {
 
     public interface ConnectedTask<T> {
         T execute(JFRConnection connection) throws Exception;
+
+        /**
+         * Mark a task as only reading from its target, so that it may run concurrently with other
+         * read-only tasks against the same target.
+         */
+        static <T> ConnectedTask<T> readOnly(ConnectedTask<T> task) {
+            return new ReadOnlyTask<>(task);
+        }
+    }
+
+    // tracks how often a target's connection is used, as an exponentially weighted moving average
+    // of the interval between uses
+    private static class TargetAccess {
+        private int count;
+        private long lastNanos;
+        private double meanIntervalNanos;
+
+        synchronized void record(long nanos) {
+            if (count > 0) {
+                long interval = nanos - lastNanos;
+                meanIntervalNanos =
+                        count == 1 ? interval : 0.75 * meanIntervalNanos + 0.25 * interval;
+            }
+            count++;
+            lastNanos = nanos;
+        }
+
+        synchronized boolean isIdle(long nanos, Duration keepAlive) {
+            return nanos - lastNanos > keepAlive.toNanos();
+        }
+
+        synchronized boolean isFrequent(Duration keepAlive) {
+            return count > 1 && meanIntervalNanos <= keepAlive.toNanos();
+        }
+    }
+
+    public static class TaskStatistics {
+        private final int running;
+        private final int waiting;
+        private final int outstanding;
+        private final int busiestTargetOutstanding;
+        private final int activeTargets;
+        private final long targetBusyRejections;
+        private final long overloadedRejections;
+
+        public TaskStatistics(
+                int running,
+                int waiting,
+                int outstanding,
+                int busiestTargetOutstanding,
+                int activeTargets,
+                long targetBusyRejections,
+                long overloadedRejections) {
+            this.running = running;
+            this.waiting = waiting;
+            this.outstanding = outstanding;
+            this.busiestTargetOutstanding = busiestTargetOutstanding;
+            this.activeTargets = activeTargets;
+            this.targetBusyRejections = targetBusyRejections;
+            this.overloadedRejections = overloadedRejections;
+        }
+
+        /**
+         * @return the number of tasks currently running
+         */
+        public int getRunning() {
+            return running;
+        }
+
+        /**
+         * @return the number of tasks ready to run but waiting for a free slot
+         */
+        public int getWaiting() {
+            return waiting;
+        }
+
+        /**
+         * @return the number of admitted tasks which are not yet done
+         */
+        public int getOutstanding() {
+            return outstanding;
+        }
+
+        /**
+         * @return the greatest number of admitted tasks not yet done against any one target
+         */
+        public int getBusiestTargetOutstanding() {
+            return busiestTargetOutstanding;
+        }
+
+        /**
+         * @return the number of targets with tasks which are not yet done
+         */
+        public int getActiveTargets() {
+            return activeTargets;
+        }
+
+        /**
+         * @return the number of tasks rejected because their target had too many outstanding
+         */
+        public long getTargetBusyRejections() {
+            return targetBusyRejections;
+        }
+
+        /**
+         * @return the number of tasks rejected because too many were outstanding in total
+         */
+        public long getOverloadedRejections() {
+            return overloadedRejections;
+        }
+    }
+
+    private static class TaskExecutionException extends CompletionException {
+        TaskExecutionException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    private static class ReadOnlyTask<T> implements ConnectedTask<T> {
+        private final ConnectedTask<T> delegate;
+
+        ReadOnlyTask(ConnectedTask<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T execute(JFRConnection connection) throws Exception {
+            return delegate.execute(connection);
+        }
+    }
+
+    @Name("io.cryostat.net.TargetConnectionManager.TargetTaskExecuted")
+    @Label("Target Task Execution")
+    @Category("Cryostat")
+    @SuppressFBWarnings(
+            value = "URF_UNREAD_FIELD",
+            justification = "The event fields are recorded with JFR instead of accessed directly")
+    public static class TargetTaskExecuted extends Event {
+        String serviceUri;
+        boolean readOnly;
+        int queueDepth;
+        long queueWaitMillis;
+        boolean exceptionThrown;
+
+        TargetTaskExecuted(String serviceUri, boolean readOnly, int queueDepth, long waitMillis) {
+            this.serviceUri = serviceUri;
+            this.readOnly = readOnly;
+            this.queueDepth = queueDepth;
+            this.queueWaitMillis = waitMillis;
+            this.exceptionThrown = false;
+        }
+
+        void setExceptionThrown(boolean exceptionThrown) {
+            this.exceptionThrown = exceptionThrown;
+        }
     }
 
     @Name("io.cryostat.net.TargetConnectionManager.JMXConnectionOpened")
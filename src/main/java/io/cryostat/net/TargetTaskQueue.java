@@ -0,0 +1,127 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Orders the tasks submitted against a single target without blocking any thread while they wait.
+ * Each task is started by completion of the tasks it must follow rather than by a thread waiting on
+ * a lock: an exclusive task follows every task submitted before it, and a read-only task only
+ * follows the exclusive tasks submitted before it, so consecutive read-only tasks run concurrently.
+ * A task which fails or times out releases its successors just as one which succeeds does.
+ */
+class TargetTaskQueue {
+
+    private final Consumer<TargetTaskQueue> onDrained;
+    private int depth;
+    private boolean drained;
+    private final LongAdder tasks = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    private CompletableFuture<Void> lastExclusive = CompletableFuture.completedFuture(null);
+    private final List<CompletableFuture<Void>> readOnlySinceExclusive = new ArrayList<>();
+
+    /**
+     * @param onDrained called once the last task is done and none are left waiting or running,
+     *     after which the queue accepts no more tasks
+     */
+    TargetTaskQueue(Consumer<TargetTaskQueue> onDrained) {
+        this.onDrained = onDrained;
+    }
+
+    /**
+     * @param readOnly whether the task may run concurrently with other read-only tasks
+     * @param task started once the task's predecessors are done, with the time in nanoseconds which
+     *     it spent waiting for them. This must not block, ex. by returning a future for work
+     *     submitted to an executor.
+     * @return the result of the task, or null if the queue has already drained and a new one must
+     *     be used instead
+     */
+    <T> CompletableFuture<T> submit(boolean readOnly, Function<Long, CompletableFuture<T>> task) {
+        long enqueued = System.nanoTime();
+        CompletableFuture<T> result;
+        synchronized (this) {
+            if (drained) {
+                return null;
+            }
+            depth++;
+            CompletableFuture<Void> predecessors;
+            if (readOnly) {
+                predecessors = lastExclusive;
+            } else {
+                readOnlySinceExclusive.add(lastExclusive);
+                predecessors =
+                        CompletableFuture.allOf(
+                                readOnlySinceExclusive.toArray(new CompletableFuture[0]));
+            }
+            result =
+                    predecessors.thenCompose(
+                            v -> {
+                                long waited = System.nanoTime() - enqueued;
+                                tasks.increment();
+                                waitNanos.add(waited);
+                                return task.apply(waited);
+                            });
+            CompletableFuture<Void> done = result.handle((v, t) -> null);
+            if (readOnly) {
+                readOnlySinceExclusive.removeIf(CompletableFuture::isDone);
+                readOnlySinceExclusive.add(done);
+            } else {
+                readOnlySinceExclusive.clear();
+                lastExclusive = done;
+            }
+        }
+        result.whenComplete((v, t) -> done());
+        return result;
+    }
+
+    private void done() {
+        boolean nowDrained;
+        synchronized (this) {
+            depth--;
+            drained = depth == 0;
+            nowDrained = drained;
+        }
+        if (nowDrained) {
+            onDrained.accept(this);
+        }
+    }
+
+    /**
+     * @return the number of tasks waiting for their predecessors or running
+     */
+    synchronized int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the mean time that started tasks spent waiting for their predecessors
+     */
+    Duration getMeanWaitTime() {
+        long n = tasks.sum();
+        if (n == 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(waitNanos.sum() / n);
+    }
+}
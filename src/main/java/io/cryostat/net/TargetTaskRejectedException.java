@@ -0,0 +1,50 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net;
+
+/**
+ * Thrown when a task against a target is not accepted for execution because too many tasks are
+ * already outstanding, either against that target or in total.
+ */
+public class TargetTaskRejectedException extends RuntimeException {
+
+    private final Reason reason;
+
+    public TargetTaskRejectedException(String targetId, Reason reason) {
+        super(String.format("Task against %s rejected: %s", targetId, reason.getMessage()));
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public enum Reason {
+        TARGET_BUSY("too many tasks outstanding against target"),
+        OVERLOADED("too many target tasks outstanding"),
+        ;
+
+        private final String message;
+
+        Reason(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of target tasks which run at once, both in total and against any single target,
+ * and shares the available slots fairly between targets. Waiting tasks are dispatched in start-time
+ * fair queueing order: each target has a virtual time which advances by one for every task it
+ * dispatches, and the next slot goes to the eligible target with the least virtual time. A target
+ * which becomes busy again starts from the current virtual time, so it cannot claim slots it did
+ * not use while idle. This prevents one target with many waiting tasks from starving the others.
+ *
+ * <p>Tasks must first be admitted, which fails immediately rather than queueing without bound once
+ * too many tasks are outstanding against the target or in total.
+ */
+class TargetTaskScheduler {
+
+    private final Executor executor;
+    private final int maxRunning;
+    private final int maxRunningPerTarget;
+    private final int maxOutstandingPerTarget;
+    private final int maxOutstanding;
+
+    private final Map<String, TargetState> targets = new HashMap<>();
+    private int running;
+    private int waiting;
+    private int outstanding;
+    private long virtualTime;
+    private final LongAdder targetRejections = new LongAdder();
+    private final LongAdder overloadRejections = new LongAdder();
+
+    /**
+     * @param executor the executor to run dispatched tasks on
+     * @param maxRunning the maximum number of tasks to run at once, at least 1
+     * @param maxRunningPerTarget the maximum number of tasks to run at once against one target, at
+     *     least 1
+     * @param maxOutstandingPerTarget the maximum number of admitted tasks against one target which
+     *     may be waiting or running, or 0 for no limit
+     * @param maxOutstanding the maximum number of admitted tasks which may be waiting or running,
+     *     or 0 for no limit
+     */
+    TargetTaskScheduler(
+            Executor executor,
+            int maxRunning,
+            int maxRunningPerTarget,
+            int maxOutstandingPerTarget,
+            int maxOutstanding) {
+        this.executor = executor;
+        this.maxRunning = Math.max(1, maxRunning);
+        this.maxRunningPerTarget = Math.max(1, maxRunningPerTarget);
+        this.maxOutstandingPerTarget = maxOutstandingPerTarget;
+        this.maxOutstanding = maxOutstanding;
+    }
+
+    /**
+     * Admit a task against the target, which counts as outstanding until {@link #release(String)}
+     * is called for it.
+     *
+     * @throws TargetTaskRejectedException if the target or this scheduler already has as many
+     *     outstanding tasks as it allows
+     */
+    synchronized void admit(String targetId) throws TargetTaskRejectedException {
+        if (maxOutstanding > 0 && outstanding >= maxOutstanding) {
+            overloadRejections.increment();
+            throw new TargetTaskRejectedException(
+                    targetId, TargetTaskRejectedException.Reason.OVERLOADED);
+        }
+        TargetState target = targets.computeIfAbsent(targetId, k -> new TargetState());
+        if (maxOutstandingPerTarget > 0 && target.outstanding >= maxOutstandingPerTarget) {
+            targetRejections.increment();
+            throw new TargetTaskRejectedException(
+                    targetId, TargetTaskRejectedException.Reason.TARGET_BUSY);
+        }
+        target.outstanding++;
+        outstanding++;
+    }
+
+    /** Release a task admitted by {@link #admit(String)} once it is done. */
+    synchronized void release(String targetId) {
+        TargetState target = targets.get(targetId);
+        if (target == null || target.outstanding == 0) {
+            return;
+        }
+        target.outstanding--;
+        outstanding--;
+        if (target.isIdle()) {
+            targets.remove(targetId);
+        }
+    }
+
+    /**
+     * Run the task on the executor once a slot is available to the target.
+     *
+     * @return the result of the task
+     */
+    <T> CompletableFuture<T> dispatch(String targetId, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable runnable =
+                () -> {
+                    try {
+                        result.complete(task.get());
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                    } finally {
+                        finished(targetId);
+                    }
+                };
+        synchronized (this) {
+            TargetState target = targets.computeIfAbsent(targetId, k -> new TargetState());
+            if (!target.isBacklogged()) {
+                target.virtualTime = Math.max(target.virtualTime, virtualTime);
+            }
+            target.waiting.add(runnable);
+            waiting++;
+        }
+        drain();
+        return result;
+    }
+
+    private void finished(String targetId) {
+        synchronized (this) {
+            TargetState target = targets.get(targetId);
+            target.running--;
+            running--;
+            if (target.isIdle()) {
+                targets.remove(targetId);
+            }
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                if (running >= maxRunning) {
+                    return;
+                }
+                TargetState target = null;
+                for (TargetState candidate : targets.values()) {
+                    if (candidate.waiting.isEmpty() || candidate.running >= maxRunningPerTarget) {
+                        continue;
+                    }
+                    if (target == null || candidate.virtualTime < target.virtualTime) {
+                        target = candidate;
+                    }
+                }
+                if (target == null) {
+                    return;
+                }
+                next = target.waiting.remove();
+                waiting--;
+                virtualTime = target.virtualTime;
+                target.virtualTime++;
+                target.running++;
+                running++;
+            }
+            try {
+                executor.execute(next);
+            } catch (RejectedExecutionException e) {
+                // run it here instead so that its result is still delivered and its slot freed
+                next.run();
+            }
+        }
+    }
+
+    synchronized TargetConnectionManager.TaskStatistics getStatistics() {
+        int busiestTarget = 0;
+        for (TargetState target : targets.values()) {
+            busiestTarget = Math.max(busiestTarget, target.outstanding);
+        }
+        return new TargetConnectionManager.TaskStatistics(
+                running,
+                waiting,
+                outstanding,
+                busiestTarget,
+                targets.size(),
+                targetRejections.sum(),
+                overloadRejections.sum());
+    }
+
+    private static class TargetState {
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+        private int outstanding;
+        private long virtualTime;
+
+        boolean isBacklogged() {
+            return !waiting.isEmpty() || running > 0;
+        }
+
+        boolean isIdle() {
+            return !isBacklogged() && outstanding == 0;
+        }
+    }
+}
@@ -29,12 +29,15 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -54,7 +57,9 @@ import io.cryostat.net.security.ResourceType;
 import io.cryostat.net.security.ResourceVerb;
 import io.cryostat.util.resource.ClassPropertiesLoader;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.Scheduler;
 import com.google.gson.Gson;
@@ -90,6 +95,13 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
     private static final String CRYOSTAT_OAUTH_CLIENT_ID = "CRYOSTAT_OAUTH_CLIENT_ID";
     private static final String CRYOSTAT_BASE_OAUTH_ROLE = "CRYOSTAT_BASE_OAUTH_ROLE";
     private static final String CRYOSTAT_CUSTOM_OAUTH_ROLE = "CRYOSTAT_CUSTOM_OAUTH_ROLE";
+    static final String CRYOSTAT_AUTH_CACHE_TTL_MS = "CRYOSTAT_AUTH_CACHE_TTL_MS";
+    static final String CRYOSTAT_AUTH_NEGATIVE_CACHE_TTL_MS = "CRYOSTAT_AUTH_NEGATIVE_CACHE_TTL_MS";
+    static final long DEFAULT_AUTH_CACHE_TTL_MS = 10_000;
+    static final long DEFAULT_AUTH_NEGATIVE_CACHE_TTL_MS = 2_000;
+    private static final int AUTH_CACHE_MAX_SIZE = 10_000;
+    private static final String TOKEN_REVIEW_CACHE = "tokenReview";
+    private static final String ACCESS_REVIEW_CACHE = "accessReview";
 
     static final Pattern RESOURCE_PATTERN =
             Pattern.compile(
@@ -105,6 +117,9 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
     private final Gson gson;
 
     private final LoadingCache<String, OpenShiftClient> userClients;
+    // keyed by token hash, so that raw tokens are not retained by the decision caches
+    private final AsyncCache<String, TokenReviewStatus> tokenReviews;
+    private final AsyncCache<AccessReviewKey, AccessDecision> accessReviews;
 
     OpenShiftAuthManager(
             Environment env,
@@ -130,9 +145,49 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
                         .removalListener((k, v, cause) -> v.close());
         this.userClients = cacheBuilder.build(clientProvider::apply);
 
+        long ttl = getDurationNanos(env, CRYOSTAT_AUTH_CACHE_TTL_MS, DEFAULT_AUTH_CACHE_TTL_MS);
+        long negativeTtl =
+                getDurationNanos(
+                        env,
+                        CRYOSTAT_AUTH_NEGATIVE_CACHE_TTL_MS,
+                        DEFAULT_AUTH_NEGATIVE_CACHE_TTL_MS);
+        this.tokenReviews =
+                Caffeine.newBuilder()
+                        .executor(cacheExecutor)
+                        .scheduler(cacheScheduler)
+                        .maximumSize(AUTH_CACHE_MAX_SIZE)
+                        .expireAfter(
+                                new DecisionExpiry<String, TokenReviewStatus>(
+                                        s -> Boolean.TRUE.equals(s.getAuthenticated()),
+                                        ttl,
+                                        negativeTtl))
+                        .buildAsync();
+        this.accessReviews =
+                Caffeine.newBuilder()
+                        .executor(cacheExecutor)
+                        .scheduler(cacheScheduler)
+                        .maximumSize(AUTH_CACHE_MAX_SIZE)
+                        .expireAfter(
+                                new DecisionExpiry<AccessReviewKey, AccessDecision>(
+                                        AccessDecision::allowed, ttl, negativeTtl))
+                        .buildAsync();
+
         this.resourceMap = processResourceMapping(classPropertiesLoader);
     }
 
+    private long getDurationNanos(Environment env, String name, long defaultMs) {
+        String raw = env.getEnv(name);
+        if (StringUtils.isBlank(raw)) {
+            return TimeUnit.MILLISECONDS.toNanos(defaultMs);
+        }
+        try {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, Long.parseLong(raw.strip())));
+        } catch (NumberFormatException nfe) {
+            logger.warn("{} was set to {} - ignoring", name, raw);
+            return TimeUnit.MILLISECONDS.toNanos(defaultMs);
+        }
+    }
+
     Map<ResourceType, Set<GroupResource>> processResourceMapping(ClassPropertiesLoader loader) {
         Map<ResourceType, Set<GroupResource>> resourceMap = new HashMap<>();
         Map<String, String> props;
@@ -218,7 +273,7 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
     }
 
     @Override
-    public Future<Boolean> validateToken(
+    public CompletableFuture<Boolean> validateToken(
             Supplier<String> tokenProvider, Set<ResourceAction> resourceActions) {
         String token = tokenProvider.get();
         if (StringUtils.isBlank(token)) {
@@ -229,105 +284,139 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
         }
 
         OpenShiftClient client = userClients.get(token);
-        try {
-            List<CompletableFuture<Void>> results =
-                    resourceActions.stream()
-                            .flatMap(
-                                    resourceAction ->
-                                            validateAction(client, namespace.get(), resourceAction))
-                            .collect(Collectors.toList());
-
-            CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
-                    .get(15, TimeUnit.SECONDS);
-            // if we get here then all requests were successful and granted, otherwise an exception
-            // was thrown on allOf().get() above
-            return CompletableFuture.completedFuture(true);
-        } catch (KubernetesClientException | ExecutionException e) {
-            userClients.invalidate(token);
-            logger.info("Kubernetes exception", e);
-            return CompletableFuture.failedFuture(e);
-        } catch (Exception e) {
-            userClients.invalidate(token);
-            logger.error("Token validation exception", e);
-            return CompletableFuture.failedFuture(e);
-        }
+        // many resource actions map to the same access reviews, so only review each once, and run
+        // all of the reviews for this request concurrently. Nothing here waits on the reviews, so
+        // that callers may compose the result without blocking a thread.
+        String tokenHash = hash(token);
+        String ns = namespace.get();
+        CompletableFuture<?>[] results =
+                resourceActions.stream()
+                        .flatMap(
+                                resourceAction ->
+                                        getAccessReviewKeys(tokenHash, ns, resourceAction))
+                        .distinct()
+                        .map(key -> validateAction(client, key))
+                        .toArray(CompletableFuture[]::new);
+
+        // if all reviews complete successfully then every one was granted
+        return CompletableFuture.allOf(results)
+                .orTimeout(15, TimeUnit.SECONDS)
+                .handle(
+                        (v, t) -> {
+                            if (t == null) {
+                                return true;
+                            }
+                            userClients.invalidate(token);
+                            Throwable cause = unwrap(t);
+                            if (cause instanceof KubernetesClientException
+                                    || cause instanceof PermissionDeniedException) {
+                                logger.info("Kubernetes exception", cause);
+                            } else {
+                                logger.error("Token validation exception", cause);
+                            }
+                            throw new CompletionException(cause);
+                        });
     }
 
-    Future<Boolean> reviewToken(String token) {
-        Future<TokenReviewStatus> fStatus = performTokenReview(token);
-        try {
-            TokenReviewStatus status = fStatus.get();
-            Boolean authenticated = status.getAuthenticated();
-            return CompletableFuture.completedFuture(authenticated != null && authenticated);
-        } catch (ExecutionException ee) {
-            return CompletableFuture.failedFuture(ee.getCause());
-        } catch (Exception e) {
-            return CompletableFuture.failedFuture(e);
+    CompletableFuture<Boolean> reviewToken(String token) {
+        return performTokenReview(token)
+                .thenApply(status -> Boolean.TRUE.equals(status.getAuthenticated()));
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        if (t instanceof CompletionException && t.getCause() != null) {
+            return t.getCause();
         }
+        return t;
     }
 
-    private Stream<CompletableFuture<Void>> validateAction(
-            OpenShiftClient client, String namespace, ResourceAction resourceAction) {
+    private Stream<AccessReviewKey> getAccessReviewKeys(
+            String tokenHash, String namespace, ResourceAction resourceAction) {
         Set<GroupResource> resources =
                 resourceMap.getOrDefault(resourceAction.getResource(), Set.of());
-        if (resources.isEmpty()) {
-            return Stream.of();
-        }
         String verb = map(resourceAction.getVerb());
         return resources.stream()
-                .map(
-                        resource ->
-                                new SelfSubjectAccessReviewBuilder()
-                                        .withNewSpec()
-                                        .withNewResourceAttributes()
-                                        .withNamespace(namespace)
-                                        .withGroup(resource.getGroup())
-                                        .withResource(resource.getResource())
-                                        .withSubresource(resource.getSubResource())
-                                        .withVerb(verb)
-                                        .endResourceAttributes()
-                                        .endSpec()
-                                        .build())
-                .map(
-                        accessReview -> {
-                            CompletableFuture<Void> result = new CompletableFuture<>();
-                            AuthRequest evt = new AuthRequest();
-                            try {
-                                evt.begin();
-                                SelfSubjectAccessReview accessReviewResult =
-                                        client.authorization()
-                                                .v1()
-                                                .selfSubjectAccessReview()
-                                                .create(accessReview);
-                                evt.setRequestSuccessful(true);
-                                if (accessReviewResult.getStatus().getAllowed()) {
-                                    result.complete(null);
-                                } else {
-                                    result.completeExceptionally(
-                                            new PermissionDeniedException(
-                                                    namespace,
-                                                    new GroupResource(
-                                                                    accessReview
-                                                                            .getSpec()
-                                                                            .getResourceAttributes())
-                                                            .toString(),
-                                                    verb,
-                                                    accessReviewResult.getStatus().getReason()));
-                                }
-                            } catch (Exception e) {
-                                result.completeExceptionally(e);
-                            } finally {
-                                if (evt.shouldCommit()) {
-                                    evt.end();
-                                    evt.commit();
-                                }
+                .map(resource -> new AccessReviewKey(tokenHash, namespace, resource, verb));
+    }
+
+    private CompletableFuture<Void> validateAction(OpenShiftClient client, AccessReviewKey key) {
+        return lookup(
+                        accessReviews,
+                        ACCESS_REVIEW_CACHE,
+                        key,
+                        (k, executor) ->
+                                CompletableFuture.supplyAsync(
+                                        () -> performAccessReview(client, k), executor))
+                .thenCompose(
+                        decision -> {
+                            if (decision.allowed()) {
+                                return CompletableFuture.completedFuture(null);
                             }
-                            return result;
+                            return CompletableFuture.failedFuture(
+                                    new PermissionDeniedException(
+                                            key.namespace(),
+                                            key.resource().toString(),
+                                            key.verb(),
+                                            decision.reason()));
                         });
     }
 
+    private AccessDecision performAccessReview(OpenShiftClient client, AccessReviewKey key) {
+        SelfSubjectAccessReview accessReview =
+                new SelfSubjectAccessReviewBuilder()
+                        .withNewSpec()
+                        .withNewResourceAttributes()
+                        .withNamespace(key.namespace())
+                        .withGroup(key.resource().getGroup())
+                        .withResource(key.resource().getResource())
+                        .withSubresource(key.resource().getSubResource())
+                        .withVerb(key.verb())
+                        .endResourceAttributes()
+                        .endSpec()
+                        .build();
+        AuthRequest evt = new AuthRequest();
+        try {
+            evt.begin();
+            SelfSubjectAccessReview accessReviewResult =
+                    client.authorization().v1().selfSubjectAccessReview().create(accessReview);
+            evt.setRequestSuccessful(true);
+            return new AccessDecision(
+                    Boolean.TRUE.equals(accessReviewResult.getStatus().getAllowed()),
+                    accessReviewResult.getStatus().getReason());
+        } finally {
+            if (evt.shouldCommit()) {
+                evt.end();
+                evt.commit();
+            }
+        }
+    }
+
+    /**
+     * Get the cached decision for the key, or compute it if there is none. Decisions which fail to
+     * be computed are not cached.
+     */
+    private static <K, V> CompletableFuture<V> lookup(
+            AsyncCache<K, V> cache,
+            String cacheName,
+            K key,
+            BiFunction<K, Executor, CompletableFuture<V>> compute) {
+        boolean[] computed = new boolean[1];
+        CompletableFuture<V> result =
+                cache.get(
+                        key,
+                        (k, executor) -> {
+                            computed[0] = true;
+                            return compute.apply(k, executor);
+                        });
+        AuthCacheLookup evt = new AuthCacheLookup(cacheName, !computed[0]);
+        if (evt.shouldCommit()) {
+            evt.commit();
+        }
+        return result;
+    }
+
     @Override
-    public Future<Boolean> validateHttpHeader(
+    public CompletableFuture<Boolean> validateHttpHeader(
             Supplier<String> headerProvider, Set<ResourceAction> resourceActions) {
         String authorization = headerProvider.get();
         String token = getTokenFromHttpHeader(authorization);
@@ -338,7 +427,7 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
     }
 
     @Override
-    public Future<Boolean> validateWebSocketSubProtocol(
+    public CompletableFuture<Boolean> validateWebSocketSubProtocol(
             Supplier<String> subProtocolProvider, Set<ResourceAction> resourceActions) {
         String subprotocol = subProtocolProvider.get();
         if (StringUtils.isBlank(subprotocol)) {
@@ -363,6 +452,7 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
     }
 
     private void deleteToken(String token) throws TokenNotFoundException {
+        invalidateToken(token);
         List<StatusDetails> results =
                 serviceAccountClient
                         .get()
@@ -384,6 +474,17 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
         }
     }
 
+    private void invalidateToken(String token) {
+        String tokenHash = hash(token);
+        tokenReviews.synchronous().invalidate(tokenHash);
+        accessReviews.synchronous().asMap().keySet().removeIf(k -> k.tokenHash().equals(tokenHash));
+        userClients.invalidate(token);
+    }
+
+    private static String hash(String token) {
+        return DigestUtils.sha256Hex(token);
+    }
+
     private String getTokenFromHttpHeader(String rawHttpHeader) {
         if (StringUtils.isBlank(rawHttpHeader)) {
             return null;
@@ -401,7 +502,17 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
         }
     }
 
-    private Future<TokenReviewStatus> performTokenReview(String token) {
+    private CompletableFuture<TokenReviewStatus> performTokenReview(String token) {
+        return lookup(
+                tokenReviews,
+                TOKEN_REVIEW_CACHE,
+                hash(token),
+                (k, executor) ->
+                        CompletableFuture.completedFuture(token)
+                                .thenComposeAsync(this::requestTokenReview, executor));
+    }
+
+    private CompletableFuture<TokenReviewStatus> requestTokenReview(String token) {
         try {
             TokenReview review =
                     new TokenReviewBuilder().withNewSpec().withToken(token).endSpec().build();
@@ -583,6 +694,56 @@ public class OpenShiftAuthManager extends AbstractAuthManager {
         }
     }
 
+    @Name("io.cryostat.net.OpenShiftAuthManager.AuthCacheLookup")
+    @Label("Auth Decision Cache Lookup")
+    @Category("Cryostat")
+    @SuppressFBWarnings(
+            value = "URF_UNREAD_FIELD",
+            justification = "Event fields are recorded with JFR instead of accessed directly")
+    public static class AuthCacheLookup extends Event {
+
+        String cache;
+        boolean hit;
+
+        public AuthCacheLookup(String cache, boolean hit) {
+            this.cache = cache;
+            this.hit = hit;
+        }
+    }
+
+    static record AccessReviewKey(
+            String tokenHash, String namespace, GroupResource resource, String verb) {}
+
+    static record AccessDecision(boolean allowed, String reason) {}
+
+    /** Expires allowed decisions after one TTL, and denied decisions after another. */
+    private static class DecisionExpiry<K, V> implements Expiry<K, V> {
+        private final Predicate<V> allowed;
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        DecisionExpiry(Predicate<V> allowed, long ttlNanos, long negativeTtlNanos) {
+            this.allowed = allowed;
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            return allowed.test(value) ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
     // A pairing of a Kubernetes group name and resource name
     public static class GroupResource {
 
@@ -30,6 +30,7 @@ import io.cryostat.core.net.JFRConnection;
 import io.cryostat.core.sys.FileSystem;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.recordings.RecordingNotFoundException;
 
 import org.slf4j.Logger;
@@ -73,9 +74,10 @@ abstract class AbstractReportGeneratorService implements ReportGeneratorService
             throws Exception {
         return this.targetConnectionManager.executeConnectedTask(
                 cd,
-                conn ->
-                        copyRecordingToFile(
-                                conn, cd, recordingName, fs.createTempFile(null, null)));
+                ConnectedTask.readOnly(
+                        conn ->
+                                copyRecordingToFile(
+                                        conn, cd, recordingName, fs.createTempFile(null, null))));
     }
 
     Path copyRecordingToFile(
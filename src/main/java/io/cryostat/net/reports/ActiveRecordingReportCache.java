@@ -18,6 +18,7 @@ package io.cryostat.net.reports;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
@@ -37,6 +38,7 @@ import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.recordings.RecordingTargetHelper;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.Scheduler;
@@ -46,7 +48,7 @@ import org.slf4j.LoggerFactory;
 class ActiveRecordingReportCache implements NotificationListener<Map<String, Object>> {
     protected final Provider<ReportGeneratorService> reportGeneratorServiceProvider;
     protected final FileSystem fs;
-    protected final LoadingCache<RecordingDescriptor, String> cache;
+    protected final LoadingCache<RecordingDescriptor, Report> cache;
     protected final TargetConnectionManager targetConnectionManager;
     protected final long generationTimeoutSeconds;
     protected final long cacheExpirySeconds;
@@ -54,8 +56,6 @@ class ActiveRecordingReportCache implements NotificationListener<Map<String, Obj
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
-    protected static final String EMPTY_FILTERS = "";
-
     ActiveRecordingReportCache(
             Provider<ReportGeneratorService> reportGeneratorServiceProvider,
             FileSystem fs,
@@ -75,21 +75,32 @@ class ActiveRecordingReportCache implements NotificationListener<Map<String, Obj
                         .expireAfterWrite(cacheExpirySeconds, TimeUnit.SECONDS)
                         .refreshAfterWrite(cacheRefreshSeconds, TimeUnit.SECONDS)
                         .softValues()
-                        .build(this::getReport);
+                        .build(
+                                new CacheLoader<RecordingDescriptor, Report>() {
+                                    @Override
+                                    public Report load(RecordingDescriptor key) {
+                                        return new Report(key);
+                                    }
+
+                                    @Override
+                                    public Report reload(RecordingDescriptor key, Report oldValue)
+                                            throws Exception {
+                                        // re-evaluate only the rules which have been requested
+                                        // so far against the latest recording data
+                                        Report report = new Report(key);
+                                        report.get(oldValue.ruleIds());
+                                        return report;
+                                    }
+                                });
     }
 
     Future<String> get(
             ConnectionDescriptor connectionDescriptor, String recordingName, String filter) {
         CompletableFuture<String> f = new CompletableFuture<>();
         try {
-            if (filter.isBlank()) {
-                f.complete(cache.get(new RecordingDescriptor(connectionDescriptor, recordingName)));
-            } else {
-                f.complete(
-                        getReport(
-                                new RecordingDescriptor(connectionDescriptor, recordingName),
-                                filter));
-            }
+            f.complete(
+                    cache.get(new RecordingDescriptor(connectionDescriptor, recordingName))
+                            .get(RuleEvaluations.ruleIds(filter), filter));
         } catch (Exception e) {
             f.completeExceptionally(e);
         }
@@ -108,15 +119,10 @@ class ActiveRecordingReportCache implements NotificationListener<Map<String, Obj
         return hasKey;
     }
 
-    protected String getReport(RecordingDescriptor recordingDescriptor) throws Exception {
-        return getReport(recordingDescriptor, EMPTY_FILTERS);
-    }
-
     protected String getReport(RecordingDescriptor recordingDescriptor, String filter)
             throws Exception {
         Path saveFile = null;
         try {
-            /* NOTE: Not always a cache miss since if a filter is specified we do not even check the cache */
             logger.trace("Active report cache miss for {}", recordingDescriptor.recordingName);
             try {
                 saveFile =
@@ -166,6 +172,44 @@ class ActiveRecordingReportCache implements NotificationListener<Map<String, Obj
         }
     }
 
+    /**
+     * Per-rule results for one active recording. Evaluations are serialized per recording so that
+     * concurrent requests do not evaluate the same rules more than once.
+     */
+    class Report {
+        private final RecordingDescriptor recordingDescriptor;
+        private RuleEvaluations evaluations = RuleEvaluations.EMPTY;
+
+        Report(RecordingDescriptor recordingDescriptor) {
+            this.recordingDescriptor = recordingDescriptor;
+        }
+
+        synchronized Set<String> ruleIds() {
+            return evaluations.ruleIds();
+        }
+
+        String get(Set<String> ruleIds) throws Exception {
+            return get(ruleIds, RuleEvaluations.filter(ruleIds));
+        }
+
+        synchronized String get(Set<String> ruleIds, String filter) throws Exception {
+            Set<String> missing = evaluations.missing(ruleIds);
+            if (!missing.isEmpty()) {
+                // ask for the original filter if nothing it selects is known yet, otherwise
+                // only for the rules which have not been evaluated
+                String missingFilter =
+                        missing.size() == ruleIds.size() ? filter : RuleEvaluations.filter(missing);
+                evaluations =
+                        evaluations.merge(
+                                RuleEvaluations.parse(
+                                        getReport(recordingDescriptor, missingFilter)));
+            } else {
+                logger.trace("Active report cache hit for {}", recordingDescriptor.recordingName);
+            }
+            return evaluations.select(ruleIds);
+        }
+    }
+
     @Override
     public void onNotification(Notification<Map<String, Object>> notification) {
         String category = notification.getCategory();
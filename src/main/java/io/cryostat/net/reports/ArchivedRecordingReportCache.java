@@ -16,8 +16,18 @@
 package io.cryostat.net.reports;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -25,8 +35,10 @@ import javax.inject.Named;
 import javax.inject.Provider;
 
 import io.cryostat.core.sys.FileSystem;
+import io.cryostat.net.web.WebModule;
 import io.cryostat.recordings.RecordingArchiveHelper;
 
+import com.github.benmanes.caffeine.cache.Interner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,55 +47,84 @@ class ArchivedRecordingReportCache {
     protected final FileSystem fs;
     protected final Provider<ReportGeneratorService> reportGeneratorServiceProvider;
     protected final RecordingArchiveHelper recordingArchiveHelper;
+    protected final Path reportsPath;
     protected final long generationTimeoutSeconds;
+    protected final long cacheMaxSizeBytes;
+    // report files on disk and their sizes in bytes, in least-recently-used order
+    private final LinkedHashMap<Path, Long> reportFiles = new LinkedHashMap<>(16, 0.75f, true);
+    private long reportFilesSizeBytes;
+    protected final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    // per-recording locks guarding each recording's rule results file
+    private final Interner<Path> ruleResultsLocks = Interner.newWeakInterner();
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+    static final String RULE_RESULTS_SUFFIX = ".rules.json";
+    static final String REPORT_SUFFIX = ".report.json";
+
     ArchivedRecordingReportCache(
             FileSystem fs,
             Provider<ReportGeneratorService> reportGeneratorServiceProvider,
             RecordingArchiveHelper recordingArchiveHelper,
-            @Named(ReportsModule.REPORT_GENERATION_TIMEOUT_SECONDS) long generationTimeoutSeconds) {
+            @Named(WebModule.WEBSERVER_TEMP_DIR_PATH) Path reportsPath,
+            @Named(ReportsModule.REPORT_GENERATION_TIMEOUT_SECONDS) long generationTimeoutSeconds,
+            @Named(ReportsModule.ARCHIVED_REPORT_CACHE_MAX_SIZE_BYTES) long cacheMaxSizeBytes) {
         this.fs = fs;
         this.reportGeneratorServiceProvider = reportGeneratorServiceProvider;
         this.recordingArchiveHelper = recordingArchiveHelper;
+        this.reportsPath = reportsPath;
         this.generationTimeoutSeconds = generationTimeoutSeconds;
+        this.cacheMaxSizeBytes = cacheMaxSizeBytes;
+        seed();
+    }
+
+    // account for reports already on disk so that they count towards the size limit
+    private void seed() {
+        List<Path> evicted;
+        synchronized (reportFiles) {
+            try {
+                for (String subdirectoryName : fs.listDirectoryChildren(reportsPath)) {
+                    Path subdirectory = reportsPath.resolve(subdirectoryName);
+                    if (!fs.isDirectory(subdirectory)) {
+                        continue;
+                    }
+                    for (String fileName : fs.listDirectoryChildren(subdirectory)) {
+                        if (!fileName.endsWith(REPORT_SUFFIX)
+                                && !fileName.endsWith(RULE_RESULTS_SUFFIX)) {
+                            continue;
+                        }
+                        Path report = subdirectory.resolve(fileName);
+                        long size = fs.size(report);
+                        reportFiles.put(report, size);
+                        reportFilesSizeBytes += size;
+                    }
+                }
+            } catch (IOException ioe) {
+                logger.warn("Failed to read existing archived reports", ioe);
+            }
+            evicted = evictOverLimit(0);
+        }
+        deleteEvicted(evicted);
     }
 
     Future<Path> getFromPath(String subdirectoryName, String recordingName, String filter) {
-        CompletableFuture<Path> f = new CompletableFuture<>();
-        Path dest = null;
+        Path dest;
         try {
             dest =
                     recordingArchiveHelper
                             .getCachedReportPathFromPath(subdirectoryName, recordingName, filter)
                             .get();
-            if (fs.isReadable(dest) && fs.isRegularFile(dest)) {
-                f.complete(dest);
-                logger.trace("Archived report cache hit for {}", recordingName);
-                return f;
-            }
-            logger.trace("Archived report cache miss for {}", recordingName);
-            Path archivedRecording =
-                    recordingArchiveHelper
-                            .getRecordingPathFromPath(subdirectoryName, recordingName)
-                            .get();
-
-            Path saveFile =
-                    reportGeneratorServiceProvider
-                            .get()
-                            .exec(archivedRecording, dest, filter)
-                            .get(generationTimeoutSeconds, TimeUnit.SECONDS);
-            f.complete(saveFile);
         } catch (Exception e) {
             logger.error("Read exception", e);
-            f.completeExceptionally(e);
-            try {
-                fs.deleteIfExists(dest);
-            } catch (IOException ioe) {
-                logger.warn("Delete exception", ioe);
-            }
+            return CompletableFuture.failedFuture(e);
         }
-        return f;
+        return getOrGenerate(
+                dest,
+                recordingName,
+                filter,
+                () ->
+                        recordingArchiveHelper
+                                .getRecordingPathFromPath(subdirectoryName, recordingName)
+                                .get());
     }
 
     Future<Path> get(String recordingName, String filter) {
@@ -91,36 +132,205 @@ class ArchivedRecordingReportCache {
     }
 
     Future<Path> get(String sourceTarget, String recordingName, String filter) {
-        CompletableFuture<Path> f = new CompletableFuture<>();
-        Path dest = null;
+        Path dest;
         try {
             dest =
                     recordingArchiveHelper
                             .getCachedReportPath(sourceTarget, recordingName, filter)
                             .get();
-            if (fs.isReadable(dest) && fs.isRegularFile(dest)) {
-                f.complete(dest);
-                logger.trace("Archived report cache hit for {}", recordingName);
-                return f;
+        } catch (Exception e) {
+            logger.error("Read exception", e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return getOrGenerate(
+                dest,
+                recordingName,
+                filter,
+                () -> recordingArchiveHelper.getRecordingPath(sourceTarget, recordingName).get());
+    }
+
+    boolean delete(String subdirectoryName, String recordingName) {
+        logger.info("Invalidating archived report cache for {}", recordingName);
+        Path subdirectory = reportsPath.resolve(subdirectoryName);
+        try {
+            List<Path> reports = new ArrayList<>();
+            for (String fileName : fs.listDirectoryChildren(subdirectory)) {
+                if (fileName.startsWith(recordingName)) {
+                    reports.add(subdirectory.resolve(fileName));
+                }
             }
-            logger.trace("Archived report cache miss for {}", recordingName);
-            Path archivedRecording =
-                    recordingArchiveHelper.getRecordingPath(sourceTarget, recordingName).get();
-            Path saveFile =
-                    reportGeneratorServiceProvider
-                            .get()
-                            .exec(archivedRecording, dest, filter)
-                            .get(generationTimeoutSeconds, TimeUnit.SECONDS);
-            f.complete(saveFile);
+            synchronized (reportFiles) {
+                for (Path report : reports) {
+                    Long size = reportFiles.remove(report);
+                    if (size != null) {
+                        reportFilesSizeBytes -= size;
+                    }
+                }
+            }
+            for (Path report : reports) {
+                fs.deleteIfExists(report);
+            }
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to delete report cache for {}", recordingName);
+            return false;
+        }
+    }
+
+    private Future<Path> getOrGenerate(
+            Path dest, String recordingName, String filter, Callable<Path> archivedRecording) {
+        // the destination path is unique per recording and filter, so concurrent requests for
+        // the same report all wait on the first request's generation rather than racing on it
+        CompletableFuture<Path> existing = inFlight.get(dest);
+        if (existing != null) {
+            return awaitGeneration(existing, recordingName);
+        }
+        // reports are only ever moved into place once complete, so a file at the destination is
+        // always a whole report
+        if (fs.isReadable(dest) && fs.isRegularFile(dest)) {
+            logger.trace("Archived report cache hit for {}", recordingName);
+            track(dest, false);
+            return CompletableFuture.completedFuture(dest);
+        }
+        CompletableFuture<Path> f = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(dest, f);
+        if (existing != null) {
+            return awaitGeneration(existing, recordingName);
+        }
+        logger.trace("Archived report cache miss for {}", recordingName);
+        Path tmp = null;
+        try {
+            tmp = fs.createTempFile(dest.getParent(), null, null);
+            Set<String> ruleIds = RuleEvaluations.ruleIds(filter);
+            RuleEvaluations evaluations =
+                    evaluate(dest, tmp, recordingName, ruleIds, filter, archivedRecording);
+            fs.writeString(
+                    tmp,
+                    evaluations.select(ruleIds),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            Files.move(
+                    tmp, dest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            track(dest, true);
+            f.complete(dest);
         } catch (Exception e) {
             logger.error("Read exception", e);
             f.completeExceptionally(e);
+            if (tmp != null) {
+                try {
+                    fs.deleteIfExists(tmp);
+                } catch (IOException ioe) {
+                    logger.warn("Delete exception", ioe);
+                }
+            }
+        } finally {
+            inFlight.remove(dest, f);
+        }
+        return f;
+    }
+
+    private CompletableFuture<Path> awaitGeneration(
+            CompletableFuture<Path> generation, String recordingName) {
+        logger.trace("Archived report generation already in progress for {}", recordingName);
+        // time out a copy so that one waiter giving up does not fail the generation for others
+        return generation.copy().orTimeout(generationTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The results of every rule evaluated so far against a recording are kept in one file alongside
+     * the recording's cached reports, so a report for a new filter only needs to evaluate the rules
+     * which no earlier report has evaluated.
+     */
+    private RuleEvaluations evaluate(
+            Path dest,
+            Path saveFile,
+            String recordingName,
+            Set<String> ruleIds,
+            String filter,
+            Callable<Path> archivedRecording)
+            throws Exception {
+        Path ruleResults = dest.resolveSibling(recordingName + RULE_RESULTS_SUFFIX);
+        synchronized (ruleResultsLocks.intern(ruleResults)) {
+            RuleEvaluations evaluations = RuleEvaluations.EMPTY;
+            if (fs.isRegularFile(ruleResults)) {
+                try {
+                    evaluations = RuleEvaluations.parse(fs.readString(ruleResults));
+                } catch (Exception e) {
+                    logger.warn("Discarding unreadable rule results {}", ruleResults);
+                }
+            }
+            Set<String> missing = evaluations.missing(ruleIds);
+            if (missing.isEmpty()) {
+                track(ruleResults, false);
+                return evaluations;
+            }
+            // ask for the original filter if nothing it selects is known yet, otherwise only
+            // for the rules which have not been evaluated
+            String missingFilter =
+                    missing.size() == ruleIds.size() ? filter : RuleEvaluations.filter(missing);
+            Path generated =
+                    reportGeneratorServiceProvider
+                            .get()
+                            .exec(archivedRecording.call(), saveFile, missingFilter)
+                            .get(generationTimeoutSeconds, TimeUnit.SECONDS);
+            evaluations = evaluations.merge(RuleEvaluations.parse(fs.readString(generated)));
+            fs.writeString(
+                    ruleResults,
+                    evaluations.toString(),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            track(ruleResults, true);
+            return evaluations;
+        }
+    }
+
+    private void track(Path report, boolean regenerated) {
+        List<Path> evicted;
+        synchronized (reportFiles) {
+            Long previousSize = regenerated ? reportFiles.remove(report) : reportFiles.get(report);
+            if (previousSize != null) {
+                if (!regenerated) {
+                    return;
+                }
+                reportFilesSizeBytes -= previousSize;
+            }
+            try {
+                long size = fs.size(report);
+                reportFiles.put(report, size);
+                reportFilesSizeBytes += size;
+            } catch (IOException ioe) {
+                logger.warn("Size exception", ioe);
+                return;
+            }
+            // never evict the report which is about to be served
+            evicted = evictOverLimit(1);
+        }
+        deleteEvicted(evicted);
+    }
+
+    // must be called while holding the reportFiles lock
+    private List<Path> evictOverLimit(int minRetained) {
+        List<Path> evicted = new ArrayList<>();
+        var it = reportFiles.entrySet().iterator();
+        while (reportFilesSizeBytes > cacheMaxSizeBytes && reportFiles.size() > minRetained) {
+            var eldest = it.next();
+            reportFilesSizeBytes -= eldest.getValue();
+            evicted.add(eldest.getKey());
+            it.remove();
+        }
+        return evicted;
+    }
+
+    private void deleteEvicted(List<Path> evicted) {
+        for (Path path : evicted) {
+            logger.trace("Evicting archived report {}", path);
             try {
-                fs.deleteIfExists(dest);
+                fs.deleteIfExists(path);
             } catch (IOException ioe) {
                 logger.warn("Delete exception", ioe);
             }
         }
-        return f;
     }
 }
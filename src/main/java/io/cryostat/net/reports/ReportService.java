@@ -16,19 +16,36 @@
 package io.cryostat.net.reports;
 
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.concurrent.Future;
 
 import io.cryostat.net.ConnectionDescriptor;
 
-public class ReportService {
+import io.vertx.core.AbstractVerticle;
+
+public class ReportService extends AbstractVerticle {
 
     private final ActiveRecordingReportCache activeCache;
     private final ArchivedRecordingReportCache archivedCache;
+    private final Optional<SubprocessReportWorkerPool> workerPool;
 
     ReportService(
-            ActiveRecordingReportCache activeCache, ArchivedRecordingReportCache archivedCache) {
+            ActiveRecordingReportCache activeCache,
+            ArchivedRecordingReportCache archivedCache,
+            Optional<SubprocessReportWorkerPool> workerPool) {
         this.activeCache = activeCache;
         this.archivedCache = archivedCache;
+        this.workerPool = workerPool;
+    }
+
+    @Override
+    public void start() {
+        workerPool.ifPresent(SubprocessReportWorkerPool::start);
+    }
+
+    @Override
+    public void stop() {
+        workerPool.ifPresent(SubprocessReportWorkerPool::shutdown);
     }
 
     public Future<Path> getFromPath(String subdirectoryName, String recordingName, String filter) {
@@ -43,6 +60,10 @@ public class ReportService {
         return archivedCache.get(sourceTarget, recordingName, filter);
     }
 
+    public boolean delete(String subdirectoryName, String recordingName) {
+        return archivedCache.delete(subdirectoryName, recordingName);
+    }
+
     public Future<String> get(
             ConnectionDescriptor connectionDescriptor, String recordingName, String filter) {
         return activeCache.get(connectionDescriptor, recordingName, filter);
@@ -15,6 +15,13 @@
  */
 package io.cryostat.net.reports;
 
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
@@ -24,10 +31,12 @@ import io.cryostat.core.sys.Environment;
 import io.cryostat.core.sys.FileSystem;
 import io.cryostat.messaging.notifications.NotificationListener;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.web.WebModule;
 import io.cryostat.net.web.http.HttpModule;
 import io.cryostat.recordings.RecordingArchiveHelper;
 import io.cryostat.util.JavaProcess;
 
+import com.google.gson.Gson;
 import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
@@ -44,6 +53,8 @@ public abstract class ReportsModule {
             "ACTIVE_REPORT_CACHE_EXPIRY_SECONDS";
     public static final String ACTIVE_REPORT_CACHE_REFRESH_SECONDS =
             "ACTIVE_REPORT_CACHE_REFRESH_SECONDS";
+    public static final String ARCHIVED_REPORT_CACHE_MAX_SIZE_BYTES =
+            "ARCHIVED_REPORT_CACHE_MAX_SIZE_BYTES";
 
     @Provides
     @Named(REPORT_GENERATION_TIMEOUT_SECONDS)
@@ -64,6 +75,14 @@ public abstract class ReportsModule {
         return Long.parseLong(env.getEnv(Variables.ACTIVE_REPORTS_CACHE_REFRESH_ENV, "10"));
     }
 
+    @Provides
+    @Named(ARCHIVED_REPORT_CACHE_MAX_SIZE_BYTES)
+    static long provideArchivedReportCacheMaxSizeBytes(Environment env) {
+        return Long.parseLong(env.getEnv(Variables.ARCHIVED_REPORTS_CACHE_MAX_SIZE_ENV, "100"))
+                * 1024
+                * 1024;
+    }
+
     @Provides
     @Singleton
     static ActiveRecordingReportCache provideActiveRecordingReportCache(
@@ -92,12 +111,16 @@ public abstract class ReportsModule {
             FileSystem fs,
             Provider<ReportGeneratorService> reportGeneratorServiceProvider,
             RecordingArchiveHelper recordingArchiveHelper,
-            @Named(REPORT_GENERATION_TIMEOUT_SECONDS) long generationTimeoutSeconds) {
+            @Named(WebModule.WEBSERVER_TEMP_DIR_PATH) Path reportsPath,
+            @Named(REPORT_GENERATION_TIMEOUT_SECONDS) long generationTimeoutSeconds,
+            @Named(ARCHIVED_REPORT_CACHE_MAX_SIZE_BYTES) long cacheMaxSizeBytes) {
         return new ArchivedRecordingReportCache(
                 fs,
                 reportGeneratorServiceProvider,
                 recordingArchiveHelper,
-                generationTimeoutSeconds);
+                reportsPath,
+                generationTimeoutSeconds,
+                cacheMaxSizeBytes);
     }
 
     @Provides
@@ -128,21 +151,58 @@ public abstract class ReportsModule {
                 targetConnectionManager, fs, vertx, http, env, generationTimeoutSeconds);
     }
 
+    @Provides
+    @Singleton
+    static SubprocessReportWorkerPool provideSubprocessReportWorkerPool(
+            Environment env, Provider<JavaProcess.Builder> javaProcessBuilder, Gson gson) {
+        // spawns workers in the background, and times out when there are none left to spawn
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        1,
+                        1,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        r -> {
+                            Thread t = new Thread(r);
+                            t.setName("cryostat-report-workers-" + threadCount.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        int size = Integer.parseInt(env.getEnv(Variables.SUBPROCESS_WORKERS_ENV, "1"));
+        if (size < 1) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "%s must be positive, was %d", Variables.SUBPROCESS_WORKERS_ENV, size));
+        }
+        return new SubprocessReportWorkerPool(env, javaProcessBuilder, gson, executor, size);
+    }
+
     @Provides
     static SubprocessReportGenerator provideSubprocessReportGenerator(
-            Environment env,
             FileSystem fs,
             TargetConnectionManager targetConnectionManager,
-            Provider<JavaProcess.Builder> javaProcessBuilder,
+            SubprocessReportWorkerPool workerPool,
             @Named(REPORT_GENERATION_TIMEOUT_SECONDS) long generationTimeoutSeconds) {
         return new SubprocessReportGenerator(
-                env, fs, targetConnectionManager, javaProcessBuilder, generationTimeoutSeconds);
+                fs, targetConnectionManager, workerPool, generationTimeoutSeconds);
     }
 
     @Provides
     @Singleton
     static ReportService provideReportService(
-            ActiveRecordingReportCache activeCache, ArchivedRecordingReportCache archivedCache) {
-        return new ReportService(activeCache, archivedCache);
+            Environment env,
+            ActiveRecordingReportCache activeCache,
+            ArchivedRecordingReportCache archivedCache,
+            Provider<SubprocessReportWorkerPool> workerPool) {
+        // workers are only needed if reports are not generated by a remote sidecar
+        return new ReportService(
+                activeCache,
+                archivedCache,
+                env.hasEnv(Variables.REPORT_GENERATOR_ENV)
+                        ? Optional.empty()
+                        : Optional.of(workerPool.get()));
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.reports;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmc.flightrecorder.rules.IRule;
+import org.openjdk.jmc.flightrecorder.rules.RuleRegistry;
+
+import io.cryostat.core.util.RuleFilterParser;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Automated analysis results for a single recording, stored individually per rule ID. A report for
+ * any filter can be answered by selecting the results of the rules matching the filter, so only the
+ * rules which have not yet been evaluated against the recording need to be computed. Instances are
+ * immutable.
+ */
+final class RuleEvaluations {
+
+    static final RuleEvaluations EMPTY = new RuleEvaluations(new JsonObject());
+
+    private final JsonObject results;
+
+    private RuleEvaluations(JsonObject results) {
+        this.results = results;
+    }
+
+    /**
+     * @param report a report document, as produced by a {@link ReportGeneratorService}
+     */
+    static RuleEvaluations parse(String report) {
+        return new RuleEvaluations(JsonParser.parseString(report).getAsJsonObject());
+    }
+
+    /**
+     * @return the IDs of the rules which the given report filter selects. A blank filter selects
+     *     all rules.
+     */
+    static Set<String> ruleIds(String filter) {
+        return RuleRegistry.getRules().stream()
+                .filter(new RuleFilterParser().parse(filter))
+                .map(IRule::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * @return a report filter which selects exactly the given rules
+     */
+    static String filter(Set<String> ruleIds) {
+        return String.join(",", ruleIds);
+    }
+
+    Set<String> ruleIds() {
+        return Collections.unmodifiableSet(results.keySet());
+    }
+
+    Set<String> missing(Set<String> ruleIds) {
+        Set<String> missing = new TreeSet<>(ruleIds);
+        missing.removeAll(results.keySet());
+        return missing;
+    }
+
+    RuleEvaluations merge(RuleEvaluations other) {
+        JsonObject merged = results.deepCopy();
+        for (Map.Entry<String, JsonElement> entry : other.results.entrySet()) {
+            merged.add(entry.getKey(), entry.getValue());
+        }
+        return new RuleEvaluations(merged);
+    }
+
+    /**
+     * @return a report document containing only the results of the given rules
+     */
+    String select(Set<String> ruleIds) {
+        JsonObject selected = new JsonObject();
+        for (String ruleId : ruleIds) {
+            JsonElement result = results.get(ruleId);
+            if (result != null) {
+                selected.add(ruleId, result);
+            }
+        }
+        return selected.toString();
+    }
+
+    @Override
+    public String toString() {
+        return results.toString();
+    }
+}
@@ -15,15 +15,16 @@
  */
 package io.cryostat.net.reports;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -32,49 +33,43 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import javax.inject.Named;
-import javax.inject.Provider;
 
 import org.openjdk.jmc.flightrecorder.rules.IRule;
 import org.openjdk.jmc.rjmx.ConnectionException;
 
-import io.cryostat.configuration.Variables;
 import io.cryostat.core.CryostatCore;
 import io.cryostat.core.reports.InterruptibleReportGenerator;
 import io.cryostat.core.reports.InterruptibleReportGenerator.AnalysisResult;
-import io.cryostat.core.sys.Environment;
 import io.cryostat.core.sys.FileSystem;
 import io.cryostat.core.util.RuleFilterParser;
 import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.recordings.RecordingNotFoundException;
-import io.cryostat.util.JavaProcess;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class SubprocessReportGenerator extends AbstractReportGeneratorService {
 
-    private final Environment env;
-    private final Provider<JavaProcess.Builder> javaProcessBuilderProvider;
+    private final SubprocessReportWorkerPool workerPool;
     private final long generationTimeoutSeconds;
 
     private static final Logger logger = LoggerFactory.getLogger(SubprocessReportGenerator.class);
 
     SubprocessReportGenerator(
-            Environment env,
             FileSystem fs,
             TargetConnectionManager targetConnectionManager,
-            Provider<JavaProcess.Builder> javaProcessBuilderProvider,
+            SubprocessReportWorkerPool workerPool,
             @Named(ReportsModule.REPORT_GENERATION_TIMEOUT_SECONDS) long generationTimeoutSeconds) {
         super(targetConnectionManager, fs);
-        this.env = env;
-        this.javaProcessBuilderProvider = javaProcessBuilderProvider;
+        this.workerPool = workerPool;
         this.generationTimeoutSeconds = generationTimeoutSeconds;
     }
 
     @Override
-    public synchronized CompletableFuture<Path> exec(Path recording, Path saveFile, String filter)
+    public CompletableFuture<Path> exec(Path recording, Path saveFile, String filter)
             throws NoSuchMethodException,
                     SecurityException,
                     IllegalAccessException,
@@ -92,27 +87,16 @@ public class SubprocessReportGenerator extends AbstractReportGeneratorService {
         if (filter == null) {
             throw new IllegalArgumentException("Filter may not be null");
         }
-        JavaProcess.Builder procBuilder =
-                javaProcessBuilderProvider
-                        .get()
-                        .klazz(SubprocessReportGenerator.class)
-                        .jvmArgs(
-                                createJvmArgs(
-                                        Integer.parseInt(
-                                                env.getEnv(
-                                                        Variables.SUBPROCESS_MAX_HEAP_ENV, "0"))))
-                        .processArgs(createProcessArgs(recording, saveFile, filter));
         return CompletableFuture.supplyAsync(
                 () -> {
-                    Process proc = null;
                     try {
-                        proc = procBuilder.exec();
-                        proc.waitFor(generationTimeoutSeconds - 1, TimeUnit.SECONDS);
-
                         ExitStatus status =
-                                proc.isAlive()
-                                        ? ExitStatus.TIMED_OUT
-                                        : ExitStatus.byExitCode(proc.exitValue());
+                                workerPool.execute(
+                                        recording,
+                                        saveFile,
+                                        filter,
+                                        generationTimeoutSeconds - 1,
+                                        TimeUnit.SECONDS);
 
                         switch (status) {
                             case OK:
@@ -129,42 +113,24 @@ public class SubprocessReportGenerator extends AbstractReportGeneratorService {
                                 new SubprocessReportGenerationException(ExitStatus.TERMINATED));
                     } catch (IOException
                             | ReportGenerationException
-                            | RecordingNotFoundException
-                            | IllegalThreadStateException e) {
+                            | RecordingNotFoundException e) {
                         logger.error("Report generation exception", e);
                         throw new CompletionException(e);
-                    } finally {
-                        if (proc != null) {
-                            proc.destroyForcibly();
-                        }
                     }
                 });
     }
 
-    private List<String> createJvmArgs(int maxHeapMegabytes) throws IOException {
-        List<String> args = new ArrayList<>();
-        if (maxHeapMegabytes > 0) {
-            args.add(String.format("-Xms%dM", maxHeapMegabytes));
-            args.add(String.format("-Xmx%dM", maxHeapMegabytes));
-        }
-        args.add("-XX:+ExitOnOutOfMemoryError");
-        // use Serial GC since we have a small heap and likely little garbage to clean,
-        // and low GC overhead is more important here than minimizing pause time since the
-        // result will end up cached for subsequent user accesses so long as the process
-        // succeeds in the end
-        args.add("-XX:+UseSerialGC");
-        return args;
-    }
-
-    private List<String> createProcessArgs(Path recording, Path saveFile, String filter) {
-        return List.of(
-                recording.toAbsolutePath().toString(),
-                saveFile.toAbsolutePath().toString(),
-                filter);
-    }
-
-    public static void main(String[] args) {
+    /**
+     * Entrypoint for report generation worker processes spawned by {@link
+     * SubprocessReportWorkerPool}. Each line read from stdin is a JSON {@link WorkRequest}, and
+     * each is answered by writing the numeric {@link ExitStatus} code of the request as a line to
+     * stdout. The process exits when stdin is closed.
+     */
+    public static void main(String[] args) throws IOException {
         long startTime = System.nanoTime();
+        // stdout is reserved for responses, so divert anything else written there
+        PrintStream responses = System.out;
+        System.setOut(System.err);
         logger.info("starting");
         Runtime.getRuntime()
                 .addShutdownHook(
@@ -196,34 +162,48 @@ public class SubprocessReportGenerator extends AbstractReportGeneratorService {
             System.exit(ExitStatus.OTHER.code);
         }
 
-        if (args.length != 3) {
-            throw new IllegalArgumentException(Arrays.asList(args).toString());
+        BufferedReader requests =
+                new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = requests.readLine()) != null) {
+            ExitStatus status;
+            try {
+                status = processRequest(fs, gson, gson.fromJson(line, WorkRequest.class));
+            } catch (JsonParseException e) {
+                e.printStackTrace();
+                status = ExitStatus.OTHER;
+            }
+            responses.println(status.code);
+            responses.flush();
         }
-        var recording = Paths.get(args[0]);
-        var saveFile = Paths.get(args[1]);
-        String filter = args[2];
+        System.exit(ExitStatus.OK.code);
+    }
 
+    static ExitStatus processRequest(FileSystem fs, Gson gson, WorkRequest request) {
         try {
             logger.info("processing report");
-            Map<String, AnalysisResult> evalMapResult = generateEvalMapFromFile(recording, filter);
+            Map<String, AnalysisResult> evalMapResult =
+                    generateEvalMapFromFile(Paths.get(request.recording()), request.filter());
             fs.writeString(
-                    saveFile,
+                    Paths.get(request.saveFile()),
                     gson.toJson(evalMapResult),
                     StandardOpenOption.CREATE,
                     StandardOpenOption.TRUNCATE_EXISTING,
                     StandardOpenOption.DSYNC,
                     StandardOpenOption.WRITE);
-
-            System.exit(ExitStatus.OK.code);
+            return ExitStatus.OK;
+        } catch (SubprocessReportGenerationException e) {
+            e.printStackTrace();
+            return e.getStatus();
         } catch (ConnectionException e) {
             e.printStackTrace();
-            System.exit(ExitStatus.TARGET_CONNECTION_FAILURE.code);
+            return ExitStatus.TARGET_CONNECTION_FAILURE;
         } catch (IOException e) {
             e.printStackTrace();
-            System.exit(ExitStatus.IO_EXCEPTION.code);
+            return ExitStatus.IO_EXCEPTION;
         } catch (Exception e) {
             e.printStackTrace();
-            System.exit(ExitStatus.OTHER.code);
+            return ExitStatus.OTHER;
         }
     }
 
@@ -280,6 +260,8 @@ public class SubprocessReportGenerator extends AbstractReportGeneratorService {
         }
     }
 
+    static record WorkRequest(String recording, String saveFile, String filter) {}
+
     public static class SubprocessReportGenerationException extends ReportGenerationException {
         private final ExitStatus status;
 
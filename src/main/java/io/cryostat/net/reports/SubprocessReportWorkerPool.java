@@ -0,0 +1,276 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.reports;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Provider;
+
+import io.cryostat.configuration.Variables;
+import io.cryostat.core.sys.Environment;
+import io.cryostat.net.reports.SubprocessReportGenerator.ExitStatus;
+import io.cryostat.util.JavaProcess;
+
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of long-lived {@link SubprocessReportGenerator} worker processes. Each worker is a separate
+ * JVM with its own heap limit which processes one report request at a time, so the JVM startup and
+ * rule engine initialization costs are only paid once per worker rather than once per report.
+ * Requests and responses are exchanged as single lines of JSON over the worker's stdin and stdout.
+ * Workers are spawned when the pool is started, so that their startup is not paid for by the first
+ * requests. A worker which times out, exits (ex. due to running out of memory), or otherwise stops
+ * responding is killed and replaced in the background.
+ */
+class SubprocessReportWorkerPool {
+
+    private final Environment env;
+    private final Provider<JavaProcess.Builder> javaProcessBuilderProvider;
+    private final Gson gson;
+    private final Executor executor;
+    private final int size;
+    private final Semaphore permits;
+    private final Deque<Worker> idle = new ConcurrentLinkedDeque<>();
+    // workers spawned and not yet destroyed, whether idle or busy
+    private final AtomicInteger live = new AtomicInteger();
+    private volatile boolean shutdown;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    SubprocessReportWorkerPool(
+            Environment env,
+            Provider<JavaProcess.Builder> javaProcessBuilderProvider,
+            Gson gson,
+            Executor executor,
+            int size) {
+        this.env = env;
+        this.javaProcessBuilderProvider = javaProcessBuilderProvider;
+        this.gson = gson;
+        this.executor = executor;
+        this.size = size;
+        this.permits = new Semaphore(size, true);
+    }
+
+    void start() {
+        for (int i = 0; i < size; i++) {
+            replenish();
+        }
+    }
+
+    ExitStatus execute(Path recording, Path saveFile, String filter, long timeout, TimeUnit unit)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!permits.tryAcquire(timeout, unit)) {
+            return ExitStatus.TIMED_OUT;
+        }
+        Worker worker = null;
+        try {
+            worker = idle.pollFirst();
+            while (worker != null && !worker.isAlive()) {
+                discard(worker);
+                worker = idle.pollFirst();
+            }
+            if (worker == null) {
+                // the pool was not started, or replacements have not been spawned yet
+                worker = spawn();
+            }
+            SubprocessReportGenerator.WorkRequest request =
+                    new SubprocessReportGenerator.WorkRequest(
+                            recording.toAbsolutePath().toString(),
+                            saveFile.toAbsolutePath().toString(),
+                            filter);
+            ExitStatus status =
+                    worker.execute(
+                            request,
+                            Math.max(0, deadline - System.nanoTime()),
+                            TimeUnit.NANOSECONDS);
+            // a worker spawned above may exceed the pool size if a replacement was also spawned
+            if (worker.isHealthy() && !shutdown && live.get() <= size) {
+                idle.offerFirst(worker);
+                worker = null;
+            }
+            return status;
+        } finally {
+            if (worker != null) {
+                discard(worker);
+            }
+            permits.release();
+        }
+    }
+
+    void shutdown() {
+        shutdown = true;
+        Worker worker;
+        while ((worker = idle.pollFirst()) != null) {
+            discard(worker);
+        }
+    }
+
+    private void discard(Worker worker) {
+        worker.destroy();
+        live.decrementAndGet();
+        replenish();
+    }
+
+    private void replenish() {
+        executor.execute(
+                () -> {
+                    if (shutdown || live.get() >= size) {
+                        return;
+                    }
+                    try {
+                        Worker worker = spawn();
+                        if (shutdown) {
+                            discard(worker);
+                        } else {
+                            idle.offerLast(worker);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (IOException | RuntimeException e) {
+                        logger.warn("Failed to spawn report generation worker", e);
+                    }
+                });
+    }
+
+    private Worker spawn() throws IOException, InterruptedException {
+        live.incrementAndGet();
+        Process proc = null;
+        try {
+            proc = exec();
+            return new Worker(proc);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            live.decrementAndGet();
+            if (proc != null) {
+                proc.destroyForcibly();
+            }
+            throw e;
+        }
+    }
+
+    private Process exec() throws IOException, InterruptedException {
+        Process proc =
+                javaProcessBuilderProvider
+                        .get()
+                        .klazz(SubprocessReportGenerator.class)
+                        .jvmArgs(
+                                createJvmArgs(
+                                        Integer.parseInt(
+                                                env.getEnv(
+                                                        Variables.SUBPROCESS_MAX_HEAP_ENV, "0"))))
+                        .inheritIO(false)
+                        .exec();
+        logger.info("Spawned report generation worker {}", proc.pid());
+        return proc;
+    }
+
+    private List<String> createJvmArgs(int maxHeapMegabytes) {
+        List<String> args = new ArrayList<>();
+        if (maxHeapMegabytes > 0) {
+            args.add(String.format("-Xms%dM", maxHeapMegabytes));
+            args.add(String.format("-Xmx%dM", maxHeapMegabytes));
+        }
+        args.add("-XX:+ExitOnOutOfMemoryError");
+        // use Serial GC since we have a small heap and likely little garbage to clean,
+        // and low GC overhead is more important here than minimizing pause time since the
+        // result will end up cached for subsequent user accesses so long as the process
+        // succeeds in the end
+        args.add("-XX:+UseSerialGC");
+        return args;
+    }
+
+    private class Worker {
+        private final Process proc;
+        private final BufferedWriter writer;
+        private final BufferedReader reader;
+        private volatile boolean healthy = true;
+
+        Worker(Process proc) {
+            this.proc = proc;
+            this.writer =
+                    new BufferedWriter(
+                            new OutputStreamWriter(proc.getOutputStream(), StandardCharsets.UTF_8));
+            this.reader =
+                    new BufferedReader(
+                            new InputStreamReader(proc.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        boolean isAlive() {
+            return proc.isAlive();
+        }
+
+        boolean isHealthy() {
+            return healthy && proc.isAlive();
+        }
+
+        ExitStatus execute(
+                SubprocessReportGenerator.WorkRequest request, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            AtomicBoolean timedOut = new AtomicBoolean();
+            CompletableFuture<Void> watchdog =
+                    CompletableFuture.runAsync(
+                            () -> {
+                                timedOut.set(true);
+                                proc.destroyForcibly();
+                            },
+                            CompletableFuture.delayedExecutor(timeout, unit));
+            try {
+                writer.write(gson.toJson(request));
+                writer.newLine();
+                writer.flush();
+                String response = reader.readLine();
+                if (response != null) {
+                    return ExitStatus.byExitCode(Integer.parseInt(response.strip()));
+                }
+            } catch (IOException | NumberFormatException e) {
+                logger.warn("Report generation worker {} failed: {}", proc.pid(), e.toString());
+            } finally {
+                watchdog.cancel(false);
+            }
+            healthy = false;
+            if (timedOut.get()) {
+                return ExitStatus.TIMED_OUT;
+            }
+            if (proc.waitFor(1, TimeUnit.SECONDS)) {
+                return ExitStatus.byExitCode(proc.exitValue());
+            }
+            return ExitStatus.OTHER;
+        }
+
+        void destroy() {
+            healthy = false;
+            logger.info("Destroying report generation worker {}", proc.pid());
+            proc.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import io.cryostat.net.web.http.AuthorizingRequestHandler;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Routes requests to an {@link AuthorizingRequestHandler}. The authorization decision is awaited
+ * without blocking the event loop, and only once the request is authorized is it handled, either
+ * directly on the event loop if the handler {@link AuthorizingRequestHandler#isAsync()}, or
+ * otherwise on the given bounded worker executor. Unlike a {@link
+ * io.vertx.ext.web.impl.BlockingHandlerDecorator} this means that no worker thread is occupied
+ * while waiting on authorization, nor by requests which fail authorization.
+ */
+class AuthorizingHandlerDecorator implements Handler<RoutingContext> {
+
+    private final AuthorizingRequestHandler handler;
+    private final WorkerExecutor workers;
+
+    AuthorizingHandlerDecorator(AuthorizingRequestHandler handler, WorkerExecutor workers) {
+        this.handler = handler;
+        this.workers = workers;
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        Context context = ctx.vertx().getOrCreateContext();
+        CompletableFuture<Void> authorized;
+        try {
+            authorized = handler.authorize(ctx);
+        } catch (RuntimeException e) {
+            ctx.fail(e);
+            return;
+        }
+        authorized.whenComplete(
+                (v, t) -> {
+                    if (Vertx.currentContext() == context) {
+                        // already decided, ex. by a cached review
+                        proceed(ctx, t);
+                    } else {
+                        context.runOnContext(n -> proceed(ctx, t));
+                    }
+                });
+    }
+
+    private void proceed(RoutingContext ctx, Throwable failure) {
+        if (failure != null) {
+            if (failure instanceof CompletionException && failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            ctx.fail(failure);
+            return;
+        }
+        if (handler.isAsync()) {
+            try {
+                handler.handleAuthorized(ctx);
+            } catch (RuntimeException e) {
+                ctx.fail(e);
+            }
+            return;
+        }
+        workers.<Void>executeBlocking(
+                promise -> {
+                    handler.handleAuthorized(ctx);
+                    promise.complete();
+                },
+                handler.isOrdered(),
+                res -> {
+                    if (res.failed()) {
+                        ctx.fail(res.cause());
+                    }
+                });
+    }
+}
@@ -23,6 +23,8 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import io.cryostat.MainModule;
+import io.cryostat.configuration.Variables;
+import io.cryostat.core.sys.Environment;
 import io.cryostat.core.sys.FileSystem;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.HttpServer;
@@ -33,10 +35,14 @@ import io.cryostat.net.web.http.RequestHandler;
 import com.google.gson.Gson;
 import dagger.Module;
 import dagger.Provides;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Module(includes = {HttpModule.class})
 public abstract class WebModule {
     public static final String WEBSERVER_TEMP_DIR_PATH = "WEBSERVER_TEMP_DIR_PATH";
+    public static final String HTTP_WORKER_POOL_SIZE = "HTTP_WORKER_POOL_SIZE";
+    private static final Logger logger = LoggerFactory.getLogger(WebModule.class);
 
     @Provides
     static WebServer provideWebServer(
@@ -45,9 +51,32 @@ public abstract class WebModule {
             Set<RequestHandler> requestHandlers,
             Gson gson,
             AuthManager authManager,
-            @Named(MainModule.RECORDINGS_PATH) Path archivedRecordingsPath) {
+            @Named(MainModule.RECORDINGS_PATH) Path archivedRecordingsPath,
+            @Named(HTTP_WORKER_POOL_SIZE) int workerPoolSize) {
         return new WebServer(
-                httpServer, netConf, requestHandlers, gson, authManager, archivedRecordingsPath);
+                httpServer,
+                netConf,
+                requestHandlers,
+                gson,
+                authManager,
+                archivedRecordingsPath,
+                workerPoolSize);
+    }
+
+    @Provides
+    @Named(HTTP_WORKER_POOL_SIZE)
+    static int provideHttpWorkerPoolSize(Environment env) {
+        try {
+            int size = Integer.parseInt(env.getEnv(Variables.HTTP_WORKER_POOL_SIZE, "20"));
+            if (size <= 0) {
+                logger.warn("{} was set to {} - ignoring", Variables.HTTP_WORKER_POOL_SIZE, size);
+                size = 20;
+            }
+            return size;
+        } catch (NumberFormatException nfe) {
+            logger.warn("HTTP worker pool size exception", nfe);
+            return 20;
+        }
     }
 
     @Provides
@@ -40,6 +40,7 @@ import io.cryostat.core.net.JFRConnection;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.HttpServer;
 import io.cryostat.net.NetworkConfiguration;
+import io.cryostat.net.web.http.AuthorizingRequestHandler;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.RequestHandler;
 import io.cryostat.net.web.http.api.ApiData;
@@ -53,6 +54,7 @@ import io.cryostat.util.URIUtil;
 import com.google.gson.Gson;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Handler;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.ext.web.FileUpload;
 import io.vertx.ext.web.Route;
@@ -78,6 +80,8 @@ public class WebServer extends AbstractVerticle {
     private final Path recordingsPath;
     private final Gson gson;
     private final AuthManager auth;
+    private final int workerPoolSize;
+    private WorkerExecutor workers;
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     WebServer(
@@ -86,7 +90,8 @@ public class WebServer extends AbstractVerticle {
             Set<RequestHandler> requestHandlers,
             Gson gson,
             AuthManager auth,
-            @Named(MainModule.RECORDINGS_PATH) Path recordingsPath) {
+            @Named(MainModule.RECORDINGS_PATH) Path recordingsPath,
+            @Named(WebModule.HTTP_WORKER_POOL_SIZE) int workerPoolSize) {
         this.server = server;
         this.netConf = netConf;
         this.requestHandlers = new ArrayList<>(requestHandlers);
@@ -94,12 +99,18 @@ public class WebServer extends AbstractVerticle {
         this.recordingsPath = recordingsPath;
         this.gson = gson;
         this.auth = auth;
+        this.workerPoolSize = workerPoolSize;
     }
 
     @Override
     public void start() throws FlightRecorderException, SocketException, UnknownHostException {
         Router router =
                 Router.router(server.getVertx()); // a vertx is only available after server started
+        // authorization is awaited on the event loop, so this pool only serves the blocking work of
+        // requests which have already been authorized
+        this.workers =
+                server.getVertx()
+                        .createSharedWorkerExecutor("cryostat-http-worker", workerPoolSize);
 
         var fs = server.getVertx().fileSystem();
         var fileUploads = recordingsPath.resolve("file-uploads").toAbsolutePath().toString();
@@ -214,7 +225,12 @@ public class WebServer extends AbstractVerticle {
                                                 deprecated.deprecated().forRemoval(),
                                                 deprecated.alternateLocation()));
                     }
-                    if (handler.isAsync()) {
+                    if (handler instanceof AuthorizingRequestHandler) {
+                        route =
+                                route.handler(
+                                        new AuthorizingHandlerDecorator(
+                                                (AuthorizingRequestHandler) handler, workers));
+                    } else if (handler.isAsync()) {
                         route = route.handler(handler);
                     } else {
                         BlockingHandlerDecorator async =
@@ -234,6 +250,10 @@ public class WebServer extends AbstractVerticle {
     @Override
     public void stop() {
         this.server.requestHandler(null);
+        if (this.workers != null) {
+            this.workers.close();
+            this.workers = null;
+        }
     }
 
     public URL getHostUrl()
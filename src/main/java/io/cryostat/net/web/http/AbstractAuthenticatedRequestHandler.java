@@ -20,7 +20,9 @@ import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.rmi.ConnectIOException;
 import java.util.Base64;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,6 +40,7 @@ import io.cryostat.net.AuthenticationErrorException;
 import io.cryostat.net.AuthorizationErrorException;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.PermissionDeniedException;
+import io.cryostat.net.TargetTaskRejectedException;
 import io.cryostat.net.web.http.api.v2.ApiException;
 
 import io.fabric8.kubernetes.client.KubernetesClientException;
@@ -49,12 +52,14 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public abstract class AbstractAuthenticatedRequestHandler implements RequestHandler {
+public abstract class AbstractAuthenticatedRequestHandler implements AuthorizingRequestHandler {
 
     public static final Pattern AUTH_HEADER_PATTERN =
             Pattern.compile("(?<type>[\\w]+)[\\s]+(?<credentials>[\\S]+)");
     public static final String JMX_AUTHENTICATE_HEADER = "X-JMX-Authenticate";
     public static final String JMX_AUTHORIZATION_HEADER = "X-JMX-Authorization";
+    // seconds a client should wait before retrying a request rejected because targets were busy
+    public static final String TARGET_TASK_RETRY_AFTER = "1";
 
     protected final AuthManager auth;
     protected final CredentialsManager credentialsManager;
@@ -68,34 +73,122 @@ public abstract class AbstractAuthenticatedRequestHandler implements RequestHand
 
     public abstract void handleAuthenticated(RoutingContext ctx) throws Exception;
 
+    /**
+     * Handle an authenticated request, finishing it once the returned future completes. By default
+     * this is {@link #handleAuthenticated(RoutingContext)}. Handlers which wait on a target should
+     * instead override this to compose {@link
+     * io.cryostat.net.TargetConnectionManager#submitConnectedTask} through {@link
+     * #onContext(RoutingContext, CompletableFuture)}, so that no worker thread is occupied while
+     * the target task runs.
+     */
+    protected CompletableFuture<Void> handleAuthenticatedAsync(RoutingContext ctx)
+            throws Exception {
+        handleAuthenticated(ctx);
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Override
-    public void handle(RoutingContext ctx) {
+    public CompletableFuture<Void> authorize(RoutingContext ctx) {
+        try {
+            return AuthorizingRequestHandler.onContext(
+                            ctx, validateRequestAuthorization(ctx.request()))
+                    .handle(
+                            (granted, t) -> {
+                                if (t != null) {
+                                    throw mapException(ctx, new ExecutionException(unwrap(t)));
+                                }
+                                if (!Boolean.TRUE.equals(granted)) {
+                                    throw new HttpException(401, "HTTP Authorization Failure");
+                                }
+                                return null;
+                            });
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(mapException(ctx, e));
+        }
+    }
+
+    @Override
+    public void handleAuthorized(RoutingContext ctx) {
+        CompletableFuture<Void> handled;
         try {
-            boolean permissionGranted = validateRequestAuthorization(ctx.request()).get();
-            if (!permissionGranted) {
-                // expected to go into catch clause below
-                throw new HttpException(401, "HTTP Authorization Failure");
-            }
             // set Content-Type: text/plain by default. Handler implementations may replace this.
             ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.PLAINTEXT.mime());
-            handleAuthenticated(ctx);
-        } catch (ApiException | HttpException e) {
-            throw e;
+            handled = handleAuthenticatedAsync(ctx);
         } catch (Exception e) {
-            if (isAuthenticationFailure(e)) {
-                throw new HttpException(401, "HTTP Unauthorized", e);
-            }
-            if (isAuthorizationFailure(e)) {
-                throw new HttpException(403, "HTTP Forbidden", e);
-            }
-            if (isTargetConnectionFailure(e)) {
-                handleConnectionException(ctx, e);
+            throw mapException(ctx, e);
+        }
+        if (handled.isDone()) {
+            try {
+                handled.join();
+            } catch (CompletionException e) {
+                throw mapException(ctx, failure(e));
             }
-            throw new HttpException(500, e.getMessage(), e);
+            return;
+        }
+        onContext(ctx, handled)
+                .whenComplete(
+                        (v, t) -> {
+                            if (t != null) {
+                                try {
+                                    ctx.fail(mapException(ctx, failure(t)));
+                                } catch (RuntimeException e) {
+                                    ctx.fail(e);
+                                }
+                            }
+                        });
+    }
+
+    /**
+     * @return a future which completes with the given future's result, on the request's Vert.x
+     *     context if the given future is not already done
+     */
+    protected <T> CompletableFuture<T> onContext(RoutingContext ctx, CompletableFuture<T> future) {
+        return AuthorizingRequestHandler.onContext(ctx, future);
+    }
+
+    /** Wait for a future returned by {@link #handleAuthenticatedAsync(RoutingContext)}. */
+    protected static void await(CompletableFuture<Void> handled) throws Exception {
+        try {
+            handled.join();
+        } catch (CompletionException e) {
+            throw failure(e);
         }
     }
 
-    protected Future<Boolean> validateRequestAuthorization(HttpServerRequest req) throws Exception {
+    private RuntimeException mapException(RoutingContext ctx, Exception e) {
+        if (e instanceof ApiException || e instanceof HttpException) {
+            return (RuntimeException) e;
+        }
+        if (isAuthenticationFailure(e)) {
+            return new HttpException(401, "HTTP Unauthorized", e);
+        }
+        if (isAuthorizationFailure(e)) {
+            return new HttpException(403, "HTTP Forbidden", e);
+        }
+        if (isTargetTaskRejection(e)) {
+            ctx.response().putHeader(HttpHeaders.RETRY_AFTER, TARGET_TASK_RETRY_AFTER);
+            return new HttpException(getTargetTaskRejectionStatus(e), e.getMessage(), e);
+        }
+        if (isTargetConnectionFailure(e)) {
+            handleConnectionException(ctx, e);
+        }
+        return new HttpException(500, e.getMessage(), e);
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        if (t instanceof CompletionException && t.getCause() != null) {
+            return t.getCause();
+        }
+        return t;
+    }
+
+    private static Exception failure(Throwable t) {
+        Throwable cause = unwrap(t);
+        return cause instanceof Exception ? (Exception) cause : new ExecutionException(cause);
+    }
+
+    protected CompletableFuture<Boolean> validateRequestAuthorization(HttpServerRequest req)
+            throws Exception {
         return auth.validateHttpHeader(
                 () -> req.getHeader(HttpHeaders.AUTHORIZATION), resourceActions());
     }
@@ -152,6 +245,24 @@ public abstract class AbstractAuthenticatedRequestHandler implements RequestHand
                 || ExceptionUtils.indexOfType(e, FlightRecorderException.class) >= 0;
     }
 
+    public static boolean isTargetTaskRejection(Exception e) {
+        return ExceptionUtils.indexOfType(e, TargetTaskRejectedException.class) >= 0;
+    }
+
+    /**
+     * @return 429 if the target task was rejected because its target was busy, or 503 if it was
+     *     rejected because all targets were
+     */
+    public static int getTargetTaskRejectionStatus(Exception e) {
+        TargetTaskRejectedException rejection =
+                ExceptionUtils.throwableOfType(e, TargetTaskRejectedException.class);
+        if (rejection != null
+                && TargetTaskRejectedException.Reason.TARGET_BUSY.equals(rejection.getReason())) {
+            return 429;
+        }
+        return 503;
+    }
+
     public static boolean isAuthenticationFailure(Exception e) {
         // Check if the Exception has a PermissionDeniedException or KubernetesClientException
         // in its cause chain
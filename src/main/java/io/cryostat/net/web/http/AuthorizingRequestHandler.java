@@ -0,0 +1,127 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import io.vertx.core.Context;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * A {@link RequestHandler} which checks the authorization of a request separately from handling it.
+ * This allows the {@link io.cryostat.net.web.WebServer} to wait for the authorization decision on
+ * the event loop without occupying a worker thread, and only to dispatch {@link
+ * #handleAuthorized(RoutingContext)} to a worker if the handler is not {@link #isAsync()}.
+ *
+ * <p>{@link #handle(RoutingContext)} is equivalent to waiting for {@link
+ * #authorize(RoutingContext)} without blocking and then calling {@link
+ * #handleAuthorized(RoutingContext)}.
+ */
+public interface AuthorizingRequestHandler extends RequestHandler {
+
+    /**
+     * Check whether the request is authorized. This must not block.
+     *
+     * @return a future which completes once the request has been authorized, or fails with the
+     *     {@link io.vertx.ext.web.handler.HttpException} or {@link
+     *     io.cryostat.net.web.http.api.v2.ApiException} to fail the request with
+     */
+    CompletableFuture<Void> authorize(RoutingContext ctx);
+
+    /**
+     * Handle a request which has already been authorized. This is called on the event loop if the
+     * handler {@link #isAsync()}, or on a worker thread otherwise. Failures are either thrown, or,
+     * if the handler finishes the request asynchronously, passed to {@link
+     * RoutingContext#fail(Throwable)} by the handler itself.
+     */
+    void handleAuthorized(RoutingContext ctx);
+
+    /**
+     * Authorize and then handle the request. If authorization has already been decided then the
+     * request is handled, or the authorization failure thrown, directly. Otherwise it is failed or
+     * handled once authorization has been decided, on its Vert.x context if the handler {@link
+     * #isAsync()}, or on a worker thread otherwise.
+     */
+    @Override
+    default void handle(RoutingContext ctx) {
+        CompletableFuture<Void> authorized = authorize(ctx);
+        if (authorized.isDone()) {
+            try {
+                authorized.join();
+            } catch (CompletionException e) {
+                // authorize() only ever fails with the exception to fail the request with
+                throw (RuntimeException) e.getCause();
+            }
+            handleAuthorized(ctx);
+            return;
+        }
+        onContext(ctx, authorized)
+                .whenComplete(
+                        (v, t) -> {
+                            if (t != null) {
+                                ctx.fail(t);
+                            } else if (isAsync()) {
+                                try {
+                                    handleAuthorized(ctx);
+                                } catch (RuntimeException e) {
+                                    ctx.fail(e);
+                                }
+                            } else {
+                                ctx.vertx()
+                                        .<Void>executeBlocking(
+                                                promise -> {
+                                                    handleAuthorized(ctx);
+                                                    promise.complete();
+                                                },
+                                                isOrdered(),
+                                                res -> {
+                                                    if (res.failed()) {
+                                                        ctx.fail(res.cause());
+                                                    }
+                                                });
+                            }
+                        });
+    }
+
+    /**
+     * Continue a request once a future completes, ex. to write its response. This must be called on
+     * the request's Vert.x context.
+     *
+     * @return a future which completes with the given future's result, on the request's Vert.x
+     *     context if the given future is not already done
+     */
+    static <T> CompletableFuture<T> onContext(RoutingContext ctx, CompletableFuture<T> future) {
+        if (future.isDone()) {
+            return future;
+        }
+        Context context = ctx.vertx().getOrCreateContext();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete(
+                (v, t) ->
+                        context.runOnContext(
+                                n -> {
+                                    if (t instanceof CompletionException && t.getCause() != null) {
+                                        result.completeExceptionally(t.getCause());
+                                    } else if (t != null) {
+                                        result.completeExceptionally(t);
+                                    } else {
+                                        result.complete(v);
+                                    }
+                                }));
+        return result;
+    }
+}
@@ -15,24 +15,20 @@
  */
 package io.cryostat.net.web.http.api.v1;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
 import javax.inject.Inject;
 
-import org.openjdk.jmc.rjmx.services.jfr.IEventTypeInfo;
-
 import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.jmc.serialization.SerializableEventTypeInfo;
 import io.cryostat.net.AuthManager;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.AbstractAuthenticatedRequestHandler;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.api.ApiVersion;
+import io.cryostat.recordings.TargetCatalogCache;
 
 import com.google.gson.Gson;
 import io.vertx.core.http.HttpHeaders;
@@ -41,17 +37,17 @@ import io.vertx.ext.web.RoutingContext;
 
 class TargetEventsGetHandler extends AbstractAuthenticatedRequestHandler {
 
-    private final TargetConnectionManager connectionManager;
+    private final TargetCatalogCache catalogCache;
     private final Gson gson;
 
     @Inject
     TargetEventsGetHandler(
             AuthManager auth,
             CredentialsManager credentialsManager,
-            TargetConnectionManager connectionManager,
+            TargetCatalogCache catalogCache,
             Gson gson) {
         super(auth, credentialsManager);
-        this.connectionManager = connectionManager;
+        this.catalogCache = catalogCache;
         this.gson = gson;
     }
 
@@ -88,18 +84,7 @@ class TargetEventsGetHandler extends AbstractAuthenticatedRequestHandler {
     @Override
     public void handleAuthenticated(RoutingContext ctx) throws Exception {
         List<SerializableEventTypeInfo> templates =
-                connectionManager.executeConnectedTask(
-                        getConnectionDescriptorFromContext(ctx),
-                        connection -> {
-                            Collection<? extends IEventTypeInfo> origInfos =
-                                    connection.getService().getAvailableEventTypes();
-                            List<SerializableEventTypeInfo> infos =
-                                    new ArrayList<>(origInfos.size());
-                            for (IEventTypeInfo info : origInfos) {
-                                infos.add(new SerializableEventTypeInfo(info));
-                            }
-                            return infos;
-                        });
+                catalogCache.getEventTypes(getConnectionDescriptorFromContext(ctx)).getEventTypes();
         ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
         ctx.response().end(gson.toJson(templates));
     }
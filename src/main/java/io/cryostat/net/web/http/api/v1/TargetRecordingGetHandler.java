@@ -34,7 +34,7 @@ import io.cryostat.net.web.http.AbstractAuthenticatedRequestHandler;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.api.ApiVersion;
 import io.cryostat.recordings.RecordingTargetHelper;
-import io.cryostat.util.OutputToReadStream;
+import io.cryostat.util.InputToReadStream;
 
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
@@ -43,8 +43,6 @@ import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.HttpException;
 
 class TargetRecordingGetHandler extends AbstractAuthenticatedRequestHandler {
-    protected static final int WRITE_BUFFER_SIZE = 64 * 1024; // 64 KB
-
     protected final TargetConnectionManager targetConnectionManager;
     protected final RecordingTargetHelper recordingTargetHelper;
 
@@ -114,21 +112,18 @@ class TargetRecordingGetHandler extends AbstractAuthenticatedRequestHandler {
         ctx.response().setChunked(true);
         ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.OCTET_STREAM.mime());
 
-        try (final InputStream is = stream.get();
-                final OutputToReadStream otrs =
-                        new OutputToReadStream(
-                                vertx, targetConnectionManager, connectionDescriptor)) {
+        try (final InputStream is = stream.get()) {
             CompletableFuture<Void> future = new CompletableFuture<>();
-            otrs.pipeFromInput(
-                    is,
-                    ctx.response(),
-                    res -> {
-                        if (res.succeeded()) {
-                            future.complete(null);
-                        } else {
-                            future.completeExceptionally(res.cause());
-                        }
-                    });
+            new InputToReadStream(vertx, is, targetConnectionManager, connectionDescriptor)
+                    .pipeFromInput(ctx.response())
+                    .onComplete(
+                            res -> {
+                                if (res.succeeded()) {
+                                    future.complete(null);
+                                } else {
+                                    future.completeExceptionally(res.cause());
+                                }
+                            });
             future.get();
         }
     }
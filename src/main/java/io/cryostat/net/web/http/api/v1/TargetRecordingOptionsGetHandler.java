@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -31,6 +32,7 @@ import org.openjdk.jmc.rjmx.services.jfr.IFlightRecorderService;
 import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.AbstractAuthenticatedRequestHandler;
 import io.cryostat.net.web.http.HttpMimeType;
@@ -94,16 +96,29 @@ class TargetRecordingOptionsGetHandler extends AbstractAuthenticatedRequestHandl
 
     @Override
     public void handleAuthenticated(RoutingContext ctx) throws Exception {
-        Map<String, Object> optionMap =
-                connectionManager.executeConnectedTask(
-                        getConnectionDescriptorFromContext(ctx),
-                        connection -> {
-                            RecordingOptionsBuilder builder =
-                                    recordingOptionsBuilderFactory.create(connection.getService());
-                            return getRecordingOptions(connection.getService(), builder);
+        await(handleAuthenticatedAsync(ctx));
+    }
+
+    @Override
+    protected CompletableFuture<Void> handleAuthenticatedAsync(RoutingContext ctx) {
+        return onContext(
+                        ctx,
+                        connectionManager.submitConnectedTask(
+                                getConnectionDescriptorFromContext(ctx),
+                                ConnectedTask.readOnly(
+                                        connection -> {
+                                            RecordingOptionsBuilder builder =
+                                                    recordingOptionsBuilderFactory.create(
+                                                            connection.getService());
+                                            return getRecordingOptions(
+                                                    connection.getService(), builder);
+                                        })))
+                .thenAccept(
+                        optionMap -> {
+                            ctx.response()
+                                    .putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
+                            ctx.response().end(gson.toJson(optionMap));
                         });
-        ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
-        ctx.response().end(gson.toJson(optionMap));
     }
 
     static Map<String, Object> getRecordingOptions(
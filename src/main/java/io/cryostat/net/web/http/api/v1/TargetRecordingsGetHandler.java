@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -28,7 +29,9 @@ import org.openjdk.jmc.rjmx.services.jfr.IRecordingDescriptor;
 import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.jmc.serialization.HyperlinkedSerializableRecordingDescriptor;
 import io.cryostat.net.AuthManager;
+import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.WebServer;
 import io.cryostat.net.web.http.AbstractAuthenticatedRequestHandler;
@@ -95,29 +98,45 @@ class TargetRecordingsGetHandler extends AbstractAuthenticatedRequestHandler {
 
     @Override
     public void handleAuthenticated(RoutingContext ctx) throws Exception {
+        await(handleAuthenticatedAsync(ctx));
+    }
+
+    @Override
+    protected CompletableFuture<Void> handleAuthenticatedAsync(RoutingContext ctx) {
         WebServer webServer = webServerProvider.get();
-        List<HyperlinkedSerializableRecordingDescriptor> descriptors =
-                connectionManager.executeConnectedTask(
-                        getConnectionDescriptorFromContext(ctx),
-                        connection -> {
-                            List<IRecordingDescriptor> origDescriptors =
-                                    connection.getService().getAvailableRecordings();
-                            List<HyperlinkedSerializableRecordingDescriptor> list =
-                                    new ArrayList<>(origDescriptors.size());
-                            for (IRecordingDescriptor desc : origDescriptors) {
-                                list.add(
-                                        new HyperlinkedSerializableRecordingDescriptor(
-                                                desc,
-                                                webServer.getDownloadURL(
-                                                        connection, desc.getName()),
-                                                webServer.getReportURL(connection, desc.getName()),
-                                                recordingMetadataManager.getMetadata(
-                                                        getConnectionDescriptorFromContext(ctx),
-                                                        desc.getName())));
-                            }
-                            return list;
+        ConnectionDescriptor connectionDescriptor = getConnectionDescriptorFromContext(ctx);
+        return onContext(
+                        ctx,
+                        connectionManager.submitConnectedTask(
+                                connectionDescriptor,
+                                ConnectedTask.readOnly(
+                                        connection -> {
+                                            List<IRecordingDescriptor> origDescriptors =
+                                                    connection
+                                                            .getService()
+                                                            .getAvailableRecordings();
+                                            List<HyperlinkedSerializableRecordingDescriptor> list =
+                                                    new ArrayList<>(origDescriptors.size());
+                                            for (IRecordingDescriptor desc : origDescriptors) {
+                                                list.add(
+                                                        new HyperlinkedSerializableRecordingDescriptor(
+                                                                desc,
+                                                                webServer.getDownloadURL(
+                                                                        connection, desc.getName()),
+                                                                webServer.getReportURL(
+                                                                        connection, desc.getName()),
+                                                                recordingMetadataManager
+                                                                        .getMetadata(
+                                                                                connectionDescriptor,
+                                                                                desc.getName())));
+                                            }
+                                            return list;
+                                        })))
+                .thenAccept(
+                        descriptors -> {
+                            ctx.response()
+                                    .putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
+                            ctx.response().end(gson.toJson(descriptors));
                         });
-        ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
-        ctx.response().end(gson.toJson(descriptors));
     }
 }
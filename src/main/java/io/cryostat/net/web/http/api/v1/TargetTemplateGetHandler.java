@@ -18,6 +18,7 @@ package io.cryostat.net.web.http.api.v1;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -25,6 +26,7 @@ import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.core.templates.TemplateType;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.AbstractAuthenticatedRequestHandler;
 import io.cryostat.net.web.http.HttpMimeType;
@@ -80,20 +82,33 @@ class TargetTemplateGetHandler extends AbstractAuthenticatedRequestHandler {
 
     @Override
     public void handleAuthenticated(RoutingContext ctx) throws Exception {
+        await(handleAuthenticatedAsync(ctx));
+    }
+
+    @Override
+    protected CompletableFuture<Void> handleAuthenticatedAsync(RoutingContext ctx) {
         String templateName = ctx.pathParam("templateName");
         TemplateType templateType = TemplateType.valueOf(ctx.pathParam("templateType"));
-        targetConnectionManager
-                .executeConnectedTask(
-                        getConnectionDescriptorFromContext(ctx),
-                        conn -> conn.getTemplateService().getXml(templateName, templateType))
-                .ifPresentOrElse(
-                        doc -> {
-                            ctx.response()
-                                    .putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JFC.mime());
-                            ctx.response().end(doc.toString());
-                        },
-                        () -> {
-                            throw new HttpException(404);
-                        });
+        return onContext(
+                        ctx,
+                        targetConnectionManager.submitConnectedTask(
+                                getConnectionDescriptorFromContext(ctx),
+                                ConnectedTask.readOnly(
+                                        conn ->
+                                                conn.getTemplateService()
+                                                        .getXml(templateName, templateType))))
+                .thenAccept(
+                        template ->
+                                template.ifPresentOrElse(
+                                        doc -> {
+                                            ctx.response()
+                                                    .putHeader(
+                                                            HttpHeaders.CONTENT_TYPE,
+                                                            HttpMimeType.JFC.mime());
+                                            ctx.response().end(doc.toString());
+                                        },
+                                        () -> {
+                                            throw new HttpException(404);
+                                        }));
     }
 }
@@ -23,14 +23,15 @@ import java.util.Set;
 import javax.inject.Inject;
 
 import io.cryostat.configuration.CredentialsManager;
+import io.cryostat.core.templates.LocalStorageTemplateService;
 import io.cryostat.core.templates.Template;
 import io.cryostat.core.templates.TemplateType;
 import io.cryostat.net.AuthManager;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.AbstractAuthenticatedRequestHandler;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.api.ApiVersion;
+import io.cryostat.recordings.TargetCatalogCache;
 
 import com.google.gson.Gson;
 import io.vertx.core.http.HttpHeaders;
@@ -48,17 +49,20 @@ class TargetTemplatesGetHandler extends AbstractAuthenticatedRequestHandler {
                     "Cryostat",
                     TemplateType.TARGET);
 
-    private final TargetConnectionManager connectionManager;
+    private final TargetCatalogCache catalogCache;
+    private final LocalStorageTemplateService localTemplateService;
     private final Gson gson;
 
     @Inject
     TargetTemplatesGetHandler(
             AuthManager auth,
             CredentialsManager credentialsManager,
-            TargetConnectionManager connectionManager,
+            TargetCatalogCache catalogCache,
+            LocalStorageTemplateService localTemplateService,
             Gson gson) {
         super(auth, credentialsManager);
-        this.connectionManager = connectionManager;
+        this.catalogCache = catalogCache;
+        this.localTemplateService = localTemplateService;
         this.gson = gson;
     }
 
@@ -95,14 +99,10 @@ class TargetTemplatesGetHandler extends AbstractAuthenticatedRequestHandler {
     @Override
     public void handleAuthenticated(RoutingContext ctx) throws Exception {
         List<Template> templates =
-                connectionManager.executeConnectedTask(
-                        getConnectionDescriptorFromContext(ctx),
-                        connection -> {
-                            List<Template> list =
-                                    new ArrayList<>(connection.getTemplateService().getTemplates());
-                            list.add(ALL_EVENTS_TEMPLATE);
-                            return list;
-                        });
+                new ArrayList<>(
+                        catalogCache.getTargetTemplates(getConnectionDescriptorFromContext(ctx)));
+        templates.addAll(localTemplateService.getTemplates());
+        templates.add(ALL_EVENTS_TEMPLATE);
         ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
         ctx.response().end(gson.toJson(templates));
     }
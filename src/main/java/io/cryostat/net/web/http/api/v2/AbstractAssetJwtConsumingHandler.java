@@ -25,7 +25,7 @@ import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.Base64;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 
 import javax.script.ScriptException;
@@ -37,7 +37,7 @@ import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.security.jwt.AssetJwtHelper;
 import io.cryostat.net.web.WebServer;
 import io.cryostat.net.web.http.AbstractAuthenticatedRequestHandler;
-import io.cryostat.net.web.http.RequestHandler;
+import io.cryostat.net.web.http.AuthorizingRequestHandler;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.JWT;
@@ -48,7 +48,9 @@ import io.vertx.ext.web.handler.HttpException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public abstract class AbstractAssetJwtConsumingHandler implements RequestHandler {
+public abstract class AbstractAssetJwtConsumingHandler implements AuthorizingRequestHandler {
+
+    private static final String JWT_KEY = AbstractAssetJwtConsumingHandler.class.getName() + ".jwt";
 
     protected final AuthManager auth;
     protected final CredentialsManager credentialsManager;
@@ -70,33 +72,64 @@ public abstract class AbstractAssetJwtConsumingHandler implements RequestHandler
     public abstract void handleWithValidJwt(RoutingContext ctx, JWT jwt) throws Exception;
 
     @Override
-    public final void handle(RoutingContext ctx) {
+    public final CompletableFuture<Void> authorize(RoutingContext ctx) {
+        JWT parsed;
+        String subject;
+        CompletableFuture<Boolean> granted;
         try {
-            JWT jwt = validateJwt(ctx);
-            handleWithValidJwt(ctx, jwt);
-        } catch (ApiException | HttpException e) {
-            throw e;
+            parsed = validateJwt(ctx);
+            subject = parsed.getJWTClaimsSet().getSubject();
+            granted =
+                    AuthorizingRequestHandler.onContext(
+                            ctx, auth.validateHttpHeader(() -> subject, resourceActions()));
         } catch (Exception e) {
-            if (AbstractAuthenticatedRequestHandler.isJmxAuthFailure(e)) {
-                ctx.response()
-                        .putHeader(
-                                AbstractAuthenticatedRequestHandler.JMX_AUTHENTICATE_HEADER,
-                                "Basic");
-                throw new ApiException(427, "JMX Authentication Failure", e);
-            }
-            if (AbstractAuthenticatedRequestHandler.isUnknownTargetFailure(e)) {
-                throw new ApiException(404, "Target Not Found", e);
-            }
-            if (AbstractAuthenticatedRequestHandler.isJmxSslFailure(e)) {
-                throw new ApiException(502, "Target SSL Untrusted", e);
-            }
-            if (AbstractAuthenticatedRequestHandler.isServiceTypeFailure(e)) {
-                throw new ApiException(504, "Non-JMX Port", e);
-            }
-            throw new ApiException(500, e);
+            return CompletableFuture.failedFuture(mapException(ctx, e));
+        }
+        return granted.handle(
+                (g, t) -> {
+                    if (t != null) {
+                        throw new ApiException(
+                                401, "Token subject permissions could not be determined");
+                    }
+                    if (!Boolean.TRUE.equals(g)) {
+                        throw new ApiException(401, "Token subject has insufficient permissions");
+                    }
+                    ctx.put(JWT_KEY, parsed);
+                    return null;
+                });
+    }
+
+    @Override
+    public final void handleAuthorized(RoutingContext ctx) {
+        try {
+            handleWithValidJwt(ctx, ctx.get(JWT_KEY));
+        } catch (Exception e) {
+            throw mapException(ctx, e);
         }
     }
 
+    private RuntimeException mapException(RoutingContext ctx, Exception e) {
+        if (e instanceof ApiException || e instanceof HttpException) {
+            return (RuntimeException) e;
+        }
+        if (AbstractAuthenticatedRequestHandler.isJmxAuthFailure(e)) {
+            ctx.response()
+                    .putHeader(
+                            AbstractAuthenticatedRequestHandler.JMX_AUTHENTICATE_HEADER, "Basic");
+            return new ApiException(427, "JMX Authentication Failure", e);
+        }
+        if (AbstractAuthenticatedRequestHandler.isUnknownTargetFailure(e)) {
+            return new ApiException(404, "Target Not Found", e);
+        }
+        if (AbstractAuthenticatedRequestHandler.isJmxSslFailure(e)) {
+            return new ApiException(502, "Target SSL Untrusted", e);
+        }
+        if (AbstractAuthenticatedRequestHandler.isServiceTypeFailure(e)) {
+            return new ApiException(504, "Non-JMX Port", e);
+        }
+        return new ApiException(500, e);
+    }
+
     private JWT validateJwt(RoutingContext ctx)
             throws ParseException,
                     JOSEException,
@@ -132,15 +165,6 @@ public abstract class AbstractAssetJwtConsumingHandler implements RequestHandler
             throw new ApiException(401, "Token resource claim does not match requested resource");
         }
 
-        try {
-            String subject = parsed.getJWTClaimsSet().getSubject();
-            if (!auth.validateHttpHeader(() -> subject, resourceActions()).get()) {
-                throw new ApiException(401, "Token subject has insufficient permissions");
-            }
-        } catch (ExecutionException | InterruptedException e) {
-            throw new ApiException(401, "Token subject permissions could not be determined");
-        }
-
         return parsed;
     }
 
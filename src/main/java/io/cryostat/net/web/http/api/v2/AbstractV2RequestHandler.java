@@ -21,7 +21,9 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Base64;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,8 +34,8 @@ import io.cryostat.core.net.Credentials;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.web.http.AbstractAuthenticatedRequestHandler;
+import io.cryostat.net.web.http.AuthorizingRequestHandler;
 import io.cryostat.net.web.http.HttpMimeType;
-import io.cryostat.net.web.http.RequestHandler;
 import io.cryostat.net.web.http.api.ApiMeta;
 import io.cryostat.net.web.http.api.ApiResponse;
 import io.cryostat.net.web.http.api.ApiResultData;
@@ -46,7 +48,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.HttpException;
 
-public abstract class AbstractV2RequestHandler<T> implements RequestHandler {
+public abstract class AbstractV2RequestHandler<T> implements AuthorizingRequestHandler {
 
     public abstract boolean requiresAuthentication();
 
@@ -69,38 +71,119 @@ public abstract class AbstractV2RequestHandler<T> implements RequestHandler {
     public abstract IntermediateResponse<T> handle(RequestParameters requestParams)
             throws Exception;
 
+    /**
+     * Handle a request, writing the response once the returned future completes. By default this is
+     * {@link #handle(RequestParameters)}. Handlers which wait on a target should instead override
+     * this to compose {@link io.cryostat.net.TargetConnectionManager#submitConnectedTask}, so that
+     * no worker thread is occupied while the target task runs, and implement {@link
+     * #handle(RequestParameters)} by {@link #await(CompletableFuture)}ing this.
+     */
+    protected CompletableFuture<IntermediateResponse<T>> handleAsync(
+            RequestParameters requestParams) {
+        try {
+            return CompletableFuture.completedFuture(handle(requestParams));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     @Override
-    public final void handle(RoutingContext ctx) {
-        RequestParameters requestParams = RequestParameters.from(ctx);
+    public final CompletableFuture<Void> authorize(RoutingContext ctx) {
+        if (!requiresAuthentication()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String authHeader = ctx.request().getHeader(HttpHeaders.AUTHORIZATION);
         try {
-            if (requiresAuthentication()) {
-                boolean permissionGranted =
-                        validateRequestAuthorization(
-                                        requestParams.getHeaders().get(HttpHeaders.AUTHORIZATION))
-                                .get();
-                if (!permissionGranted) {
-                    // expected to go into catch clause below
-                    throw new ApiException(401, "HTTP Authorization Failure");
-                }
-            }
-            writeResponse(ctx, handle(requestParams));
-        } catch (ApiException | HttpException e) {
-            throw e;
+            return AuthorizingRequestHandler.onContext(
+                            ctx, validateRequestAuthorization(authHeader))
+                    .handle(
+                            (granted, t) -> {
+                                if (t != null) {
+                                    Throwable cause =
+                                            t instanceof CompletionException && t.getCause() != null
+                                                    ? t.getCause()
+                                                    : t;
+                                    throw mapException(ctx, new ExecutionException(cause));
+                                }
+                                if (!Boolean.TRUE.equals(granted)) {
+                                    throw new ApiException(401, "HTTP Authorization Failure");
+                                }
+                                return null;
+                            });
         } catch (Exception e) {
-            if (AbstractAuthenticatedRequestHandler.isAuthenticationFailure(e)) {
-                throw new ApiException(401, "HTTP Unauthorized", e);
-            }
-            if (AbstractAuthenticatedRequestHandler.isAuthorizationFailure(e)) {
-                throw new ApiException(403, "HTTP Forbidden", e);
-            }
-            if (AbstractAuthenticatedRequestHandler.isTargetConnectionFailure(e)) {
-                handleConnectionException(ctx, e);
-            }
-            throw new ApiException(500, e);
+            return CompletableFuture.failedFuture(mapException(ctx, e));
+        }
+    }
+
+    @Override
+    public final void handleAuthorized(RoutingContext ctx) {
+        CompletableFuture<IntermediateResponse<T>> response;
+        try {
+            response = handleAsync(RequestParameters.from(ctx));
+        } catch (RuntimeException e) {
+            throw mapException(ctx, e);
+        }
+        if (response.isDone()) {
+            finish(ctx, response);
+            return;
+        }
+        AuthorizingRequestHandler.onContext(ctx, response)
+                .whenComplete(
+                        (r, t) -> {
+                            try {
+                                finish(ctx, response);
+                            } catch (RuntimeException e) {
+                                ctx.fail(e);
+                            }
+                        });
+    }
+
+    private void finish(RoutingContext ctx, CompletableFuture<IntermediateResponse<T>> response) {
+        try {
+            writeResponse(ctx, await(response));
+        } catch (Exception e) {
+            throw mapException(ctx, e);
+        }
+    }
+
+    /** Wait for a future returned by {@link #handleAsync(RequestParameters)}. */
+    protected static <R> R await(CompletableFuture<R> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof Exception ? (Exception) cause : new ExecutionException(cause);
+        }
+    }
+
+    private RuntimeException mapException(RoutingContext ctx, Exception e) {
+        if (e instanceof ApiException || e instanceof HttpException) {
+            return (RuntimeException) e;
+        }
+        if (AbstractAuthenticatedRequestHandler.isAuthenticationFailure(e)) {
+            return new ApiException(401, "HTTP Unauthorized", e);
+        }
+        if (AbstractAuthenticatedRequestHandler.isAuthorizationFailure(e)) {
+            return new ApiException(403, "HTTP Forbidden", e);
+        }
+        if (AbstractAuthenticatedRequestHandler.isTargetTaskRejection(e)) {
+            ctx.response()
+                    .putHeader(
+                            HttpHeaders.RETRY_AFTER,
+                            AbstractAuthenticatedRequestHandler.TARGET_TASK_RETRY_AFTER);
+            return new ApiException(
+                    AbstractAuthenticatedRequestHandler.getTargetTaskRejectionStatus(e),
+                    e.getMessage(),
+                    e);
+        }
+        if (AbstractAuthenticatedRequestHandler.isTargetConnectionFailure(e)) {
+            handleConnectionException(ctx, e);
         }
+        return new ApiException(500, e);
     }
 
-    protected Future<Boolean> validateRequestAuthorization(String authHeader) throws Exception {
+    protected CompletableFuture<Boolean> validateRequestAuthorization(String authHeader)
+            throws Exception {
         return auth.validateHttpHeader(() -> authHeader, resourceActions());
     }
 
@@ -41,6 +41,7 @@ import com.nimbusds.jwt.JWT;
 import dagger.Lazy;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.RoutingContext;
+import org.apache.commons.codec.digest.DigestUtils;
 
 class DiscoveryPostHandler extends AbstractDiscoveryJwtConsumingHandler<Void> {
 
@@ -97,14 +98,17 @@ class DiscoveryPostHandler extends AbstractDiscoveryJwtConsumingHandler<Void> {
             UUID id =
                     this.uuidFromString.apply(
                             StringUtil.requireNonBlank(ctx.pathParam("id"), "id"));
-            String body = ctx.body().asString();
-            Set<AbstractNode> nodes =
-                    gson.fromJson(
-                            StringUtil.requireNonBlank(body, "body"),
-                            new TypeToken<Set<AbstractNode>>() {}.getType());
-            // TODO validate the nodes more thoroughly, all branches should terminate in leaves, no
-            // fields should be null, etc.
-            storage.update(id, nodes);
+            String body = StringUtil.requireNonBlank(ctx.body().asString(), "body");
+            // plugins commonly republish the same scenario on a fixed period, so skip parsing,
+            // JVM ID resolution and persistence entirely when the content has not changed
+            String contentHash = DigestUtils.sha256Hex(body);
+            if (!storage.isUnchanged(id, contentHash)) {
+                Set<AbstractNode> nodes =
+                        gson.fromJson(body, new TypeToken<Set<AbstractNode>>() {}.getType());
+                // TODO validate the nodes more thoroughly, all branches should terminate in
+                // leaves, no fields should be null, etc.
+                storage.update(id, nodes, contentHash);
+            }
 
             writeResponse(ctx, new IntermediateResponse<Void>());
         } catch (JsonSyntaxException | IllegalArgumentException e) {
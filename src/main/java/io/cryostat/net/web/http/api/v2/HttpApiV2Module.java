@@ -195,6 +195,14 @@ public abstract class HttpApiV2Module {
     @IntoSet
     abstract RequestHandler bindDiscoveryPostBodyHandler(DiscoveryPostBodyHandler handler);
 
+    @Binds
+    @IntoSet
+    abstract RequestHandler bindDiscoveryPatchHandler(DiscoveryPatchHandler handler);
+
+    @Binds
+    @IntoSet
+    abstract RequestHandler bindDiscoveryPatchBodyHandler(DiscoveryPatchBodyHandler handler);
+
     @Binds
     @IntoSet
     abstract RequestHandler bindAuthTokenPostHandler(AuthTokenPostHandler handler);
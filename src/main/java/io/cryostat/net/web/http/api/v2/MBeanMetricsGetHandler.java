@@ -18,6 +18,7 @@ package io.cryostat.net.web.http.api.v2;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -25,6 +26,7 @@ import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.core.net.MBeanMetrics;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.api.ApiVersion;
@@ -78,11 +80,18 @@ public class MBeanMetricsGetHandler extends AbstractV2RequestHandler<MBeanMetric
 
     @Override
     public IntermediateResponse<MBeanMetrics> handle(RequestParameters params) throws Exception {
-        return tcm.executeConnectedTask(
+        return await(handleAsync(params));
+    }
+
+    @Override
+    protected CompletableFuture<IntermediateResponse<MBeanMetrics>> handleAsync(
+            RequestParameters params) {
+        return tcm.submitConnectedTask(
                 getConnectionDescriptorFromParams(params),
-                conn -> {
-                    MBeanMetrics metrics = conn.getMBeanMetrics();
-                    return new IntermediateResponse<MBeanMetrics>().body(metrics);
-                });
+                ConnectedTask.readOnly(
+                        conn -> {
+                            MBeanMetrics metrics = conn.getMBeanMetrics();
+                            return new IntermediateResponse<MBeanMetrics>().body(metrics);
+                        }));
     }
 }
@@ -15,41 +15,36 @@
  */
 package io.cryostat.net.web.http.api.v2;
 
-import java.util.Arrays;
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
-import org.openjdk.jmc.rjmx.services.jfr.IEventTypeInfo;
-
 import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.jmc.serialization.SerializableEventTypeInfo;
 import io.cryostat.net.AuthManager;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.api.ApiVersion;
+import io.cryostat.recordings.EventTypeIndex;
+import io.cryostat.recordings.TargetCatalogCache;
 
 import com.google.gson.Gson;
 import io.vertx.core.http.HttpMethod;
-import org.apache.commons.lang3.StringUtils;
 
 class TargetEventsGetHandler extends AbstractV2RequestHandler<List<SerializableEventTypeInfo>> {
 
-    private final TargetConnectionManager targetConnectionManager;
+    private final TargetCatalogCache catalogCache;
 
     @Inject
     TargetEventsGetHandler(
             AuthManager auth,
             CredentialsManager credentialsManager,
-            TargetConnectionManager targetConnectionManager,
+            TargetCatalogCache catalogCache,
             Gson gson) {
         super(auth, credentialsManager, gson);
-        this.targetConnectionManager = targetConnectionManager;
+        this.catalogCache = catalogCache;
     }
 
     @Override
@@ -90,34 +85,9 @@ class TargetEventsGetHandler extends AbstractV2RequestHandler<List<SerializableE
     @Override
     public IntermediateResponse<List<SerializableEventTypeInfo>> handle(RequestParameters params)
             throws Exception {
-        return targetConnectionManager.executeConnectedTask(
-                getConnectionDescriptorFromParams(params),
-                connection -> {
-                    String q = params.getQueryParams().get("q");
-                    List<SerializableEventTypeInfo> matchingEvents =
-                            connection.getService().getAvailableEventTypes().stream()
-                                    .filter(
-                                            event ->
-                                                    StringUtils.isBlank(q)
-                                                            || eventMatchesSearchTerm(
-                                                                    event, q.toLowerCase()))
-                                    .map(SerializableEventTypeInfo::new)
-                                    .collect(Collectors.toList());
-                    return new IntermediateResponse<List<SerializableEventTypeInfo>>()
-                            .body(matchingEvents);
-                });
-    }
-
-    private boolean eventMatchesSearchTerm(IEventTypeInfo event, String term) {
-        Set<String> terms = new HashSet<>();
-        terms.add(event.getEventTypeID().getFullKey());
-        terms.addAll(Arrays.asList(event.getHierarchicalCategory()));
-        terms.add(event.getDescription());
-        terms.add(event.getName());
-
-        return terms.stream()
-                .filter(s -> s != null)
-                .map(String::toLowerCase)
-                .anyMatch(s -> s.contains(term));
+        EventTypeIndex eventTypes =
+                catalogCache.getEventTypes(getConnectionDescriptorFromParams(params));
+        return new IntermediateResponse<List<SerializableEventTypeInfo>>()
+                .body(eventTypes.search(params.getQueryParams().get("q")));
     }
 }
@@ -18,6 +18,7 @@ package io.cryostat.net.web.http.api.v2;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -89,6 +90,12 @@ class TargetProbeDeleteHandler extends AbstractV2RequestHandler<Void> {
 
     @Override
     public IntermediateResponse<Void> handle(RequestParameters requestParams) throws Exception {
+        return await(handleAsync(requestParams));
+    }
+
+    @Override
+    protected CompletableFuture<IntermediateResponse<Void>> handleAsync(
+            RequestParameters requestParams) {
         Map<String, String> pathParams = requestParams.getPathParams();
         String targetId = pathParams.get("targetId");
         StringBuilder sb = new StringBuilder();
@@ -96,26 +103,22 @@ class TargetProbeDeleteHandler extends AbstractV2RequestHandler<Void> {
             sb.append("targetId is required.");
             throw new ApiException(400, sb.toString().trim());
         }
-        try {
-            return connectionManager.executeConnectedTask(
-                    getConnectionDescriptorFromParams(requestParams),
-                    connection -> {
-                        AgentJMXHelper helper = new AgentJMXHelper(connection.getHandle());
-                        // The convention for removing probes in the agent controller mbean is to
-                        // call defineEventProbes with a null argument.
-                        helper.defineEventProbes(null);
-                        notificationFactory
-                                .createBuilder()
-                                .metaCategory(NOTIFICATION_CATEGORY)
-                                .metaType(HttpMimeType.JSON)
-                                .message(Map.of("target", targetId))
-                                .build()
-                                .send();
-                        return new IntermediateResponse<Void>().body(null);
-                    });
-        } catch (Exception e) {
-            throw e;
-        }
+        return connectionManager.submitConnectedTask(
+                getConnectionDescriptorFromParams(requestParams),
+                connection -> {
+                    AgentJMXHelper helper = new AgentJMXHelper(connection.getHandle());
+                    // The convention for removing probes in the agent controller mbean is to
+                    // call defineEventProbes with a null argument.
+                    helper.defineEventProbes(null);
+                    notificationFactory
+                            .createBuilder()
+                            .metaCategory(NOTIFICATION_CATEGORY)
+                            .metaType(HttpMimeType.JSON)
+                            .message(Map.of("target", targetId))
+                            .build()
+                            .send();
+                    return new IntermediateResponse<Void>().body(null);
+                });
     }
 
     @Override
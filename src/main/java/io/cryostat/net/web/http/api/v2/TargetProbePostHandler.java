@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -131,6 +132,12 @@ class TargetProbePostHandler extends AbstractV2RequestHandler<Void> {
 
     @Override
     public IntermediateResponse<Void> handle(RequestParameters requestParams) throws Exception {
+        return await(handleAsync(requestParams));
+    }
+
+    @Override
+    protected CompletableFuture<IntermediateResponse<Void>> handleAsync(
+            RequestParameters requestParams) {
         Map<String, String> pathParams = requestParams.getPathParams();
         String targetId = pathParams.get("targetId");
         String probeTemplate = pathParams.get("probeTemplate");
@@ -144,7 +151,7 @@ class TargetProbePostHandler extends AbstractV2RequestHandler<Void> {
             }
             throw new ApiException(400, sb.toString().trim());
         }
-        return connectionManager.executeConnectedTask(
+        return connectionManager.submitConnectedTask(
                 getConnectionDescriptorFromParams(requestParams),
                 connection -> {
                     AgentJMXHelper helper = new AgentJMXHelper(connection.getHandle());
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -30,6 +31,7 @@ import io.cryostat.core.agent.Event;
 import io.cryostat.core.agent.ProbeTemplate;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.api.ApiVersion;
@@ -82,6 +84,12 @@ class TargetProbesGetHandler extends AbstractV2RequestHandler<List<Event>> {
     @Override
     public IntermediateResponse<List<Event>> handle(RequestParameters requestParams)
             throws Exception {
+        return await(handleAsync(requestParams));
+    }
+
+    @Override
+    protected CompletableFuture<IntermediateResponse<List<Event>>> handleAsync(
+            RequestParameters requestParams) {
         Map<String, String> pathParams = requestParams.getPathParams();
         String targetId = pathParams.get("targetId");
         StringBuilder sb = new StringBuilder();
@@ -89,27 +97,28 @@ class TargetProbesGetHandler extends AbstractV2RequestHandler<List<Event>> {
             sb.append("targetId is required.");
             throw new ApiException(400, sb.toString().trim());
         }
-        return connectionManager.executeConnectedTask(
+        return connectionManager.submitConnectedTask(
                 getConnectionDescriptorFromParams(requestParams),
-                connection -> {
-                    List<Event> response = new ArrayList<Event>();
-                    AgentJMXHelper helper = new AgentJMXHelper(connection.getHandle());
-                    try {
-                        String probes = helper.retrieveEventProbes();
-                        if (probes != null && !probes.isBlank()) {
-                            ProbeTemplate template = new ProbeTemplate();
-                            template.deserialize(
-                                    new ByteArrayInputStream(
-                                            probes.getBytes(StandardCharsets.UTF_8)));
-                            for (Event e : template.getEvents()) {
-                                response.add(e);
+                ConnectedTask.readOnly(
+                        connection -> {
+                            List<Event> response = new ArrayList<Event>();
+                            AgentJMXHelper helper = new AgentJMXHelper(connection.getHandle());
+                            try {
+                                String probes = helper.retrieveEventProbes();
+                                if (probes != null && !probes.isBlank()) {
+                                    ProbeTemplate template = new ProbeTemplate();
+                                    template.deserialize(
+                                            new ByteArrayInputStream(
+                                                    probes.getBytes(StandardCharsets.UTF_8)));
+                                    for (Event e : template.getEvents()) {
+                                        response.add(e);
+                                    }
+                                }
+                            } catch (Exception e) {
+                                throw new ApiException(501, e.getMessage());
                             }
-                        }
-                    } catch (Exception e) {
-                        throw new ApiException(501, e.getMessage());
-                    }
-                    return new IntermediateResponse<List<Event>>().body(response);
-                });
+                            return new IntermediateResponse<List<Event>>().body(response);
+                        }));
     }
 
     @Override
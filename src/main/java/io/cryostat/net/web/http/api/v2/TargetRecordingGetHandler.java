@@ -34,7 +34,7 @@ import io.cryostat.net.security.jwt.AssetJwtHelper;
 import io.cryostat.net.web.WebServer;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.api.ApiVersion;
-import io.cryostat.util.OutputToReadStream;
+import io.cryostat.util.InputToReadStream;
 
 import com.nimbusds.jwt.JWT;
 import dagger.Lazy;
@@ -44,8 +44,6 @@ import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.RoutingContext;
 
 class TargetRecordingGetHandler extends AbstractAssetJwtConsumingHandler {
-    protected static final int WRITE_BUFFER_SIZE = 64 * 1024; // 64 KB
-
     private final TargetConnectionManager targetConnectionManager;
     private final Vertx vertx;
 
@@ -134,21 +132,18 @@ class TargetRecordingGetHandler extends AbstractAssetJwtConsumingHandler {
                         String.format("attachment; filename=\"%s.jfr\"", recordingName));
         ctx.response().putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.OCTET_STREAM.mime());
 
-        try (final InputStream is = stream.get();
-                final OutputToReadStream otrs =
-                        new OutputToReadStream(
-                                vertx, targetConnectionManager, connectionDescriptor)) {
+        try (final InputStream is = stream.get()) {
             CompletableFuture<Void> future = new CompletableFuture<>();
-            otrs.pipeFromInput(
-                    is,
-                    ctx.response(),
-                    res -> {
-                        if (res.succeeded()) {
-                            future.complete(null);
-                        } else {
-                            future.completeExceptionally(res.cause());
-                        }
-                    });
+            new InputToReadStream(vertx, is, targetConnectionManager, connectionDescriptor)
+                    .pipeFromInput(ctx.response())
+                    .onComplete(
+                            res -> {
+                                if (res.succeeded()) {
+                                    future.complete(null);
+                                } else {
+                                    future.completeExceptionally(res.cause());
+                                }
+                            });
             try {
                 future.get();
             } catch (Exception e) {
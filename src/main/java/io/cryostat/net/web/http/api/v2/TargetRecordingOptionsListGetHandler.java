@@ -28,10 +28,10 @@ import org.openjdk.jmc.common.unit.IOptionDescriptor;
 import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.jmc.serialization.SerializableOptionDescriptor;
 import io.cryostat.net.AuthManager;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.api.ApiVersion;
+import io.cryostat.recordings.TargetCatalogCache;
 
 import com.google.gson.Gson;
 import io.vertx.core.http.HttpMethod;
@@ -39,16 +39,16 @@ import io.vertx.core.http.HttpMethod;
 class TargetRecordingOptionsListGetHandler
         extends AbstractV2RequestHandler<List<SerializableOptionDescriptor>> {
 
-    private final TargetConnectionManager connectionManager;
+    private final TargetCatalogCache catalogCache;
 
     @Inject
     TargetRecordingOptionsListGetHandler(
             AuthManager auth,
             CredentialsManager credentialsManager,
-            TargetConnectionManager connectionManager,
+            TargetCatalogCache catalogCache,
             Gson gson) {
         super(auth, credentialsManager, gson);
-        this.connectionManager = connectionManager;
+        this.catalogCache = catalogCache;
     }
 
     @Override
@@ -89,19 +89,12 @@ class TargetRecordingOptionsListGetHandler
     @Override
     public IntermediateResponse<List<SerializableOptionDescriptor>> handle(
             RequestParameters requestParams) throws Exception {
-        List<SerializableOptionDescriptor> options =
-                connectionManager.executeConnectedTask(
-                        getConnectionDescriptorFromParams(requestParams),
-                        connection -> {
-                            Map<String, IOptionDescriptor<?>> origOptions =
-                                    connection.getService().getAvailableRecordingOptions();
-                            List<SerializableOptionDescriptor> serializableOptions =
-                                    new ArrayList<>(origOptions.size());
-                            for (IOptionDescriptor<?> option : origOptions.values()) {
-                                serializableOptions.add(new SerializableOptionDescriptor(option));
-                            }
-                            return serializableOptions;
-                        });
+        Map<String, IOptionDescriptor<?>> origOptions =
+                catalogCache.getRecordingOptions(getConnectionDescriptorFromParams(requestParams));
+        List<SerializableOptionDescriptor> options = new ArrayList<>(origOptions.size());
+        for (IOptionDescriptor<?> option : origOptions.values()) {
+            options.add(new SerializableOptionDescriptor(option));
+        }
         return new IntermediateResponse<List<SerializableOptionDescriptor>>().body(options);
     }
 }
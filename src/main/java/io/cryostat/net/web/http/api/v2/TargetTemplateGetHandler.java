@@ -24,6 +24,7 @@ import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.core.templates.TemplateType;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.security.jwt.AssetJwtHelper;
 import io.cryostat.net.web.WebServer;
@@ -83,7 +84,10 @@ class TargetTemplateGetHandler extends AbstractAssetJwtConsumingHandler {
         targetConnectionManager
                 .executeConnectedTask(
                         getConnectionDescriptorFromJwt(ctx, jwt),
-                        conn -> conn.getTemplateService().getXml(templateName, templateType))
+                        ConnectedTask.readOnly(
+                                conn ->
+                                        conn.getTemplateService()
+                                                .getXml(templateName, templateType)))
                 .ifPresentOrElse(
                         doc -> {
                             ctx.response()
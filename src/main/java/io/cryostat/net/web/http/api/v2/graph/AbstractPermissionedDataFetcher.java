@@ -46,13 +46,15 @@ abstract class AbstractPermissionedDataFetcher<T> implements DataFetcher<T>, Per
     @Override
     public final T get(DataFetchingEnvironment environment) throws Exception {
         GraphQLContext graphCtx = environment.getGraphQlContext();
-        RoutingContext ctx = graphCtx.get(RoutingContext.class);
-        boolean authenticated =
-                auth.validateHttpHeader(
-                                () -> ctx.request().getHeader(HttpHeaders.AUTHORIZATION),
-                                resourceActions())
-                        .get();
-        if (!authenticated) {
+        GraphAuthorization authorization = graphCtx.get(GraphAuthorization.class);
+        if (authorization == null) {
+            // not authorized ahead of time by GraphAuthorizationInstrumentation
+            RoutingContext ctx = graphCtx.get(RoutingContext.class);
+            authorization =
+                    new GraphAuthorization(
+                            auth, () -> ctx.request().getHeader(HttpHeaders.AUTHORIZATION));
+        }
+        if (!authorization.authorize(resourceActions())) {
             throw new AuthenticationErrorException("Unauthorized");
         }
         return getAuthenticated(environment);
@@ -0,0 +1,54 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2.graph;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import io.cryostat.net.AuthManager;
+import io.cryostat.net.security.ResourceAction;
+
+/**
+ * Remembers which actions the requester of a single GraphQL execution has been authorized for, so
+ * that each data fetcher invocation does not need to repeat the same checks with the {@link
+ * AuthManager}.
+ */
+class GraphAuthorization {
+
+    private final AuthManager auth;
+    private final Supplier<String> headerProvider;
+    private final Set<ResourceAction> granted = ConcurrentHashMap.newKeySet();
+    private volatile boolean authenticated;
+
+    GraphAuthorization(AuthManager auth, Supplier<String> headerProvider) {
+        this.auth = auth;
+        this.headerProvider = headerProvider;
+    }
+
+    boolean authorize(Set<ResourceAction> actions) throws InterruptedException, ExecutionException {
+        if (authenticated && granted.containsAll(actions)) {
+            return true;
+        }
+        boolean authorized = auth.validateHttpHeader(headerProvider, actions).get();
+        if (authorized) {
+            granted.addAll(actions);
+            authenticated = true;
+        }
+        return authorized;
+    }
+}
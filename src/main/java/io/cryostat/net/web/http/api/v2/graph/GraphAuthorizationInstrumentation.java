@@ -0,0 +1,120 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2.graph;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import io.cryostat.net.AuthManager;
+import io.cryostat.net.security.ResourceAction;
+
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLSchema;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Authorizes the requester once per GraphQL execution, for the union of the permissions required by
+ * every field selected in the operation, before any field is fetched. The result is stored in the
+ * {@link graphql.GraphQLContext} as a {@link GraphAuthorization} for the data fetchers to check
+ * against.
+ */
+class GraphAuthorizationInstrumentation extends SimplePerformantInstrumentation {
+
+    private final AuthManager auth;
+    private final Map<FieldCoordinates, Set<ResourceAction>> fieldActions;
+
+    GraphAuthorizationInstrumentation(
+            AuthManager auth, Map<FieldCoordinates, Set<ResourceAction>> fieldActions) {
+        this.auth = auth;
+        this.fieldActions = fieldActions;
+    }
+
+    @Override
+    public InstrumentationContext<graphql.ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        RoutingContext ctx = executionContext.getGraphQLContext().get(RoutingContext.class);
+        if (ctx == null) {
+            return super.beginExecuteOperation(parameters, state);
+        }
+        GraphAuthorization authorization =
+                new GraphAuthorization(
+                        auth, () -> ctx.request().getHeader(HttpHeaders.AUTHORIZATION));
+        boolean authorized;
+        try {
+            authorized = authorization.authorize(requiredActions(executionContext));
+        } catch (InterruptedException | ExecutionException e) {
+            throw new AbortExecutionException(e);
+        }
+        if (!authorized) {
+            throw new AbortExecutionException("Unauthorized");
+        }
+        executionContext.getGraphQLContext().put(GraphAuthorization.class, authorization);
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    Set<ResourceAction> requiredActions(ExecutionContext executionContext) {
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        Set<ResourceAction> actions = new HashSet<>();
+        QueryTraverser.newQueryTraverser()
+                .schema(schema)
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getOperationDefinition().getName())
+                .coercedVariables(executionContext.getCoercedVariables())
+                .build()
+                .visitPreOrder(
+                        new QueryVisitorStub() {
+                            @Override
+                            public void visitField(QueryVisitorFieldEnvironment env) {
+                                String field = env.getField().getName();
+                                for (String type : typeNames(schema, env.getFieldsContainer())) {
+                                    actions.addAll(
+                                            fieldActions.getOrDefault(
+                                                    FieldCoordinates.coordinates(type, field),
+                                                    ResourceAction.NONE));
+                                }
+                            }
+                        });
+        return actions;
+    }
+
+    // fields selected on an interface may be fetched by the fetchers of any implementing type
+    private static Set<String> typeNames(GraphQLSchema schema, GraphQLFieldsContainer container) {
+        Set<String> names = new HashSet<>();
+        names.add(container.getName());
+        if (container instanceof GraphQLInterfaceType) {
+            schema.getImplementations((GraphQLInterfaceType) container).stream()
+                    .map(GraphQLNamedType::getName)
+                    .forEach(names::add);
+        }
+        return names;
+    }
+}
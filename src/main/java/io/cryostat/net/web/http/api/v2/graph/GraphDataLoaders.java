@@ -0,0 +1,239 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2.graph;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.inject.Provider;
+import javax.script.ScriptException;
+
+import org.openjdk.jmc.common.unit.QuantityConversionException;
+import org.openjdk.jmc.rjmx.services.jfr.IRecordingDescriptor;
+
+import io.cryostat.configuration.CredentialsManager;
+import io.cryostat.core.net.JFRConnection;
+import io.cryostat.core.net.MBeanMetrics;
+import io.cryostat.net.ConnectionDescriptor;
+import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
+import io.cryostat.net.web.WebServer;
+import io.cryostat.platform.ServiceRef;
+import io.cryostat.recordings.RecordingArchiveHelper;
+import io.cryostat.recordings.RecordingMetadataManager;
+import io.cryostat.rules.ArchivedRecordingInfo;
+
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batches the per-target lookups made while executing a GraphQL query. Fetchers for fields of
+ * {@code TargetNode}s request their data from the {@link org.dataloader.DataLoader}s registered
+ * here, which the GraphQL engine dispatches in one batch per query level. Lookups which need a
+ * target connection are then run concurrently, with at most a fixed number in progress at once, and
+ * archived recordings for all of the batch's targets are read from the archive in one pass.
+ */
+class GraphDataLoaders {
+
+    static final String ACTIVE_RECORDINGS = "activeRecordings";
+    static final String ARCHIVED_RECORDINGS = "archivedRecordings";
+    static final String MBEAN_METRICS = "mbeanMetrics";
+
+    private final TargetConnectionManager targetConnectionManager;
+    private final RecordingArchiveHelper archiveHelper;
+    private final CredentialsManager credentialsManager;
+    private final RecordingMetadataManager metadataManager;
+    private final Provider<WebServer> webServer;
+    private final int parallelism;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    GraphDataLoaders(
+            TargetConnectionManager targetConnectionManager,
+            RecordingArchiveHelper archiveHelper,
+            CredentialsManager credentialsManager,
+            RecordingMetadataManager metadataManager,
+            Provider<WebServer> webServer,
+            int parallelism) {
+        this.targetConnectionManager = targetConnectionManager;
+        this.archiveHelper = archiveHelper;
+        this.credentialsManager = credentialsManager;
+        this.metadataManager = metadataManager;
+        this.webServer = webServer;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * @return a new registry of data loaders, to be used for the execution of a single query so
+     *     that loaded values are only cached for as long as that query runs
+     */
+    DataLoaderRegistry newRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(
+                ACTIVE_RECORDINGS, DataLoaderFactory.newDataLoaderWithTry(this::loadActive));
+        registry.register(ARCHIVED_RECORDINGS, DataLoaderFactory.newDataLoader(this::loadArchived));
+        registry.register(MBEAN_METRICS, DataLoaderFactory.newDataLoader(this::loadMBeanMetrics));
+        return registry;
+    }
+
+    CompletableFuture<List<Try<List<GraphRecordingDescriptor>>>> loadActive(
+            List<ServiceRef> targets) {
+        return loadAll(
+                targets,
+                parallelism,
+                target -> {
+                    ConnectionDescriptor cd;
+                    try {
+                        cd = getConnectionDescriptor(target);
+                    } catch (ScriptException e) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                    return targetConnectionManager.executeConnectedTaskAsync(
+                            cd,
+                            ConnectedTask.readOnly(
+                                    conn -> describeActiveRecordings(target, cd, conn)));
+                });
+    }
+
+    private List<GraphRecordingDescriptor> describeActiveRecordings(
+            ServiceRef target, ConnectionDescriptor cd, JFRConnection conn) throws Exception {
+        WebServer ws = webServer.get();
+        List<GraphRecordingDescriptor> recordings = new ArrayList<>();
+        for (IRecordingDescriptor r : conn.getService().getAvailableRecordings()) {
+            try {
+                recordings.add(
+                        new GraphRecordingDescriptor(
+                                target,
+                                r,
+                                ws.getDownloadURL(conn, r.getName()),
+                                ws.getReportURL(conn, r.getName()),
+                                metadataManager.getMetadata(cd, r.getName())));
+            } catch (QuantityConversionException | URISyntaxException | IOException e) {
+                logger.error("Recordings get exception", e);
+            }
+        }
+        return recordings;
+    }
+
+    CompletableFuture<List<List<ArchivedRecordingInfo>>> loadArchived(List<String> targetIds) {
+        Map<String, List<ArchivedRecordingInfo>> recordings;
+        try {
+            recordings = archiveHelper.getRecordingsByTarget(targetIds).get();
+        } catch (InterruptedException | ExecutionException e) {
+            logger.warn("Couldn't get archived recordings for {}", targetIds);
+            logger.warn("Archived recordings get exception", e);
+            recordings = Map.of();
+        }
+        List<List<ArchivedRecordingInfo>> result = new ArrayList<>(targetIds.size());
+        for (String targetId : targetIds) {
+            result.add(recordings.getOrDefault(targetId, List.of()));
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    CompletableFuture<List<MBeanMetrics>> loadMBeanMetrics(List<ServiceRef> targets) {
+        return loadAll(
+                        targets,
+                        parallelism,
+                        target -> {
+                            try {
+                                return targetConnectionManager.executeConnectedTaskAsync(
+                                        getConnectionDescriptor(target),
+                                        ConnectedTask.readOnly(conn -> conn.getMBeanMetrics()));
+                            } catch (ScriptException e) {
+                                return CompletableFuture.<MBeanMetrics>failedFuture(e);
+                            }
+                        })
+                .thenApply(
+                        results ->
+                                results.stream()
+                                        .map(
+                                                t -> {
+                                                    if (t.isFailure()) {
+                                                        logger.warn(
+                                                                "MBean get exception",
+                                                                t.getThrowable());
+                                                        return null;
+                                                    }
+                                                    return t.get();
+                                                })
+                                        .collect(Collectors.toList()));
+    }
+
+    private ConnectionDescriptor getConnectionDescriptor(ServiceRef target) throws ScriptException {
+        return new ConnectionDescriptor(
+                target.getServiceUri().toString(), credentialsManager.getCredentials(target));
+    }
+
+    /**
+     * Load the values for all of the keys, with no more than {@code parallelism} loads in progress
+     * at once. Each key's load is started as soon as an earlier one finishes.
+     *
+     * @return the outcome of loading each key, in the same order as the keys
+     */
+    static <K, V> CompletableFuture<List<Try<V>>> loadAll(
+            List<K> keys, int parallelism, Function<K, CompletableFuture<V>> load) {
+        List<Try<V>> results = Collections.synchronizedList(new ArrayList<>(keys.size()));
+        for (int i = 0; i < keys.size(); i++) {
+            results.add(null);
+        }
+        CompletableFuture<List<Try<V>>> done = new CompletableFuture<>();
+        if (keys.isEmpty()) {
+            done.complete(results);
+            return done;
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(keys.size());
+        Runnable[] loadNext = new Runnable[1];
+        loadNext[0] =
+                () -> {
+                    int idx = next.getAndIncrement();
+                    if (idx >= keys.size()) {
+                        return;
+                    }
+                    CompletableFuture<V> f;
+                    try {
+                        f = load.apply(keys.get(idx));
+                    } catch (RuntimeException e) {
+                        f = CompletableFuture.failedFuture(e);
+                    }
+                    f.whenComplete(
+                            (v, t) -> {
+                                results.set(idx, t == null ? Try.succeeded(v) : Try.failed(t));
+                                if (remaining.decrementAndGet() == 0) {
+                                    done.complete(results);
+                                } else {
+                                    loadNext[0].run();
+                                }
+                            });
+                };
+        for (int i = 0; i < Math.min(parallelism, keys.size()); i++) {
+            loadNext[0].run();
+        }
+        return done;
+    }
+}
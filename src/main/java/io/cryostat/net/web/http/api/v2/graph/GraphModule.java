@@ -17,17 +17,28 @@ package io.cryostat.net.web.http.api.v2.graph;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
+import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 
 import io.cryostat.configuration.CredentialsManager;
+import io.cryostat.configuration.Variables;
+import io.cryostat.core.sys.Environment;
 import io.cryostat.discovery.DiscoveryStorage;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.WebServer;
 import io.cryostat.net.web.http.RequestHandler;
 import io.cryostat.recordings.RecordingArchiveHelper;
@@ -45,11 +56,13 @@ import dagger.multibindings.IntoSet;
 import graphql.ExecutionInput;
 import graphql.GraphQL;
 import graphql.Scalars;
+import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.scalars.ExtendedScalars;
 import graphql.schema.AsyncDataFetcher;
 import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.SchemaParser;
@@ -60,6 +73,8 @@ import org.apache.commons.codec.binary.Base32;
 @Module
 public abstract class GraphModule {
 
+    static final String GRAPHQL_EXECUTOR = "GRAPHQL_EXECUTOR";
+
     @Binds
     @IntoSet
     abstract RequestHandler bindGraphPostBodyHandler(GraphQLPostBodyHandler handler);
@@ -79,7 +94,11 @@ public abstract class GraphModule {
     @Provides
     @Singleton
     static GraphQL provideGraphQL(
-            Set<AbstractPermissionedDataFetcher<?>> fetchers, Set<AbstractTypeResolver> resolvers) {
+            Set<AbstractPermissionedDataFetcher<?>> fetchers,
+            Set<AbstractTypeResolver> resolvers,
+            AuthManager auth,
+            GraphQueryCostInstrumentation costInstrumentation,
+            @Named(GRAPHQL_EXECUTOR) ExecutorService executor) {
         RuntimeWiring.Builder wiringBuilder =
                 RuntimeWiring.newRuntimeWiring()
                         .scalar(ExtendedScalars.Object)
@@ -94,11 +113,15 @@ public abstract class GraphModule {
                                 ExtendedScalars.newAliasedScalar("NodeType")
                                         .aliasedScalar(Scalars.GraphQLString)
                                         .build());
+        Map<FieldCoordinates, Set<ResourceAction>> fieldActions = new HashMap<>();
         for (AbstractPermissionedDataFetcher<?> fetcher : fetchers) {
             for (String ctx : fetcher.applicableContexts()) {
+                fieldActions.put(
+                        FieldCoordinates.coordinates(ctx, fetcher.name()),
+                        fetcher.resourceActions());
                 DataFetcher<?> df = fetcher;
                 if (fetcher.blocking()) {
-                    df = AsyncDataFetcher.async(df);
+                    df = AsyncDataFetcher.async(df, executor);
                 }
                 wiringBuilder =
                         wiringBuilder.type(
@@ -140,6 +163,10 @@ public abstract class GraphModule {
                 };
         return GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(tdr, wiring))
                 .preparsedDocumentProvider(preparsedCache)
+                .instrumentation(
+                        new ChainedInstrumentation(
+                                new GraphAuthorizationInstrumentation(auth, fieldActions),
+                                costInstrumentation))
                 .build();
     }
 
@@ -161,15 +188,84 @@ public abstract class GraphModule {
     abstract AbstractPermissionedDataFetcher<?> bindRootNodeFetcher(RootNodeFetcher apdf);
 
     @Provides
-    static RecordingsFetcher provideRecordingsFetcher(
-            AuthManager auth,
+    @Singleton
+    @Named(GRAPHQL_EXECUTOR)
+    static ExecutorService provideGraphQLExecutor(
+            @Named(Variables.GRAPHQL_WORKER_POOL_SIZE) int poolSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        poolSize,
+                        poolSize,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        r -> {
+                            Thread t = new Thread(r);
+                            t.setName("cryostat-graphql-" + threadCount.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Provides
+    @Named(Variables.GRAPHQL_WORKER_POOL_SIZE)
+    static int provideGraphQLWorkerPoolSize(Environment env) {
+        return Math.max(1, Integer.parseInt(env.getEnv(Variables.GRAPHQL_WORKER_POOL_SIZE, "8")));
+    }
+
+    @Provides
+    @Named(Variables.GRAPHQL_MAX_QUERY_COST)
+    static long provideGraphQLMaxQueryCost(Environment env) {
+        return Math.max(0, Long.parseLong(env.getEnv(Variables.GRAPHQL_MAX_QUERY_COST, "0")));
+    }
+
+    @Provides
+    @Named(Variables.GRAPHQL_CLIENT_COST_BUDGET)
+    static long provideGraphQLClientCostBudget(Environment env) {
+        return Math.max(0, Long.parseLong(env.getEnv(Variables.GRAPHQL_CLIENT_COST_BUDGET, "0")));
+    }
+
+    @Provides
+    @Singleton
+    static GraphQueryCostEstimator provideGraphQueryCostEstimator(DiscoveryStorage storage) {
+        return new GraphQueryCostEstimator(storage::getDiscoveryTree);
+    }
+
+    @Provides
+    @Singleton
+    static GraphQueryCostInstrumentation provideGraphQueryCostInstrumentation(
+            GraphQueryCostEstimator estimator,
+            @Named(Variables.GRAPHQL_MAX_QUERY_COST) long maxQueryCost,
+            @Named(Variables.GRAPHQL_CLIENT_COST_BUDGET) long clientBudget) {
+        return new GraphQueryCostInstrumentation(estimator, maxQueryCost, clientBudget);
+    }
+
+    @Provides
+    @Named(Variables.GRAPHQL_TARGET_PARALLELISM)
+    static int provideGraphQLTargetParallelism(Environment env) {
+        return Math.max(
+                1, Integer.parseInt(env.getEnv(Variables.GRAPHQL_TARGET_PARALLELISM, "16")));
+    }
+
+    @Provides
+    @Singleton
+    static GraphDataLoaders provideGraphDataLoaders(
             TargetConnectionManager tcm,
             RecordingArchiveHelper archiveHelper,
             CredentialsManager credentialsManager,
             RecordingMetadataManager metadataManager,
-            Provider<WebServer> webServer) {
-        return new RecordingsFetcher(
-                auth, tcm, archiveHelper, credentialsManager, metadataManager, webServer);
+            Provider<WebServer> webServer,
+            @Named(Variables.GRAPHQL_TARGET_PARALLELISM) int parallelism) {
+        return new GraphDataLoaders(
+                tcm, archiveHelper, credentialsManager, metadataManager, webServer, parallelism);
+    }
+
+    @Provides
+    static RecordingsFetcher provideRecordingsFetcher(AuthManager auth) {
+        return new RecordingsFetcher(auth);
     }
 
     @Binds
@@ -397,9 +493,8 @@ public abstract class GraphModule {
             DeleteArchivedRecordingMutator apdf);
 
     @Provides
-    static MBeanMetricsFetcher provideMBeanMetricsFetcher(
-            AuthManager auth, TargetConnectionManager tcm, CredentialsManager credentialsManager) {
-        return new MBeanMetricsFetcher(auth, tcm, credentialsManager);
+    static MBeanMetricsFetcher provideMBeanMetricsFetcher(AuthManager auth) {
+        return new MBeanMetricsFetcher(auth);
     }
 
     @Binds
@@ -25,8 +25,8 @@ import io.vertx.core.http.HttpMethod;
 class GraphQLGetHandler extends GraphQLPostHandler {
 
     @Inject
-    GraphQLGetHandler(GraphQL graph, AuthManager auth) {
-        super(graph, auth);
+    GraphQLGetHandler(GraphQL graph, GraphDataLoaders dataLoaders, AuthManager auth) {
+        super(graph, dataLoaders, auth);
     }
 
     @Override
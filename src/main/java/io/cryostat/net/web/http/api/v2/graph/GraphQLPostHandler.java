@@ -44,8 +44,13 @@ class GraphQLPostHandler implements RequestHandler {
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Inject
-    GraphQLPostHandler(GraphQL graph, AuthManager auth) {
-        this.handler = GraphQLHandler.create(graph);
+    GraphQLPostHandler(GraphQL graph, GraphDataLoaders dataLoaders, AuthManager auth) {
+        this.handler =
+                GraphQLHandler.create(graph)
+                        .beforeExecute(
+                                input ->
+                                        input.builder()
+                                                .dataLoaderRegistry(dataLoaders.newRegistry()));
         this.auth = auth;
     }
 
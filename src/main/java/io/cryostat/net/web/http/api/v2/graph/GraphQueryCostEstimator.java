@@ -0,0 +1,199 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2.graph;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.cryostat.platform.discovery.AbstractNode;
+import io.cryostat.platform.discovery.EnvironmentNode;
+import io.cryostat.platform.discovery.TargetNode;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.CoercedVariables;
+import graphql.language.Document;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+/**
+ * Statically estimates the cost of executing a GraphQL operation, before any of it is executed.
+ *
+ * <p>Each selected field costs {@link #FIELD_COST}, or {@link #TARGET_FIELD_COST} if resolving it
+ * requires a connection to the target, multiplied by the number of times the field is expected to
+ * be resolved. That is the product of the expected sizes of all of the lists enclosing it. Lists of
+ * targets and of environment nodes are expected to be as large as those currently discovered,
+ * unless filtered by ID or name, and other lists are expected to have {@link #DEFAULT_LIST_SIZE}
+ * elements. Each target's data is loaded at most once per query, so target fields are not expected
+ * to be resolved more times than there are targets.
+ */
+class GraphQueryCostEstimator {
+
+    static final long FIELD_COST = 1;
+    static final long TARGET_FIELD_COST = 10;
+    static final long DEFAULT_LIST_SIZE = 10;
+    static final Duration CARDINALITY_TTL = Duration.ofSeconds(10);
+
+    static final Set<FieldCoordinates> TARGET_FIELDS =
+            Set.of(
+                    FieldCoordinates.coordinates("TargetNode", "mbeanMetrics"),
+                    FieldCoordinates.coordinates("TargetNode", "doStartRecording"),
+                    FieldCoordinates.coordinates("TargetNode", "doSnapshot"),
+                    FieldCoordinates.coordinates("Recordings", "active"),
+                    FieldCoordinates.coordinates("ActiveRecording", "doArchive"),
+                    FieldCoordinates.coordinates("ActiveRecording", "doStop"),
+                    FieldCoordinates.coordinates("ActiveRecording", "doDelete"),
+                    FieldCoordinates.coordinates("ActiveRecording", "doPutMetadata"));
+
+    private final LoadingCache<Boolean, Cardinality> cardinality;
+
+    GraphQueryCostEstimator(Supplier<EnvironmentNode> discoveryTree) {
+        this.cardinality =
+                Caffeine.newBuilder()
+                        .expireAfterWrite(CARDINALITY_TTL)
+                        .build(k -> Cardinality.of(discoveryTree.get()));
+    }
+
+    long estimate(
+            GraphQLSchema schema,
+            Document document,
+            String operationName,
+            CoercedVariables variables) {
+        Cardinality discovered = cardinality.get(true);
+        Map<QueryVisitorFieldEnvironment, Long> multiplicities = new HashMap<>();
+        AtomicLong cost = new AtomicLong();
+        QueryTraverser.newQueryTraverser()
+                .schema(schema)
+                .document(document)
+                .operationName(operationName)
+                .coercedVariables(variables)
+                .build()
+                .visitPreOrder(
+                        new QueryVisitorStub() {
+                            @Override
+                            public void visitField(QueryVisitorFieldEnvironment env) {
+                                if (env.isTypeNameIntrospectionField()) {
+                                    return;
+                                }
+                                QueryVisitorFieldEnvironment parent = env.getParentEnvironment();
+                                long multiplicity =
+                                        parent == null
+                                                ? 1
+                                                : saturatedMultiply(
+                                                        multiplicities.getOrDefault(parent, 1L),
+                                                        listSize(parent, discovered));
+                                multiplicities.put(env, multiplicity);
+                                FieldCoordinates coordinates =
+                                        FieldCoordinates.coordinates(
+                                                env.getFieldsContainer().getName(),
+                                                env.getField().getName());
+                                long fieldCost =
+                                        TARGET_FIELDS.contains(coordinates)
+                                                ? saturatedMultiply(
+                                                        TARGET_FIELD_COST,
+                                                        Math.min(
+                                                                multiplicity, discovered.targets()))
+                                                : saturatedMultiply(FIELD_COST, multiplicity);
+                                cost.accumulateAndGet(
+                                        fieldCost, GraphQueryCostEstimator::saturatedAdd);
+                            }
+                        });
+        return cost.get();
+    }
+
+    /**
+     * @return the expected number of elements of the field's value, or 1 if it is not a list
+     */
+    private static long listSize(QueryVisitorFieldEnvironment env, Cardinality discovered) {
+        GraphQLType type = GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType());
+        if (!GraphQLTypeUtil.isList(type)) {
+            return 1;
+        }
+        Object filter = env.getArguments().get("filter");
+        if (filter instanceof Map) {
+            Map<?, ?> filterMap = (Map<?, ?>) filter;
+            if (filterMap.get("id") != null || filterMap.get("name") != null) {
+                return 1;
+            }
+            if (filterMap.get("names") instanceof Collection) {
+                return ((Collection<?>) filterMap.get("names")).size();
+            }
+        }
+        GraphQLNamedType elementType =
+                GraphQLTypeUtil.unwrapAll(((GraphQLList) type).getWrappedType());
+        switch (elementType.getName()) {
+            case "TargetNode":
+                return discovered.targets();
+            case "EnvironmentNode":
+                return discovered.environments();
+            case "Node":
+                // the children of any one node
+                return Math.max(
+                        1,
+                        (discovered.environments() + discovered.targets())
+                                / Math.max(1, discovered.environments()));
+            default:
+                return DEFAULT_LIST_SIZE;
+        }
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    static record Cardinality(long environments, long targets) {
+        static Cardinality of(EnvironmentNode root) {
+            long[] counts = new long[2];
+            count(root, counts);
+            return new Cardinality(Math.max(1, counts[0]), Math.max(1, counts[1]));
+        }
+
+        private static void count(AbstractNode node, long[] counts) {
+            if (node instanceof TargetNode) {
+                counts[1]++;
+            } else if (node instanceof EnvironmentNode) {
+                counts[0]++;
+                for (AbstractNode child : ((EnvironmentNode) node).getChildren()) {
+                    count(child, counts);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2.graph;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.FieldCoordinates;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rejects GraphQL operations whose estimated cost exceeds the maximum for a single query, or the
+ * remaining cost budget of the client which sent it, before any of their fields are fetched. Each
+ * client's budget is refilled continuously, up to its capacity, over a period of one minute.
+ * Clients are identified by their credentials, or by their address if they have none.
+ *
+ * <p>Each execution is recorded as a {@link GraphQLQueryExecuted} JFR event.
+ */
+class GraphQueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    static final Duration BUDGET_REFILL_PERIOD = Duration.ofMinutes(1);
+
+    private final GraphQueryCostEstimator estimator;
+    private final long maxQueryCost;
+    private final long clientBudget;
+    private final LongSupplier nanoTime;
+    private final Cache<String, Budget> budgets =
+            Caffeine.newBuilder()
+                    .expireAfterAccess(Duration.ofMinutes(10))
+                    .maximumSize(10_000)
+                    .build();
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    GraphQueryCostInstrumentation(
+            GraphQueryCostEstimator estimator, long maxQueryCost, long clientBudget) {
+        this(estimator, maxQueryCost, clientBudget, System::nanoTime);
+    }
+
+    GraphQueryCostInstrumentation(
+            GraphQueryCostEstimator estimator,
+            long maxQueryCost,
+            long clientBudget,
+            LongSupplier nanoTime) {
+        this.estimator = estimator;
+        this.maxQueryCost = maxQueryCost;
+        this.clientBudget = clientBudget;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new QueryState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(
+            InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        QueryState queryState = (QueryState) state;
+        queryState.event.operationName = parameters.getOperation();
+        queryState.event.begin();
+        return SimpleInstrumentationContext.whenCompleted(
+                (result, t) -> {
+                    if (result != null) {
+                        queryState.event.errors = result.getErrors().size();
+                    }
+                    queryState.commit();
+                });
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        QueryState queryState = (QueryState) state;
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        long cost =
+                estimator.estimate(
+                        executionContext.getGraphQLSchema(),
+                        executionContext.getDocument(),
+                        executionContext.getOperationDefinition().getName(),
+                        executionContext.getCoercedVariables());
+        queryState.event.estimatedCost = cost;
+        if (maxQueryCost > 0 && cost > maxQueryCost) {
+            queryState.reject();
+            throw new AbortExecutionException(
+                    String.format(
+                            "Query estimated cost %d exceeds maximum %d", cost, maxQueryCost));
+        }
+        if (clientBudget > 0) {
+            String client =
+                    clientId(executionContext.getGraphQLContext().get(RoutingContext.class));
+            Budget budget = budgets.get(client, k -> new Budget(clientBudget, nanoTime));
+            if (!budget.tryConsume(cost)) {
+                logger.warn("GraphQL cost budget exhausted for client {}", client);
+                queryState.reject();
+                throw new AbortExecutionException(
+                        String.format(
+                                "Query estimated cost %d exceeds remaining client budget, retry"
+                                        + " later",
+                                cost));
+            }
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(
+            InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (!parameters.isTrivialDataFetcher()) {
+            QueryState queryState = (QueryState) state;
+            queryState.fieldFetches.incrementAndGet();
+            FieldCoordinates coordinates =
+                    FieldCoordinates.coordinates(
+                            parameters.getExecutionStepInfo().getObjectType().getName(),
+                            parameters.getField().getName());
+            if (GraphQueryCostEstimator.TARGET_FIELDS.contains(coordinates)) {
+                queryState.targetFieldFetches.incrementAndGet();
+            }
+        }
+        return super.beginFieldFetch(parameters, state);
+    }
+
+    private static String clientId(RoutingContext ctx) {
+        if (ctx == null) {
+            return "";
+        }
+        String authorization = ctx.request().getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null) {
+            return DigestUtils.sha256Hex(authorization);
+        }
+        return ctx.request().remoteAddress() == null ? "" : ctx.request().remoteAddress().host();
+    }
+
+    static class Budget {
+        private final long capacity;
+        private final LongSupplier nanoTime;
+        private double available;
+        private long lastRefill;
+
+        Budget(long capacity, LongSupplier nanoTime) {
+            this.capacity = capacity;
+            this.nanoTime = nanoTime;
+            this.available = capacity;
+            this.lastRefill = nanoTime.getAsLong();
+        }
+
+        synchronized boolean tryConsume(long cost) {
+            long now = nanoTime.getAsLong();
+            available =
+                    Math.min(
+                            capacity,
+                            available
+                                    + (double) capacity
+                                            * (now - lastRefill)
+                                            / BUDGET_REFILL_PERIOD.toNanos());
+            lastRefill = now;
+            if (cost > available) {
+                return false;
+            }
+            available -= cost;
+            return true;
+        }
+    }
+
+    private static class QueryState implements InstrumentationState {
+        final GraphQLQueryExecuted event = new GraphQLQueryExecuted();
+        final AtomicInteger fieldFetches = new AtomicInteger();
+        final AtomicInteger targetFieldFetches = new AtomicInteger();
+        final AtomicBoolean committed = new AtomicBoolean();
+
+        void reject() {
+            event.rejected = true;
+            commit();
+        }
+
+        void commit() {
+            if (!committed.compareAndSet(false, true)) {
+                return;
+            }
+            event.fieldFetches = fieldFetches.get();
+            event.targetFieldFetches = targetFieldFetches.get();
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    @Name("io.cryostat.net.web.http.api.v2.graph.GraphQLQueryExecuted")
+    @Label("GraphQL Query Executed")
+    @Category("Cryostat")
+    @SuppressFBWarnings(
+            value = "URF_UNREAD_FIELD",
+            justification = "Event fields are recorded with JFR instead of accessed directly")
+    public static class GraphQLQueryExecuted extends Event {
+        String operationName;
+        long estimatedCost;
+        boolean rejected;
+        int fieldFetches;
+        int targetFieldFetches;
+        int errors;
+    }
+}
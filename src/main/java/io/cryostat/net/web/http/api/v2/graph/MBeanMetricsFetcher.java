@@ -17,34 +17,25 @@ package io.cryostat.net.web.http.api.v2.graph;
 
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
-import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.core.net.MBeanMetrics;
 import io.cryostat.net.AuthManager;
-import io.cryostat.net.ConnectionDescriptor;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.platform.ServiceRef;
 import io.cryostat.platform.discovery.TargetNode;
 
 import graphql.schema.DataFetchingEnvironment;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.dataloader.DataLoader;
 
-public class MBeanMetricsFetcher extends AbstractPermissionedDataFetcher<MBeanMetrics> {
-
-    private final TargetConnectionManager tcm;
-    private final CredentialsManager credentialsManager;
-    private final Logger logger = LoggerFactory.getLogger(getClass());
+public class MBeanMetricsFetcher
+        extends AbstractPermissionedDataFetcher<CompletableFuture<MBeanMetrics>> {
 
     @Inject
-    MBeanMetricsFetcher(
-            AuthManager auth, TargetConnectionManager tcm, CredentialsManager credentialsManager) {
+    MBeanMetricsFetcher(AuthManager auth) {
         super(auth);
-        this.tcm = tcm;
-        this.credentialsManager = credentialsManager;
     }
 
     @Override
@@ -57,23 +48,22 @@ public class MBeanMetricsFetcher extends AbstractPermissionedDataFetcher<MBeanMe
         return "mbeanMetrics";
     }
 
+    @Override
+    boolean blocking() {
+        return false;
+    }
+
     @Override
     public Set<ResourceAction> resourceActions() {
         return EnumSet.of(ResourceAction.READ_TARGET, ResourceAction.READ_CREDENTIALS);
     }
 
     @Override
-    public MBeanMetrics getAuthenticated(DataFetchingEnvironment environment) throws Exception {
+    public CompletableFuture<MBeanMetrics> getAuthenticated(DataFetchingEnvironment environment)
+            throws Exception {
         TargetNode source = (TargetNode) environment.getSource();
-        ServiceRef target = source.getTarget();
-        String targetId = target.getServiceUri().toString();
-        ConnectionDescriptor cd =
-                new ConnectionDescriptor(targetId, credentialsManager.getCredentials(target));
-        try {
-            return tcm.executeConnectedTask(cd, conn -> conn.getMBeanMetrics());
-        } catch (Exception e) {
-            logger.warn("MBean get exception", e);
-            return null;
-        }
+        DataLoader<ServiceRef, MBeanMetrics> loader =
+                environment.getDataLoader(GraphDataLoaders.MBEAN_METRICS);
+        return loader.load(source.getTarget());
     }
 }
@@ -15,62 +15,30 @@
  */
 package io.cryostat.net.web.http.api.v2.graph;
 
-import java.io.IOException;
-import java.net.URISyntaxException;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
-import javax.inject.Provider;
 
-import org.openjdk.jmc.common.unit.QuantityConversionException;
-
-import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.net.AuthManager;
-import io.cryostat.net.ConnectionDescriptor;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
-import io.cryostat.net.web.WebServer;
 import io.cryostat.net.web.http.api.v2.graph.RecordingsFetcher.Recordings;
 import io.cryostat.platform.ServiceRef;
 import io.cryostat.platform.discovery.TargetNode;
-import io.cryostat.recordings.RecordingArchiveHelper;
-import io.cryostat.recordings.RecordingMetadataManager;
-import io.cryostat.recordings.RecordingMetadataManager.Metadata;
 import io.cryostat.rules.ArchivedRecordingInfo;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import graphql.schema.DataFetchingEnvironment;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-class RecordingsFetcher extends AbstractPermissionedDataFetcher<Recordings> {
+import org.dataloader.DataLoader;
 
-    private final TargetConnectionManager targetConnectionManager;
-    private final RecordingArchiveHelper archiveHelper;
-    private final CredentialsManager credentialsManager;
-    private final RecordingMetadataManager metadataManager;
-    private final Provider<WebServer> webServer;
-    private final Logger logger = LoggerFactory.getLogger(getClass());
+class RecordingsFetcher extends AbstractPermissionedDataFetcher<CompletableFuture<Recordings>> {
 
     @Inject
-    RecordingsFetcher(
-            AuthManager auth,
-            TargetConnectionManager targetConnectionManager,
-            RecordingArchiveHelper archiveHelper,
-            CredentialsManager credentialsManager,
-            RecordingMetadataManager metadataManager,
-            Provider<WebServer> webServer) {
+    RecordingsFetcher(AuthManager auth) {
         super(auth);
-        this.targetConnectionManager = targetConnectionManager;
-        this.archiveHelper = archiveHelper;
-        this.credentialsManager = credentialsManager;
-        this.metadataManager = metadataManager;
-        this.webServer = webServer;
     }
 
     @Override
@@ -83,6 +51,11 @@ class RecordingsFetcher extends AbstractPermissionedDataFetcher<Recordings> {
         return "recordings";
     }
 
+    @Override
+    boolean blocking() {
+        return false;
+    }
+
     @Override
     public Set<ResourceAction> resourceActions() {
         return EnumSet.of(
@@ -97,72 +70,43 @@ class RecordingsFetcher extends AbstractPermissionedDataFetcher<Recordings> {
             justification =
                     "The Recordings fields are serialized and returned to the client by the GraphQL"
                             + " engine")
-    public Recordings getAuthenticated(DataFetchingEnvironment environment) throws Exception {
+    public CompletableFuture<Recordings> getAuthenticated(DataFetchingEnvironment environment)
+            throws Exception {
         TargetNode source = (TargetNode) environment.getSource();
         ServiceRef target = source.getTarget();
         String targetId = target.getServiceUri().toString();
-        Recordings recordings = new Recordings();
 
         List<String> requestedFields =
                 environment.getSelectionSet().getFields().stream()
                         .map(field -> field.getName())
                         .collect(Collectors.toList());
 
+        // the active and archived recordings are loaded concurrently, together with those of the
+        // other targets in the query
+        CompletableFuture<List<GraphRecordingDescriptor>> active =
+                CompletableFuture.completedFuture(null);
         if (requestedFields.contains("active")) {
-            ConnectionDescriptor cd =
-                    new ConnectionDescriptor(targetId, credentialsManager.getCredentials(target));
-            // FIXME populating these two struct members are each async tasks. we should do them in
-            // parallel
-            recordings.active =
-                    targetConnectionManager.executeConnectedTask(
-                            cd,
-                            conn -> {
-                                return conn.getService().getAvailableRecordings().stream()
-                                        .map(
-                                                r -> {
-                                                    try {
-                                                        String downloadUrl =
-                                                                webServer
-                                                                        .get()
-                                                                        .getDownloadURL(
-                                                                                conn, r.getName());
-                                                        String reportUrl =
-                                                                webServer
-                                                                        .get()
-                                                                        .getReportURL(
-                                                                                conn, r.getName());
-                                                        Metadata metadata =
-                                                                metadataManager.getMetadata(
-                                                                        cd, r.getName());
-                                                        return new GraphRecordingDescriptor(
-                                                                target,
-                                                                r,
-                                                                downloadUrl,
-                                                                reportUrl,
-                                                                metadata);
-                                                    } catch (QuantityConversionException
-                                                            | URISyntaxException
-                                                            | IOException e) {
-                                                        logger.error("Recordings get exception", e);
-                                                        return null;
-                                                    }
-                                                })
-                                        .filter(Objects::nonNull)
-                                        .collect(Collectors.toList());
-                            });
+            DataLoader<ServiceRef, List<GraphRecordingDescriptor>> loader =
+                    environment.getDataLoader(GraphDataLoaders.ACTIVE_RECORDINGS);
+            active = loader.load(target);
         }
 
+        CompletableFuture<List<ArchivedRecordingInfo>> archived =
+                CompletableFuture.completedFuture(null);
         if (requestedFields.contains("archived")) {
-            try {
-                recordings.archived = archiveHelper.getRecordings(targetId).get();
-            } catch (ExecutionException e) {
-                recordings.archived = List.of();
-                logger.warn("Couldn't get archived recordings for {}", targetId);
-                logger.warn("Archived recordings get exception", e);
-            }
+            DataLoader<String, List<ArchivedRecordingInfo>> loader =
+                    environment.getDataLoader(GraphDataLoaders.ARCHIVED_RECORDINGS);
+            archived = loader.load(targetId);
         }
 
-        return recordings;
+        return active.thenCombine(
+                archived,
+                (a, b) -> {
+                    Recordings recordings = new Recordings();
+                    recordings.active = a;
+                    recordings.archived = b;
+                    return recordings;
+                });
     }
 
     static class Recordings {
@@ -27,6 +27,7 @@ import javax.inject.Inject;
 import io.cryostat.ApplicationVersion;
 import io.cryostat.configuration.Variables;
 import io.cryostat.core.sys.Environment;
+import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.RequestHandler;
@@ -48,15 +49,21 @@ class HealthGetHandler implements RequestHandler {
     private final ApplicationVersion appVersion;
     private final WebClient webClient;
     private final Environment env;
+    private final TargetConnectionManager targetConnectionManager;
     private final Gson gson;
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Inject
     HealthGetHandler(
-            ApplicationVersion appVersion, WebClient webClient, Environment env, Gson gson) {
+            ApplicationVersion appVersion,
+            WebClient webClient,
+            Environment env,
+            TargetConnectionManager targetConnectionManager,
+            Gson gson) {
         this.appVersion = appVersion;
         this.webClient = webClient;
         this.env = env;
+        this.targetConnectionManager = targetConnectionManager;
         this.gson = gson;
     }
 
@@ -118,7 +125,9 @@ class HealthGetHandler implements RequestHandler {
                                         "reportsConfigured",
                                         env.hasEnv(Variables.REPORT_GENERATOR_ENV),
                                         "reportsAvailable",
-                                        reportsAvailable.join())));
+                                        reportsAvailable.join(),
+                                        "targetTasks",
+                                        targetConnectionManager.getTaskStatistics())));
     }
 
     private void checkUri(String envName, String path, CompletableFuture<Boolean> future) {
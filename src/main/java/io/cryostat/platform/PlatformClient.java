@@ -15,7 +15,9 @@
  */
 package io.cryostat.platform;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 import io.cryostat.platform.discovery.EnvironmentNode;
@@ -44,6 +46,21 @@ public interface PlatformClient {
         return existingRef.isPresent();
     }
 
+    default List<ServiceRef> lookupServicesByConnectUrl(URI connectUrl) {
+        return listDiscoverableServices().stream()
+                .filter(sr -> Objects.equals(sr.getServiceUri(), connectUrl))
+                .toList();
+    }
+
+    default List<ServiceRef> lookupServicesByJvmId(String jvmId) {
+        if (jvmId == null) {
+            return List.of();
+        }
+        return listDiscoverableServices().stream()
+                .filter(sr -> Objects.equals(sr.getJvmId(), jvmId))
+                .toList();
+    }
+
     void addTargetDiscoveryListener(Consumer<TargetDiscoveryEvent> listener);
 
     void removeTargetDiscoveryListener(Consumer<TargetDiscoveryEvent> listener);
@@ -16,14 +16,17 @@
 package io.cryostat.platform;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import com.google.gson.annotations.SerializedName;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -204,65 +207,68 @@ public class ServiceRef {
     }
 
     public static class Compare {
-        private Collection<ServiceRef> previous, current;
+        private final Collection<ServiceRef> previous;
+        private final Collection<ServiceRef> added = new HashSet<>();
+        private final Collection<ServiceRef> removed = new HashSet<>();
+        private final Collection<ServiceRef> updated = new HashSet<>();
 
         public Compare(Collection<ServiceRef> previous) {
             this.previous = new HashSet<>(previous);
         }
 
+        /**
+         * Classify the differences between the previous and current references in a single pass.
+         * ServiceRef equality also compares jvmId and annotations, so a reference which is only
+         * present on one side but shares its service URI with a reference on the other side is
+         * considered updated rather than added or removed.
+         */
         public Compare to(Collection<ServiceRef> current) {
-            this.current = new HashSet<>(current);
+            added.clear();
+            removed.clear();
+            updated.clear();
+
+            Collection<ServiceRef> currentSet = new HashSet<>(current);
+            Map<URI, List<ServiceRef>> removedOrUpdated = new HashMap<>();
+            for (ServiceRef ref : previous) {
+                if (!currentSet.contains(ref)) {
+                    removedOrUpdated
+                            .computeIfAbsent(ref.getServiceUri(), k -> new ArrayList<>())
+                            .add(ref);
+                }
+            }
+
+            Set<URI> addedOrUpdated = new HashSet<>();
+            for (ServiceRef ref : currentSet) {
+                if (previous.contains(ref)) {
+                    continue;
+                }
+                addedOrUpdated.add(ref.getServiceUri());
+                if (removedOrUpdated.containsKey(ref.getServiceUri())) {
+                    updated.add(ref);
+                } else {
+                    added.add(ref);
+                }
+            }
+
+            removedOrUpdated.forEach(
+                    (uri, refs) -> {
+                        if (!addedOrUpdated.contains(uri)) {
+                            removed.addAll(refs);
+                        }
+                    });
             return this;
         }
 
         public Collection<ServiceRef> added() {
-            return removeAllUpdatedRefs(addedOrUpdatedRefs(), updated());
+            return Collections.unmodifiableCollection(added);
         }
 
         public Collection<ServiceRef> removed() {
-            return removeAllUpdatedRefs(removedOrUpdatedRefs(), updated());
+            return Collections.unmodifiableCollection(removed);
         }
 
         public Collection<ServiceRef> updated() {
-            Collection<ServiceRef> updated = new HashSet<>();
-            intersection(removedOrUpdatedRefs(), addedOrUpdatedRefs(), false)
-                    .forEach((ref) -> updated.add(ref));
-            return updated;
-        }
-
-        private Collection<ServiceRef> addedOrUpdatedRefs() {
-            Collection<ServiceRef> added = new HashSet<>(current);
-            added.removeAll(previous);
-            return added;
-        }
-
-        private Collection<ServiceRef> removedOrUpdatedRefs() {
-            Collection<ServiceRef> removed = new HashSet<>(previous);
-            removed.removeAll(current);
-            return removed;
-        }
-
-        private Collection<ServiceRef> removeAllUpdatedRefs(
-                Collection<ServiceRef> src, Collection<ServiceRef> updated) {
-            Collection<ServiceRef> tnSet = new HashSet<>(src);
-            intersection(src, updated, true).stream().forEach((ref) -> tnSet.remove(ref));
-            return tnSet;
-        }
-
-        private Collection<ServiceRef> intersection(
-                Collection<ServiceRef> src, Collection<ServiceRef> other, boolean keepOld) {
-            final Collection<ServiceRef> intersection = new HashSet<>();
-
-            // Manual removal since ServiceRef also compares jvmId
-            for (ServiceRef srcRef : src) {
-                for (ServiceRef otherRef : other) {
-                    if (Objects.equals(srcRef.getServiceUri(), otherRef.getServiceUri())) {
-                        intersection.add(keepOld ? srcRef : otherRef);
-                    }
-                }
-            }
-
-            return intersection;
+            return Collections.unmodifiableCollection(updated);
         }
     }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.platform.internal;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import dagger.Lazy;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.core.parsetools.JsonEventType;
+import io.vertx.core.parsetools.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscribes to the streaming events endpoint of a Docker-compatible container engine API. Each
+ * event is passed to the event handler as it arrives. If the stream is closed, cannot be opened or
+ * cannot be parsed then it is reopened after a delay. The subscription handler is called every time
+ * the engine accepts the subscription, including the first, since any changes before that point
+ * were not reported as events.
+ */
+class ContainerEventStream {
+
+    static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final Lazy<Vertx> vertx;
+    private final SocketAddress socket;
+    private final String requestPath;
+    private final Gson gson;
+    private final Consumer<ContainerEvent> eventHandler;
+    private final Runnable subscriptionHandler;
+    private final long reconnectDelayMs;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private volatile boolean running;
+    private HttpClient client;
+    private long reconnectTimerId = -1;
+
+    ContainerEventStream(
+            Lazy<Vertx> vertx,
+            SocketAddress socket,
+            String requestPath,
+            Gson gson,
+            Consumer<ContainerEvent> eventHandler,
+            Runnable subscriptionHandler) {
+        this(
+                vertx,
+                socket,
+                requestPath,
+                gson,
+                eventHandler,
+                subscriptionHandler,
+                RECONNECT_DELAY_MS);
+    }
+
+    ContainerEventStream(
+            Lazy<Vertx> vertx,
+            SocketAddress socket,
+            String requestPath,
+            Gson gson,
+            Consumer<ContainerEvent> eventHandler,
+            Runnable subscriptionHandler,
+            long reconnectDelayMs) {
+        this.vertx = vertx;
+        this.socket = socket;
+        this.requestPath = requestPath;
+        this.gson = gson;
+        this.eventHandler = eventHandler;
+        this.subscriptionHandler = subscriptionHandler;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        client = vertx.get().createHttpClient();
+        connect();
+    }
+
+    synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        vertx.get().cancelTimer(reconnectTimerId);
+        client.close();
+    }
+
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        client.request(
+                        new RequestOptions()
+                                .setMethod(HttpMethod.GET)
+                                .setServer(socket)
+                                .setHost("localhost")
+                                .setPort(80)
+                                .setURI(requestPath))
+                .compose(req -> req.send())
+                .onSuccess(
+                        res -> {
+                            if (res.statusCode() != 200) {
+                                logger.warn(
+                                        "Container events request failed: HTTP {}",
+                                        res.statusCode());
+                                res.request().reset();
+                                scheduleReconnect();
+                                return;
+                            }
+                            logger.info("Subscribed to container events at {}", socket);
+                            consume(res);
+                            subscriptionHandler.run();
+                        })
+                .onFailure(
+                        t -> {
+                            logger.warn("Container events request failed", t);
+                            scheduleReconnect();
+                        });
+    }
+
+    private void consume(HttpClientResponse res) {
+        AtomicBoolean closed = new AtomicBoolean();
+        JsonParser parser = JsonParser.newParser().objectValueMode();
+        parser.handler(
+                event -> {
+                    if (event.type() != JsonEventType.VALUE) {
+                        return;
+                    }
+                    ContainerEvent containerEvent;
+                    try {
+                        containerEvent =
+                                gson.fromJson(event.objectValue().encode(), ContainerEvent.class);
+                    } catch (JsonParseException | IllegalStateException e) {
+                        logger.warn("Unparseable container event", e);
+                        return;
+                    }
+                    if (containerEvent == null || containerEvent.Actor() == null) {
+                        return;
+                    }
+                    eventHandler.accept(containerEvent);
+                });
+        parser.exceptionHandler(
+                t -> {
+                    // the parser cannot resynchronize after malformed input, so start over
+                    if (closed.compareAndSet(false, true)) {
+                        logger.warn("Container event stream unparseable", t);
+                        res.request().reset();
+                        scheduleReconnect();
+                    }
+                });
+        res.handler(parser);
+        res.exceptionHandler(
+                t -> {
+                    if (closed.compareAndSet(false, true)) {
+                        logger.warn("Container event stream closed", t);
+                        scheduleReconnect();
+                    }
+                });
+        res.endHandler(
+                v -> {
+                    if (closed.compareAndSet(false, true)) {
+                        logger.warn("Container event stream ended");
+                        scheduleReconnect();
+                    }
+                });
+    }
+
+    private synchronized void scheduleReconnect() {
+        if (!running) {
+            return;
+        }
+        reconnectTimerId = vertx.get().setTimer(reconnectDelayMs, id -> connect());
+    }
+
+    static record ContainerEvent(String Type, String Action, Actor Actor) {}
+
+    static record Actor(String ID, Map<String, String> Attributes) {}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.platform.internal;
+
+/**
+ * Orders container listings against the events of a {@link ContainerEventStream}. A listing which
+ * was requested before a later container event may no longer reflect the engine's state, and
+ * applying it could undo that event, ex. by re-adding a container which has since died. Such stale
+ * listings are dropped and the containers listed again instead. However many listings are dropped
+ * while that re-listing is outstanding, only the one is requested.
+ */
+class ContainerListingGuard {
+
+    private final Runnable relist;
+    private long generation;
+    private boolean relistPending;
+
+    /**
+     * @param relist requests a full listing of the engine's containers
+     */
+    ContainerListingGuard(Runnable relist) {
+        this.relist = relist;
+    }
+
+    /**
+     * @return the token to check a listing requested now against once it is received
+     */
+    synchronized long listingRequested() {
+        return generation;
+    }
+
+    /**
+     * Record a container event, which makes any listing requested before it stale.
+     *
+     * @return the token to check a listing requested in response to the event against
+     */
+    synchronized long eventReceived() {
+        return ++generation;
+    }
+
+    /**
+     * @param token the token for a listing of only some of the engine's containers
+     * @return whether the listing may be applied. If not, the containers are listed again.
+     */
+    boolean isCurrent(long token) {
+        return check(token, false);
+    }
+
+    /**
+     * @param token the token for a listing of all of the engine's containers, which also satisfies
+     *     any outstanding re-listing
+     * @return whether the listing may be applied. If not, the containers are listed again.
+     */
+    boolean isCurrentFullListing(long token) {
+        return check(token, true);
+    }
+
+    private boolean check(long token, boolean full) {
+        synchronized (this) {
+            if (full) {
+                relistPending = false;
+            }
+            if (token == generation) {
+                return true;
+            }
+            if (relistPending) {
+                return false;
+            }
+            relistPending = true;
+        }
+        relist.run();
+        return false;
+    }
+}
@@ -18,6 +18,8 @@ package io.cryostat.platform.internal;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -43,6 +45,7 @@ import io.cryostat.platform.discovery.AbstractNode;
 import io.cryostat.platform.discovery.BaseNodeType;
 import io.cryostat.platform.discovery.EnvironmentNode;
 import io.cryostat.platform.discovery.TargetNode;
+import io.cryostat.platform.internal.ContainerEventStream.ContainerEvent;
 import io.cryostat.util.URIUtil;
 
 import com.google.gson.Gson;
@@ -64,15 +67,20 @@ public class DockerPlatformClient extends AbstractPlatformClient {
     public static final String JMX_HOST_LABEL = "io.cryostat.jmxHost";
     public static final String JMX_PORT_LABEL = "io.cryostat.jmxPort";
 
+    // containers are discovered from the engine's event stream. This is only a safety net
+    static final long RECONCILIATION_PERIOD_MS = 300_000;
+
     private final Lazy<WebClient> webClient;
     private final Lazy<Vertx> vertx;
     private final SocketAddress dockerSocket;
     private final Lazy<JFRConnectionToolkit> connectionToolkit;
     private final Gson gson;
     private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final ContainerEventStream eventStream;
     private long timerId;
 
     private final CopyOnWriteArrayList<ContainerSpec> containers = new CopyOnWriteArrayList<>();
+    private final ContainerListingGuard listings = new ContainerListingGuard(this::queryContainers);
 
     DockerPlatformClient(
             Environment environment,
@@ -87,23 +95,31 @@ public class DockerPlatformClient extends AbstractPlatformClient {
         this.dockerSocket = dockerSocket;
         this.connectionToolkit = connectionToolkit;
         this.gson = gson;
+        this.eventStream =
+                new ContainerEventStream(
+                        vertx,
+                        dockerSocket,
+                        eventsRequestPath(),
+                        gson,
+                        this::handleContainerEvent,
+                        this::queryContainers);
     }
 
     @Override
     public void start() throws Exception {
         super.start();
-        queryContainers();
+        // containers are listed each time the event stream is subscribed, so that none which
+        // changed before the subscription was accepted are missed
+        eventStream.start();
         this.timerId =
-                vertx.get()
-                        .setPeriodic(
-                                // TODO make this configurable
-                                10_000, unused -> queryContainers());
+                vertx.get().setPeriodic(RECONCILIATION_PERIOD_MS, unused -> queryContainers());
     }
 
     @Override
     public void stop() throws Exception {
         super.stop();
         vertx.get().cancelTimer(timerId);
+        eventStream.stop();
     }
 
     @Override
@@ -118,8 +134,13 @@ public class DockerPlatformClient extends AbstractPlatformClient {
     }
 
     private void queryContainers() {
+        long token = listings.listingRequested();
         doDockerListRequest(
+                Map.of("label", List.of(DISCOVERY_LABEL)),
                 current -> {
+                    if (!listings.isCurrentFullListing(token)) {
+                        return;
+                    }
                     Set<ContainerSpec> previous = new HashSet<>(containers);
                     Set<ContainerSpec> updated = new HashSet<>(current);
 
@@ -135,26 +156,79 @@ public class DockerPlatformClient extends AbstractPlatformClient {
                     // does anything ever get modified in this scheme?
                     // notifyAsyncTargetDiscovery(EventKind.MODIFIED, sr);
 
-                    containers.removeAll(removed);
-                    removed.stream()
-                            .map(this::convert)
-                            .filter(Objects::nonNull)
-                            .forEach(spec -> notifyAsyncTargetDiscovery(EventKind.LOST, spec));
-
-                    containers.addAll(added);
-                    added.stream()
-                            .map(this::convert)
-                            .filter(Objects::nonNull)
-                            .forEach(spec -> notifyAsyncTargetDiscovery(EventKind.FOUND, spec));
+                    removeContainers(removed);
+                    addContainers(added);
                 });
     }
 
-    private void doDockerListRequest(Consumer<List<ContainerSpec>> successHandler) {
+    private void handleContainerEvent(ContainerEvent event) {
+        String id = event.Actor().ID();
+        switch (event.Action()) {
+            case "start":
+                long token = listings.eventReceived();
+                doDockerListRequest(
+                        Map.of("label", List.of(DISCOVERY_LABEL), "id", List.of(id)),
+                        added -> {
+                            if (listings.isCurrent(token)) {
+                                addContainers(added);
+                            }
+                        });
+                break;
+            case "die":
+                listings.eventReceived();
+                removeContainers(containers.stream().filter(c -> c.Id.equals(id)).toList());
+                break;
+            default:
+                logger.trace("Ignoring container event {} for {}", event.Action(), id);
+                break;
+        }
+    }
+
+    private synchronized void addContainers(Collection<ContainerSpec> added) {
+        for (ContainerSpec container : added) {
+            // a container may be both listed and reported by an event
+            if (containers.stream().anyMatch(c -> c.Id.equals(container.Id))) {
+                continue;
+            }
+            containers.add(container);
+            ServiceRef serviceRef = convert(container);
+            if (serviceRef != null) {
+                notifyAsyncTargetDiscovery(EventKind.FOUND, serviceRef);
+            }
+        }
+    }
+
+    private synchronized void removeContainers(Collection<ContainerSpec> removed) {
+        for (ContainerSpec container : removed) {
+            if (!containers.remove(container)) {
+                continue;
+            }
+            ServiceRef serviceRef = convert(container);
+            if (serviceRef != null) {
+                notifyAsyncTargetDiscovery(EventKind.LOST, serviceRef);
+            }
+        }
+    }
+
+    private String eventsRequestPath() {
+        String filters =
+                gson.toJson(
+                        Map.of(
+                                "type", List.of("container"),
+                                "event", List.of("start", "die"),
+                                "label", List.of(DISCOVERY_LABEL)));
+        return String.format(
+                "/v1.41/events?stream=true&filters=%s",
+                URLEncoder.encode(filters, StandardCharsets.UTF_8));
+    }
+
+    private void doDockerListRequest(
+            Map<String, List<String>> filters, Consumer<List<ContainerSpec>> successHandler) {
         URI requestPath = URI.create("http://d/v1.41/containers/json");
         webClient
                 .get()
                 .request(HttpMethod.GET, dockerSocket, 80, "localhost", requestPath.toString())
-                .addQueryParam("filters", gson.toJson(Map.of("label", List.of(DISCOVERY_LABEL))))
+                .addQueryParam("filters", gson.toJson(filters))
                 .timeout(2_000L)
                 .as(BodyCodec.string())
                 .send(
@@ -20,6 +20,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -37,6 +39,7 @@ import io.cryostat.core.sys.Environment;
 import io.cryostat.platform.AbstractPlatformClient;
 import io.cryostat.platform.ServiceRef;
 import io.cryostat.platform.ServiceRef.AnnotationKey;
+import io.cryostat.platform.discovery.AbstractNode;
 import io.cryostat.platform.discovery.BaseNodeType;
 import io.cryostat.platform.discovery.EnvironmentNode;
 import io.cryostat.platform.discovery.NodeType;
@@ -47,15 +50,18 @@ import io.fabric8.kubernetes.api.model.EndpointPort;
 import io.fabric8.kubernetes.api.model.EndpointSubset;
 import io.fabric8.kubernetes.api.model.Endpoints;
 import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.ObjectReference;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
 import org.apache.commons.lang3.concurrent.ConcurrentException;
 import org.apache.commons.lang3.concurrent.LazyInitializer;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +69,7 @@ import org.slf4j.LoggerFactory;
 public class KubeApiPlatformClient extends AbstractPlatformClient {
 
     private static final long ENDPOINTS_INFORMER_RESYNC_PERIOD = Duration.ofSeconds(30).toMillis();
+    private static final long OWNER_INFORMER_START_TIMEOUT_SECONDS = 30;
     public static final String REALM = "KubernetesApi";
 
     private final KubernetesClient k8sClient;
@@ -82,14 +89,17 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
                     var result = new HashMap<String, SharedIndexInformer<Endpoints>>();
                     namespaces.forEach(
                             ns -> {
-                                result.put(
-                                        ns,
+                                // owners must be known before the Endpoints referring to them
+                                ownerInformers.put(ns, startOwnerInformers(ns));
+                                SharedIndexInformer<Endpoints> informer =
                                         k8sClient
                                                 .endpoints()
                                                 .inNamespace(ns)
                                                 .inform(
                                                         new EndpointsHandler(),
-                                                        ENDPOINTS_INFORMER_RESYNC_PERIOD));
+                                                        ENDPOINTS_INFORMER_RESYNC_PERIOD);
+                                informer.getStore().list().forEach(e -> resolve(e));
+                                result.put(ns, informer);
                                 logger.info(
                                         "Started Endpoints SharedInformer for namespace \"{}\"",
                                         ns);
@@ -97,13 +107,18 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
                     return result;
                 }
             };
-    private Integer memoHash;
+    // informers for the kinds of objects which may own target Pods, directly or indirectly, so that
+    // owner chains are resolved from a local store rather than by querying the API server
+    private final Map<String, Map<KubernetesNodeType, SharedIndexInformer<? extends HasMetadata>>>
+            ownerInformers = new ConcurrentHashMap<>();
+    // the targets of each Endpoints object, by namespace/name key, as of the resourceVersion they
+    // were last resolved at
+    private final Map<String, ResolvedEndpoints> resolved = new ConcurrentHashMap<>();
+    // serializes event handling, so that notifications are based on consistent resolutions
+    private final Object resolutionLock = new Object();
+    private List<ResolvedEndpoints> memoSources;
     private EnvironmentNode memoTree;
     private final Logger logger = LoggerFactory.getLogger(getClass());
-    private final Map<Triple<String, String, String>, Pair<HasMetadata, EnvironmentNode>>
-            discoveryNodeCache = new ConcurrentHashMap<>();
-    private final Map<Triple<String, String, String>, Object> queryLocks =
-            new ConcurrentHashMap<>();
 
     KubeApiPlatformClient(
             Environment environment,
@@ -130,7 +145,10 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
     @Override
     public List<ServiceRef> listDiscoverableServices() {
         try {
-            return getAllServiceRefs();
+            return currentEndpoints().stream()
+                    .flatMap(r -> r.targets().stream())
+                    .map(DiscoveredTarget::serviceRef)
+                    .collect(Collectors.toList());
         } catch (Exception e) {
             logger.warn("Target list exeption", e);
             return Collections.emptyList();
@@ -139,43 +157,28 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
 
     @Override
     public EnvironmentNode getDiscoveryTree() {
-        int currentHash = 0;
-        HashCodeBuilder hcb = new HashCodeBuilder();
-        Map<String, SharedIndexInformer<Endpoints>> informers = safeGetInformers();
-        for (var informer : informers.values()) {
-            List<Endpoints> store = informer.getStore().list();
-            hcb.append(store.hashCode());
-        }
-        currentHash = hcb.build();
-        if (Objects.equals(memoHash, currentHash)) {
-            logger.trace("Using memoized discovery tree");
-            return new EnvironmentNode(memoTree);
-        }
-        memoHash = currentHash;
-        EnvironmentNode realmNode =
-                new EnvironmentNode(REALM, BaseNodeType.REALM, Collections.emptyMap(), Set.of());
-        informers
-                .entrySet()
-                .forEach(
-                        entry -> {
-                            var namespace = entry.getKey();
-                            var store = entry.getValue().getStore().list();
-                            EnvironmentNode nsNode =
-                                    new EnvironmentNode(namespace, KubernetesNodeType.NAMESPACE);
-                            try {
-                                store.stream()
-                                        .flatMap(endpoints -> getTargetTuples(endpoints).stream())
-                                        .forEach(tuple -> buildOwnerChain(nsNode, tuple));
-                            } catch (Exception e) {
-                                logger.warn("Target ownership chain exception", e);
-                            } finally {
-                                discoveryNodeCache.clear();
-                                queryLocks.clear();
-                            }
-                            realmNode.addChildNode(nsNode);
-                        });
-        memoTree = realmNode;
-        return realmNode;
+        List<ResolvedEndpoints> sources = currentEndpoints();
+        synchronized (this) {
+            if (memoTree != null && isSameEndpoints(memoSources, sources)) {
+                logger.trace("Using memoized discovery tree");
+                return new EnvironmentNode(memoTree);
+            }
+            EnvironmentNode realmNode =
+                    new EnvironmentNode(
+                            REALM, BaseNodeType.REALM, Collections.emptyMap(), Set.of());
+            for (String namespace : safeGetInformers().keySet()) {
+                try {
+                    realmNode.addChildNode(buildNamespaceNode(namespace, sources));
+                } catch (Exception e) {
+                    logger.warn("Target ownership chain exception", e);
+                    realmNode.addChildNode(
+                            new EnvironmentNode(namespace, KubernetesNodeType.NAMESPACE));
+                }
+            }
+            memoSources = sources;
+            memoTree = realmNode;
+            return realmNode;
+        }
     }
 
     private Map<String, SharedIndexInformer<Endpoints>> safeGetInformers() {
@@ -188,7 +191,92 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
         return informers;
     }
 
-    private void buildOwnerChain(EnvironmentNode nsNode, TargetTuple targetTuple) {
+    private Map<KubernetesNodeType, SharedIndexInformer<? extends HasMetadata>> startOwnerInformers(
+            String namespace) {
+        Map<KubernetesNodeType, SharedIndexInformer<? extends HasMetadata>> informers =
+                new EnumMap<>(KubernetesNodeType.class);
+        for (KubernetesNodeType nodeType : KubernetesNodeType.values()) {
+            if (nodeType == KubernetesNodeType.ENDPOINT) {
+                continue;
+            }
+            SharedIndexInformer<? extends HasMetadata> informer =
+                    nodeType.newInformer(k8sClient, namespace, 0);
+            if (informer == null) {
+                continue;
+            }
+            informer.addEventHandler(new OwnerHandler(namespace, nodeType));
+            try {
+                informer.start()
+                        .toCompletableFuture()
+                        .get(OWNER_INFORMER_START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                informers.put(nodeType, informer);
+            } catch (Exception e) {
+                // ex. not permitted to list/watch this kind. Objects of this kind will be queried
+                // individually instead.
+                informer.stop();
+                logger.warn(
+                        "Could not start {} SharedInformer for namespace \"{}\": {}",
+                        nodeType.getKind(),
+                        namespace,
+                        e.getMessage());
+            }
+        }
+        return informers;
+    }
+
+    private List<ResolvedEndpoints> currentEndpoints() {
+        return safeGetInformers().values().stream()
+                .flatMap(i -> i.getStore().list().stream())
+                .map(this::resolve)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isSameEndpoints(List<ResolvedEndpoints> a, List<ResolvedEndpoints> b) {
+        if (a == null || a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            // resolutions are replaced whenever anything about them changes
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the targets of the Endpoints, resolving them again only if the Endpoints have changed
+     *     since they were last resolved
+     */
+    private ResolvedEndpoints resolve(Endpoints endpoints) {
+        String key = Cache.metaNamespaceKeyFunc(endpoints);
+        ResolvedEndpoints current = resolved.get(key);
+        if (current != null && current.isResolutionOf(endpoints)) {
+            return current;
+        }
+        ResolvedEndpoints updated = resolveTargets(endpoints);
+        resolved.put(key, updated);
+        return updated;
+    }
+
+    private ResolvedEndpoints resolveTargets(Endpoints endpoints) {
+        Set<Triple<String, String, String>> dependencies = new HashSet<>();
+        List<DiscoveredTarget> targets = new ArrayList<>();
+        for (TargetTuple tuple : getTargetTuples(endpoints)) {
+            DiscoveredTarget target = discover(tuple, dependencies);
+            if (target != null) {
+                targets.add(target);
+            }
+        }
+        return new ResolvedEndpoints(
+                endpoints,
+                endpoints.getMetadata().getNamespace(),
+                Collections.unmodifiableList(targets),
+                Collections.unmodifiableSet(dependencies));
+    }
+
+    private DiscoveredTarget discover(
+            TargetTuple targetTuple, Set<Triple<String, String, String>> dependencies) {
         ObjectReference target = targetTuple.addr.getTargetRef();
         if (target == null) {
             logger.error(
@@ -196,65 +284,133 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
                     targetTuple.addr.getIp() != null
                             ? targetTuple.addr.getIp()
                             : targetTuple.addr.getHostname(),
-                    targetTuple.objRef.getName());
-            return;
+                    targetTuple.port.getName());
+            return null;
         }
-        String targetKind = target.getKind();
-        KubernetesNodeType targetType = KubernetesNodeType.fromKubernetesKind(targetKind);
-        if (targetType == KubernetesNodeType.POD) {
-            // if the Endpoint points to a Pod, chase the owner chain up as far as possible, then
-            // add that to the Namespace
-
-            Pair<HasMetadata, EnvironmentNode> pod =
-                    discoveryNodeCache.computeIfAbsent(
-                            cacheKey(target.getNamespace(), target), this::queryForNode);
-            pod.getRight()
-                    .addChildNode(
-                            new TargetNode(
-                                    KubernetesNodeType.ENDPOINT, targetTuple.toServiceRef()));
-
-            Pair<HasMetadata, EnvironmentNode> node = pod;
-            while (true) {
-                Pair<HasMetadata, EnvironmentNode> owner = getOrCreateOwnerNode(node);
-                if (owner == null) {
-                    break;
-                }
-                EnvironmentNode ownerNode = owner.getRight();
-                ownerNode.addChildNode(node.getRight());
-                node = owner;
+        if (KubernetesNodeType.fromKubernetesKind(target.getKind()) != KubernetesNodeType.POD) {
+            logger.trace("Ignoring {} target {}", target.getKind(), target.getName());
+            return null;
+        }
+        String namespace = target.getNamespace();
+        Triple<String, String, String> podKey = cacheKey(namespace, target);
+        dependencies.add(podKey);
+        HasMetadata pod = lookup(namespace, KubernetesNodeType.POD, target.getName());
+        if (pod == null) {
+            logger.warn("Could not locate Pod {} in namespace {}", target.getName(), namespace);
+            return null;
+        }
+        ServiceRef serviceRef = targetTuple.toServiceRef(pod);
+        if (serviceRef == null) {
+            return null;
+        }
+
+        // chase the owner chain up as far as possible
+        List<ChainNode> chain = new ArrayList<>();
+        chain.add(new ChainNode(podKey, KubernetesNodeType.POD, pod.getMetadata().getLabels()));
+        HasMetadata node = pod;
+        while (node != null) {
+            List<OwnerReference> owners = node.getMetadata().getOwnerReferences();
+            // Take first "expected" owner Kind from NodeTypes, or if none, simply use the first
+            // owner. If there are no owners then this is the end of the chain
+            if (owners == null || owners.isEmpty()) {
+                break;
+            }
+            OwnerReference owner =
+                    owners.stream()
+                            .filter(o -> KubernetesNodeType.fromKubernetesKind(o.getKind()) != null)
+                            .findFirst()
+                            .orElse(owners.get(0));
+            KubernetesNodeType ownerType = KubernetesNodeType.fromKubernetesKind(owner.getKind());
+            Triple<String, String, String> ownerKey = cacheKey(namespace, owner);
+            if (ownerType == null || dependencies.contains(ownerKey)) {
+                break;
+            }
+            dependencies.add(ownerKey);
+            node = lookup(namespace, ownerType, owner.getName());
+            if (node == null) {
+                logger.error(
+                        "Could not locate node named {} of kind {} while traversing environment",
+                        owner.getName(),
+                        ownerType);
             }
-            nsNode.addChildNode(node.getRight());
-        } else {
-            // if the Endpoint points to something else(?) than a Pod, just add the target straight
-            // to the Namespace
-            nsNode.addChildNode(
-                    new TargetNode(KubernetesNodeType.ENDPOINT, targetTuple.toServiceRef()));
+            chain.add(
+                    new ChainNode(
+                            ownerKey,
+                            ownerType,
+                            node == null
+                                    ? Collections.emptyMap()
+                                    : node.getMetadata().getLabels()));
         }
+        return new DiscoveredTarget(serviceRef, Collections.unmodifiableList(chain));
     }
 
-    private Pair<HasMetadata, EnvironmentNode> getOrCreateOwnerNode(
-            Pair<HasMetadata, EnvironmentNode> child) {
-        HasMetadata childRef = child.getLeft();
-        if (childRef == null) {
-            logger.error(
-                    "Could not locate node named {} of kind {} while traversing environment",
-                    child.getRight().getName(),
-                    child.getRight().getNodeType());
-            return null;
+    /**
+     * Look up the object from the local store of the informer for its kind, or if there is no such
+     * informer or it has not yet seen the object, then from the API server.
+     */
+    private HasMetadata lookup(String namespace, KubernetesNodeType nodeType, String name) {
+        SharedIndexInformer<? extends HasMetadata> informer =
+                ownerInformers.getOrDefault(namespace, Map.of()).get(nodeType);
+        if (informer != null) {
+            HasMetadata obj = informer.getStore().getByKey(Cache.namespaceKeyFunc(namespace, name));
+            if (obj != null) {
+                return obj;
+            }
         }
-        List<OwnerReference> owners = childRef.getMetadata().getOwnerReferences();
-        // Take first "expected" owner Kind from NodeTypes, or if none, simply use the first owner.
-        // If there are no owners then return null to signify this and break the chain
-        if (owners.isEmpty()) {
+        try {
+            return nodeType.getQueryFunction().apply(k8sClient).apply(namespace).apply(name);
+        } catch (KubernetesClientException e) {
+            logger.warn("Failed to query {} {}: {}", nodeType.getKind(), name, e.getMessage());
             return null;
         }
-        String namespace = childRef.getMetadata().getNamespace();
-        OwnerReference owner =
-                owners.stream()
-                        .filter(o -> KubernetesNodeType.fromKubernetesKind(o.getKind()) != null)
-                        .findFirst()
-                        .orElse(owners.get(0));
-        return discoveryNodeCache.computeIfAbsent(cacheKey(namespace, owner), this::queryForNode);
+    }
+
+    private EnvironmentNode buildNamespaceNode(String namespace, List<ResolvedEndpoints> sources) {
+        Map<Triple<String, String, String>, ChainNode> chainNodes = new HashMap<>();
+        Map<Triple<String, String, String>, Set<Triple<String, String, String>>> ownedNodes =
+                new HashMap<>();
+        Map<Triple<String, String, String>, List<AbstractNode>> targetNodes = new HashMap<>();
+        Set<Triple<String, String, String>> roots = new HashSet<>();
+        for (ResolvedEndpoints source : sources) {
+            if (!namespace.equals(source.namespace())) {
+                continue;
+            }
+            for (DiscoveredTarget target : source.targets()) {
+                List<ChainNode> chain = target.ownerChain();
+                targetNodes
+                        .computeIfAbsent(chain.get(0).key(), k -> new ArrayList<>())
+                        .add(new TargetNode(KubernetesNodeType.ENDPOINT, target.serviceRef()));
+                for (int i = 0; i < chain.size(); i++) {
+                    ChainNode node = chain.get(i);
+                    chainNodes.putIfAbsent(node.key(), node);
+                    if (i + 1 < chain.size()) {
+                        ownedNodes
+                                .computeIfAbsent(chain.get(i + 1).key(), k -> new HashSet<>())
+                                .add(node.key());
+                    }
+                }
+                roots.add(chain.get(chain.size() - 1).key());
+            }
+        }
+        List<AbstractNode> children = new ArrayList<>();
+        for (Triple<String, String, String> root : roots) {
+            children.add(buildNode(root, chainNodes, ownedNodes, targetNodes));
+        }
+        return new EnvironmentNode(
+                namespace, KubernetesNodeType.NAMESPACE, Collections.emptyMap(), children);
+    }
+
+    private EnvironmentNode buildNode(
+            Triple<String, String, String> key,
+            Map<Triple<String, String, String>, ChainNode> chainNodes,
+            Map<Triple<String, String, String>, Set<Triple<String, String, String>>> ownedNodes,
+            Map<Triple<String, String, String>, List<AbstractNode>> targetNodes) {
+        List<AbstractNode> children = new ArrayList<>(targetNodes.getOrDefault(key, List.of()));
+        for (Triple<String, String, String> owned : ownedNodes.getOrDefault(key, Set.of())) {
+            children.add(buildNode(owned, chainNodes, ownedNodes, targetNodes));
+        }
+        ChainNode node = chainNodes.get(key);
+        return new EnvironmentNode(key.getRight(), node.nodeType(), node.labels(), children);
     }
 
     private Triple<String, String, String> cacheKey(String ns, OwnerReference resource) {
@@ -267,38 +423,10 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
         return Triple.of(ns, resource.getKind(), resource.getName());
     }
 
-    private Pair<HasMetadata, EnvironmentNode> queryForNode(
-            Triple<String, String, String> lookupKey) {
-        String namespace = lookupKey.getLeft();
-        KubernetesNodeType nodeType = KubernetesNodeType.fromKubernetesKind(lookupKey.getMiddle());
-        String nodeName = lookupKey.getRight();
-        if (nodeType == null) {
-            return null;
-        }
-        synchronized (queryLocks.computeIfAbsent(lookupKey, k -> new Object())) {
-            EnvironmentNode node;
-            HasMetadata kubeObj =
-                    nodeType.getQueryFunction().apply(k8sClient).apply(namespace).apply(nodeName);
-            if (kubeObj != null) {
-                node = new EnvironmentNode(nodeName, nodeType, kubeObj.getMetadata().getLabels());
-            } else {
-                node = new EnvironmentNode(nodeName, nodeType);
-            }
-            return Pair.of(kubeObj, node);
-        }
-    }
-
     private boolean isCompatiblePort(EndpointPort port) {
         return portNames.contains(port.getName()) || portNumbers.contains(port.getPort());
     }
 
-    private List<ServiceRef> getAllServiceRefs() {
-        return safeGetInformers().values().stream()
-                .flatMap(i -> i.getStore().list().stream())
-                .flatMap(endpoints -> getServiceRefs(endpoints).stream())
-                .collect(Collectors.toList());
-    }
-
     private List<TargetTuple> getTargetTuples(Endpoints endpoints) {
         List<TargetTuple> tts = new ArrayList<>();
         for (EndpointSubset subset : endpoints.getSubsets()) {
@@ -314,47 +442,117 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
         return tts;
     }
 
-    private List<ServiceRef> getServiceRefs(Endpoints endpoints) {
-        return getTargetTuples(endpoints).stream()
-                .map(TargetTuple::toServiceRef)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    private void notifyChanges(Set<ServiceRef> previousRefs, Set<ServiceRef> currentRefs) {
+        if (previousRefs.equals(currentRefs)) {
+            return;
+        }
+
+        ServiceRef.Compare compare = ServiceRef.compare(previousRefs).to(currentRefs);
+
+        compare.updated().forEach(sr -> notifyAsyncTargetDiscovery(EventKind.MODIFIED, sr));
+        compare.added().forEach(sr -> notifyAsyncTargetDiscovery(EventKind.FOUND, sr));
+        compare.removed().forEach(sr -> notifyAsyncTargetDiscovery(EventKind.LOST, sr));
+    }
+
+    /**
+     * @return the targets which the Endpoints had, preferring the resolution which was made when
+     *     they were current
+     */
+    private Set<ServiceRef> previousServiceRefs(Endpoints endpoints) {
+        ResolvedEndpoints previous = resolved.get(Cache.metaNamespaceKeyFunc(endpoints));
+        if (previous == null || !previous.isResolutionOf(endpoints)) {
+            previous = resolveTargets(endpoints);
+        }
+        return previous.serviceRefs();
     }
 
     private final class EndpointsHandler implements ResourceEventHandler<Endpoints> {
         @Override
         public void onAdd(Endpoints endpoints) {
-            getServiceRefs(endpoints)
-                    .forEach(serviceRef -> notifyAsyncTargetDiscovery(EventKind.FOUND, serviceRef));
+            synchronized (resolutionLock) {
+                resolve(endpoints)
+                        .serviceRefs()
+                        .forEach(
+                                serviceRef ->
+                                        notifyAsyncTargetDiscovery(EventKind.FOUND, serviceRef));
+            }
         }
 
         @Override
         public void onUpdate(Endpoints oldEndpoints, Endpoints newEndpoints) {
-            Set<ServiceRef> previousRefs = new HashSet<>(getServiceRefs(oldEndpoints));
-            Set<ServiceRef> currentRefs = new HashSet<>(getServiceRefs(newEndpoints));
+            synchronized (resolutionLock) {
+                Set<ServiceRef> previousRefs = previousServiceRefs(oldEndpoints);
+                Set<ServiceRef> currentRefs = resolve(newEndpoints).serviceRefs();
+                notifyChanges(previousRefs, currentRefs);
+            }
+        }
 
-            if (previousRefs.equals(currentRefs)) {
+        @Override
+        public void onDelete(Endpoints endpoints, boolean deletedFinalStateUnknown) {
+            if (deletedFinalStateUnknown) {
+                logger.warn("Deleted final state unknown: {}", endpoints);
                 return;
             }
+            synchronized (resolutionLock) {
+                Set<ServiceRef> previousRefs = previousServiceRefs(endpoints);
+                resolved.remove(Cache.metaNamespaceKeyFunc(endpoints));
+                previousRefs.forEach(
+                        serviceRef -> notifyAsyncTargetDiscovery(EventKind.LOST, serviceRef));
+            }
+        }
+    }
 
-            ServiceRef.compare(previousRefs).to(currentRefs).updated().stream()
-                    .forEach(sr -> notifyAsyncTargetDiscovery(EventKind.MODIFIED, sr));
-
-            ServiceRef.compare(previousRefs).to(currentRefs).added().stream()
-                    .forEach(sr -> notifyAsyncTargetDiscovery(EventKind.FOUND, sr));
+    /**
+     * Re-resolves the targets of any Endpoints whose owner chains depend on objects which have been
+     * added, removed, or changed in a way that is reflected in the discovery tree.
+     */
+    private final class OwnerHandler implements ResourceEventHandler<HasMetadata> {
+        private final String namespace;
+        private final KubernetesNodeType nodeType;
+
+        OwnerHandler(String namespace, KubernetesNodeType nodeType) {
+            this.namespace = namespace;
+            this.nodeType = nodeType;
+        }
 
-            ServiceRef.compare(previousRefs).to(currentRefs).removed().stream()
-                    .forEach(sr -> notifyAsyncTargetDiscovery(EventKind.LOST, sr));
+        @Override
+        public void onAdd(HasMetadata obj) {
+            // an Endpoints may have been resolved before its owners were seen
+            invalidate(obj);
         }
 
         @Override
-        public void onDelete(Endpoints endpoints, boolean deletedFinalStateUnknown) {
-            if (deletedFinalStateUnknown) {
-                logger.warn("Deleted final state unknown: {}", endpoints);
+        public void onUpdate(HasMetadata oldObj, HasMetadata newObj) {
+            ObjectMeta oldMeta = oldObj.getMetadata();
+            ObjectMeta newMeta = newObj.getMetadata();
+            // most updates, ex. to Pod status, do not affect the targets or discovery tree
+            if (Objects.equals(oldMeta.getLabels(), newMeta.getLabels())
+                    && Objects.equals(oldMeta.getAnnotations(), newMeta.getAnnotations())
+                    && Objects.equals(oldMeta.getOwnerReferences(), newMeta.getOwnerReferences())) {
                 return;
             }
-            getServiceRefs(endpoints)
-                    .forEach(serviceRef -> notifyAsyncTargetDiscovery(EventKind.LOST, serviceRef));
+            invalidate(newObj);
+        }
+
+        @Override
+        public void onDelete(HasMetadata obj, boolean deletedFinalStateUnknown) {
+            invalidate(obj);
+        }
+
+        private void invalidate(HasMetadata obj) {
+            Triple<String, String, String> key =
+                    Triple.of(namespace, nodeType.getKind(), obj.getMetadata().getName());
+            synchronized (resolutionLock) {
+                for (ResolvedEndpoints previous : List.copyOf(resolved.values())) {
+                    if (!previous.dependencies().contains(key)) {
+                        continue;
+                    }
+                    ResolvedEndpoints current = resolveTargets(previous.endpoints());
+                    resolved.replace(
+                            Cache.metaNamespaceKeyFunc(previous.endpoints()), previous, current);
+                    notifyChanges(previous.serviceRefs(), current.serviceRefs());
+                }
+            }
         }
     }
 
@@ -369,18 +567,7 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
             this.port = port;
         }
 
-        ServiceRef toServiceRef() {
-            Pair<HasMetadata, EnvironmentNode> node =
-                    discoveryNodeCache.computeIfAbsent(
-                            cacheKey(objRef.getNamespace(), objRef),
-                            KubeApiPlatformClient.this::queryForNode);
-            HasMetadata podRef = node.getLeft();
-            if (node.getRight().getNodeType() != KubernetesNodeType.POD) {
-                throw new IllegalStateException();
-            }
-            if (podRef == null) {
-                throw new IllegalStateException();
-            }
+        ServiceRef toServiceRef(HasMetadata podRef) {
             try {
                 String targetName = objRef.getName();
 
@@ -418,46 +605,77 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
         }
     }
 
+    /** The targets of an Endpoints object, and the objects which their resolution depended on. */
+    static record ResolvedEndpoints(
+            Endpoints endpoints,
+            String namespace,
+            List<DiscoveredTarget> targets,
+            Set<Triple<String, String, String>> dependencies) {
+        boolean isResolutionOf(Endpoints other) {
+            String version = endpoints.getMetadata().getResourceVersion();
+            return version != null
+                    && version.equals(other.getMetadata().getResourceVersion())
+                    && Objects.equals(
+                            endpoints.getMetadata().getUid(), other.getMetadata().getUid());
+        }
+
+        Set<ServiceRef> serviceRefs() {
+            return targets.stream()
+                    .map(DiscoveredTarget::serviceRef)
+                    .collect(Collectors.toCollection(HashSet::new));
+        }
+    }
+
+    /** A target Pod's endpoint, and the chain of owners from that Pod up to the root owner. */
+    static record DiscoveredTarget(ServiceRef serviceRef, List<ChainNode> ownerChain) {}
+
+    static record ChainNode(
+            Triple<String, String, String> key,
+            KubernetesNodeType nodeType,
+            Map<String, String> labels) {}
+
     public enum KubernetesNodeType implements NodeType {
         NAMESPACE("Namespace"),
-        STATEFULSET(
-                "StatefulSet",
-                c -> ns -> n -> c.apps().statefulSets().inNamespace(ns).withName(n).get()),
-        DAEMONSET(
-                "DaemonSet",
-                c -> ns -> n -> c.apps().daemonSets().inNamespace(ns).withName(n).get()),
-        DEPLOYMENT(
-                "Deployment",
-                c -> ns -> n -> c.apps().deployments().inNamespace(ns).withName(n).get()),
+        STATEFULSET("StatefulSet", c -> ns -> c.apps().statefulSets().inNamespace(ns)),
+        DAEMONSET("DaemonSet", c -> ns -> c.apps().daemonSets().inNamespace(ns)),
+        DEPLOYMENT("Deployment", c -> ns -> c.apps().deployments().inNamespace(ns)),
         // FIXME DeploymentConfig is OpenShift-specific
         DEPLOYMENTCONFIG("DeploymentConfig"),
-        REPLICASET(
-                "ReplicaSet",
-                c -> ns -> n -> c.apps().replicaSets().inNamespace(ns).withName(n).get()),
+        REPLICASET("ReplicaSet", c -> ns -> c.apps().replicaSets().inNamespace(ns)),
         REPLICATIONCONTROLLER(
-                "ReplicationController",
-                c -> ns -> n -> c.replicationControllers().inNamespace(ns).withName(n).get()),
-        POD("Pod", c -> ns -> n -> c.pods().inNamespace(ns).withName(n).get()),
-        ENDPOINT("Endpoint", c -> ns -> n -> c.endpoints().inNamespace(ns).withName(n).get()),
+                "ReplicationController", c -> ns -> c.replicationControllers().inNamespace(ns)),
+        POD("Pod", c -> ns -> c.pods().inNamespace(ns)),
+        ENDPOINT("Endpoint", c -> ns -> c.endpoints().inNamespace(ns)),
         ;
 
         private final String kubernetesKind;
         private final transient Function<
-                        KubernetesClient, Function<String, Function<String, ? extends HasMetadata>>>
-                getFn;
+                        KubernetesClient,
+                        Function<
+                                String,
+                                NonNamespaceOperation<
+                                        ? extends HasMetadata,
+                                        ?,
+                                        ? extends Resource<? extends HasMetadata>>>>
+                opFn;
 
         KubernetesNodeType(String kubernetesKind) {
-            this(kubernetesKind, client -> namespace -> name -> null);
+            this(kubernetesKind, null);
         }
 
         KubernetesNodeType(
                 String kubernetesKind,
                 Function<
                                 KubernetesClient,
-                                Function<String, Function<String, ? extends HasMetadata>>>
-                        getFn) {
+                                Function<
+                                        String,
+                                        NonNamespaceOperation<
+                                                ? extends HasMetadata,
+                                                ?,
+                                                ? extends Resource<? extends HasMetadata>>>>
+                        opFn) {
             this.kubernetesKind = kubernetesKind;
-            this.getFn = getFn;
+            this.opFn = opFn;
         }
 
         @Override
@@ -467,7 +685,23 @@ public class KubeApiPlatformClient extends AbstractPlatformClient {
 
         public Function<KubernetesClient, Function<String, Function<String, ? extends HasMetadata>>>
                 getQueryFunction() {
-            return getFn;
+            if (opFn == null) {
+                return client -> namespace -> name -> null;
+            }
+            return client ->
+                    namespace -> name -> opFn.apply(client).apply(namespace).withName(name).get();
+        }
+
+        /**
+         * @return a new informer, not yet started, for resources of this type in the namespace, or
+         *     null if resources of this type cannot be queried
+         */
+        SharedIndexInformer<? extends HasMetadata> newInformer(
+                KubernetesClient client, String namespace, long resyncPeriod) {
+            if (opFn == null) {
+                return null;
+            }
+            return opFn.apply(client).apply(namespace).runnableInformer(resyncPeriod);
         }
 
         public static KubernetesNodeType fromKubernetesKind(String kubernetesKind) {
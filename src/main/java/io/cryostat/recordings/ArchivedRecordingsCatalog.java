@@ -0,0 +1,275 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.recordings;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.cryostat.core.sys.FileSystem;
+import io.cryostat.recordings.RecordingMetadataManager.Metadata;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the archived recordings stored under the archives directory, keyed by archive
+ * subdirectory name and recording file name. Listing and looking up archived recordings is answered
+ * from this index rather than by walking the archives directory and reading file attributes and
+ * metadata for every recording. {@link RecordingArchiveHelper} keeps the index up to date as
+ * recordings are saved, uploaded and deleted, and reconciles it against the archives directory on
+ * startup. Changes are persisted in the background so that a restart only needs to describe the
+ * recordings which were not already known.
+ */
+public class ArchivedRecordingsCatalog {
+
+    private static final Type CATALOG_TYPE =
+            new TypeToken<ConcurrentSkipListMap<String, Directory>>() {}.getType();
+
+    private final FileSystem fs;
+    private final Path catalogPath;
+    private final ExecutorService writer;
+    private final Gson gson;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final AtomicBoolean persistPending = new AtomicBoolean();
+    private volatile ConcurrentNavigableMap<String, Directory> directories =
+            new ConcurrentSkipListMap<>();
+    private volatile boolean ready;
+
+    ArchivedRecordingsCatalog(FileSystem fs, Path catalogPath, ExecutorService writer, Gson gson) {
+        this.fs = fs;
+        this.catalogPath = catalogPath;
+        this.writer = writer;
+        this.gson = gson;
+    }
+
+    /**
+     * Load the catalog persisted by a previous run, if any. The loaded catalog is used to answer
+     * queries until it is next reconciled.
+     */
+    void load() {
+        if (!fs.isRegularFile(catalogPath)) {
+            return;
+        }
+        try (BufferedReader br = fs.readFile(catalogPath)) {
+            ConcurrentNavigableMap<String, Directory> persisted = gson.fromJson(br, CATALOG_TYPE);
+            if (persisted != null) {
+                this.directories = persisted;
+                this.ready = true;
+                logger.info(
+                        "Loaded archived recordings catalog with {} directories", persisted.size());
+            }
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Could not load archived recordings catalog", e);
+        }
+    }
+
+    /**
+     * @return true if the catalog has been loaded or reconciled, false if it must be reconciled
+     *     against the archives directory before it can be used.
+     */
+    boolean isReady() {
+        return ready;
+    }
+
+    /** Replace the whole catalog contents, ex. after a walk of the archives directory. */
+    void reconcile(Map<String, Directory> reconciled) {
+        this.directories = new ConcurrentSkipListMap<>(reconciled);
+        this.ready = true;
+        persist();
+    }
+
+    List<Directory> getDirectories() {
+        return new ArrayList<>(directories.values());
+    }
+
+    Optional<Directory> getDirectory(String subdirectoryName) {
+        return Optional.ofNullable(directories.get(subdirectoryName));
+    }
+
+    Optional<Entry> getEntry(String subdirectoryName, String recordingName) {
+        return getDirectory(subdirectoryName).flatMap(d -> d.getRecording(recordingName));
+    }
+
+    /**
+     * @return the name of the first subdirectory, in name order, containing a recording with the
+     *     given name
+     */
+    Optional<String> findSubdirectory(String recordingName) {
+        return directories.entrySet().stream()
+                .filter(e -> e.getValue().recordings.containsKey(recordingName))
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    void put(String subdirectoryName, String connectUrl, String jvmId, Entry entry) {
+        directories
+                .computeIfAbsent(subdirectoryName, k -> new Directory(connectUrl, jvmId))
+                .recordings
+                .put(entry.getName(), entry);
+        persist();
+    }
+
+    Optional<Entry> remove(String subdirectoryName, String recordingName) {
+        Directory directory = directories.get(subdirectoryName);
+        if (directory == null) {
+            return Optional.empty();
+        }
+        Optional<Entry> removed = Optional.ofNullable(directory.recordings.remove(recordingName));
+        if (removed.isPresent()) {
+            persist();
+        }
+        return removed;
+    }
+
+    void removeDirectory(String subdirectoryName) {
+        if (directories.remove(subdirectoryName) != null) {
+            persist();
+        }
+    }
+
+    void moveDirectory(String from, String to, String connectUrl, String jvmId) {
+        Directory directory = directories.remove(from);
+        if (directory == null) {
+            return;
+        }
+        Directory moved = new Directory(connectUrl, jvmId);
+        moved.recordings.putAll(directory.recordings);
+        directories.merge(
+                to,
+                moved,
+                (existing, incoming) -> {
+                    existing.recordings.putAll(incoming.recordings);
+                    return existing;
+                });
+        persist();
+    }
+
+    void setMetadata(String subdirectoryName, String recordingName, Metadata metadata) {
+        Directory directory = directories.get(subdirectoryName);
+        if (directory == null) {
+            return;
+        }
+        Entry updated =
+                directory.recordings.computeIfPresent(
+                        recordingName, (k, v) -> v.withMetadata(metadata));
+        if (updated != null) {
+            persist();
+        }
+    }
+
+    private void persist() {
+        if (!persistPending.compareAndSet(false, true)) {
+            return;
+        }
+        writer.execute(
+                () -> {
+                    persistPending.set(false);
+                    try {
+                        fs.writeString(
+                                catalogPath,
+                                gson.toJson(directories, CATALOG_TYPE),
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.WRITE);
+                    } catch (IOException e) {
+                        logger.warn("Could not persist archived recordings catalog", e);
+                    }
+                });
+    }
+
+    public static class Directory {
+        private final String connectUrl;
+        private final String jvmId;
+        private final ConcurrentNavigableMap<String, Entry> recordings;
+
+        Directory(String connectUrl, String jvmId) {
+            this.connectUrl = connectUrl;
+            this.jvmId = jvmId;
+            this.recordings = new ConcurrentSkipListMap<>();
+        }
+
+        public String getConnectUrl() {
+            return connectUrl;
+        }
+
+        public String getJvmId() {
+            return jvmId;
+        }
+
+        public List<Entry> getRecordings() {
+            return new ArrayList<>(recordings.values());
+        }
+
+        Optional<Entry> getRecording(String recordingName) {
+            return Optional.ofNullable(recordings.get(recordingName));
+        }
+
+        void add(Entry entry) {
+            recordings.put(entry.getName(), entry);
+        }
+    }
+
+    public static class Entry {
+        private final String name;
+        private final long size;
+        private final long archivedTime;
+        private final Metadata metadata;
+
+        Entry(String name, long size, long archivedTime, Metadata metadata) {
+            this.name = name;
+            this.size = size;
+            this.archivedTime = archivedTime;
+            this.metadata = new Metadata(Objects.requireNonNullElseGet(metadata, Metadata::new));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getArchivedTime() {
+            return archivedTime;
+        }
+
+        public Metadata getMetadata() {
+            // may be absent from a hand-edited or older persisted catalog
+            return metadata == null ? new Metadata() : new Metadata(metadata);
+        }
+
+        Entry withMetadata(Metadata metadata) {
+            return new Entry(name, size, archivedTime, metadata);
+        }
+    }
+}
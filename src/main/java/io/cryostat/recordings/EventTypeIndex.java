@@ -0,0 +1,128 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.recordings;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmc.rjmx.services.jfr.IEventTypeInfo;
+
+import io.cryostat.jmc.serialization.SerializableEventTypeInfo;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The event types available in a target JVM, with a trigram index over each event's ID, name,
+ * description and categories so that searching them does not need to scan every event.
+ */
+public final class EventTypeIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final List<SerializableEventTypeInfo> eventTypes;
+    private final List<String[]> searchTerms;
+    private final Map<String, BitSet> grams;
+
+    public EventTypeIndex(Collection<? extends IEventTypeInfo> infos) {
+        List<SerializableEventTypeInfo> eventTypes = new ArrayList<>(infos.size());
+        this.searchTerms = new ArrayList<>(infos.size());
+        this.grams = new HashMap<>();
+        for (IEventTypeInfo info : infos) {
+            int idx = eventTypes.size();
+            eventTypes.add(new SerializableEventTypeInfo(info));
+
+            List<String> terms = new ArrayList<>();
+            terms.add(info.getEventTypeID().getFullKey());
+            String[] category = info.getHierarchicalCategory();
+            if (category != null) {
+                Collections.addAll(terms, category);
+            }
+            terms.add(info.getDescription());
+            terms.add(info.getName());
+            String[] lowered =
+                    terms.stream()
+                            .filter(s -> s != null)
+                            .map(String::toLowerCase)
+                            .toArray(String[]::new);
+            searchTerms.add(lowered);
+
+            for (String term : lowered) {
+                for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                    grams.computeIfAbsent(term.substring(i, i + GRAM_LENGTH), k -> new BitSet())
+                            .set(idx);
+                }
+            }
+        }
+        this.eventTypes = Collections.unmodifiableList(eventTypes);
+    }
+
+    public List<SerializableEventTypeInfo> getEventTypes() {
+        return eventTypes;
+    }
+
+    /**
+     * @return the event types with an ID, name, description or category containing the given query,
+     *     ignoring case, in their original order. All event types if the query is blank.
+     */
+    public List<SerializableEventTypeInfo> search(String q) {
+        if (StringUtils.isBlank(q)) {
+            return eventTypes;
+        }
+        String term = q.toLowerCase();
+        List<SerializableEventTypeInfo> matches = new ArrayList<>();
+        if (term.length() < GRAM_LENGTH) {
+            for (int i = 0; i < eventTypes.size(); i++) {
+                if (matches(i, term)) {
+                    matches.add(eventTypes.get(i));
+                }
+            }
+            return matches;
+        }
+        BitSet candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            BitSet postings = grams.get(term.substring(i, i + GRAM_LENGTH));
+            if (postings == null) {
+                return matches;
+            }
+            if (candidates == null) {
+                candidates = (BitSet) postings.clone();
+            } else {
+                candidates.and(postings);
+            }
+        }
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            // sharing every trigram with the query does not guarantee containing it
+            if (matches(i, term)) {
+                matches.add(eventTypes.get(i));
+            }
+        }
+        return matches;
+    }
+
+    private boolean matches(int idx, String term) {
+        for (String s : searchTerms.get(idx)) {
+            if (s.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
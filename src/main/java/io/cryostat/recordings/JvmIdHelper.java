@@ -35,6 +35,7 @@ import io.cryostat.core.net.Credentials;
 import io.cryostat.core.net.JFRConnection;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.platform.PlatformClient;
 import io.cryostat.platform.ServiceRef;
 import io.cryostat.util.events.AbstractEventEmitter;
@@ -100,7 +101,15 @@ public class JvmIdHelper extends AbstractEventEmitter<JvmIdHelper.IdEvent, Strin
             return false;
         }
         reverse.put(sr.getJvmId(), sr);
-        ids.put(sr.getServiceUri().toString(), CompletableFuture.completedFuture(sr.getJvmId()));
+        String targetId = sr.getServiceUri().toString();
+        // replacing an unchanged ID would still notify listeners that it was invalidated
+        CompletableFuture<String> prev = ids.getIfPresent(targetId);
+        if (prev == null
+                || !prev.isDone()
+                || prev.isCompletedExceptionally()
+                || !sr.getJvmId().equals(prev.join())) {
+            ids.put(targetId, CompletableFuture.completedFuture(sr.getJvmId()));
+        }
         return true;
     }
 
@@ -161,7 +170,7 @@ public class JvmIdHelper extends AbstractEventEmitter<JvmIdHelper.IdEvent, Strin
                                 credentials.isPresent()
                                         ? credentials.get()
                                         : credentialsManager.getCredentialsByTargetId(targetId)),
-                        JFRConnection::getJvmId);
+                        ConnectedTask.readOnly(JFRConnection::getJvmId));
         future.thenAccept(id -> logger.info("JVM ID: {} -> {}", targetId, id));
         return future;
     }
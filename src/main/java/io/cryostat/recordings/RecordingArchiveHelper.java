@@ -28,12 +28,16 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
@@ -44,7 +48,6 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import javax.inject.Named;
 import javax.inject.Provider;
@@ -62,6 +65,7 @@ import io.cryostat.core.sys.FileSystem;
 import io.cryostat.messaging.notifications.NotificationFactory;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.reports.ReportService;
 import io.cryostat.net.web.WebModule;
 import io.cryostat.net.web.WebServer;
 import io.cryostat.net.web.http.api.v2.ApiException;
@@ -87,10 +91,12 @@ public class RecordingArchiveHelper {
     private final TargetConnectionManager targetConnectionManager;
     private final FileSystem fs;
     private final Provider<WebServer> webServerProvider;
+    private final Provider<ReportService> reportServiceProvider;
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final Path archivedRecordingsPath;
     private final Path archivedRecordingsReportPath;
     private final RecordingMetadataManager recordingMetadataManager;
+    private final ArchivedRecordingsCatalog catalog;
     private final Clock clock;
     private final PlatformClient platformClient;
     private final NotificationFactory notificationFactory;
@@ -123,10 +129,12 @@ public class RecordingArchiveHelper {
     RecordingArchiveHelper(
             FileSystem fs,
             Provider<WebServer> webServerProvider,
+            Provider<ReportService> reportServiceProvider,
             @Named(MainModule.RECORDINGS_PATH) Path archivedRecordingsPath,
             @Named(WebModule.WEBSERVER_TEMP_DIR_PATH) Path webServerTempPath,
             TargetConnectionManager targetConnectionManager,
             RecordingMetadataManager recordingMetadataManager,
+            ArchivedRecordingsCatalog catalog,
             Clock clock,
             PlatformClient platformClient,
             NotificationFactory notificationFactory,
@@ -135,10 +143,12 @@ public class RecordingArchiveHelper {
             Base32 base32) {
         this.fs = fs;
         this.webServerProvider = webServerProvider;
+        this.reportServiceProvider = reportServiceProvider;
         this.archivedRecordingsPath = archivedRecordingsPath;
         this.archivedRecordingsReportPath = webServerTempPath;
         this.targetConnectionManager = targetConnectionManager;
         this.recordingMetadataManager = recordingMetadataManager;
+        this.catalog = catalog;
         this.clock = clock;
         this.platformClient = platformClient;
         this.notificationFactory = notificationFactory;
@@ -259,11 +269,102 @@ public class RecordingArchiveHelper {
         for (var f : futures) {
             f.get();
         }
+        reconcileCatalog();
+    }
+
+    // startup reconciliation of the archived recordings catalog against the archives directory.
+    // Recordings already known to the catalog are kept as-is, only new ones are described.
+    protected synchronized void reconcileCatalog() throws IOException, ArchivePathException {
+        validateArchivesPath();
+        Map<String, ArchivedRecordingsCatalog.Directory> directories = new HashMap<>();
+        for (String subdirectoryName : fs.listDirectoryChildren(archivedRecordingsPath)) {
+            if (subdirectoryName.equals(TEMP_UPLOADS_SUBDIRECTORY)) {
+                continue;
+            }
+            Path subdirectory = archivedRecordingsPath.resolve(subdirectoryName);
+            String connectUrl;
+            try {
+                connectUrl = getConnectUrlFromPath(subdirectory).get();
+            } catch (InterruptedException | ExecutionException e) {
+                logger.warn("Skipping archives subdirectory {}: no connectUrl", subdirectoryName);
+                continue;
+            }
+            String jvmId = jvmIdHelper.subdirectoryNameToJvmId(subdirectoryName);
+            Optional<ArchivedRecordingsCatalog.Directory> known =
+                    catalog.getDirectory(subdirectoryName);
+            ArchivedRecordingsCatalog.Directory directory =
+                    new ArchivedRecordingsCatalog.Directory(connectUrl, jvmId);
+            for (String file : fs.listDirectoryChildren(subdirectory)) {
+                if (file.equals(CONNECT_URL)) {
+                    continue;
+                }
+                directory.add(
+                        known.flatMap(d -> d.getRecording(file))
+                                .orElseGet(
+                                        () ->
+                                                describeRecording(
+                                                        subdirectory,
+                                                        file,
+                                                        getMetadataIfExists(jvmId, file))));
+            }
+            directories.put(subdirectoryName, directory);
+        }
+        catalog.reconcile(directories);
+        logger.info("Reconciled archived recordings catalog: {} directories", directories.size());
+    }
+
+    private ArchivedRecordingsCatalog catalog() throws IOException, ArchivePathException {
+        if (!catalog.isReady()) {
+            synchronized (this) {
+                if (!catalog.isReady()) {
+                    reconcileCatalog();
+                }
+            }
+        }
+        return catalog;
+    }
+
+    private void validateArchivesPath() throws ArchivePathException {
+        if (!fs.exists(archivedRecordingsPath)) {
+            throw new ArchivePathException(archivedRecordingsPath.toString(), "does not exist");
+        }
+        if (!fs.isReadable(archivedRecordingsPath)) {
+            throw new ArchivePathException(archivedRecordingsPath.toString(), "is not readable");
+        }
+        if (!fs.isDirectory(archivedRecordingsPath)) {
+            throw new ArchivePathException(archivedRecordingsPath.toString(), "is not a directory");
+        }
+    }
+
+    private Metadata getMetadataIfExists(String jvmId, String recordingName) {
+        try {
+            return recordingMetadataManager.getMetadataFromPathIfExists(jvmId, recordingName);
+        } catch (IOException e) {
+            logger.warn("Could not read metadata for {}", recordingName);
+            return new Metadata();
+        }
+    }
+
+    private ArchivedRecordingsCatalog.Entry describeRecording(
+            Path subdirectory, String recordingName, Metadata metadata) {
+        long size = 0;
+        long archivedTime = 0;
+        try {
+            BasicFileAttributes attributes =
+                    Files.readAttributes(
+                            subdirectory.resolve(recordingName), BasicFileAttributes.class);
+            size = attributes.size();
+            archivedTime = attributes.creationTime().toMillis();
+        } catch (IOException e) {
+            logger.error("Invalid path: {}", recordingName);
+        }
+        return new ArchivedRecordingsCatalog.Entry(recordingName, size, archivedTime, metadata);
     }
 
     protected void transferArchivesIfRestarted(String targetId) {
         try {
             Path subdirectoryPath = null;
+            String subdirectoryName = null;
             for (String encodedJvmId : fs.listDirectoryChildren(archivedRecordingsPath)) {
                 Path subdir = archivedRecordingsPath.resolve(encodedJvmId);
                 Path connectUrl = subdir.resolve(CONNECT_URL);
@@ -271,6 +372,7 @@ public class RecordingArchiveHelper {
                     String u = fs.readString(connectUrl);
                     if (Objects.equals(targetId, u)) {
                         subdirectoryPath = subdir;
+                        subdirectoryName = encodedJvmId;
                         break;
                     }
                 }
@@ -300,6 +402,11 @@ public class RecordingArchiveHelper {
                 Files.move(oldLocation, newLocation);
             }
             fs.deleteIfExists(subdirectoryPath);
+            catalog.moveDirectory(
+                    subdirectoryName,
+                    jvmIdHelper.jvmIdToSubdirectoryName(newJvmId),
+                    connectUrl,
+                    newJvmId);
 
             logger.info(
                     "[{}]: Archives subdirectory successfully transferred: {} -> {}",
@@ -380,13 +487,22 @@ public class RecordingArchiveHelper {
                                 }
                             });
             validateSavePath(recordingName, savePath);
+            Path parentPath = savePath.getParent();
             Path filenamePath = savePath.getFileName();
             String filename = filenamePath.toString();
+            String subdirectoryName = parentPath.getFileName().toString();
             String targetId = connectionDescriptor.getTargetId();
             Metadata metadata =
                     recordingMetadataManager
                             .copyMetadataToArchives(connectionDescriptor, recordingName, filename)
                             .get();
+            ArchivedRecordingsCatalog.Entry entry =
+                    describeRecording(parentPath, filename, metadata);
+            catalog.put(
+                    subdirectoryName,
+                    targetId,
+                    jvmIdHelper.subdirectoryNameToJvmId(subdirectoryName),
+                    entry);
             ArchivedRecordingInfo archivedRecordingInfo =
                     new ArchivedRecordingInfo(
                             targetId,
@@ -394,8 +510,8 @@ public class RecordingArchiveHelper {
                             webServerProvider.get().getArchivedDownloadURL(targetId, filename),
                             webServerProvider.get().getArchivedReportURL(targetId, filename),
                             metadata,
-                            getFileSize(filename),
-                            getArchivedTime(filename));
+                            entry.getSize(),
+                            entry.getArchivedTime());
             future.complete(archivedRecordingInfo);
             notificationFactory
                     .createOwnedResourceBuilder(targetId, SAVE_NOTIFICATION_CATEGORY)
@@ -425,6 +541,8 @@ public class RecordingArchiveHelper {
             Path filenamePath = recordingPath.getFileName();
             String filename = filenamePath.toString();
             String targetId = getConnectUrlFromPath(subdirectoryPath).get();
+            Optional<ArchivedRecordingsCatalog.Entry> entry =
+                    catalog.remove(subdirectoryName, recordingName);
             ArchivedRecordingInfo archivedRecordingInfo =
                     new ArchivedRecordingInfo(
                             targetId,
@@ -433,15 +551,15 @@ public class RecordingArchiveHelper {
                             webServerProvider.get().getArchivedReportURL(targetId, filename),
                             recordingMetadataManager.deleteRecordingMetadataIfExists(
                                     jvmId, recordingName),
-                            getFileSize(filename),
-                            getArchivedTime(filename));
+                            entry.map(ArchivedRecordingsCatalog.Entry::getSize).orElse(0L),
+                            entry.map(ArchivedRecordingsCatalog.Entry::getArchivedTime).orElse(0L));
             notificationFactory
                     .createOwnedResourceBuilder(targetId, DELETE_NOTIFICATION_CATEGORY)
                     .messageEntry("recording", archivedRecordingInfo)
                     .build()
                     .send();
             fs.deleteIfExists(recordingPath);
-            checkEmptySubdirectory(subdirectoryPath);
+            checkEmptySubdirectory(subdirectoryName, subdirectoryPath);
             future.complete(archivedRecordingInfo);
         } catch (IOException | URISyntaxException | InterruptedException | ExecutionException e) {
             future.completeExceptionally(e);
@@ -487,6 +605,8 @@ public class RecordingArchiveHelper {
             String targetId =
                     sourceTarget == null ? UPLOADED_RECORDINGS_SUBDIRECTORY : sourceTarget;
             subdirectoryName = parentPath.getFileName().toString();
+            Optional<ArchivedRecordingsCatalog.Entry> entry =
+                    catalog.remove(subdirectoryName, filename);
             ArchivedRecordingInfo archivedRecordingInfo =
                     new ArchivedRecordingInfo(
                             targetId,
@@ -495,14 +615,14 @@ public class RecordingArchiveHelper {
                             webServerProvider.get().getArchivedReportURL(targetId, filename),
                             recordingMetadataManager.deleteRecordingMetadataIfExists(
                                     new ConnectionDescriptor(targetId), recordingName),
-                            getFileSize(filename),
-                            getArchivedTime(filename));
+                            entry.map(ArchivedRecordingsCatalog.Entry::getSize).orElse(0L),
+                            entry.map(ArchivedRecordingsCatalog.Entry::getArchivedTime).orElse(0L));
             notificationFactory
                     .createOwnedResourceBuilder(targetId, DELETE_NOTIFICATION_CATEGORY)
                     .messageEntry("recording", archivedRecordingInfo)
                     .build()
                     .send();
-            checkEmptySubdirectory(parentPath);
+            checkEmptySubdirectory(subdirectoryName, parentPath);
             future.complete(archivedRecordingInfo);
         } catch (IOException | URISyntaxException e) {
             future.completeExceptionally(e);
@@ -512,11 +632,13 @@ public class RecordingArchiveHelper {
         return future;
     }
 
-    private void checkEmptySubdirectory(Path parentPath) throws IOException {
+    private void checkEmptySubdirectory(String subdirectoryName, Path parentPath)
+            throws IOException {
         if (fs.listDirectoryChildren(parentPath).size() == 1
                 && fs.listDirectoryChildren(parentPath).contains(CONNECT_URL)) {
             fs.deleteIfExists(parentPath.resolve(CONNECT_URL));
             fs.deleteIfExists(parentPath);
+            catalog.removeDirectory(subdirectoryName);
         }
     }
 
@@ -533,27 +655,8 @@ public class RecordingArchiveHelper {
     }
 
     public boolean deleteReports(String subdirectoryName, String recordingName) {
-        try {
-            logger.info("Invalidating archived report cache for {}", recordingName);
-            for (String reportName :
-                    fs.listDirectoryChildren(
-                            archivedRecordingsReportPath.resolve(subdirectoryName))) {
-                if (reportName.startsWith(recordingName)) {
-                    Path reportPath =
-                            archivedRecordingsReportPath
-                                    .resolve(subdirectoryName)
-                                    .resolve(reportName)
-                                    .toAbsolutePath();
-                    if (fs.exists(reportPath)) {
-                        fs.deleteIfExists(reportPath);
-                    }
-                }
-            }
-            return true;
-        } catch (IOException e) {
-            logger.warn("Failed to delete report cache for {}", recordingName);
-            return false;
-        }
+        // deleted through the report cache so that it stops counting them against its size limit
+        return reportServiceProvider.get().delete(subdirectoryName, recordingName);
     }
 
     public Future<Path> getCachedReportPathFromPath(
@@ -593,122 +696,113 @@ public class RecordingArchiveHelper {
 
         try {
             String jvmId = jvmIdHelper.getJvmId(targetId);
-            Path specificRecordingsPath = getRecordingSubdirectoryPath(jvmId);
-            if (!fs.exists(archivedRecordingsPath)) {
-                throw new ArchivePathException(archivedRecordingsPath.toString(), "does not exist");
-            }
-            if (!fs.isReadable(archivedRecordingsPath)) {
-                throw new ArchivePathException(
-                        archivedRecordingsPath.toString(), "is not readable");
-            }
-            if (!fs.isDirectory(archivedRecordingsPath)) {
-                throw new ArchivePathException(
-                        archivedRecordingsPath.toString(), "is not a directory");
-            }
+            String subdirectoryName = jvmIdHelper.jvmIdToSubdirectoryName(jvmId);
+            future.complete(
+                    describeArchivedRecordings(
+                            catalog(), webServerProvider.get(), targetId, subdirectoryName));
+        } catch (ArchivePathException | IOException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
 
-            if (!fs.exists(specificRecordingsPath)) {
-                future.complete(List.of());
-                return future;
-            }
-            if (!fs.isReadable(specificRecordingsPath)) {
-                throw new ArchivePathException(
-                        specificRecordingsPath.toString(), "is not readable");
-            }
-            if (!fs.isDirectory(specificRecordingsPath)) {
-                throw new ArchivePathException(
-                        specificRecordingsPath.toString(), "is not a directory");
-            }
+    /**
+     * Get the archived recordings of several targets at once, reading the catalog only once.
+     * Targets whose archived recordings cannot be determined, ex. because their JVM ID cannot be
+     * retrieved, are left out of the result.
+     *
+     * @return the archived recordings of each target, by target ID
+     */
+    public Future<Map<String, List<ArchivedRecordingInfo>>> getRecordingsByTarget(
+            Collection<String> targetIds) {
+        CompletableFuture<Map<String, List<ArchivedRecordingInfo>>> future =
+                new CompletableFuture<>();
+
+        try {
+            ArchivedRecordingsCatalog catalog = catalog();
             WebServer webServer = webServerProvider.get();
-            List<ArchivedRecordingInfo> archivedRecordings = new ArrayList<>();
-            this.fs.listDirectoryChildren(specificRecordingsPath).stream()
-                    .filter(filename -> !filename.equals(CONNECT_URL))
-                    .map(
-                            file -> {
-                                try {
-                                    return new ArchivedRecordingInfo(
-                                            targetId,
-                                            file,
-                                            webServer.getArchivedDownloadURL(targetId, file),
-                                            webServer.getArchivedReportURL(targetId, file),
-                                            recordingMetadataManager.getMetadata(
-                                                    new ConnectionDescriptor(targetId), file),
-                                            getFileSize(file),
-                                            getArchivedTime(file));
-                                } catch (IOException | URISyntaxException e) {
-                                    logger.warn("Recording list exception", e);
-                                    return null;
-                                }
-                            })
-                    .filter(Objects::nonNull)
-                    .forEach(archivedRecordings::add);
-            future.complete(archivedRecordings);
+            Map<String, List<ArchivedRecordingInfo>> recordings = new HashMap<>();
+            for (String targetId : targetIds) {
+                try {
+                    String jvmId = jvmIdHelper.getJvmId(targetId);
+                    String subdirectoryName = jvmIdHelper.jvmIdToSubdirectoryName(jvmId);
+                    recordings.put(
+                            targetId,
+                            describeArchivedRecordings(
+                                    catalog, webServer, targetId, subdirectoryName));
+                } catch (IOException e) {
+                    logger.warn("Couldn't get archived recordings for {}", targetId);
+                    logger.warn("Archived recordings get exception", e);
+                }
+            }
+            future.complete(recordings);
         } catch (ArchivePathException | IOException e) {
             future.completeExceptionally(e);
         }
         return future;
     }
 
+    private List<ArchivedRecordingInfo> describeArchivedRecordings(
+            ArchivedRecordingsCatalog catalog,
+            WebServer webServer,
+            String targetId,
+            String subdirectoryName) {
+        List<ArchivedRecordingInfo> archivedRecordings = new ArrayList<>();
+        for (ArchivedRecordingsCatalog.Entry entry :
+                catalog.getDirectory(subdirectoryName)
+                        .map(ArchivedRecordingsCatalog.Directory::getRecordings)
+                        .orElse(List.of())) {
+            try {
+                archivedRecordings.add(
+                        new ArchivedRecordingInfo(
+                                targetId,
+                                entry.getName(),
+                                webServer.getArchivedDownloadURL(targetId, entry.getName()),
+                                webServer.getArchivedReportURL(targetId, entry.getName()),
+                                entry.getMetadata(),
+                                entry.getSize(),
+                                entry.getArchivedTime()));
+            } catch (IOException | URISyntaxException e) {
+                logger.warn("Recording list exception", e);
+            }
+        }
+        return archivedRecordings;
+    }
+
     public Future<List<ArchiveDirectory>> getRecordingsAndDirectories() {
         CompletableFuture<List<ArchiveDirectory>> future = new CompletableFuture<>();
         try {
-            if (!fs.exists(archivedRecordingsPath)) {
-                throw new ArchivePathException(archivedRecordingsPath.toString(), "does not exist");
-            }
-            if (!fs.isReadable(archivedRecordingsPath)) {
-                throw new ArchivePathException(
-                        archivedRecordingsPath.toString(), "is not readable");
-            }
-            if (!fs.isDirectory(archivedRecordingsPath)) {
-                throw new ArchivePathException(
-                        archivedRecordingsPath.toString(), "is not a directory");
-            }
             WebServer webServer = webServerProvider.get();
             List<ArchiveDirectory> directories = new ArrayList<>();
-            List<String> subdirectories = this.fs.listDirectoryChildren(archivedRecordingsPath);
-            for (String subdirectoryName : subdirectories) {
-                if (subdirectoryName.equals(TEMP_UPLOADS_SUBDIRECTORY)) {
-                    continue;
+            for (ArchivedRecordingsCatalog.Directory directory : catalog().getDirectories()) {
+                String targetId = directory.getConnectUrl();
+                String jvmId = directory.getJvmId();
+                List<ArchivedRecordingInfo> temp = new ArrayList<>();
+                for (ArchivedRecordingsCatalog.Entry entry : directory.getRecordings()) {
+                    String file = entry.getName();
+                    try {
+                        // FIXME: string replacing
+                        temp.add(
+                                new ArchivedRecordingInfo(
+                                        targetId,
+                                        file,
+                                        webServer
+                                                .getArchivedDownloadURL(jvmId, file)
+                                                .replace("beta/recordings", "beta/fs/recordings"),
+                                        webServer
+                                                .getArchivedReportURL(jvmId, file)
+                                                .replace("beta/reports", "beta/fs/reports"),
+                                        entry.getMetadata(),
+                                        entry.getSize(),
+                                        entry.getArchivedTime()));
+                    } catch (IOException | URISyntaxException e) {
+                        logger.warn("Directory walk exception", e);
+                    }
                 }
-                Path subdirectory = archivedRecordingsPath.resolve(subdirectoryName);
-                String targetId = getConnectUrlFromPath(subdirectory).get();
-                String jvmId = jvmIdHelper.subdirectoryNameToJvmId(subdirectoryName);
-                List<String> files = this.fs.listDirectoryChildren(subdirectory);
-                List<ArchivedRecordingInfo> temp =
-                        files.stream()
-                                .filter(filename -> !filename.equals(CONNECT_URL))
-                                .map(
-                                        file -> {
-                                            try {
-                                                // FIXME: string replacing
-                                                return new ArchivedRecordingInfo(
-                                                        targetId,
-                                                        file,
-                                                        webServer
-                                                                .getArchivedDownloadURL(jvmId, file)
-                                                                .replace(
-                                                                        "beta/recordings",
-                                                                        "beta/fs/recordings"),
-                                                        webServer
-                                                                .getArchivedReportURL(jvmId, file)
-                                                                .replace(
-                                                                        "beta/reports",
-                                                                        "beta/fs/reports"),
-                                                        recordingMetadataManager
-                                                                .getMetadataFromPathIfExists(
-                                                                        jvmId, file),
-                                                        getFileSize(file),
-                                                        getArchivedTime(file));
-                                            } catch (IOException | URISyntaxException e) {
-                                                logger.warn("Directory walk exception", e);
-                                                return null;
-                                            }
-                                        })
-                                .filter(Objects::nonNull)
-                                .collect(Collectors.toList());
                 directories.add(new ArchiveDirectory(targetId, jvmId, temp));
             }
             future.complete(directories);
-        } catch (ArchivePathException | IOException | InterruptedException | ExecutionException e) {
+        } catch (ArchivePathException | IOException e) {
             future.completeExceptionally(e);
         }
         return future;
@@ -718,53 +812,29 @@ public class RecordingArchiveHelper {
         CompletableFuture<List<ArchivedRecordingInfo>> future = new CompletableFuture<>();
 
         try {
-            if (!fs.exists(archivedRecordingsPath)) {
-                throw new ArchivePathException(archivedRecordingsPath.toString(), "does not exist");
-            }
-            if (!fs.isReadable(archivedRecordingsPath)) {
-                throw new ArchivePathException(
-                        archivedRecordingsPath.toString(), "is not readable");
-            }
-            if (!fs.isDirectory(archivedRecordingsPath)) {
-                throw new ArchivePathException(
-                        archivedRecordingsPath.toString(), "is not a directory");
-            }
             WebServer webServer = webServerProvider.get();
-            List<String> subdirectories = this.fs.listDirectoryChildren(archivedRecordingsPath);
             List<ArchivedRecordingInfo> archivedRecordings = new ArrayList<>();
-            for (String subdirectoryName : subdirectories) {
-                Path subdirectory = archivedRecordingsPath.resolve(subdirectoryName);
-                String targetId = getConnectUrlFromPath(subdirectory).get();
-                List<String> files = this.fs.listDirectoryChildren(subdirectory);
-                List<ArchivedRecordingInfo> temp =
-                        files.stream()
-                                .filter(filename -> !filename.equals(CONNECT_URL))
-                                .map(
-                                        file -> {
-                                            try {
-                                                return new ArchivedRecordingInfo(
-                                                        targetId,
-                                                        file,
-                                                        webServer.getArchivedDownloadURL(
-                                                                targetId, file),
-                                                        webServer.getArchivedReportURL(
-                                                                targetId, file),
-                                                        recordingMetadataManager.getMetadata(
-                                                                new ConnectionDescriptor(targetId),
-                                                                file),
-                                                        getFileSize(file),
-                                                        getArchivedTime(file));
-                                            } catch (IOException | URISyntaxException e) {
-                                                logger.warn("Recording list exception", e);
-                                                return null;
-                                            }
-                                        })
-                                .filter(Objects::nonNull)
-                                .collect(Collectors.toList());
-                archivedRecordings.addAll(temp);
+            for (ArchivedRecordingsCatalog.Directory directory : catalog().getDirectories()) {
+                String targetId = directory.getConnectUrl();
+                for (ArchivedRecordingsCatalog.Entry entry : directory.getRecordings()) {
+                    String file = entry.getName();
+                    try {
+                        archivedRecordings.add(
+                                new ArchivedRecordingInfo(
+                                        targetId,
+                                        file,
+                                        webServer.getArchivedDownloadURL(targetId, file),
+                                        webServer.getArchivedReportURL(targetId, file),
+                                        entry.getMetadata(),
+                                        entry.getSize(),
+                                        entry.getArchivedTime()));
+                    } catch (IOException | URISyntaxException e) {
+                        logger.warn("Recording list exception", e);
+                    }
+                }
             }
             future.complete(archivedRecordings);
-        } catch (ArchivePathException | IOException | InterruptedException | ExecutionException e) {
+        } catch (ArchivePathException | IOException e) {
             future.completeExceptionally(e);
         }
         return future;
@@ -772,11 +842,12 @@ public class RecordingArchiveHelper {
 
     public Future<Path> getRecordingPathFromPath(String subdirectoryName, String recordingName) {
         try {
-            boolean checkConnectUrl = !jvmIdHelper.isSpecialDirectory(subdirectoryName);
+            if (catalog().getEntry(subdirectoryName, recordingName).isEmpty()) {
+                throw new RecordingNotFoundException(ARCHIVES, recordingName);
+            }
             Path path = archivedRecordingsPath.resolve(subdirectoryName).resolve(recordingName);
-            validateRecordingPath(Optional.of(path), recordingName, checkConnectUrl);
             return CompletableFuture.completedFuture(path);
-        } catch (RecordingNotFoundException | ArchivePathException e) {
+        } catch (RecordingNotFoundException | ArchivePathException | IOException e) {
             return CompletableFuture.failedFuture(e);
         }
     }
@@ -784,11 +855,11 @@ public class RecordingArchiveHelper {
     public Future<Path> getRecordingPath(String recordingName) {
         CompletableFuture<Path> future = new CompletableFuture<>();
         try {
-            List<String> subdirectories = this.fs.listDirectoryChildren(archivedRecordingsPath);
-            Optional<Path> optional =
-                    searchSubdirectories(subdirectories, archivedRecordingsPath, recordingName);
-            validateRecordingPath(optional, recordingName, false);
-            future.complete(optional.get());
+            Optional<String> subdirectoryName = catalog().findSubdirectory(recordingName);
+            if (subdirectoryName.isEmpty()) {
+                throw new RecordingNotFoundException(ARCHIVES, recordingName);
+            }
+            future.complete(getRecordingPathInSubdirectory(subdirectoryName.get(), recordingName));
         } catch (RecordingNotFoundException | IOException | ArchivePathException e) {
             future.completeExceptionally(e);
         }
@@ -801,54 +872,24 @@ public class RecordingArchiveHelper {
         }
         CompletableFuture<Path> future = new CompletableFuture<>();
         try {
-            String jvmId = jvmIdHelper.getJvmId(sourceTarget);
-            Path subdirectory = getRecordingSubdirectoryPath(jvmId);
-            if (!fs.exists(archivedRecordingsPath.resolve(subdirectory))) {
-                fs.createDirectory(archivedRecordingsPath.resolve(subdirectory));
-                fs.writeString(
-                        archivedRecordingsPath.resolve(subdirectory.resolve(CONNECT_URL)),
-                        sourceTarget,
-                        StandardOpenOption.CREATE);
-            }
-            Path archivedRecording = searchSubdirectory(subdirectory, recordingName);
-            if (archivedRecording == null) {
+            String subdirectoryName =
+                    jvmIdHelper.jvmIdToSubdirectoryName(jvmIdHelper.getJvmId(sourceTarget));
+            if (catalog().getEntry(subdirectoryName, recordingName).isEmpty()) {
                 throw new RecordingNotFoundException(sourceTarget, recordingName);
             }
-            validateRecordingPath(Optional.of(archivedRecording), recordingName, true);
-            future.complete(archivedRecording);
+            future.complete(getRecordingPathInSubdirectory(subdirectoryName, recordingName));
         } catch (RecordingNotFoundException | ArchivePathException | IOException e) {
             future.completeExceptionally(e);
         }
         return future;
     }
 
-    private Path searchSubdirectory(Path subdirectory, String recordingName) {
-        Path recordingPath = null;
-        try {
-            for (String file : this.fs.listDirectoryChildren(subdirectory)) {
-                if (file.equals(CONNECT_URL)) continue;
-                if (recordingName.equals(file)) {
-                    recordingPath = subdirectory.resolve(file).normalize().toAbsolutePath();
-                    break;
-                }
-            }
-        } catch (IOException ioe) {
-            logger.error("Directory search exception", ioe);
-        }
-        return recordingPath;
-    }
-
-    private Optional<Path> searchSubdirectories(
-            List<String> subdirectories, Path parent, String recordingName) {
-        // TODO refactor this into nicer streaming
-        return subdirectories.stream()
-                .map(parent::resolve)
-                .map(
-                        subdirectory -> {
-                            return searchSubdirectory(subdirectory, recordingName);
-                        })
-                .filter(Objects::nonNull)
-                .findFirst();
+    private Path getRecordingPathInSubdirectory(String subdirectoryName, String recordingName) {
+        return archivedRecordingsPath
+                .resolve(subdirectoryName)
+                .resolve(recordingName)
+                .normalize()
+                .toAbsolutePath();
     }
 
     public void validateSourceTarget(String sourceTarget)
@@ -858,38 +899,25 @@ public class RecordingArchiveHelper {
         }
         // assume sourceTarget is percent encoded
         String decodedTargetId = URLDecoder.decode(sourceTarget, StandardCharsets.UTF_8);
-        boolean exists =
-                this.platformClient.listDiscoverableServices().stream()
-                        .anyMatch(
-                                target ->
-                                        target.getServiceUri().toString().equals(decodedTargetId));
+        boolean exists;
+        try {
+            exists =
+                    this.platformClient
+                            .lookupServicesByConnectUrl(new URI(decodedTargetId))
+                            .stream()
+                            .anyMatch(
+                                    target ->
+                                            target.getServiceUri()
+                                                    .toString()
+                                                    .equals(decodedTargetId));
+        } catch (URISyntaxException e) {
+            exists = false;
+        }
         if (!exists) {
             throw new RecordingSourceTargetNotFoundException(decodedTargetId);
         }
     }
 
-    private void validateRecordingPath(
-            Optional<Path> optional, String recordingName, boolean checkConnectUrl)
-            throws RecordingNotFoundException, ArchivePathException {
-        if (optional.isEmpty()) {
-            throw new RecordingNotFoundException(ARCHIVES, recordingName);
-        }
-        Path archivedRecording = optional.get();
-        if (!fs.exists(archivedRecording)) {
-            throw new ArchivePathException(archivedRecording.toString(), "does not exist");
-        }
-        if (!fs.isRegularFile(archivedRecording)) {
-            throw new ArchivePathException(archivedRecording.toString(), "is not a regular file");
-        }
-        if (!fs.isReadable(archivedRecording)) {
-            throw new ArchivePathException(archivedRecording.toString(), "is not readable");
-        }
-        if (checkConnectUrl && !fs.exists(archivedRecording.resolveSibling(CONNECT_URL))) {
-            throw new ArchivePathException(
-                    archivedRecording.resolveSibling(CONNECT_URL).toString(), "does not exist");
-        }
-    }
-
     Path writeRecordingToDestination(JFRConnection connection, IRecordingDescriptor descriptor)
             throws IOException, URISyntaxException, FlightRecorderException, Exception {
         URI serviceUri = URIUtil.getConnectionUri(connection);
@@ -908,15 +936,9 @@ public class RecordingArchiveHelper {
             recordingName = recordingName.substring(0, recordingName.length() - 4);
         }
 
-        // TODO: To avoid having to perform this lookup each time, we should implement
-        // something like a map from targetIds to corresponding ServiceRefs
         String targetName =
-                platformClient.listDiscoverableServices().stream()
-                        .filter(
-                                serviceRef -> {
-                                    return serviceRef.getServiceUri().equals(serviceUri)
-                                            && serviceRef.getAlias().isPresent();
-                                })
+                platformClient.lookupServicesByConnectUrl(serviceUri).stream()
+                        .filter(serviceRef -> serviceRef.getAlias().isPresent())
                         .map(s -> s.getAlias().get())
                         .findFirst()
                         .orElse(connection.getHost())
@@ -975,38 +997,6 @@ public class RecordingArchiveHelper {
                 .findFirst();
     }
 
-    private long getFileSize(String recordingName) {
-        try {
-            return Files.size(getRecordingPath(recordingName).get());
-        } catch (IOException | InterruptedException | ExecutionException e) {
-            logger.error("Invalid path: {}", recordingName);
-            return 0;
-        }
-    }
-
-    private long getArchivedTime(String recordingName) {
-        try {
-            FileTime fileTime =
-                    (FileTime)
-                            Files.getAttribute(
-                                    getRecordingPath(recordingName).get(), "creationTime");
-            return fileTime.toMillis();
-        } catch (IOException | InterruptedException | ExecutionException e) {
-            logger.error("Invalid path: {}", recordingName);
-            return 0;
-        }
-    }
-
-    private long getLastModifiedTime(Path path) {
-        try {
-            FileTime fileTime = (FileTime) Files.getAttribute(path, "lastModifiedTime");
-            return fileTime.toMillis();
-        } catch (IOException e) {
-            logger.error("Invalid path: {}", path);
-            return 0;
-        }
-    }
-
     // Timestamp must be in form of 20191219T213834Z (YYYYMMDDTHHMMSSZ)
     // Used on the third regex matcher group of a Cryostat archived recording name
     public long getArchivedTimeFromTimestamp(String timestamp) {
@@ -1031,28 +1021,29 @@ public class RecordingArchiveHelper {
     // Preconditions:
     // 1. The uploaded recording(s) were saved to the fs before calling this method
     public boolean pruneTargetUploads(String subdirectoryName, int maxUploads) throws IOException {
-        Path subdirectoryPath = this.archivedRecordingsPath.resolve(subdirectoryName);
-        if (!fs.exists(subdirectoryPath)) {
-            throw new IllegalArgumentException("Invalid path: " + subdirectoryPath);
+        Optional<ArchivedRecordingsCatalog.Directory> directory;
+        try {
+            directory = catalog().getDirectory(subdirectoryName);
+        } catch (ArchivePathException e) {
+            throw new IOException(e);
+        }
+        if (directory.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Invalid path: " + archivedRecordingsPath.resolve(subdirectoryName));
         }
-        List<String> recordings = fs.listDirectoryChildren(subdirectoryPath);
-        recordings.remove(CONNECT_URL);
+        List<ArchivedRecordingsCatalog.Entry> recordings = directory.get().getRecordings();
         if (recordings.size() <= maxUploads) {
             return false;
         }
 
         List<Future<ArchivedRecordingInfo>> toDelete =
                 recordings.stream()
-                        .map(subdirectoryPath::resolve)
-                        .filter(fs::isRegularFile)
-                        .filter(n -> n.getFileName().toString().endsWith(".jfr"))
+                        .filter(e -> e.getName().endsWith(".jfr"))
                         .sorted(
-                                (Path p1, Path p2) ->
-                                        this.getLastModifiedTime(p1) > this.getLastModifiedTime(p2)
-                                                ? -1
-                                                : 1)
-                        .map(Path::getFileName)
-                        .map(Path::toString)
+                                Comparator.comparingLong(
+                                                ArchivedRecordingsCatalog.Entry::getArchivedTime)
+                                        .reversed())
+                        .map(ArchivedRecordingsCatalog.Entry::getName)
                         .skip(maxUploads)
                         .map((String r) -> this.deleteRecordingFromPath(subdirectoryName, r))
                         .toList();
@@ -1137,6 +1128,15 @@ public class RecordingArchiveHelper {
                                                             makeFailedAsyncResult(res2.cause()));
                                                     return;
                                                 }
+                                                catalog.put(
+                                                        subdirectoryName,
+                                                        connectUrl,
+                                                        jvmIdHelper.subdirectoryNameToJvmId(
+                                                                subdirectoryName),
+                                                        describeRecording(
+                                                                specificRecordingsPath,
+                                                                filename,
+                                                                new Metadata()));
                                                 handler.handle(makeAsyncResult(filename));
                                             });
                         });
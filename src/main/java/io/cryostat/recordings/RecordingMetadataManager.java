@@ -20,10 +20,13 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -46,6 +49,7 @@ import io.cryostat.discovery.DiscoveryStorage;
 import io.cryostat.messaging.notifications.NotificationFactory;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.platform.PlatformClient;
 import io.cryostat.platform.ServiceRef;
 import io.cryostat.platform.TargetDiscoveryEvent;
@@ -54,6 +58,7 @@ import io.cryostat.util.events.EventListener;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import io.vertx.core.AbstractVerticle;
@@ -62,7 +67,6 @@ import io.vertx.core.eventbus.EventBus;
 import org.apache.commons.codec.binary.Base32;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,7 +81,9 @@ public class RecordingMetadataManager extends AbstractVerticle
     private final Path archivedRecordingsPath;
     private final long connectionTimeoutSeconds;
     private final FileSystem fs;
+    private final RecordingMetadataStore store;
     private final Provider<RecordingArchiveHelper> archiveHelperProvider;
+    private final ArchivedRecordingsCatalog catalog;
     private final TargetConnectionManager targetConnectionManager;
     private final CredentialsManager credentialsManager;
     private final PlatformClient platformClient;
@@ -95,7 +101,9 @@ public class RecordingMetadataManager extends AbstractVerticle
             Path archivedRecordingsPath,
             long connectionTimeoutSeconds,
             FileSystem fs,
+            RecordingMetadataStore store,
             Provider<RecordingArchiveHelper> archiveHelperProvider,
+            ArchivedRecordingsCatalog catalog,
             TargetConnectionManager targetConnectionManager,
             CredentialsManager credentialsManager,
             PlatformClient platformClient,
@@ -108,7 +116,9 @@ public class RecordingMetadataManager extends AbstractVerticle
         this.archivedRecordingsPath = archivedRecordingsPath;
         this.connectionTimeoutSeconds = connectionTimeoutSeconds;
         this.fs = fs;
+        this.store = store;
         this.archiveHelperProvider = archiveHelperProvider;
+        this.catalog = catalog;
         this.targetConnectionManager = targetConnectionManager;
         this.credentialsManager = credentialsManager;
         this.platformClient = platformClient;
@@ -122,237 +132,26 @@ public class RecordingMetadataManager extends AbstractVerticle
     public void start(Promise<Void> future) {
         this.platformClient.addTargetDiscoveryListener(this);
         this.jvmIdHelper.addListener(this);
-        Map<StoredRecordingMetadata, Path> staleMetadata =
-                new HashMap<StoredRecordingMetadata, Path>();
+        Set<StoredRecordingMetadata> staleMetadata = new HashSet<>();
         RecordingArchiveHelper archiveHelper = archiveHelperProvider.get();
         try {
-            this.fs.listDirectoryChildren(recordingMetadataDir).stream()
-                    .peek(n -> logger.info("Peeking contents of metadata directory: {}", n))
-                    .map(recordingMetadataDir::resolve)
-                    .forEach(
-                            subdirectory -> {
-                                if (fs.isDirectory(subdirectory)) {
-                                    try {
-                                        String subdirectoryName =
-                                                subdirectory.getFileName().toString();
-                                        if (jvmIdHelper.isSpecialDirectory(subdirectoryName)) {
-                                            logger.info(
-                                                    "Skipping metadata validation: appears to be a"
-                                                            + " special location: {}",
-                                                    subdirectoryName);
-                                            return;
-                                        } else if (this.fs
-                                                .listDirectoryChildren(subdirectory)
-                                                .isEmpty()) {
-                                            logger.info(
-                                                    "Deleting empty recording metadata directory:"
-                                                            + " {}",
-                                                    subdirectory);
-                                            this.fs.deleteIfExists(subdirectory);
-                                        } else {
-                                            this.fs.listDirectoryChildren(subdirectory).stream()
-                                                    .peek(
-                                                            n ->
-                                                                    logger.trace(
-                                                                            "Recording"
-                                                                                    + " Metadata"
-                                                                                    + " file:"
-                                                                                    + " {}",
-                                                                            n))
-                                                    .map(subdirectory::resolve)
-                                                    .filter(fs::isRegularFile)
-                                                    .filter(
-                                                            path ->
-                                                                    !path.getFileName()
-                                                                            .toString()
-                                                                            .equals("connectUrl"))
-                                                    .map(
-                                                            path -> {
-                                                                try {
-                                                                    return Pair.of(
-                                                                            fs.readFile(path),
-                                                                            path);
-                                                                } catch (IOException ioe) {
-                                                                    logger.error(
-                                                                            "Could not read"
-                                                                                    + " metadata"
-                                                                                    + " file"
-                                                                                    + " {}, msg:"
-                                                                                    + " {}",
-                                                                            path,
-                                                                            ioe.getMessage());
-                                                                    deleteMetadataPathIfExists(
-                                                                            path);
-                                                                    return null;
-                                                                }
-                                                            })
-                                                    .filter(Objects::nonNull)
-                                                    .forEach(
-                                                            pair -> {
-                                                                try (BufferedReader br =
-                                                                        pair.getLeft()) {
-                                                                    StoredRecordingMetadata srm =
-                                                                            gson.fromJson(
-                                                                                    br,
-                                                                                    StoredRecordingMetadata
-                                                                                            .class);
-                                                                    Path file = pair.getRight();
-                                                                    String targetId =
-                                                                            srm.getTargetId();
-                                                                    String recordingName =
-                                                                            srm.getRecordingName();
-                                                                    // jvmId should always exist
-                                                                    // since we are using directory
-                                                                    // structure
-                                                                    if (srm.getJvmId() != null) {
-                                                                        try {
-                                                                            if (!isArchivedRecording(
-                                                                                    recordingName)) {
-                                                                                logger.info(
-                                                                                        "Potentially"
-                                                                                            + " stale"
-                                                                                            + " metadata"
-                                                                                            + " file:"
-                                                                                            + " {}, for"
-                                                                                            + " target:"
-                                                                                            + " {}",
-                                                                                        recordingName,
-                                                                                        targetId);
-                                                                                staleMetadata.put(
-                                                                                        srm, file);
-                                                                                return;
-                                                                            }
-                                                                        } catch (IOException e) {
-                                                                            logger.error(
-                                                                                    "Could not"
-                                                                                        + " check"
-                                                                                        + " if recording"
-                                                                                        + " {} exists"
-                                                                                        + " on target"
-                                                                                        + " {}, msg:"
-                                                                                        + " {}",
-                                                                                    recordingName,
-                                                                                    targetId,
-                                                                                    e.getMessage());
-                                                                        }
-                                                                    } else {
-                                                                        logger.warn(
-                                                                                "Invalid metadata"
-                                                                                    + " with no"
-                                                                                    + " jvmId"
-                                                                                    + " originating"
-                                                                                    + " from {}",
-                                                                                targetId);
-                                                                        deleteMetadataPathIfExists(
-                                                                                file);
-                                                                    }
-                                                                } catch (IOException ioe) {
-                                                                    logger.error(
-                                                                            "Metadata"
-                                                                                + " deserialization"
-                                                                                + " exception",
-                                                                            ioe);
-                                                                }
-                                                            });
-                                        }
-                                    } catch (IOException e) {
-                                        logger.error(
-                                                "Could not read metadata subdirectory"
-                                                        + " {}, msg: {}",
-                                                subdirectory,
-                                                e.getMessage());
-                                    }
-                                }
-                                /* TODO: This is a ONE-TIME migration check for the old metadata files that were stored without a directory
-                                (remove after 2.2.0 release and replace with subdirectory::fs.isDirectory (ignore files))? */
-                                else if (fs.isRegularFile(subdirectory)) {
-                                    StoredRecordingMetadata srm;
-                                    try (BufferedReader br = fs.readFile(subdirectory)) {
-                                        srm = gson.fromJson(br, StoredRecordingMetadata.class);
-                                    } catch (Exception e) {
-                                        logger.error(
-                                                "Could not read file {} in recordingMetadata"
-                                                        + " directory, msg: {}",
-                                                subdirectory,
-                                                e.getMessage());
-                                        deleteMetadataPathIfExists(subdirectory);
-                                        return;
-                                    }
-                                    logger.info("Found old metadata file: {}", subdirectory);
-                                    String targetId = srm.getTargetId();
-                                    String recordingName = srm.getRecordingName();
-                                    if (targetId.equals("archives")) {
-                                        try {
-                                            if (isArchivedRecording(recordingName)) {
-
-                                                Path recordingPath =
-                                                        archiveHelper
-                                                                .getRecordingPath(recordingName)
-                                                                .get();
-                                                String subdirectoryName =
-                                                        recordingPath
-                                                                .getParent()
-                                                                .getFileName()
-                                                                .toString();
-                                                String newTargetId =
-                                                        new String(
-                                                                base32.decode(subdirectoryName),
-                                                                StandardCharsets.UTF_8);
-                                                logger.info(
-                                                        "Found metadata corresponding"
-                                                                + " to archived recording:"
-                                                                + " {}",
-                                                        recordingName);
-                                                setRecordingMetadata(
-                                                        new ConnectionDescriptor(newTargetId),
-                                                        recordingName,
-                                                        new Metadata(srm.getLabels()));
-                                            } else {
-                                                logger.warn(
-                                                        "Found metadata for lost"
-                                                                + " archived recording: {}",
-                                                        recordingName,
-                                                        subdirectory);
-                                                deleteMetadataPathIfExists(subdirectory);
-                                            }
-                                        } catch (InterruptedException | ExecutionException e) {
-                                            logger.error(
-                                                    "Couldn't get recording path {}",
-                                                    recordingName);
-                                        } catch (IOException e) {
-                                            logger.error(
-                                                    "Couldn't check if recording was"
-                                                            + " archived {}",
-                                                    recordingName);
-                                        }
-
-                                    } else {
-                                        logger.info(
-                                                "Potentially stale metadata file: {}, for target:"
-                                                        + " {}",
-                                                recordingName,
-                                                targetId);
-                                        staleMetadata.put(srm, subdirectory);
-                                        return;
-                                    }
-                                    try {
-                                        fs.deleteIfExists(subdirectory);
-                                        logger.info("Removed old metadata file: {}", subdirectory);
-                                    } catch (IOException e) {
-                                        logger.error(
-                                                "Failed to delete metadata file {}," + " msg: {}",
-                                                subdirectory,
-                                                e.getCause());
-                                    }
-                                } else {
-                                    logger.warn(
-                                            "Recording metadata subdirectory {} is"
-                                                    + " neither a directory nor a file",
-                                            subdirectory);
-                                    throw new IllegalStateException(
-                                            subdirectory + " is neither a directory nor a file");
-                                }
-                            });
+            store.load();
+            Set<String> archivedRecordingNames = getArchivedRecordingNames();
+            importLegacyMetadata(archiveHelper, archivedRecordingNames, staleMetadata);
+
+            for (StoredRecordingMetadata srm : store.getAll()) {
+                if (jvmIdHelper.isSpecialDirectory(
+                        jvmIdHelper.jvmIdToSubdirectoryName(srm.getJvmId()))) {
+                    continue;
+                }
+                if (!archivedRecordingNames.contains(srm.getRecordingName())) {
+                    logger.info(
+                            "Potentially stale metadata: {}, for target: {}",
+                            srm.getRecordingName(),
+                            srm.getTargetId());
+                    staleMetadata.add(srm);
+                }
+            }
 
             future.complete();
         } catch (IOException e) {
@@ -360,7 +159,7 @@ public class RecordingMetadataManager extends AbstractVerticle
                     "Could not read recording metadata directory! {}, msg: {}",
                     recordingMetadataDir,
                     e.getMessage());
-            future.fail(e.getCause());
+            future.fail(e);
         }
         EventBus eb = vertx.eventBus();
         eb.consumer(
@@ -393,6 +192,141 @@ public class RecordingMetadataManager extends AbstractVerticle
     @Override
     public void stop() {
         this.platformClient.removeTargetDiscoveryListener(this);
+        try {
+            store.close();
+        } catch (IOException e) {
+            logger.error("Could not flush recording metadata", e);
+        }
+    }
+
+    // ONE-TIME migration of metadata stored as one JSON file per recording, either within a
+    // subdirectory per JVM ID or (before 2.2.0) directly within the metadata directory, into the
+    // metadata store
+    private void importLegacyMetadata(
+            RecordingArchiveHelper archiveHelper,
+            Set<String> archivedRecordingNames,
+            Set<StoredRecordingMetadata> staleMetadata)
+            throws IOException {
+        List<Path> imported = new ArrayList<>();
+        for (String child : fs.listDirectoryChildren(recordingMetadataDir)) {
+            if (child.startsWith(RecordingMetadataStore.LOG_FILE)) {
+                continue;
+            }
+            Path path = recordingMetadataDir.resolve(child);
+            if (fs.isDirectory(path)) {
+                importLegacyMetadataDirectory(path, imported);
+            } else if (fs.isRegularFile(path)) {
+                if (importOldMetadataFile(
+                        archiveHelper, archivedRecordingNames, path, staleMetadata)) {
+                    imported.add(path);
+                }
+            } else {
+                logger.warn(
+                        "Recording metadata subdirectory {} is neither a directory nor a file",
+                        path);
+                throw new IllegalStateException(path + " is neither a directory nor a file");
+            }
+        }
+        if (imported.isEmpty()) {
+            return;
+        }
+        // the legacy files are the only durable copy of the imported metadata until the store
+        // has been flushed
+        store.flush();
+        imported.forEach(this::deleteMetadataPathIfExists);
+    }
+
+    private void importLegacyMetadataDirectory(Path subdirectory, List<Path> imported)
+            throws IOException {
+        logger.info("Importing contents of legacy metadata directory: {}", subdirectory);
+        boolean hasFiles = false;
+        for (String child : fs.listDirectoryChildren(subdirectory)) {
+            Path file = subdirectory.resolve(child);
+            if (!fs.isRegularFile(file)) {
+                continue;
+            }
+            hasFiles = true;
+            try (BufferedReader br = fs.readFile(file)) {
+                StoredRecordingMetadata srm = gson.fromJson(br, StoredRecordingMetadata.class);
+                if (srm != null && srm.getJvmId() != null && srm.getRecordingName() != null) {
+                    store.put(srm);
+                } else {
+                    logger.warn("Discarding invalid metadata file {}", file);
+                }
+                imported.add(file);
+            } catch (IOException | JsonParseException e) {
+                logger.error(
+                        "Could not read metadata file {}, leaving it in place, msg: {}",
+                        file,
+                        e.getMessage());
+            }
+        }
+        if (!hasFiles) {
+            deleteSubdirectoryIfEmpty(subdirectory);
+        }
+    }
+
+    /**
+     * @return true if the file was read and its contents imported or deliberately discarded, so
+     *     that it may be deleted
+     */
+    private boolean importOldMetadataFile(
+            RecordingArchiveHelper archiveHelper,
+            Set<String> archivedRecordingNames,
+            Path file,
+            Set<StoredRecordingMetadata> staleMetadata) {
+        StoredRecordingMetadata srm;
+        try (BufferedReader br = fs.readFile(file)) {
+            srm = gson.fromJson(br, StoredRecordingMetadata.class);
+        } catch (Exception e) {
+            logger.error(
+                    "Could not read file {} in recordingMetadata directory, leaving it in place,"
+                            + " msg: {}",
+                    file,
+                    e.getMessage());
+            return false;
+        }
+        logger.info("Found old metadata file: {}", file);
+        String targetId = srm.getTargetId();
+        String recordingName = srm.getRecordingName();
+        if (targetId.equals("archives")) {
+            if (archivedRecordingNames.contains(recordingName)) {
+                try {
+                    Path subdirectory =
+                            archiveHelper.getRecordingPath(recordingName).get().getParent();
+                    Path subdirectoryName =
+                            subdirectory == null ? null : subdirectory.getFileName();
+                    if (subdirectoryName == null) {
+                        throw new IOException(recordingName + " has no archive subdirectory");
+                    }
+                    String newTargetId =
+                            new String(
+                                    base32.decode(subdirectoryName.toString()),
+                                    StandardCharsets.UTF_8);
+                    logger.info(
+                            "Found metadata corresponding to archived recording: {}",
+                            recordingName);
+                    setRecordingMetadata(
+                            new ConnectionDescriptor(newTargetId),
+                            recordingName,
+                            new Metadata(srm.getLabels()));
+                } catch (InterruptedException | ExecutionException e) {
+                    logger.error("Couldn't get recording path {}", recordingName);
+                } catch (IOException e) {
+                    logger.error(
+                            "Couldn't set metadata for archived recording {}, msg: {}",
+                            recordingName,
+                            e.getMessage());
+                }
+            } else {
+                logger.warn("Found metadata for lost archived recording: {}", recordingName);
+            }
+        } else {
+            logger.info(
+                    "Potentially stale metadata file: {}, for target: {}", recordingName, targetId);
+            staleMetadata.add(srm);
+        }
+        return true;
     }
 
     @Override
@@ -449,12 +383,11 @@ public class RecordingMetadataManager extends AbstractVerticle
         }
     }
 
-    // Pre-condition: staleMetadata is Mapping of metadata to its filesystem path, pertaining to any
-    // previously active recording
-    private void pruneStaleMetadata(Map<StoredRecordingMetadata, Path> staleMetadata) {
+    // Pre-condition: staleMetadata pertains to previously active recordings
+    private void pruneStaleMetadata(Set<StoredRecordingMetadata> staleMetadata) {
         logger.info("Beginning to prune potentially stale metadata...");
         staleMetadata.forEach(
-                (srm, path) -> {
+                srm -> {
                     String targetId = srm.getTargetId();
                     String recordingName = srm.getRecordingName();
                     ConnectionDescriptor cd;
@@ -469,14 +402,15 @@ public class RecordingMetadataManager extends AbstractVerticle
                     }
                     logger.info(
                             "Attempting to prune potentially stale recording metadata {}, from"
-                                    + " target {}, on path {}",
+                                    + " target {}",
                             recordingName,
-                            targetId,
-                            path);
+                            targetId);
                     if (!targetRecordingExists(cd, recordingName)) {
                         // recording was lost
                         logger.info("Active recording lost {}, deleting...", recordingName);
-                        deleteMetadataPathIfExists(path);
+                        if (srm.getJvmId() != null) {
+                            store.remove(srm.getJvmId(), recordingName);
+                        }
                     } else {
                         // target still up
                         logger.info(
@@ -507,13 +441,8 @@ public class RecordingMetadataManager extends AbstractVerticle
                         .get();
         String jvmId = jvmIdHelper.subdirectoryNameToJvmId(subdirectoryName);
 
-        Path metadataPath = this.getMetadataPath(jvmId, recordingName);
-        fs.writeString(
-                metadataPath,
-                gson.toJson(StoredRecordingMetadata.of(connectUrl, jvmId, recordingName, metadata)),
-                StandardOpenOption.WRITE,
-                StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING);
+        store.put(StoredRecordingMetadata.of(connectUrl, jvmId, recordingName, metadata));
+        catalog.setMetadata(subdirectoryName, recordingName, metadata);
 
         notificationFactory
                 .createOwnedResourceBuilder(connectUrl, NOTIFICATION_CATEGORY)
@@ -536,18 +465,11 @@ public class RecordingMetadataManager extends AbstractVerticle
         Objects.requireNonNull(metadata);
         String jvmId = jvmIdHelper.getJvmId(connectionDescriptor);
 
-        Path metadataPath = this.getMetadataPath(jvmId, recordingName);
-        fs.writeString(
-                metadataPath,
-                gson.toJson(
-                        StoredRecordingMetadata.of(
-                                connectionDescriptor.getTargetId(),
-                                jvmId,
-                                recordingName,
-                                metadata)),
-                StandardOpenOption.WRITE,
-                StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING);
+        store.put(
+                StoredRecordingMetadata.of(
+                        connectionDescriptor.getTargetId(), jvmId, recordingName, metadata));
+        // no-op unless this is an archived recording
+        catalog.setMetadata(jvmIdHelper.jvmIdToSubdirectoryName(jvmId), recordingName, metadata);
 
         if (issueNotification) {
             notificationFactory
@@ -584,8 +506,6 @@ public class RecordingMetadataManager extends AbstractVerticle
         Objects.requireNonNull(connectionDescriptor);
         Objects.requireNonNull(recordingName);
 
-        Metadata metadata = null;
-
         String jvmId;
         if (connectionDescriptor.getTargetId().equals(UPLOADS)) {
             jvmId = UPLOADS;
@@ -593,16 +513,7 @@ public class RecordingMetadataManager extends AbstractVerticle
             jvmId = jvmIdHelper.getJvmId(connectionDescriptor);
         }
 
-        Path metadataPath = getMetadataPath(jvmId, recordingName);
-        if (!fs.isRegularFile(metadataPath)) {
-            metadata = new Metadata();
-            fs.writeString(metadataPath, gson.toJson(metadata));
-        } else {
-            try (BufferedReader br = fs.readFile(metadataPath)) {
-                metadata = gson.fromJson(br, Metadata.class);
-            }
-        }
-        return metadata;
+        return store.get(jvmId, recordingName).map(Metadata::new).orElseGet(Metadata::new);
     }
 
     // Public metadata getter which doesn't rely on target being available
@@ -610,15 +521,7 @@ public class RecordingMetadataManager extends AbstractVerticle
             throws IOException {
         Objects.requireNonNull(jvmId);
         Objects.requireNonNull(recordingName);
-        Path metadataPath = getMetadataPath(jvmId, recordingName);
-        if (!fs.isRegularFile(metadataPath)) {
-            Metadata metadata = new Metadata();
-            fs.writeString(metadataPath, gson.toJson(metadata));
-            return metadata;
-        }
-        try (BufferedReader br = fs.readFile(metadataPath)) {
-            return gson.fromJson(br, Metadata.class);
-        }
+        return store.get(jvmId, recordingName).map(Metadata::new).orElseGet(Metadata::new);
     }
 
     public Metadata deleteRecordingMetadataIfExists(
@@ -635,17 +538,7 @@ public class RecordingMetadataManager extends AbstractVerticle
         Objects.requireNonNull(jvmId);
         Objects.requireNonNull(recordingName);
 
-        Path metadataPath = this.getMetadataPath(jvmId, recordingName);
-        if (fs.isRegularFile(metadataPath)) {
-            try (BufferedReader br = fs.readFile(metadataPath)) {
-                Metadata metadata = gson.fromJson(br, Metadata.class);
-                if (fs.deleteIfExists(metadataPath)) {
-                    deleteSubdirectoryIfEmpty(metadataPath.getParent());
-                }
-                return metadata;
-            }
-        }
-        return null;
+        return store.remove(jvmId, recordingName).map(Metadata::new).orElse(null);
     }
 
     public Future<Metadata> copyMetadataToArchives(
@@ -688,58 +581,30 @@ public class RecordingMetadataManager extends AbstractVerticle
             String targetId = cd.getTargetId();
             String newJvmId = jvmIdHelper.getJvmId(targetId);
 
-            Path subdirectoryPath = null;
-            for (String encodedJvmId : fs.listDirectoryChildren(archivedRecordingsPath)) {
-                Path subdir = archivedRecordingsPath.resolve(encodedJvmId);
-                Path connectUrl = subdir.resolve("connectUrl");
-                if (fs.exists(connectUrl)) {
-                    String u = fs.readString(connectUrl);
-                    if (Objects.equals(targetId, u)) {
-                        subdirectoryPath = subdir;
-                        break;
-                    }
-                }
-            }
-            if (subdirectoryPath == null) {
-                return;
-            }
-            Path subdirName = subdirectoryPath.getFileName();
-            if (subdirName == null) {
+            Optional<String> oldJvmId =
+                    catalog.getDirectories().stream()
+                            .filter(d -> Objects.equals(targetId, d.getConnectUrl()))
+                            .map(ArchivedRecordingsCatalog.Directory::getJvmId)
+                            .findFirst();
+            if (oldJvmId.isEmpty()) {
                 return;
             }
-            String oldJvmId =
-                    new String(base32.decode(subdirName.toString()), StandardCharsets.UTF_8);
 
-            if (Objects.equals(oldJvmId, newJvmId)) {
-                logger.info("Skipping {} metadata transfer: {}", targetId, oldJvmId);
+            if (Objects.equals(oldJvmId.get(), newJvmId)) {
+                logger.info("Skipping {} metadata transfer: {}", targetId, oldJvmId.get());
                 return;
             }
 
-            logger.info("[{}] Metadata transfer: {} -> {}", targetId, oldJvmId, newJvmId);
-            Path oldParent = getMetadataPath(oldJvmId);
-            for (String encodedFilename : fs.listDirectoryChildren(oldParent)) {
-                Path oldMetadataPath = oldParent.resolve(encodedFilename);
-                try (BufferedReader storedMetadata = fs.readFile(oldMetadataPath)) {
-                    StoredRecordingMetadata srm =
-                            gson.fromJson(storedMetadata, StoredRecordingMetadata.class);
-                    String recordingName = srm.recordingName;
-                    StoredRecordingMetadata updatedSrm =
-                            StoredRecordingMetadata.of(targetId, newJvmId, recordingName, srm);
-                    Path newLocation = getMetadataPath(newJvmId, recordingName);
-                    fs.writeString(newLocation, gson.toJson(updatedSrm));
-
-                    fs.deleteIfExists(oldMetadataPath);
-                } catch (Exception e) {
-                    logger.error("Metadata could not be transferred", e);
-                }
-            }
-            if (fs.listDirectoryChildren(oldParent).isEmpty()) {
-                fs.deleteIfExists(oldParent);
+            logger.info("[{}] Metadata transfer: {} -> {}", targetId, oldJvmId.get(), newJvmId);
+            for (StoredRecordingMetadata srm : store.getAll(oldJvmId.get())) {
+                String recordingName = srm.getRecordingName();
+                store.put(StoredRecordingMetadata.of(targetId, newJvmId, recordingName, srm));
+                store.remove(oldJvmId.get(), recordingName);
             }
             logger.info(
                     "[{}] Metadata successfully transferred: {} -> {}",
                     targetId,
-                    oldJvmId,
+                    oldJvmId.get(),
                     newJvmId);
         } catch (IOException e) {
             logger.error("Metadata could not be transferred upon target restart", e);
@@ -748,15 +613,10 @@ public class RecordingMetadataManager extends AbstractVerticle
 
     private void removeLostTargetMetadata(String jvmId) {
         try {
-            for (String encodedFilename : fs.listDirectoryChildren(getMetadataPath(jvmId))) {
-                String recordingName =
-                        new String(base32.decode(encodedFilename), StandardCharsets.UTF_8);
-                try {
-                    if (!isArchivedRecording(recordingName)) {
-                        deleteRecordingMetadataIfExists(jvmId, recordingName);
-                    }
-                } catch (IOException e) {
-                    logger.error("Metadata deletion exception", e);
+            Set<String> archivedRecordingNames = getArchivedRecordingNames();
+            for (StoredRecordingMetadata srm : store.getAll(jvmId)) {
+                if (!archivedRecordingNames.contains(srm.getRecordingName())) {
+                    store.remove(jvmId, srm.getRecordingName());
                 }
             }
         } catch (IOException e) {
@@ -764,35 +624,22 @@ public class RecordingMetadataManager extends AbstractVerticle
         }
     }
 
-    private boolean isArchivedRecording(String recordingName) throws IOException {
+    private Set<String> getArchivedRecordingNames() throws IOException {
+        Set<String> names = new HashSet<>();
         try {
-            return this.fs.listDirectoryChildren(archivedRecordingsPath).stream()
-                    .map(
-                            subdirectory -> {
-                                try {
-                                    return fs
-                                            .listDirectoryChildren(
-                                                    archivedRecordingsPath.resolve(subdirectory))
-                                            .stream()
-                                            .anyMatch(
-                                                    filename -> {
-                                                        return filename.equals(recordingName);
-                                                    });
-                                } catch (IOException e) {
-                                    // java streams doesn't allow checked exceptions to propagate
-                                    // can assume won't throw b/c previous calls to other io methods
-                                    // were successful
-                                    logger.error("Directory list exception", e);
-                                    return false;
-                                }
-                            })
-                    .filter(v -> v)
-                    .findFirst()
-                    .orElse(false);
+            for (String subdirectory : fs.listDirectoryChildren(archivedRecordingsPath)) {
+                try {
+                    names.addAll(
+                            fs.listDirectoryChildren(archivedRecordingsPath.resolve(subdirectory)));
+                } catch (IOException e) {
+                    logger.error("Directory list exception", e);
+                }
+            }
         } catch (IOException ioe) {
             logger.error("Metadata exception", ioe);
             throw ioe;
         }
+        return names;
     }
 
     private boolean targetRecordingExists(ConnectionDescriptor cd, String recordingName) {
@@ -801,14 +648,15 @@ public class RecordingMetadataManager extends AbstractVerticle
             return this.targetConnectionManager
                     .executeConnectedTaskAsync(
                             cd,
-                            conn ->
-                                    conn.getService().getAvailableRecordings().stream()
-                                            .anyMatch(
-                                                    r ->
-                                                            future.complete(
-                                                                    Objects.equals(
-                                                                            recordingName,
-                                                                            r.getName()))))
+                            ConnectedTask.readOnly(
+                                    conn ->
+                                            conn.getService().getAvailableRecordings().stream()
+                                                    .anyMatch(
+                                                            r ->
+                                                                    future.complete(
+                                                                            Objects.equals(
+                                                                                    recordingName,
+                                                                                    r.getName())))))
                     .get(connectionTimeoutSeconds, TimeUnit.SECONDS);
         } catch (TimeoutException te) {
             logger.warn("Target unreachable {}, msg {}", cd.getTargetId(), te.getMessage());
@@ -819,26 +667,6 @@ public class RecordingMetadataManager extends AbstractVerticle
         }
     }
 
-    private Path getMetadataPath(String jvmId) throws IOException {
-        String subdirectory = jvmIdHelper.jvmIdToSubdirectoryName(jvmId);
-
-        Path parentDir = recordingMetadataDir.resolve(subdirectory);
-        if (parentDir == null) {
-            throw new IllegalStateException();
-        }
-        if (!fs.isDirectory(parentDir)) {
-            fs.createDirectory(parentDir);
-        }
-        return parentDir;
-    }
-
-    private Path getMetadataPath(String jvmId, String recordingName) throws IOException {
-        Path subdirectory = getMetadataPath(jvmId);
-        String filename =
-                base32.encodeAsString(recordingName.getBytes(StandardCharsets.UTF_8)) + ".json";
-        return subdirectory.resolve(filename);
-    }
-
     private boolean deleteMetadataPathIfExists(Path path) {
         if (fs.exists(path)) {
             try {
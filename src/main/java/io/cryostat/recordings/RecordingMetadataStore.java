@@ -0,0 +1,286 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.recordings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.cryostat.core.sys.FileSystem;
+import io.cryostat.recordings.RecordingMetadataManager.StoredRecordingMetadata;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory store of recording metadata, indexed by JVM ID and recording name, backed by an
+ * append-only log file. Reads are served from memory. Writes are applied in memory immediately and
+ * appended to the log in batches, which are flushed and synced to disk on a fixed schedule. The log
+ * is replayed on {@link #load()} and compacted into a snapshot of the live entries once it holds
+ * mostly superseded records, or as soon as it is found to hold a damaged record. The store owns its
+ * flush scheduler and shuts it down on {@link #close()}.
+ */
+class RecordingMetadataStore {
+
+    static final String LOG_FILE = "metadata.log";
+    static final int COMPACTION_MIN_RECORDS = 1024;
+
+    private final FileSystem fs;
+    private final Path logPath;
+    private final Path compactionPath;
+    private final ScheduledExecutorService scheduler;
+    private final long flushIntervalMs;
+    private final Gson gson;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Map<String, Map<String, StoredRecordingMetadata>> entries =
+            new ConcurrentHashMap<>();
+    private final List<String> pending = new ArrayList<>();
+    private int liveEntries;
+    private int logRecords;
+    // set when the log may end with a partial record, which must not have further records
+    // appended directly after it
+    private boolean damaged;
+
+    RecordingMetadataStore(
+            FileSystem fs,
+            Path directory,
+            ScheduledExecutorService scheduler,
+            long flushIntervalMs,
+            Gson gson) {
+        this.fs = fs;
+        this.logPath = directory.resolve(LOG_FILE);
+        this.compactionPath = directory.resolve(LOG_FILE + ".tmp");
+        this.scheduler = scheduler;
+        this.flushIntervalMs = flushIntervalMs;
+        this.gson = gson;
+    }
+
+    /** Replay the log into memory and begin periodically flushing writes to it. */
+    synchronized void load() throws IOException {
+        if (fs.isRegularFile(logPath)) {
+            String log = fs.readString(logPath);
+            // anything after the last newline is a record torn by a crash during a flush
+            int end = log.lastIndexOf('\n') + 1;
+            if (end < log.length()) {
+                logger.warn("Discarding incomplete recording metadata log record");
+                damaged = true;
+            }
+            for (String line : log.substring(0, end).split("\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                LogRecord record = null;
+                try {
+                    record = gson.fromJson(line, LogRecord.class);
+                } catch (JsonParseException e) {
+                    logger.warn("Unparseable recording metadata log record", e);
+                }
+                if (record == null || !record.isValid()) {
+                    logger.warn("Skipping unreadable recording metadata log record");
+                    damaged = true;
+                    continue;
+                }
+                apply(record);
+                logRecords++;
+            }
+            logger.info(
+                    "Loaded {} recording metadata entries from {} log records",
+                    liveEntries,
+                    logRecords);
+            if (damaged) {
+                // rewrite the log without the damaged records before appending anything to it
+                compact();
+            }
+        }
+        scheduler.scheduleWithFixedDelay(
+                this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    Optional<StoredRecordingMetadata> get(String jvmId, String recordingName) {
+        Map<String, StoredRecordingMetadata> recordings = entries.get(jvmId);
+        if (recordings == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(recordings.get(recordingName));
+    }
+
+    /**
+     * @return a snapshot of the metadata of all recordings belonging to the given JVM ID
+     */
+    List<StoredRecordingMetadata> getAll(String jvmId) {
+        Map<String, StoredRecordingMetadata> recordings = entries.get(jvmId);
+        if (recordings == null) {
+            return List.of();
+        }
+        return new ArrayList<>(recordings.values());
+    }
+
+    /**
+     * @return a snapshot of the metadata of all recordings
+     */
+    List<StoredRecordingMetadata> getAll() {
+        List<StoredRecordingMetadata> all = new ArrayList<>();
+        entries.values().forEach(recordings -> all.addAll(recordings.values()));
+        return all;
+    }
+
+    synchronized void put(StoredRecordingMetadata metadata) {
+        append(new LogRecord(Operation.PUT, metadata));
+    }
+
+    synchronized Optional<StoredRecordingMetadata> remove(String jvmId, String recordingName) {
+        Optional<StoredRecordingMetadata> existing = get(jvmId, recordingName);
+        if (existing.isPresent()) {
+            append(new LogRecord(Operation.DELETE, existing.get()));
+        }
+        return existing;
+    }
+
+    /**
+     * Append any writes made since the last flush to the log and sync it to disk, or replace the
+     * log with a compacted snapshot if it has grown to mostly hold superseded records.
+     */
+    synchronized void flush() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (damaged || (logRecords >= COMPACTION_MIN_RECORDS && logRecords > 2 * liveEntries)) {
+            compact();
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        pending.forEach(line -> sb.append(line).append('\n'));
+        try {
+            fs.writeString(
+                    logPath,
+                    sb,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND,
+                    StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            // the write may have been partially completed
+            damaged = true;
+            throw e;
+        }
+        pending.clear();
+    }
+
+    /** Flush any remaining writes and stop the periodic flushing. */
+    synchronized void close() throws IOException {
+        scheduler.shutdown();
+        flush();
+    }
+
+    private void compact() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (StoredRecordingMetadata metadata : getAll()) {
+            sb.append(gson.toJson(new LogRecord(Operation.PUT, metadata))).append('\n');
+        }
+        fs.writeString(
+                compactionPath,
+                sb,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.DSYNC);
+        // FileSystem offers no atomic rename
+        Files.move(
+                compactionPath,
+                logPath,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        logger.info(
+                "Compacted recording metadata log from {} to {} records", logRecords, liveEntries);
+        pending.clear();
+        logRecords = liveEntries;
+        damaged = false;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            logger.error("Could not flush recording metadata log", e);
+        }
+    }
+
+    private void append(LogRecord record) {
+        apply(record);
+        pending.add(gson.toJson(record));
+        logRecords++;
+    }
+
+    private void apply(LogRecord record) {
+        StoredRecordingMetadata metadata = record.metadata;
+        String jvmId = metadata.getJvmId();
+        String recordingName = metadata.getRecordingName();
+        switch (record.op) {
+            case PUT:
+                if (entries.computeIfAbsent(jvmId, k -> new ConcurrentHashMap<>())
+                                .put(recordingName, metadata)
+                        == null) {
+                    liveEntries++;
+                }
+                break;
+            case DELETE:
+                Map<String, StoredRecordingMetadata> recordings = entries.get(jvmId);
+                if (recordings != null && recordings.remove(recordingName) != null) {
+                    liveEntries--;
+                    if (recordings.isEmpty()) {
+                        entries.remove(jvmId);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(record.op.toString());
+        }
+    }
+
+    enum Operation {
+        PUT,
+        DELETE,
+    }
+
+    static class LogRecord {
+        private final Operation op;
+        private final StoredRecordingMetadata metadata;
+
+        LogRecord(Operation op, StoredRecordingMetadata metadata) {
+            this.op = op;
+            this.metadata = metadata;
+        }
+
+        boolean isValid() {
+            return op != null
+                    && metadata != null
+                    && metadata.getJvmId() != null
+                    && metadata.getRecordingName() != null;
+        }
+    }
+}
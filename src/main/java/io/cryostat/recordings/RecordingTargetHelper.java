@@ -41,6 +41,7 @@ import io.cryostat.jmc.serialization.HyperlinkedSerializableRecordingDescriptor;
 import io.cryostat.messaging.notifications.NotificationFactory;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.net.reports.ReportService;
 import io.cryostat.net.web.WebServer;
 import io.cryostat.recordings.JvmIdHelper.JvmIdGetException;
@@ -111,7 +112,8 @@ public class RecordingTargetHelper {
             throws Exception {
         return targetConnectionManager.executeConnectedTask(
                 connectionDescriptor,
-                connection -> connection.getService().getAvailableRecordings());
+                ConnectedTask.readOnly(
+                        connection -> connection.getService().getAvailableRecordings()));
     }
 
     public enum ReplacementPolicy {
@@ -20,6 +20,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
 import java.util.Set;
 import java.util.concurrent.Executors;
 
@@ -58,6 +59,7 @@ import org.apache.commons.codec.binary.Base32;
 public abstract class RecordingsModule {
 
     public static final String METADATA_SUBDIRECTORY = "metadata";
+    public static final String ARCHIVES_CATALOG_FILE = "archives-catalog.json";
 
     @Provides
     @Named(Variables.JMX_CONNECTION_TIMEOUT)
@@ -65,6 +67,22 @@ public abstract class RecordingsModule {
         return Math.max(1, Long.parseLong(env.getEnv(Variables.JMX_CONNECTION_TIMEOUT, "3")));
     }
 
+    @Provides
+    @Named(Variables.RECORDING_METADATA_FLUSH_INTERVAL_MS_ENV)
+    static long provideRecordingMetadataFlushIntervalMs(Environment env) {
+        return Math.max(
+                1,
+                Long.parseLong(
+                        env.getEnv(Variables.RECORDING_METADATA_FLUSH_INTERVAL_MS_ENV, "1000")));
+    }
+
+    @Provides
+    @Named(Variables.TARGET_CATALOG_CACHE_TTL)
+    static Duration provideTargetCatalogCacheTtl(Environment env) {
+        return Duration.ofSeconds(
+                Math.max(1, Long.parseLong(env.getEnv(Variables.TARGET_CATALOG_CACHE_TTL, "300"))));
+    }
+
     @Provides
     @Named(Variables.PUSH_MAX_FILES_ENV)
     static int providePushMaxFiles(Environment env) {
@@ -103,10 +121,12 @@ public abstract class RecordingsModule {
     static RecordingArchiveHelper provideRecordingArchiveHelper(
             FileSystem fs,
             Provider<WebServer> webServerProvider,
+            Provider<ReportService> reportServiceProvider,
             @Named(MainModule.RECORDINGS_PATH) Path archivedRecordingsPath,
             @Named(WebModule.WEBSERVER_TEMP_DIR_PATH) Path archivedRecordingsReportPath,
             TargetConnectionManager targetConnectionManager,
             RecordingMetadataManager recordingMetadataManager,
+            ArchivedRecordingsCatalog catalog,
             Clock clock,
             DiscoveryStorage storage,
             NotificationFactory notificationFactory,
@@ -116,10 +136,12 @@ public abstract class RecordingsModule {
         return new RecordingArchiveHelper(
                 fs,
                 webServerProvider,
+                reportServiceProvider,
                 archivedRecordingsPath,
                 archivedRecordingsReportPath,
                 targetConnectionManager,
                 recordingMetadataManager,
+                catalog,
                 clock,
                 storage,
                 notificationFactory,
@@ -128,6 +150,20 @@ public abstract class RecordingsModule {
                 base32);
     }
 
+    @Provides
+    @Singleton
+    static ArchivedRecordingsCatalog provideArchivedRecordingsCatalog(
+            @Named(ConfigurationModule.CONFIGURATION_PATH) Path confDir, FileSystem fs, Gson gson) {
+        ArchivedRecordingsCatalog catalog =
+                new ArchivedRecordingsCatalog(
+                        fs,
+                        confDir.resolve(ARCHIVES_CATALOG_FILE),
+                        Executors.newSingleThreadExecutor(),
+                        gson);
+        catalog.load();
+        return catalog;
+    }
+
     @Provides
     static EventOptionsBuilder.Factory provideEventOptionsBuilderFactory() {
         return new EventOptionsBuilder.Factory();
@@ -153,8 +189,10 @@ public abstract class RecordingsModule {
             @Named(ConfigurationModule.CONFIGURATION_PATH) Path confDir,
             @Named(MainModule.RECORDINGS_PATH) Path archivedRecordingsPath,
             @Named(Variables.JMX_CONNECTION_TIMEOUT) long connectionTimeoutSeconds,
+            @Named(Variables.RECORDING_METADATA_FLUSH_INTERVAL_MS_ENV) long flushIntervalMs,
             FileSystem fs,
             Provider<RecordingArchiveHelper> archiveHelperProvider,
+            ArchivedRecordingsCatalog catalog,
             TargetConnectionManager targetConnectionManager,
             CredentialsManager credentialsManager,
             DiscoveryStorage storage,
@@ -179,7 +217,14 @@ public abstract class RecordingsModule {
                     archivedRecordingsPath,
                     connectionTimeoutSeconds,
                     fs,
+                    new RecordingMetadataStore(
+                            fs,
+                            metadataDir,
+                            Executors.newSingleThreadScheduledExecutor(),
+                            flushIntervalMs,
+                            gson),
                     archiveHelperProvider,
+                    catalog,
                     targetConnectionManager,
                     credentialsManager,
                     storage,
@@ -209,4 +254,14 @@ public abstract class RecordingsModule {
                 Scheduler.systemScheduler(),
                 base32);
     }
+
+    @Provides
+    @Singleton
+    static TargetCatalogCache provideTargetCatalogCache(
+            TargetConnectionManager targetConnectionManager,
+            JvmIdHelper jvmIdHelper,
+            DiscoveryStorage storage,
+            @Named(Variables.TARGET_CATALOG_CACHE_TTL) Duration ttl) {
+        return new TargetCatalogCache(targetConnectionManager, jvmIdHelper, storage, ttl);
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.recordings;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmc.common.unit.IOptionDescriptor;
+
+import io.cryostat.core.templates.Template;
+import io.cryostat.core.templates.TemplateType;
+import io.cryostat.net.ConnectionDescriptor;
+import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
+import io.cryostat.platform.PlatformClient;
+import io.cryostat.platform.TargetDiscoveryEvent;
+import io.cryostat.util.events.Event;
+import io.cryostat.util.events.EventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Caches the event types, event templates and recording options which each target JVM provides,
+ * keyed by JVM ID so that targets reachable by several URLs share one entry. These rarely change
+ * for the lifetime of a JVM, so entries are only refreshed after a TTL, or discarded when the
+ * target is lost or the JVM ID for a target changes. Entries are also keyed by the credentials
+ * which loaded them, so a request is only ever served from the cache if the same credentials
+ * already succeeded in connecting to the target.
+ */
+public class TargetCatalogCache implements EventListener<JvmIdHelper.IdEvent, String> {
+
+    private final TargetConnectionManager targetConnectionManager;
+    private final JvmIdHelper jvmIdHelper;
+    private final Cache<CatalogKey, EventTypeIndex> eventTypes;
+    private final Cache<CatalogKey, List<Template>> templates;
+    private final Cache<CatalogKey, Map<String, IOptionDescriptor<?>>> recordingOptions;
+
+    TargetCatalogCache(
+            TargetConnectionManager targetConnectionManager,
+            JvmIdHelper jvmIdHelper,
+            PlatformClient platform,
+            Duration ttl) {
+        this.targetConnectionManager = targetConnectionManager;
+        this.jvmIdHelper = jvmIdHelper;
+        this.eventTypes = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+        this.templates = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+        this.recordingOptions = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+
+        jvmIdHelper.addListener(this);
+        platform.addTargetDiscoveryListener(this::onTargetDiscovery);
+    }
+
+    public EventTypeIndex getEventTypes(ConnectionDescriptor connectionDescriptor)
+            throws Exception {
+        return get(
+                eventTypes,
+                connectionDescriptor,
+                connection -> new EventTypeIndex(connection.getService().getAvailableEventTypes()));
+    }
+
+    /**
+     * @return the templates provided by the target JVM itself. Custom templates are stored by
+     *     Cryostat and may be modified at any time, so they are not included.
+     */
+    public List<Template> getTargetTemplates(ConnectionDescriptor connectionDescriptor)
+            throws Exception {
+        return get(
+                templates,
+                connectionDescriptor,
+                connection ->
+                        connection.getTemplateService().getTemplates().stream()
+                                .filter(t -> TemplateType.TARGET.equals(t.getType()))
+                                .collect(Collectors.toUnmodifiableList()));
+    }
+
+    public Map<String, IOptionDescriptor<?>> getRecordingOptions(
+            ConnectionDescriptor connectionDescriptor) throws Exception {
+        return get(
+                recordingOptions,
+                connectionDescriptor,
+                connection ->
+                        Collections.unmodifiableMap(
+                                new LinkedHashMap<>(
+                                        connection.getService().getAvailableRecordingOptions())));
+    }
+
+    public void invalidate(String jvmId) {
+        List.of(eventTypes, templates, recordingOptions)
+                .forEach(c -> c.asMap().keySet().removeIf(k -> k.jvmId().equals(jvmId)));
+    }
+
+    @Override
+    public void onEvent(Event<JvmIdHelper.IdEvent, String> event) {
+        switch (event.getEventType()) {
+            case INVALIDATED:
+                if (event.getPayload() != null) {
+                    invalidate(event.getPayload());
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException(event.getEventType().toString());
+        }
+    }
+
+    private void onTargetDiscovery(TargetDiscoveryEvent tde) {
+        switch (tde.getEventKind()) {
+            case LOST:
+                String jvmId = tde.getServiceRef().getJvmId();
+                if (StringUtils.isNotBlank(jvmId)) {
+                    invalidate(jvmId);
+                }
+                break;
+            default:
+                // ignored
+                break;
+        }
+    }
+
+    private <T> T get(
+            Cache<CatalogKey, T> cache,
+            ConnectionDescriptor connectionDescriptor,
+            ConnectedTask<T> loader)
+            throws Exception {
+        Optional<String> jvmId = knownJvmId(connectionDescriptor);
+        if (jvmId.isEmpty()) {
+            return targetConnectionManager.executeConnectedTask(
+                    connectionDescriptor, ConnectedTask.readOnly(loader));
+        }
+        CatalogKey key = new CatalogKey(jvmId.get(), credentialsHash(connectionDescriptor));
+        try {
+            // concurrent misses for the same key wait on one load rather than each connecting
+            return cache.get(
+                    key,
+                    k -> {
+                        try {
+                            return targetConnectionManager.executeConnectedTask(
+                                    connectionDescriptor, ConnectedTask.readOnly(loader));
+                        } catch (Exception e) {
+                            throw new CompletionException(e);
+                        }
+                    });
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String credentialsHash(ConnectionDescriptor connectionDescriptor) {
+        return connectionDescriptor
+                .getCredentials()
+                .map(c -> DigestUtils.sha256Hex(c.getUsername() + '\0' + c.getPassword()))
+                .orElse("");
+    }
+
+    private Optional<String> knownJvmId(ConnectionDescriptor connectionDescriptor) {
+        try {
+            return Optional.ofNullable(jvmIdHelper.getJvmId(connectionDescriptor))
+                    .filter(StringUtils::isNotBlank);
+        } catch (JvmIdHelper.JvmIdGetException e) {
+            // the target may only be reachable with the request's own credentials, so load
+            // without caching and let the connection fail with a more specific cause if not
+            return Optional.empty();
+        }
+    }
+
+    private record CatalogKey(String jvmId, String credentialsHash) {}
+}
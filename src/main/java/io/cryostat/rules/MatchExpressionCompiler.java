@@ -0,0 +1,755 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.rules;
+
+import java.beans.Introspector;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import io.cryostat.platform.ServiceRef;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.nashorn.api.tree.ArrayAccessTree;
+import org.openjdk.nashorn.api.tree.BinaryTree;
+import org.openjdk.nashorn.api.tree.CompilationUnitTree;
+import org.openjdk.nashorn.api.tree.ExpressionStatementTree;
+import org.openjdk.nashorn.api.tree.ExpressionTree;
+import org.openjdk.nashorn.api.tree.FunctionCallTree;
+import org.openjdk.nashorn.api.tree.IdentifierTree;
+import org.openjdk.nashorn.api.tree.LiteralTree;
+import org.openjdk.nashorn.api.tree.MemberSelectTree;
+import org.openjdk.nashorn.api.tree.ParenthesizedTree;
+import org.openjdk.nashorn.api.tree.Parser;
+import org.openjdk.nashorn.api.tree.RegExpLiteralTree;
+import org.openjdk.nashorn.api.tree.Tree;
+import org.openjdk.nashorn.api.tree.UnaryTree;
+import org.openjdk.nashorn.internal.runtime.ParserException;
+
+/**
+ * Compiles match expressions into native {@link Predicate}s over {@link ServiceRef}s, so that
+ * evaluating an expression against a target does not require the script engine. Only the subset of
+ * JavaScript which can be reproduced exactly is compiled: property access on the {@code target}
+ * object, literals, {@code ==}/{@code !=}/{@code ===}/{@code !==}, {@code &&}/{@code ||}/{@code !}
+ * over booleans, {@code <}/{@code <=}/{@code >}/{@code >=} over numbers, {@code RegExp.test()}, and
+ * the string methods {@code startsWith}, {@code endsWith}, {@code indexOf}, {@code toLowerCase},
+ * {@code toUpperCase} and {@code match}. Any other construct yields an empty result and the caller
+ * is expected to fall back to script evaluation.
+ *
+ * <p>The script engine implements ECMAScript 5.1, so {@code includes} is not a function there and
+ * {@code startsWith}/{@code endsWith} resolve to the {@link String} methods of the same names.
+ * Compiled string methods reproduce the engine's behaviour rather than that of later ECMAScript
+ * editions. Where the script would throw, ex. when calling a method of a null or undefined
+ * property, the compiled predicate throws {@link UnsupportedExpressionException} and the caller is
+ * expected to evaluate the script instead, so that the error is reported in the same way.
+ *
+ * @see MatchExpressionEvaluator
+ */
+final class MatchExpressionCompiler {
+
+    private static final Object UNDEFINED = new Object();
+    // stands in for the array returned by a successful String.prototype.match
+    private static final Object MATCHED = new Object();
+
+    // Nashorn resolves these against the Java Map object itself when the key is absent
+    private static final Set<String> MAP_MEMBER_NAMES = mapMemberNames();
+
+    private final Parser parser = Parser.create();
+
+    Optional<Predicate<ServiceRef>> compile(String matchExpression) {
+        try {
+            Optional<ExpressionTree> expression = parse(matchExpression);
+            if (expression.isEmpty()) {
+                return Optional.empty();
+            }
+            Node node = compile(expression.get());
+            if (node.type != Type.BOOLEAN) {
+                return Optional.empty();
+            }
+            Function<ServiceRef, Object> fn = node.fn;
+            return Optional.of(serviceRef -> (Boolean) fn.apply(serviceRef));
+        } catch (ParserException | UnsupportedExpressionException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Find a term of the form {@code target.<path> == '<literal>'} which must hold for the match
+     * expression to evaluate to true. The term is returned as a pair of the property path relative
+     * to {@code target} and the string literal, in the same form as produced by {@link
+     * #indexKeys(ServiceRef)}, so that a target for which {@code indexKeys} does not contain the
+     * pair can never match the expression.
+     */
+    Optional<Pair<String, String>> indexKey(String matchExpression) {
+        try {
+            return parse(matchExpression).flatMap(this::indexKey);
+        } catch (ParserException | UnsupportedExpressionException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The string-valued properties of the {@code target} object for the given {@link ServiceRef},
+     * as property path and value pairs.
+     *
+     * @see #indexKey(String)
+     */
+    static Set<Pair<String, String>> indexKeys(ServiceRef serviceRef) {
+        Set<Pair<String, String>> keys = new HashSet<>();
+        keys.add(Pair.of("connectUrl", serviceRef.getServiceUri().toString()));
+        if (serviceRef.getJvmId() != null) {
+            keys.add(Pair.of("jvmId", serviceRef.getJvmId()));
+        }
+        serviceRef.getAlias().ifPresent(alias -> keys.add(Pair.of("alias", alias)));
+        serviceRef
+                .getLabels()
+                .forEach(
+                        (k, v) -> {
+                            if (v != null) {
+                                keys.add(Pair.of("labels." + k, v));
+                            }
+                        });
+        serviceRef
+                .getPlatformAnnotations()
+                .forEach(
+                        (k, v) -> {
+                            if (v != null) {
+                                keys.add(Pair.of("annotations.platform." + k, v));
+                            }
+                        });
+        serviceRef
+                .getCryostatAnnotations()
+                .forEach(
+                        (k, v) -> {
+                            if (v != null) {
+                                keys.add(Pair.of("annotations.cryostat." + k.name(), v));
+                            }
+                        });
+        return keys;
+    }
+
+    private Optional<ExpressionTree> parse(String matchExpression) {
+        CompilationUnitTree cut = parser.parse("", matchExpression, null);
+        if (cut == null || cut.getSourceElements().size() != 1) {
+            return Optional.empty();
+        }
+        Tree statement = cut.getSourceElements().get(0);
+        if (!(statement instanceof ExpressionStatementTree)) {
+            return Optional.empty();
+        }
+        return Optional.of(((ExpressionStatementTree) statement).getExpression());
+    }
+
+    private Optional<Pair<String, String>> indexKey(ExpressionTree tree) {
+        switch (tree.getKind()) {
+            case PARENTHESIZED:
+                return indexKey(((ParenthesizedTree) tree).getExpression());
+            case CONDITIONAL_AND:
+                // the result is falsy unless both operands are truthy
+                BinaryTree and = (BinaryTree) tree;
+                return indexKey(and.getLeftOperand()).or(() -> indexKey(and.getRightOperand()));
+            case EQUAL_TO:
+            case STRICT_EQUAL_TO:
+                BinaryTree eq = (BinaryTree) tree;
+                if (eq.getRightOperand().getKind() == Tree.Kind.STRING_LITERAL) {
+                    return indexKey(eq.getLeftOperand(), (LiteralTree) eq.getRightOperand());
+                }
+                if (eq.getLeftOperand().getKind() == Tree.Kind.STRING_LITERAL) {
+                    return indexKey(eq.getRightOperand(), (LiteralTree) eq.getLeftOperand());
+                }
+                return Optional.empty();
+            default:
+                return Optional.empty();
+        }
+    }
+
+    // a string is only loosely equal to an identical string, and the properties of the target
+    // object are always strings, null or undefined
+    private Optional<Pair<String, String>> indexKey(ExpressionTree property, LiteralTree literal) {
+        if (property.getKind() != Tree.Kind.MEMBER_SELECT
+                && property.getKind() != Tree.Kind.ARRAY_ACCESS) {
+            return Optional.empty();
+        }
+        try {
+            List<String> path = propertyPath(property);
+            resolve(path);
+            return Optional.of(Pair.of(String.join(".", path), (String) literal.getValue()));
+        } catch (UnsupportedExpressionException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Node compile(ExpressionTree tree) {
+        switch (tree.getKind()) {
+            case PARENTHESIZED:
+                return compile(((ParenthesizedTree) tree).getExpression());
+            case BOOLEAN_LITERAL:
+                return Node.constant(((LiteralTree) tree).getValue(), Type.BOOLEAN);
+            case STRING_LITERAL:
+                return Node.constant(((LiteralTree) tree).getValue(), Type.STRING);
+            case NUMBER_LITERAL:
+                return Node.constant(
+                        ((Number) ((LiteralTree) tree).getValue()).doubleValue(), Type.NUMBER);
+            case NULL_LITERAL:
+                return Node.constant(null, Type.NULLISH);
+            case IDENTIFIER:
+                // the global 'undefined' property is read-only, so this cannot be shadowed
+                if ("undefined".equals(((IdentifierTree) tree).getName())) {
+                    return Node.constant(UNDEFINED, Type.NULLISH);
+                }
+                throw new UnsupportedExpressionException();
+            case MEMBER_SELECT:
+            case ARRAY_ACCESS:
+                return compilePropertyAccess(tree);
+            case EQUAL_TO:
+            case NOT_EQUAL_TO:
+            case STRICT_EQUAL_TO:
+            case STRICT_NOT_EQUAL_TO:
+                return compileEquality((BinaryTree) tree);
+            case CONDITIONAL_AND:
+            case CONDITIONAL_OR:
+                return compileLogical((BinaryTree) tree);
+            case LOGICAL_COMPLEMENT:
+                Node operand = compile(((UnaryTree) tree).getExpression());
+                requireType(operand, Type.BOOLEAN);
+                return new Node(sr -> !(Boolean) operand.fn.apply(sr), Type.BOOLEAN);
+            case UNARY_MINUS:
+                Node negated = compile(((UnaryTree) tree).getExpression());
+                requireType(negated, Type.NUMBER);
+                return new Node(sr -> -(Double) negated.fn.apply(sr), Type.NUMBER);
+            case LESS_THAN:
+            case LESS_THAN_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_EQUAL:
+                return compileRelational((BinaryTree) tree);
+            case FUNCTION_INVOCATION:
+                return compileFunctionCall((FunctionCallTree) tree);
+            default:
+                throw new UnsupportedExpressionException();
+        }
+    }
+
+    private Node compileEquality(BinaryTree tree) {
+        Node left = compile(tree.getLeftOperand());
+        Node right = compile(tree.getRightOperand());
+        // a match result is an array, which is only known to compare correctly to null/undefined
+        if ((left.type == Type.MATCH_RESULT && right.type != Type.NULLISH)
+                || (right.type == Type.MATCH_RESULT && left.type != Type.NULLISH)) {
+            throw new UnsupportedExpressionException();
+        }
+        switch (tree.getKind()) {
+            case EQUAL_TO:
+                return new Node(
+                        sr -> looseEquals(left.fn.apply(sr), right.fn.apply(sr)), Type.BOOLEAN);
+            case NOT_EQUAL_TO:
+                return new Node(
+                        sr -> !looseEquals(left.fn.apply(sr), right.fn.apply(sr)), Type.BOOLEAN);
+            case STRICT_EQUAL_TO:
+                return new Node(
+                        sr -> strictEquals(left.fn.apply(sr), right.fn.apply(sr)), Type.BOOLEAN);
+            case STRICT_NOT_EQUAL_TO:
+                return new Node(
+                        sr -> !strictEquals(left.fn.apply(sr), right.fn.apply(sr)), Type.BOOLEAN);
+            default:
+                throw new UnsupportedExpressionException();
+        }
+    }
+
+    private Node compileLogical(BinaryTree tree) {
+        Node left = compile(tree.getLeftOperand());
+        Node right = compile(tree.getRightOperand());
+        // with non-boolean operands the JavaScript operators yield one of the operand values
+        requireType(left, Type.BOOLEAN);
+        requireType(right, Type.BOOLEAN);
+        if (tree.getKind() == Tree.Kind.CONDITIONAL_AND) {
+            return new Node(
+                    sr -> (Boolean) left.fn.apply(sr) && (Boolean) right.fn.apply(sr),
+                    Type.BOOLEAN);
+        }
+        return new Node(
+                sr -> (Boolean) left.fn.apply(sr) || (Boolean) right.fn.apply(sr), Type.BOOLEAN);
+    }
+
+    // only numbers are compared, since comparing strings or mixed types follows other rules
+    private Node compileRelational(BinaryTree tree) {
+        Node left = compile(tree.getLeftOperand());
+        Node right = compile(tree.getRightOperand());
+        requireType(left, Type.NUMBER);
+        requireType(right, Type.NUMBER);
+        switch (tree.getKind()) {
+            case LESS_THAN:
+                return new Node(
+                        sr -> (Double) left.fn.apply(sr) < (Double) right.fn.apply(sr),
+                        Type.BOOLEAN);
+            case LESS_THAN_EQUAL:
+                return new Node(
+                        sr -> (Double) left.fn.apply(sr) <= (Double) right.fn.apply(sr),
+                        Type.BOOLEAN);
+            case GREATER_THAN:
+                return new Node(
+                        sr -> (Double) left.fn.apply(sr) > (Double) right.fn.apply(sr),
+                        Type.BOOLEAN);
+            case GREATER_THAN_EQUAL:
+                return new Node(
+                        sr -> (Double) left.fn.apply(sr) >= (Double) right.fn.apply(sr),
+                        Type.BOOLEAN);
+            default:
+                throw new UnsupportedExpressionException();
+        }
+    }
+
+    private Node compileFunctionCall(FunctionCallTree tree) {
+        if (!(tree.getFunctionSelect() instanceof MemberSelectTree)) {
+            throw new UnsupportedExpressionException();
+        }
+        MemberSelectTree select = (MemberSelectTree) tree.getFunctionSelect();
+        if (select.getExpression() instanceof RegExpLiteralTree) {
+            return compileRegExpTest(tree);
+        }
+        return compileStringMethod(select.getIdentifier(), select.getExpression(), tree);
+    }
+
+    private Node compileRegExpTest(FunctionCallTree tree) {
+        MemberSelectTree select = (MemberSelectTree) tree.getFunctionSelect();
+        if (!"test".equals(select.getIdentifier()) || tree.getArguments().size() != 1) {
+            throw new UnsupportedExpressionException();
+        }
+        Pattern pattern = compileRegExp(select.getExpression());
+        Node argument = compile(tree.getArguments().get(0));
+        requireScalar(argument);
+        return new Node(
+                sr -> pattern.matcher(toJsString(argument.fn.apply(sr))).find(), Type.BOOLEAN);
+    }
+
+    private Node compileStringMethod(
+            String method, ExpressionTree receiverTree, FunctionCallTree tree) {
+        Node receiver = compile(receiverTree);
+        if (receiver.type != Type.STRING && receiver.type != Type.PROPERTY) {
+            throw new UnsupportedExpressionException();
+        }
+        List<? extends ExpressionTree> arguments = tree.getArguments();
+        switch (method) {
+            case "startsWith":
+            case "endsWith":
+                {
+                    // resolved to the java.lang.String methods, which have no single argument
+                    // conversion matching that of the script engine for every type
+                    requireArguments(arguments, 1);
+                    Node argument = compile(arguments.get(0));
+                    if (argument.type != Type.STRING && argument.type != Type.PROPERTY) {
+                        throw new UnsupportedExpressionException();
+                    }
+                    boolean startsWith = "startsWith".equals(method);
+                    return new Node(
+                            sr -> {
+                                String s = requireString(receiver.fn.apply(sr));
+                                String affix = requireString(argument.fn.apply(sr));
+                                return startsWith ? s.startsWith(affix) : s.endsWith(affix);
+                            },
+                            Type.BOOLEAN);
+                }
+            case "indexOf":
+                {
+                    requireArguments(arguments, 1);
+                    Node argument = compile(arguments.get(0));
+                    requireScalar(argument);
+                    return new Node(
+                            sr ->
+                                    (double)
+                                            requireString(receiver.fn.apply(sr))
+                                                    .indexOf(toJsString(argument.fn.apply(sr))),
+                            Type.NUMBER);
+                }
+            case "toLowerCase":
+                requireArguments(arguments, 0);
+                return new Node(
+                        sr -> requireString(receiver.fn.apply(sr)).toLowerCase(Locale.ROOT),
+                        Type.STRING);
+            case "toUpperCase":
+                requireArguments(arguments, 0);
+                return new Node(
+                        sr -> requireString(receiver.fn.apply(sr)).toUpperCase(Locale.ROOT),
+                        Type.STRING);
+            case "match":
+                {
+                    requireArguments(arguments, 1);
+                    Pattern pattern = compileRegExp(arguments.get(0));
+                    return new Node(
+                            sr ->
+                                    pattern.matcher(requireString(receiver.fn.apply(sr))).find()
+                                            ? MATCHED
+                                            : null,
+                            Type.MATCH_RESULT);
+                }
+            default:
+                throw new UnsupportedExpressionException();
+        }
+    }
+
+    private static Pattern compileRegExp(ExpressionTree tree) {
+        if (!(tree instanceof RegExpLiteralTree)) {
+            throw new UnsupportedExpressionException();
+        }
+        RegExpLiteralTree regexp = (RegExpLiteralTree) tree;
+        return translateRegExp(regexp.getPattern(), regexp.getOptions());
+    }
+
+    private static void requireArguments(List<? extends ExpressionTree> arguments, int count) {
+        if (arguments.size() != count) {
+            throw new UnsupportedExpressionException();
+        }
+    }
+
+    // the script throws when calling a method of null or undefined, so defer to it
+    private static String requireString(Object value) {
+        if (!(value instanceof String)) {
+            throw new UnsupportedExpressionException();
+        }
+        return (String) value;
+    }
+
+    private Node compilePropertyAccess(ExpressionTree tree) {
+        return new Node(resolve(propertyPath(tree)), Type.PROPERTY);
+    }
+
+    private List<String> propertyPath(ExpressionTree tree) {
+        List<String> path = new ArrayList<>();
+        ExpressionTree current = tree;
+        while (!(current instanceof IdentifierTree)) {
+            if (current instanceof MemberSelectTree) {
+                path.add(((MemberSelectTree) current).getIdentifier());
+                current = ((MemberSelectTree) current).getExpression();
+            } else if (current instanceof ArrayAccessTree
+                    && ((ArrayAccessTree) current).getIndex().getKind()
+                            == Tree.Kind.STRING_LITERAL) {
+                ArrayAccessTree access = (ArrayAccessTree) current;
+                path.add((String) ((LiteralTree) access.getIndex()).getValue());
+                current = access.getExpression();
+            } else {
+                throw new UnsupportedExpressionException();
+            }
+        }
+        if (!"target".equals(((IdentifierTree) current).getName())) {
+            throw new UnsupportedExpressionException();
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // mirrors the structure of the bindings created by MatchExpressionEvaluator#createBindings
+    private Function<ServiceRef, Object> resolve(List<String> path) {
+        String head = path.get(0);
+        if (path.size() == 1) {
+            switch (head) {
+                case "connectUrl":
+                    return sr -> sr.getServiceUri().toString();
+                case "jvmId":
+                    return ServiceRef::getJvmId;
+                case "alias":
+                    return sr -> sr.getAlias().orElse(null);
+                case "labels":
+                case "annotations":
+                    // object-valued, cannot be compared or tested as a scalar
+                    throw new UnsupportedExpressionException();
+                default:
+                    requireMapKey(head);
+                    return sr -> UNDEFINED;
+            }
+        }
+        if (path.size() == 2 && "labels".equals(head)) {
+            String key = requireMapKey(path.get(1));
+            return sr -> mapLookup(sr.getLabels(), key);
+        }
+        if (path.size() == 3 && "annotations".equals(head)) {
+            String key = requireMapKey(path.get(2));
+            switch (path.get(1)) {
+                case "platform":
+                    return sr -> mapLookup(sr.getPlatformAnnotations(), key);
+                case "cryostat":
+                    ServiceRef.AnnotationKey annotationKey = annotationKey(key);
+                    if (annotationKey == null) {
+                        return sr -> UNDEFINED;
+                    }
+                    return sr -> mapLookup(sr.getCryostatAnnotations(), annotationKey);
+                default:
+                    break;
+            }
+        }
+        throw new UnsupportedExpressionException();
+    }
+
+    private static ServiceRef.AnnotationKey annotationKey(String key) {
+        for (ServiceRef.AnnotationKey k : ServiceRef.AnnotationKey.values()) {
+            if (k.name().equals(key)) {
+                return k;
+            }
+        }
+        return null;
+    }
+
+    private static String requireMapKey(String key) {
+        if (MAP_MEMBER_NAMES.contains(key)) {
+            throw new UnsupportedExpressionException();
+        }
+        return key;
+    }
+
+    private static <K> Object mapLookup(Map<K, String> map, K key) {
+        if (!map.containsKey(key)) {
+            return UNDEFINED;
+        }
+        return map.get(key);
+    }
+
+    // only scalar values are converted to strings in the same way as by the script engine
+    private static void requireScalar(Node node) {
+        if (node.type == Type.MATCH_RESULT) {
+            throw new UnsupportedExpressionException();
+        }
+    }
+
+    private static void requireType(Node node, Type type) {
+        if (node.type != type) {
+            throw new UnsupportedExpressionException();
+        }
+    }
+
+    // ECMAScript 5.1 section 11.9.3, restricted to the value types produced by this compiler
+    static boolean looseEquals(Object a, Object b) {
+        boolean aNullish = a == null || a == UNDEFINED;
+        boolean bNullish = b == null || b == UNDEFINED;
+        if (aNullish || bNullish) {
+            return aNullish && bNullish;
+        }
+        if (a instanceof String && b instanceof String) {
+            return a.equals(b);
+        }
+        if (a instanceof Boolean && b instanceof Boolean) {
+            return a.equals(b);
+        }
+        return toNumber(a) == toNumber(b);
+    }
+
+    // ECMAScript 5.1 section 11.9.6
+    static boolean strictEquals(Object a, Object b) {
+        if (a == null || a == UNDEFINED || b == null || b == UNDEFINED) {
+            return a == b;
+        }
+        if (a instanceof Double && b instanceof Double) {
+            return ((Double) a).doubleValue() == ((Double) b).doubleValue();
+        }
+        return a.getClass().equals(b.getClass()) && a.equals(b);
+    }
+
+    // ECMAScript 5.1 section 9.3
+    static double toNumber(Object o) {
+        if (o instanceof Double) {
+            return (Double) o;
+        }
+        if (o instanceof Boolean) {
+            return ((Boolean) o) ? 1 : 0;
+        }
+        if (o instanceof String) {
+            String s = ((String) o).strip();
+            if (s.isEmpty()) {
+                return 0;
+            }
+            if (s.matches("[+-]?Infinity")) {
+                return s.startsWith("-") ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            if (s.matches("0[xX][0-9a-fA-F]+")) {
+                return new java.math.BigInteger(s.substring(2), 16).doubleValue();
+            }
+            if (s.matches("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?")) {
+                return Double.parseDouble(s);
+            }
+        }
+        return Double.NaN;
+    }
+
+    // ECMAScript 5.1 section 9.8, restricted to the value types produced by this compiler
+    static String toJsString(Object o) {
+        if (o == null) {
+            return "null";
+        }
+        if (o == UNDEFINED) {
+            return "undefined";
+        }
+        if (o instanceof Double) {
+            double d = (Double) o;
+            if (d == Math.rint(d) && Math.abs(d) < 1e21) {
+                return Long.toString((long) d);
+            }
+        }
+        return o.toString();
+    }
+
+    /**
+     * Translate a JavaScript regular expression into an equivalent Java {@link Pattern}. Only
+     * constructs whose meaning is identical in both dialects are accepted, with the exception of
+     * {@code $}, which matches before a trailing line terminator in Java but not in JavaScript.
+     */
+    static Pattern translateRegExp(String source, String flags) {
+        int patternFlags = 0;
+        for (char c : flags.toCharArray()) {
+            switch (c) {
+                case 'i':
+                    patternFlags |= Pattern.CASE_INSENSITIVE;
+                    break;
+                case 'm':
+                    patternFlags |= Pattern.MULTILINE;
+                    break;
+                default:
+                    // 'g' and 'y' make test() stateful
+                    throw new UnsupportedExpressionException();
+            }
+        }
+        boolean multiline = (patternFlags & Pattern.MULTILINE) != 0;
+        StringBuilder sb = new StringBuilder(source.length() + 4);
+        boolean inClass = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= source.length()) {
+                    throw new UnsupportedExpressionException();
+                }
+                char next = source.charAt(++i);
+                if ("0cvkpPQEAZzGRXhHV".indexOf(next) >= 0) {
+                    throw new UnsupportedExpressionException();
+                }
+                sb.append(c).append(next);
+                continue;
+            }
+            if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                } else if (c == '[' || (c == '&' && source.startsWith("&&", i))) {
+                    throw new UnsupportedExpressionException();
+                }
+                sb.append(c);
+                continue;
+            }
+            switch (c) {
+                case '[':
+                    if (source.startsWith("[]", i) || source.startsWith("[^]", i)) {
+                        throw new UnsupportedExpressionException();
+                    }
+                    inClass = true;
+                    sb.append(c);
+                    if (source.startsWith("[^", i)) {
+                        sb.append('^');
+                        i++;
+                    }
+                    break;
+                case '(':
+                    if (source.startsWith("(?", i)
+                            && !(source.startsWith("(?:", i)
+                                    || source.startsWith("(?=", i)
+                                    || source.startsWith("(?!", i))) {
+                        throw new UnsupportedExpressionException();
+                    }
+                    sb.append(c);
+                    break;
+                case '$':
+                    sb.append(multiline ? "$" : "\\z");
+                    break;
+                case '+':
+                case '*':
+                case '?':
+                case '}':
+                    sb.append(c);
+                    if (i + 1 < source.length() && source.charAt(i + 1) == '+') {
+                        // possessive quantifiers do not exist in JavaScript
+                        throw new UnsupportedExpressionException();
+                    }
+                    break;
+                default:
+                    sb.append(c);
+                    break;
+            }
+        }
+        if (inClass) {
+            throw new UnsupportedExpressionException();
+        }
+        try {
+            return Pattern.compile(sb.toString(), patternFlags);
+        } catch (PatternSyntaxException pse) {
+            throw new UnsupportedExpressionException();
+        }
+    }
+
+    private static Set<String> mapMemberNames() {
+        Set<String> names = new HashSet<>();
+        for (Method method : java.util.HashMap.class.getMethods()) {
+            if (!Modifier.isPublic(method.getModifiers())) {
+                continue;
+            }
+            String name = method.getName();
+            names.add(name);
+            if (method.getParameterCount() == 0) {
+                if (name.startsWith("get") && name.length() > 3) {
+                    names.add(Introspector.decapitalize(name.substring(3)));
+                } else if (name.startsWith("is") && name.length() > 2) {
+                    names.add(Introspector.decapitalize(name.substring(2)));
+                }
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    private enum Type {
+        BOOLEAN,
+        NUMBER,
+        STRING,
+        NULLISH,
+        // a property of the target object, which is a string, null or undefined
+        PROPERTY,
+        // the result of String.prototype.match, which is an array or null
+        MATCH_RESULT,
+    }
+
+    private static class Node {
+        final Function<ServiceRef, Object> fn;
+        final Type type;
+
+        Node(Function<ServiceRef, Object> fn, Type type) {
+            this.fn = Objects.requireNonNull(fn);
+            this.type = Objects.requireNonNull(type);
+        }
+
+        static Node constant(Object value, Type type) {
+            return new Node(sr -> value, type);
+        }
+    }
+
+    static class UnsupportedExpressionException extends RuntimeException {
+        UnsupportedExpressionException() {
+            super(null, null, false, false);
+        }
+    }
+}
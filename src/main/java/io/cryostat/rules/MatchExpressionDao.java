@@ -15,12 +15,12 @@
  */
 package io.cryostat.rules;
 
-import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import io.cryostat.storage.AbstractDao;
 
 class MatchExpressionDao extends AbstractDao<Integer, MatchExpression> {
-    MatchExpressionDao(EntityManager em) {
-        super(MatchExpression.class, em);
+    MatchExpressionDao(EntityManagerFactory emf) {
+        super(MatchExpression.class, emf);
     }
 }
@@ -19,7 +19,9 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
 
 import javax.script.Bindings;
 import javax.script.ScriptEngine;
@@ -42,6 +44,8 @@ import org.slf4j.LoggerFactory;
 public class MatchExpressionEvaluator {
 
     private final ScriptEngine scriptEngine;
+    private final MatchExpressionCompiler compiler;
+    private final LoadingCache<String, Optional<Predicate<ServiceRef>>> compiled;
     private final LoadingCache<Pair<String, ServiceRef>, Boolean> cache;
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -50,6 +54,8 @@ public class MatchExpressionEvaluator {
             CredentialsManager credentialsManager,
             RuleRegistry ruleRegistry) {
         this.scriptEngine = scriptEngine;
+        this.compiler = new MatchExpressionCompiler();
+        this.compiled = Caffeine.newBuilder().maximumSize(256).build(compiler::compile);
         this.cache =
                 Caffeine.newBuilder()
                         .maximumSize(1024) // should this be configurable?
@@ -97,6 +103,7 @@ public class MatchExpressionEvaluator {
     }
 
     private void invalidateCache(String matchExpression) {
+        compiled.invalidate(matchExpression);
         var it = cache.asMap().keySet().iterator();
         while (it.hasNext()) {
             Pair<String, ServiceRef> entry = it.next();
@@ -116,6 +123,15 @@ public class MatchExpressionEvaluator {
         MatchExpressionAppliesEvent evt = new MatchExpressionAppliesEvent(matchExpression);
         try {
             evt.begin();
+            Optional<Predicate<ServiceRef>> predicate = compiled.get(matchExpression);
+            if (predicate.isPresent()) {
+                try {
+                    // natively compiled expressions are cheaper to evaluate than to cache
+                    return predicate.get().test(serviceRef);
+                } catch (MatchExpressionCompiler.UnsupportedExpressionException e) {
+                    // the script fails for this target, so let the script engine report how
+                }
+            }
             Boolean result = cache.get(key);
             if (result == null) {
                 throw new IllegalStateException();
@@ -0,0 +1,105 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.rules;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import io.cryostat.platform.ServiceRef;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Indexes {@link Rule}s by a target property equality term which their match expressions require,
+ * for example {@code target.alias == 'com.example.App'} or {@code target.labels.app == 'foo'}.
+ * Looking up the candidate rules for a target then only costs one hash lookup per target property
+ * rather than one match expression evaluation per rule. Rules whose match expressions contain no
+ * such term are always candidates. Candidates must still be checked by evaluating their match
+ * expressions.
+ *
+ * @see MatchExpressionCompiler#indexKey(String)
+ */
+class RuleMatchIndex {
+
+    private final MatchExpressionCompiler compiler;
+    private final Map<String, Rule> rules = new HashMap<>();
+    private final Map<String, Pair<String, String>> ruleKeys = new HashMap<>();
+    private final Map<Pair<String, String>, Set<Rule>> byKey = new HashMap<>();
+    private final Set<Rule> unindexed = new LinkedHashSet<>();
+
+    RuleMatchIndex(MatchExpressionCompiler compiler) {
+        this.compiler = compiler;
+    }
+
+    synchronized void add(Rule rule) {
+        remove(rule.getName());
+        rules.put(rule.getName(), rule);
+        Optional<Pair<String, String>> key = compiler.indexKey(rule.getMatchExpression());
+        if (key.isPresent()) {
+            ruleKeys.put(rule.getName(), key.get());
+            byKey.computeIfAbsent(key.get(), k -> new LinkedHashSet<>()).add(rule);
+        } else {
+            unindexed.add(rule);
+        }
+    }
+
+    synchronized void remove(String name) {
+        Rule rule = rules.remove(name);
+        if (rule == null) {
+            return;
+        }
+        Pair<String, String> key = ruleKeys.remove(name);
+        if (key == null) {
+            unindexed.remove(rule);
+            return;
+        }
+        Set<Rule> indexed = byKey.get(key);
+        if (indexed != null) {
+            indexed.remove(rule);
+            if (indexed.isEmpty()) {
+                byKey.remove(key);
+            }
+        }
+    }
+
+    synchronized List<Rule> getCandidates(ServiceRef serviceRef) {
+        List<Rule> candidates = new ArrayList<>(unindexed);
+        if (byKey.isEmpty()) {
+            return candidates;
+        }
+        for (Pair<String, String> key : MatchExpressionCompiler.indexKeys(serviceRef)) {
+            Set<Rule> indexed = byKey.get(key);
+            if (indexed != null) {
+                candidates.addAll(indexed);
+            }
+        }
+        return candidates;
+    }
+
+    Predicate<ServiceRef> candidateFilter(Rule rule) {
+        Optional<Pair<String, String>> key = compiler.indexKey(rule.getMatchExpression());
+        if (key.isEmpty()) {
+            return serviceRef -> true;
+        }
+        return serviceRef -> MatchExpressionCompiler.indexKeys(serviceRef).contains(key.get());
+    }
+}
@@ -16,8 +16,12 @@
 package io.cryostat.rules;
 
 import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -75,6 +79,8 @@ public class RuleProcessor extends AbstractVerticle implements Consumer<TargetDi
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final Map<Pair<String, Rule>, Future<?>> tasks;
+    // guarded by this
+    private final Map<URI, ServiceRef> pendingActivations = new LinkedHashMap<>();
 
     RuleProcessor(
             ScheduledExecutorService executor,
@@ -111,6 +117,9 @@ public class RuleProcessor extends AbstractVerticle implements Consumer<TargetDi
     @Override
     public void stop() {
         this.platformClient.removeTargetDiscoveryListener(this);
+        synchronized (this) {
+            this.pendingActivations.clear();
+        }
         this.tasks.forEach((ruleExecution, task) -> task.cancel(false));
         this.tasks.clear();
     }
@@ -145,11 +154,9 @@ public class RuleProcessor extends AbstractVerticle implements Consumer<TargetDi
             private void activateRule(Event<RuleEvent, Rule> event) {
                 executor.submit(
                         () -> {
-                            platformClient.listDiscoverableServices().stream()
-                                    .filter(
-                                            serviceRef ->
-                                                    registry.applies(
-                                                            event.getPayload(), serviceRef))
+                            registry.getTargets(
+                                            event.getPayload(),
+                                            platformClient.listDiscoverableServices())
                                     .forEach(
                                             serviceRef -> activate(event.getPayload(), serviceRef));
                         });
@@ -183,14 +190,14 @@ public class RuleProcessor extends AbstractVerticle implements Consumer<TargetDi
             private void activateRule(Event<CredentialsEvent, String> event) {
                 executor.submit(
                         () -> {
-                            credentialsManager
-                                    .resolveMatchingTargets(event.getPayload())
+                            registry.getRules(
+                                            credentialsManager.resolveMatchingTargets(
+                                                    event.getPayload()))
                                     .forEach(
-                                            sr -> {
-                                                registry.getRules(sr).stream()
-                                                        .filter(Rule::isEnabled)
-                                                        .forEach(rule -> activate(rule, sr));
-                                            });
+                                            (sr, rules) ->
+                                                    rules.stream()
+                                                            .filter(Rule::isEnabled)
+                                                            .forEach(rule -> activate(rule, sr)));
                         });
             }
         };
@@ -200,27 +207,44 @@ public class RuleProcessor extends AbstractVerticle implements Consumer<TargetDi
     public synchronized void accept(TargetDiscoveryEvent tde) {
         switch (tde.getEventKind()) {
             case FOUND:
-                activateAllRulesFor(tde.getServiceRef());
+                enqueueActivation(tde.getServiceRef());
                 break;
             case LOST:
+                pendingActivations.remove(tde.getServiceRef().getServiceUri());
                 deactivate(null, tde.getServiceRef());
                 break;
             case MODIFIED:
-                activateAllRulesFor(tde.getServiceRef());
+                enqueueActivation(tde.getServiceRef());
                 break;
             default:
                 throw new UnsupportedOperationException(tde.getEventKind().toString());
         }
     }
 
-    private void activateAllRulesFor(ServiceRef serviceRef) {
-        registry.getRules(serviceRef)
+    private void enqueueActivation(ServiceRef serviceRef) {
+        // targets discovered while a drain is pending are matched against the rules together
+        boolean drainPending = !pendingActivations.isEmpty();
+        pendingActivations.put(serviceRef.getServiceUri(), serviceRef);
+        if (!drainPending) {
+            executor.execute(this::activatePending);
+        }
+    }
+
+    private synchronized void activatePending() {
+        List<ServiceRef> batch = new ArrayList<>(pendingActivations.values());
+        pendingActivations.clear();
+        if (batch.isEmpty()) {
+            return;
+        }
+        registry.getRules(batch)
                 .forEach(
-                        rule -> {
-                            if (rule.isEnabled()) {
-                                activate(rule, serviceRef);
-                            }
-                        });
+                        (serviceRef, rules) ->
+                                rules.forEach(
+                                        rule -> {
+                                            if (rule.isEnabled()) {
+                                                activate(rule, serviceRef);
+                                            }
+                                        }));
     }
 
     private void activate(Rule rule, ServiceRef serviceRef) {
@@ -296,6 +320,8 @@ public class RuleProcessor extends AbstractVerticle implements Consumer<TargetDi
                                             archivalPeriodSeconds,
                                             TimeUnit.SECONDS);
                             tasks.put(key, task);
+                            targetConnectionManager.keepAliveWhile(
+                                    new ConnectionDescriptor(serviceRef, credentials), task);
                         }
                     } catch (ScriptException e) {
                         logger.error("Script exception", e);
@@ -18,7 +18,10 @@ package io.cryostat.rules;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -43,6 +46,7 @@ public class RuleRegistry extends AbstractEventEmitter<RuleEvent, Rule> {
     private final Lazy<MatchExpressionEvaluator> matchExpressionEvaluator;
     private final FileSystem fs;
     private final Set<Rule> rules;
+    private final RuleMatchIndex index;
     private final Gson gson;
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -56,6 +60,7 @@ public class RuleRegistry extends AbstractEventEmitter<RuleEvent, Rule> {
         this.fs = fs;
         this.gson = gson;
         this.rules = new HashSet<>();
+        this.index = new RuleMatchIndex(new MatchExpressionCompiler());
     }
 
     public void loadRules() throws IOException {
@@ -82,7 +87,11 @@ public class RuleRegistry extends AbstractEventEmitter<RuleEvent, Rule> {
                             }
                         })
                 .filter(Objects::nonNull)
-                .forEach(rules::add);
+                .forEach(
+                        rule -> {
+                            rules.add(rule);
+                            index.add(rule);
+                        });
     }
 
     public Rule addRule(Rule rule) throws IOException {
@@ -94,6 +103,7 @@ public class RuleRegistry extends AbstractEventEmitter<RuleEvent, Rule> {
                                 rule.getName()));
             }
             rules.add(rule);
+            index.add(rule);
             persistRule(rule);
         }
         emit(RuleEvent.ADDED, rule);
@@ -126,7 +136,27 @@ public class RuleRegistry extends AbstractEventEmitter<RuleEvent, Rule> {
         if (!serviceRef.getAlias().isPresent()) {
             return Set.of();
         }
-        return rules.stream().filter(r -> applies(r, serviceRef)).collect(Collectors.toSet());
+        return index.getCandidates(serviceRef).stream()
+                .filter(r -> applies(r, serviceRef))
+                .collect(Collectors.toSet());
+    }
+
+    public Map<ServiceRef, Set<Rule>> getRules(Collection<ServiceRef> serviceRefs) {
+        Map<ServiceRef, Set<Rule>> result = new HashMap<>();
+        for (ServiceRef serviceRef : serviceRefs) {
+            Set<Rule> matched = getRules(serviceRef);
+            if (!matched.isEmpty()) {
+                result.put(serviceRef, matched);
+            }
+        }
+        return result;
+    }
+
+    public Set<ServiceRef> getTargets(Rule rule, Collection<ServiceRef> serviceRefs) {
+        return serviceRefs.stream()
+                .filter(index.candidateFilter(rule))
+                .filter(serviceRef -> applies(rule, serviceRef))
+                .collect(Collectors.toSet());
     }
 
     public Set<Rule> getRules() {
@@ -150,6 +180,7 @@ public class RuleRegistry extends AbstractEventEmitter<RuleEvent, Rule> {
             if (Objects.equals(rule.getName(), name)) {
                 emit(RuleEvent.REMOVED, rule);
                 it.remove();
+                index.remove(name);
                 break;
             }
         }
@@ -22,7 +22,7 @@ import java.util.concurrent.Executors;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
-import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.script.ScriptEngine;
 
 import io.cryostat.configuration.ConfigurationModule;
@@ -65,8 +65,8 @@ public abstract class RulesModule {
 
     @Provides
     @Singleton
-    static MatchExpressionDao provideMatchExpressionDao(EntityManager em) {
-        return new MatchExpressionDao(em);
+    static MatchExpressionDao provideMatchExpressionDao(EntityManagerFactory emf) {
+        return new MatchExpressionDao(emf);
     }
 
     @Provides
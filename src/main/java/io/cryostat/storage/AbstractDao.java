@@ -18,95 +18,119 @@ package io.cryostat.storage;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityTransaction;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Base for entity DAOs. Every operation is its own unit of work with its own EntityManager and
+ * pooled connection, so operations from different threads run concurrently and are isolated by the
+ * database rather than by a lock. Entities returned are always detached.
+ */
 public abstract class AbstractDao<I, T> {
 
     protected final Class<T> klazz;
-    protected final EntityManager entityManager;
+    protected final EntityManagerFactory entityManagerFactory;
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
-    protected AbstractDao(Class<T> klazz, EntityManager entityManager) {
+    protected AbstractDao(Class<T> klazz, EntityManagerFactory entityManagerFactory) {
         this.klazz = klazz;
-        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     public final T save(T t) {
-        synchronized (entityManager) {
-            Objects.requireNonNull(t);
-            EntityTransaction transaction = entityManager.getTransaction();
-            try {
-                transaction.begin();
-                entityManager.persist(t);
-                transaction.commit();
-                entityManager.detach(t);
-                return t;
-            } catch (Exception e) {
-                if (transaction != null) {
-                    transaction.rollback();
-                }
-                logger.error("Persist exception", e);
-                throw e;
-            }
+        Objects.requireNonNull(t);
+        try {
+            return write(
+                    entityManager -> {
+                        entityManager.persist(t);
+                        return t;
+                    });
+        } catch (RuntimeException e) {
+            logger.error("Persist exception", e);
+            throw e;
         }
     }
 
     public final boolean delete(I id) {
-        synchronized (entityManager) {
-            Objects.requireNonNull(id);
-            EntityTransaction transaction = entityManager.getTransaction();
-            try {
-                transaction.begin();
-                T t = entityManager.find(klazz, id);
-                entityManager.remove(t);
-                transaction.commit();
-                return true;
-            } catch (Exception e) {
-                if (transaction != null) {
-                    transaction.rollback();
-                }
-                logger.error("Delete exception", e);
-                return false;
-            }
+        Objects.requireNonNull(id);
+        try {
+            return write(
+                    entityManager -> {
+                        T t = entityManager.find(klazz, id);
+                        if (t == null) {
+                            return false;
+                        }
+                        entityManager.remove(t);
+                        return true;
+                    });
+        } catch (RuntimeException e) {
+            logger.error("Delete exception", e);
+            return false;
         }
     }
 
     public final Optional<T> get(I id) {
-        synchronized (entityManager) {
-            Objects.requireNonNull(id);
-            EntityTransaction transaction = entityManager.getTransaction();
-            try {
-                T t = entityManager.find(klazz, id);
-                if (t != null) {
-                    entityManager.detach(t);
-                }
-                return Optional.ofNullable(t);
-            } catch (Exception e) {
-                if (transaction != null) {
-                    transaction.rollback();
-                }
-                throw e;
-            }
-        }
+        Objects.requireNonNull(id);
+        return read(entityManager -> Optional.ofNullable(entityManager.find(klazz, id)));
     }
 
     public final List<T> getAll() {
-        synchronized (entityManager) {
-            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-            CriteriaQuery<T> cq = cb.createQuery(klazz);
-            Root<T> rootEntry = cq.from(klazz);
-            CriteriaQuery<T> all = cq.select(rootEntry);
-            TypedQuery<T> allQuery = entityManager.createQuery(all);
-            return allQuery.getResultList();
+        return read(
+                entityManager -> {
+                    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                    CriteriaQuery<T> cq = cb.createQuery(klazz);
+                    Root<T> rootEntry = cq.from(klazz);
+                    CriteriaQuery<T> all = cq.select(rootEntry);
+                    TypedQuery<T> allQuery = entityManager.createQuery(all);
+                    return allQuery.getResultList();
+                });
+    }
+
+    /**
+     * Run a query outside of any transaction. Loaded entities are read-only, so Hibernate does not
+     * keep snapshots of them for dirty checking.
+     */
+    protected final <R> R read(Function<EntityManager, R> fn) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.unwrap(Session.class).setDefaultReadOnly(true);
+            return fn.apply(entityManager);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Run an update in a transaction, which is committed if the function returns normally and
+     * rolled back otherwise. Changes to entities loaded within the function are flushed on commit,
+     * in JDBC batches where several rows are written.
+     */
+    protected final <R> R write(Function<EntityManager, R> fn) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        EntityTransaction transaction = entityManager.getTransaction();
+        try {
+            transaction.begin();
+            R result = fn.apply(entityManager);
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            entityManager.close();
         }
     }
 }
@@ -19,7 +19,6 @@ import java.util.Properties;
 
 import javax.inject.Singleton;
 import javax.naming.ConfigurationException;
-import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
 
@@ -37,7 +36,7 @@ public abstract class StorageModule {
 
     @Provides
     @Singleton
-    static EntityManagerFactory provideEntityManagerFactory(Environment env) {
+    public static EntityManagerFactory provideEntityManagerFactory(Environment env) {
         Properties properties = new Properties();
         properties.put(
                 "jakarta.persistence.jdbc.driver",
@@ -56,6 +55,44 @@ public abstract class StorageModule {
                 "hibernate.dialect",
                 env.getEnv(Variables.HIBERNATE_DIALECT, "org.hibernate.dialect.H2Dialect"));
         properties.put("hibernate.hbm2ddl.auto", env.getEnv(Variables.HBM2DDL, "create"));
+        // each DAO operation uses its own EntityManager, so connections are only held for the
+        // duration of one operation and returned to the pool
+        properties.put(
+                "hibernate.connection.provider_class",
+                "org.hibernate.hikaricp.internal.HikariCPConnectionProvider");
+        properties.put("hibernate.hikari.poolName", "cryostat");
+        properties.put(
+                "hibernate.hikari.maximumPoolSize",
+                String.valueOf(
+                        Math.max(1, Integer.parseInt(env.getEnv(Variables.JDBC_POOL_SIZE, "20")))));
+        // how long an operation waits to borrow a connection before failing, and how long a
+        // borrowed connection may take to prove it is still alive before it is replaced
+        properties.put(
+                "hibernate.hikari.connectionTimeout",
+                String.valueOf(
+                        Math.max(
+                                250,
+                                Long.parseLong(
+                                        env.getEnv(
+                                                Variables.JDBC_CONNECTION_TIMEOUT_MS, "30000")))));
+        properties.put(
+                "hibernate.hikari.validationTimeout",
+                String.valueOf(
+                        Math.max(
+                                250,
+                                Long.parseLong(
+                                        env.getEnv(
+                                                Variables.JDBC_VALIDATION_TIMEOUT_MS, "5000")))));
+        // read-only operations run without a transaction, so pooled connections must not leave
+        // one open after they are returned
+        properties.put("hibernate.connection.autocommit", "true");
+        properties.put(
+                "hibernate.jdbc.batch_size",
+                String.valueOf(
+                        Math.max(
+                                0, Integer.parseInt(env.getEnv(Variables.JDBC_BATCH_SIZE, "32")))));
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
         if (env.hasEnv(Variables.LOG_QUERIES)) {
             properties.put("hibernate.show_sql", "true");
             properties.put("hibernate.format_sql", "true");
@@ -80,10 +117,4 @@ public abstract class StorageModule {
 
         return Persistence.createEntityManagerFactory("io.cryostat", properties);
     }
-
-    @Provides
-    @Singleton
-    static EntityManager provideEntityManager(EntityManagerFactory emf) {
-        return emf.createEntityManager();
-    }
 }
@@ -0,0 +1,335 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+
+import io.cryostat.net.ConnectionDescriptor;
+import io.cryostat.net.TargetConnectionManager;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * A conversion utility to move data from a Java classic blocking {@link InputStream} read from a
+ * target connection, such as a recording stream, to a Vert.x {@link ReadStream}. This is the
+ * counterpart of {@link WriteStreamToInputStream}.
+ *
+ * <p>The input is read on a worker executor in chunks of up to {@code chunkSize} bytes, each read
+ * directly into the {@link Buffer} which is passed on to the data handler. The reader runs ahead of
+ * the consumer by at most a few chunks, and otherwise only reads when the consumer has demand, so a
+ * slow consumer such as a paused pipe throttles the reads without blocking the reader on each
+ * chunk. Handlers are called on the Vert.x context.
+ *
+ * <p>While reading, the target connection is marked as in use at most once per {@code
+ * keepAliveInterval}, as well as before the first and after the last read. If the connection has
+ * been closed meanwhile then the stream fails.
+ *
+ * <p>The caller remains responsible for closing the {@link InputStream} once the stream has ended
+ * or failed.
+ */
+public class InputToReadStream implements ReadStream<Buffer> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024; // 64 KB
+    public static final Duration DEFAULT_KEEP_ALIVE_INTERVAL = Duration.ofSeconds(1);
+    static final int READ_AHEAD_CHUNKS = 4;
+
+    private final Context context;
+    private final Executor executor;
+    private final InputStream source;
+    private final TargetConnectionManager targetConnectionManager;
+    private final ConnectionDescriptor connectionDescriptor;
+    private final int chunkSize;
+    private final long keepAliveIntervalNanos;
+
+    private final Deque<Buffer> pending = new ArrayDeque<>();
+    private long demand = Long.MAX_VALUE;
+    private boolean started;
+    private boolean reading;
+    private boolean delivering;
+    private boolean eof;
+    private boolean ended;
+    private Throwable failure;
+    private long lastKeepAlive;
+    private boolean keptAlive;
+
+    private final Promise<Void> result = Promise.promise();
+    private volatile Handler<Buffer> dataHandler;
+    private volatile Handler<Void> endHandler;
+    private volatile Handler<Throwable> exceptionHandler;
+
+    public InputToReadStream(
+            Vertx vertx,
+            InputStream source,
+            TargetConnectionManager targetConnectionManager,
+            ConnectionDescriptor connectionDescriptor) {
+        this(vertx.getOrCreateContext(), source, targetConnectionManager, connectionDescriptor);
+    }
+
+    private InputToReadStream(
+            Context context,
+            InputStream source,
+            TargetConnectionManager targetConnectionManager,
+            ConnectionDescriptor connectionDescriptor) {
+        this(
+                context,
+                workerExecutor(context),
+                source,
+                targetConnectionManager,
+                connectionDescriptor,
+                DEFAULT_CHUNK_SIZE,
+                DEFAULT_KEEP_ALIVE_INTERVAL);
+    }
+
+    @SuppressFBWarnings(
+            value = "EI_EXPOSE_REP2",
+            justification = "The caller owns and closes the source stream")
+    InputToReadStream(
+            Context context,
+            Executor executor,
+            InputStream source,
+            TargetConnectionManager targetConnectionManager,
+            ConnectionDescriptor connectionDescriptor,
+            int chunkSize,
+            Duration keepAliveInterval) {
+        this.context = context;
+        this.executor = executor;
+        this.source = source;
+        this.targetConnectionManager = targetConnectionManager;
+        this.connectionDescriptor = connectionDescriptor;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.keepAliveIntervalNanos = keepAliveInterval.toNanos();
+    }
+
+    // reads block on the target connection, so they run on the Vert.x worker pool rather than
+    // the common pool, which concurrent downloads could otherwise starve
+    private static Executor workerExecutor(Context context) {
+        return task ->
+                context.executeBlocking(
+                        promise -> {
+                            task.run();
+                            promise.complete();
+                        },
+                        false);
+    }
+
+    /**
+     * Pipe all of the input to the sink.
+     *
+     * @return a future which succeeds when all the data has been written and the sink ended, or
+     *     fails as soon as reading the input or writing to the sink fails
+     */
+    public Future<Void> pipeFromInput(WriteStream<Buffer> sink) {
+        pipeTo(sink, result);
+        return result.future();
+    }
+
+    @Override
+    public InputToReadStream exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public InputToReadStream handler(Handler<Buffer> handler) {
+        this.dataHandler = handler;
+        if (handler != null) {
+            synchronized (this) {
+                started = true;
+            }
+            readMore();
+            context.runOnContext(v -> deliver());
+        }
+        return this;
+    }
+
+    @Override
+    public InputToReadStream endHandler(Handler<Void> handler) {
+        this.endHandler = handler;
+        return this;
+    }
+
+    @Override
+    public InputToReadStream pause() {
+        synchronized (this) {
+            demand = 0;
+        }
+        return this;
+    }
+
+    @Override
+    public InputToReadStream resume() {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public InputToReadStream fetch(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Negative fetch amount: " + amount);
+        }
+        synchronized (this) {
+            demand += amount;
+            if (demand < 0) {
+                demand = Long.MAX_VALUE;
+            }
+        }
+        readMore();
+        context.runOnContext(v -> deliver());
+        return this;
+    }
+
+    private void readMore() {
+        synchronized (this) {
+            if (!started
+                    || reading
+                    || eof
+                    || failure != null
+                    || pending.size() >= READ_AHEAD_CHUNKS) {
+                return;
+            }
+            reading = true;
+        }
+        executor.execute(this::readChunk);
+    }
+
+    private void readChunk() {
+        Buffer chunk = null;
+        boolean end = false;
+        Throwable error = null;
+        try {
+            keepAlive(false);
+            ByteBuf buf = Unpooled.buffer(chunkSize, chunkSize);
+            while (buf.isWritable()) {
+                if (buf.writeBytes(source, buf.writableBytes()) < 0) {
+                    end = true;
+                    break;
+                }
+            }
+            if (end) {
+                keepAlive(true);
+            }
+            if (buf.isReadable()) {
+                chunk = Buffer.buffer(buf);
+            }
+        } catch (IOException | RuntimeException e) {
+            error = e;
+        }
+        synchronized (this) {
+            reading = false;
+            if (chunk != null) {
+                pending.add(chunk);
+            }
+            eof |= end;
+            if (error != null && failure == null) {
+                failure = error;
+            }
+        }
+        readMore();
+        context.runOnContext(v -> deliver());
+    }
+
+    private void keepAlive(boolean force) throws IOException {
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (!force && keptAlive && now - lastKeepAlive < keepAliveIntervalNanos) {
+                return;
+            }
+            keptAlive = true;
+            lastKeepAlive = now;
+        }
+        if (!targetConnectionManager.markConnectionInUse(connectionDescriptor)) {
+            throw new IOException(
+                    "Target connection unexpectedly closed while streaming recording");
+        }
+    }
+
+    private void deliver() {
+        synchronized (this) {
+            if (delivering) {
+                // an outer call on this thread, or another thread, is already delivering and will
+                // pick up any new state before it stops
+                return;
+            }
+            delivering = true;
+        }
+        while (true) {
+            Buffer chunk = null;
+            Throwable error = null;
+            boolean end = false;
+            synchronized (this) {
+                if (ended) {
+                    delivering = false;
+                    return;
+                } else if (failure != null) {
+                    ended = true;
+                    pending.clear();
+                    error = failure;
+                } else if (!pending.isEmpty() && demand > 0) {
+                    chunk = pending.poll();
+                    if (demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                } else if (pending.isEmpty() && eof) {
+                    ended = true;
+                    end = true;
+                } else {
+                    delivering = false;
+                    return;
+                }
+            }
+            if (chunk != null) {
+                readMore();
+                handle(dataHandler, chunk);
+            } else if (error != null) {
+                handle(exceptionHandler, error);
+                result.tryFail(error);
+            } else if (end) {
+                handle(endHandler, null);
+            }
+        }
+    }
+
+    private <T> void handle(Handler<T> handler, T value) {
+        if (handler == null) {
+            return;
+        }
+        try {
+            handler.handle(value);
+        } catch (Throwable t) {
+            Handler<Throwable> onError = exceptionHandler;
+            if (onError == null || handler == onError) {
+                onError = context.exceptionHandler();
+            }
+            if (onError != null) {
+                onError.handle(t);
+            }
+        }
+    }
+}
@@ -31,7 +31,11 @@ public class JavaProcess {
     private static Logger logger = LoggerFactory.getLogger(JavaProcess.class);
 
     static Process exec(
-            Class<?> klazz, Map<String, String> env, List<String> jvmArgs, List<String> processArgs)
+            Class<?> klazz,
+            Map<String, String> env,
+            List<String> jvmArgs,
+            List<String> processArgs,
+            boolean inheritIO)
             throws IOException, InterruptedException {
         String className = klazz.getName();
 
@@ -46,7 +50,13 @@ public class JavaProcess {
         logger.trace("Forking process: {}", cmd.toString());
         var pb = new ProcessBuilder();
         pb.environment().putAll(env);
-        return pb.command(cmd).inheritIO().start();
+        if (inheritIO) {
+            pb.inheritIO();
+        } else {
+            // stdin and stdout are left as pipes for the parent to communicate over
+            pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+        }
+        return pb.command(cmd).start();
     }
 
     public static class Builder {
@@ -54,6 +64,7 @@ public class JavaProcess {
         private Map<String, String> env;
         private List<String> jvmArgs;
         private List<String> processArgs;
+        private boolean inheritIO = true;
 
         public Builder klazz(Class<?> klazz) {
             this.klazz = Objects.requireNonNull(klazz);
@@ -78,6 +89,11 @@ public class JavaProcess {
             return this;
         }
 
+        public Builder inheritIO(boolean inheritIO) {
+            this.inheritIO = inheritIO;
+            return this;
+        }
+
         public Process exec() throws IOException, InterruptedException {
             Objects.requireNonNull(klazz, "Class cannot be null");
             if (env == null) {
@@ -89,7 +105,7 @@ public class JavaProcess {
             if (processArgs == null) {
                 processArgs = Collections.emptyList();
             }
-            return JavaProcess.exec(klazz, env, jvmArgs, processArgs);
+            return JavaProcess.exec(klazz, env, jvmArgs, processArgs, inheritIO);
         }
     }
 }
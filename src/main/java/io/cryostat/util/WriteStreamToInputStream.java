@@ -0,0 +1,261 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * A conversion utility to help move data from a Vert.x asynchronous Stream to Java classic blocking
+ * IO. This is the counterpart of {@link InputToReadStream}.
+ *
+ * <p>Use this class as the destination {@link WriteStream} of a Vert.x pipe, ex. {@link
+ * io.vertx.ext.web.codec.BodyCodec#pipe(WriteStream, boolean)}, and read the piped data from it as
+ * an {@link InputStream} on a worker thread. At most roughly {@code maxQueuedBytes} of data are
+ * held in memory at once: the write queue reports itself full beyond that, so the pipe pauses its
+ * source until the reader has consumed half of the queued data. The writing side must either {@link
+ * #end()} or {@link #fail(Throwable)} the stream so that the reader does not block forever.
+ *
+ * <p>Closing the {@link InputStream} before the end of the data discards any further writes, so
+ * that the source is not left paused, and calls the {@link #closeHandler(Handler)} so that the
+ * source can be aborted rather than drained.
+ */
+public class WriteStreamToInputStream extends InputStream implements WriteStream<Buffer> {
+
+    private final Deque<Buffer> queue = new ArrayDeque<>();
+    private long maxQueuedBytes;
+    private long queuedBytes;
+    private Buffer current;
+    private int position;
+    private boolean ended;
+    private boolean closed;
+    private Throwable failure;
+    private Handler<Void> drainHandler;
+    private Handler<Void> closeHandler;
+    private Context context;
+
+    public WriteStreamToInputStream(long maxQueuedBytes) {
+        this.maxQueuedBytes = maxQueuedBytes;
+    }
+
+    /**
+     * Set a handler to call if the reader closes the {@link InputStream} before the writing side
+     * has ended or failed it, ex. to abort the transfer which is writing to it.
+     */
+    public synchronized WriteStreamToInputStream closeHandler(Handler<Void> handler) {
+        this.closeHandler = handler;
+        return this;
+    }
+
+    /**
+     * Propagate an error from the writing side to the reader. Data already written remains
+     * readable, after which reads throw an {@link IOException} caused by the given error.
+     */
+    @SuppressFBWarnings(
+            value = "EI_EXPOSE_REP2",
+            justification = "The error is only passed on as the cause of read exceptions")
+    public void fail(Throwable t) {
+        synchronized (this) {
+            if (ended || failure != null) {
+                return;
+            }
+            failure = t;
+            notifyAll();
+        }
+    }
+
+    /* WriteStream stuff */
+
+    @Override
+    public WriteStreamToInputStream exceptionHandler(Handler<Throwable> handler) {
+        // errors can only be propagated to the reader, see fail()
+        return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+        Promise<Void> promise = Promise.promise();
+        write(data, promise);
+        return promise.future();
+    }
+
+    @Override
+    public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
+        synchronized (this) {
+            captureContext();
+            if (!closed && data.length() > 0) {
+                queue.addLast(data);
+                queuedBytes += data.length();
+                notifyAll();
+            }
+        }
+        if (handler != null) {
+            handler.handle(Future.succeededFuture());
+        }
+    }
+
+    @Override
+    public void end(Handler<AsyncResult<Void>> handler) {
+        synchronized (this) {
+            if (failure == null) {
+                ended = true;
+            }
+            notifyAll();
+        }
+        if (handler != null) {
+            handler.handle(Future.succeededFuture());
+        }
+    }
+
+    @Override
+    public synchronized WriteStreamToInputStream setWriteQueueMaxSize(int maxSize) {
+        this.maxQueuedBytes = maxSize;
+        return this;
+    }
+
+    @Override
+    public synchronized boolean writeQueueFull() {
+        return !closed && queuedBytes >= maxQueuedBytes;
+    }
+
+    @Override
+    public synchronized WriteStreamToInputStream drainHandler(Handler<Void> handler) {
+        captureContext();
+        this.drainHandler = handler;
+        return this;
+    }
+
+    /* InputStream stuff */
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n;
+        do {
+            n = read(b, 0, 1);
+        } while (n == 0);
+        return n < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        Handler<Void> drain = null;
+        int n;
+        synchronized (this) {
+            while (current == null || position >= current.length()) {
+                if (closed) {
+                    throw new IOException("InputStream is closed");
+                }
+                current = queue.pollFirst();
+                position = 0;
+                if (current != null) {
+                    queuedBytes -= current.length();
+                    if (drainHandler != null && queuedBytes <= maxQueuedBytes / 2) {
+                        drain = drainHandler;
+                        drainHandler = null;
+                    }
+                    break;
+                }
+                if (failure != null) {
+                    throw new IOException(failure);
+                }
+                if (ended) {
+                    return -1;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted a wait for stream data", e);
+                }
+            }
+            n = Math.min(len, current.length() - position);
+            current.getBytes(position, position + n, b, off);
+            position += n;
+        }
+        dispatch(drain);
+        return n;
+    }
+
+    @Override
+    public synchronized int available() {
+        long available = queuedBytes;
+        if (current != null) {
+            available += current.length() - position;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, available);
+    }
+
+    @Override
+    public void close() {
+        Handler<Void> drain;
+        Handler<Void> abort;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            queuedBytes = 0;
+            current = null;
+            drain = drainHandler;
+            drainHandler = null;
+            abort = ended || failure != null ? null : closeHandler;
+            closeHandler = null;
+            notifyAll();
+        }
+        dispatch(drain);
+        dispatch(abort);
+    }
+
+    /* Internal implementation */
+
+    private void captureContext() {
+        if (context == null) {
+            context = Vertx.currentContext();
+        }
+    }
+
+    private void dispatch(Handler<Void> handler) {
+        if (handler == null) {
+            return;
+        }
+        Context ctx;
+        synchronized (this) {
+            ctx = context;
+        }
+        if (ctx != null) {
+            ctx.runOnContext(handler);
+        } else {
+            handler.handle(null);
+        }
+    }
+}
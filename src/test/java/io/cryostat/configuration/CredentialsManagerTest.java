@@ -21,12 +21,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import io.cryostat.MainModule;
 import io.cryostat.core.net.Credentials;
+import io.cryostat.core.net.discovery.JvmDiscoveryClient.EventKind;
 import io.cryostat.core.sys.FileSystem;
 import io.cryostat.platform.PlatformClient;
 import io.cryostat.platform.ServiceRef;
+import io.cryostat.platform.TargetDiscoveryEvent;
 import io.cryostat.rules.MatchExpressionEvaluator;
 import io.cryostat.rules.MatchExpressionValidator;
 
@@ -37,6 +40,7 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -51,7 +55,10 @@ class CredentialsManagerTest {
     @Mock Path credentialsDir;
     @Mock MatchExpressionValidator matchExpressionValidator;
     @Mock MatchExpressionEvaluator matchExpressionEvaluator;
-    @Mock PlatformClient platformClient;
+
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    PlatformClient platformClient;
+
     @Mock StoredCredentialsDao dao;
     @Mock FileSystem fs;
     Gson gson = MainModule.provideGson();
@@ -299,4 +306,119 @@ class CredentialsManagerTest {
         MatcherAssert.assertThat(
                 credentialsManager.resolveMatchingTargets(7), Matchers.equalTo(expected));
     }
+
+    @Test
+    void cachesResolvedCredentials() throws Exception {
+        String matchExpression = "some expression";
+        Credentials credentials = new Credentials("user", "pass");
+        StoredCredentials stored = new StoredCredentials(1, matchExpression, credentials);
+        ServiceRef serviceRef = new ServiceRef("id", new URI("foo"), "foo");
+
+        Mockito.when(dao.getAll()).thenReturn(List.of(stored));
+        Mockito.when(matchExpressionEvaluator.applies(matchExpression, serviceRef))
+                .thenReturn(true);
+
+        MatcherAssert.assertThat(
+                credentialsManager.getCredentials(serviceRef), Matchers.equalTo(credentials));
+        MatcherAssert.assertThat(
+                credentialsManager.getCredentials(serviceRef), Matchers.equalTo(credentials));
+
+        Mockito.verify(dao, Mockito.times(1)).getAll();
+        Mockito.verify(matchExpressionEvaluator, Mockito.times(1))
+                .applies(matchExpression, serviceRef);
+    }
+
+    @Test
+    void invalidatesCachedCredentialsOnRemoval() throws Exception {
+        String matchExpression = "some expression";
+        Credentials credentials = new Credentials("user", "pass");
+        StoredCredentials stored = new StoredCredentials(1, matchExpression, credentials);
+        ServiceRef serviceRef = new ServiceRef("id", new URI("foo"), "foo");
+
+        Mockito.when(dao.getAll()).thenReturn(List.of(stored)).thenReturn(List.of());
+        Mockito.when(dao.get(1)).thenReturn(Optional.of(stored));
+        Mockito.when(dao.delete(1)).thenReturn(true);
+        Mockito.when(matchExpressionEvaluator.applies(matchExpression, serviceRef))
+                .thenReturn(true);
+
+        MatcherAssert.assertThat(
+                credentialsManager.getCredentials(serviceRef), Matchers.equalTo(credentials));
+
+        credentialsManager.delete(1);
+
+        MatcherAssert.assertThat(
+                credentialsManager.getCredentials(serviceRef), Matchers.nullValue());
+        Mockito.verify(dao, Mockito.times(2)).getAll();
+    }
+
+    @Test
+    void invalidatesCachedCredentialsOnAddition() throws Exception {
+        String matchExpression = "some expression";
+        Credentials credentials = new Credentials("user", "pass");
+        StoredCredentials stored = new StoredCredentials(1, matchExpression, credentials);
+        ServiceRef serviceRef = new ServiceRef("id", new URI("foo"), "foo");
+
+        Mockito.when(dao.getAll()).thenReturn(List.of()).thenReturn(List.of(stored));
+        Mockito.when(dao.save(Mockito.any())).thenReturn(stored);
+        Mockito.when(matchExpressionEvaluator.applies(matchExpression, serviceRef))
+                .thenReturn(true);
+
+        MatcherAssert.assertThat(
+                credentialsManager.getCredentials(serviceRef), Matchers.nullValue());
+
+        credentialsManager.addCredentials(matchExpression, credentials);
+
+        MatcherAssert.assertThat(
+                credentialsManager.getCredentials(serviceRef), Matchers.equalTo(credentials));
+    }
+
+    @Test
+    void doesNotKeepCredentialsLoadedAcrossAddition() throws Exception {
+        String matchExpression = "some expression";
+        Credentials credentials = new Credentials("user", "pass");
+        StoredCredentials stored = new StoredCredentials(1, matchExpression, credentials);
+        ServiceRef serviceRef = new ServiceRef("id", new URI("foo"), "foo");
+        ServiceRef otherServiceRef = new ServiceRef("other", new URI("bar"), "bar");
+
+        Mockito.when(dao.save(Mockito.any())).thenReturn(stored);
+        Mockito.when(dao.getAll())
+                .thenAnswer(
+                        invocation -> {
+                            // the credentials are added while the previous ones are loaded
+                            credentialsManager.addCredentials(matchExpression, credentials);
+                            return List.of();
+                        })
+                .thenReturn(List.of(stored));
+        Mockito.when(matchExpressionEvaluator.applies(matchExpression, otherServiceRef))
+                .thenReturn(true);
+
+        credentialsManager.getCredentials(serviceRef);
+
+        MatcherAssert.assertThat(
+                credentialsManager.getCredentials(otherServiceRef), Matchers.equalTo(credentials));
+        Mockito.verify(dao, Mockito.times(2)).getAll();
+    }
+
+    @Test
+    void invalidatesCachedCredentialsOnTargetLost() throws Exception {
+        ArgumentCaptor<Consumer<TargetDiscoveryEvent>> listenerCaptor =
+                ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(platformClient).addTargetDiscoveryListener(listenerCaptor.capture());
+
+        String matchExpression = "some expression";
+        Credentials credentials = new Credentials("user", "pass");
+        StoredCredentials stored = new StoredCredentials(1, matchExpression, credentials);
+        ServiceRef serviceRef = new ServiceRef("id", new URI("foo"), "foo");
+
+        Mockito.when(dao.getAll()).thenReturn(List.of(stored));
+        Mockito.when(matchExpressionEvaluator.applies(matchExpression, serviceRef))
+                .thenReturn(true);
+
+        credentialsManager.getCredentials(serviceRef);
+        listenerCaptor.getValue().accept(new TargetDiscoveryEvent(EventKind.LOST, serviceRef));
+        credentialsManager.getCredentials(serviceRef);
+
+        Mockito.verify(matchExpressionEvaluator, Mockito.times(2))
+                .applies(matchExpression, serviceRef);
+    }
 }
@@ -465,6 +465,203 @@ class DiscoveryStorageTest {
                     new TargetDiscoveryEvent(EventKind.MODIFIED, nextServiceRef);
             MatcherAssert.assertThat(discoveryEvents, Matchers.contains(modifiedEvent));
         }
+
+        @Test
+        void recordsContentHashOfPublishedChildren() throws Exception {
+            ServiceRef serviceRef =
+                    new ServiceRef(
+                            "id",
+                            URI.create("service:jmx:rmi:///jndi/rmi://localhost/jmxrmi"),
+                            "serviceRef");
+            TargetNode target = new TargetNode(BaseNodeType.JVM, serviceRef);
+            EnvironmentNode prev = new EnvironmentNode("test-realm", BaseNodeType.REALM);
+            EnvironmentNode next =
+                    new EnvironmentNode("test-realm", BaseNodeType.REALM, Map.of(), Set.of(target));
+            Mockito.when(jvmIdHelper.resolveId(Mockito.any())).thenReturn(serviceRef);
+
+            UUID id = UUID.randomUUID();
+            PluginInfo prevPlugin =
+                    new PluginInfo(
+                            "test-realm", URI.create("http://example.com"), gson.toJson(prev));
+            PluginInfo nextPlugin =
+                    new PluginInfo(
+                            "test-realm", URI.create("http://example.com"), gson.toJson(next));
+            Mockito.when(dao.get(Mockito.eq(id))).thenReturn(Optional.of(prevPlugin));
+            Mockito.when(dao.update(Mockito.any(), Mockito.any(Collection.class), Mockito.any()))
+                    .thenReturn(nextPlugin);
+
+            storage.update(id, List.of(target), "abc123");
+
+            Mockito.verify(dao)
+                    .update(Mockito.eq(id), Mockito.eq(List.of(target)), Mockito.eq("abc123"));
+            MatcherAssert.assertThat(storage.isUnchanged(id, "abc123"), Matchers.is(true));
+            MatcherAssert.assertThat(storage.isUnchanged(id, "def456"), Matchers.is(false));
+            MatcherAssert.assertThat(storage.isUnchanged(id, null), Matchers.is(false));
+        }
+
+        @Test
+        void isUnchangedFallsBackToPersistedContentHash() {
+            UUID id = UUID.randomUUID();
+            PluginInfo plugin = new PluginInfo();
+            plugin.setContentHash("abc123");
+            Mockito.when(dao.get(Mockito.eq(id))).thenReturn(Optional.of(plugin));
+
+            MatcherAssert.assertThat(storage.isUnchanged(id, "abc123"), Matchers.is(true));
+            MatcherAssert.assertThat(storage.isUnchanged(id, "abc123"), Matchers.is(true));
+            MatcherAssert.assertThat(storage.isUnchanged(id, "def456"), Matchers.is(false));
+            Mockito.verify(dao, Mockito.times(1)).get(id);
+        }
+
+        @Test
+        void isUnchangedFalseForUnknownPlugin() {
+            UUID id = UUID.randomUUID();
+            MatcherAssert.assertThat(storage.isUnchanged(id, "abc123"), Matchers.is(false));
+        }
+    }
+
+    @Nested
+    class ApplyingDeltas {
+
+        UUID id;
+        ServiceRef serviceRef1, serviceRef2;
+        TargetNode target1, target2;
+        PluginInfo plugin;
+
+        @BeforeEach
+        void setup() {
+            id = UUID.randomUUID();
+            serviceRef1 =
+                    new ServiceRef(
+                            "id1",
+                            URI.create("service:jmx:rmi:///jndi/rmi://localhost:1/jmxrmi"),
+                            "serviceRef1");
+            serviceRef2 =
+                    new ServiceRef(
+                            "id2",
+                            URI.create("service:jmx:rmi:///jndi/rmi://localhost:2/jmxrmi"),
+                            "serviceRef2");
+            target1 = new TargetNode(BaseNodeType.JVM, serviceRef1);
+            target2 = new TargetNode(BaseNodeType.JVM, serviceRef2);
+            EnvironmentNode namespace =
+                    new EnvironmentNode(
+                            "ns", BaseNodeType.UNIVERSE, Map.of(), Set.of(target1, target2));
+            EnvironmentNode realm =
+                    new EnvironmentNode(
+                            "test-realm", BaseNodeType.REALM, Map.of(), Set.of(namespace));
+            plugin =
+                    new PluginInfo(
+                            "test-realm", URI.create("http://example.com"), gson.toJson(realm));
+        }
+
+        @Test
+        void throwsIfInvalidIdGiven() {
+            Assertions.assertThrows(
+                    NotFoundException.class,
+                    () -> storage.applyDelta(UUID.randomUUID(), List.of()));
+        }
+
+        @Test
+        void throwsIfDeltaMalformed() {
+            NodeDelta delta = new NodeDelta(NodeDelta.Operation.REMOVE, List.of("ns"), null, null);
+            Assertions.assertThrows(
+                    IllegalArgumentException.class, () -> storage.applyDelta(id, List.of(delta)));
+            Mockito.verify(dao, Mockito.never()).get(Mockito.any());
+        }
+
+        @Test
+        void persistsNothingIfAnyDeltaDoesNotApply() throws Exception {
+            Mockito.when(dao.get(Mockito.eq(id))).thenReturn(Optional.of(plugin));
+            NodeDelta remove =
+                    new NodeDelta(
+                            NodeDelta.Operation.REMOVE, List.of("ns"), target2.getName(), null);
+            NodeDelta missing =
+                    new NodeDelta(NodeDelta.Operation.REMOVE, List.of("other"), "foo", null);
+
+            Assertions.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> storage.applyDelta(id, List.of(remove, missing)));
+            Mockito.verify(dao, Mockito.never())
+                    .update(Mockito.any(), Mockito.any(Collection.class), Mockito.any());
+        }
+
+        @Test
+        void appliesDeltasAndEmitsNotificationsForChangedTargetsOnly() throws Exception {
+            Mockito.when(dao.get(Mockito.eq(id))).thenReturn(Optional.of(plugin));
+            Mockito.when(jvmIdHelper.resolveId(Mockito.any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            ServiceRef modifiedRef =
+                    new ServiceRef("id1", serviceRef1.getServiceUri(), "modifiedRef");
+            TargetNode modified = new TargetNode(BaseNodeType.JVM, modifiedRef);
+            ServiceRef addedRef =
+                    new ServiceRef(
+                            "id3",
+                            URI.create("service:jmx:rmi:///jndi/rmi://localhost:3/jmxrmi"),
+                            "addedRef");
+            TargetNode added = new TargetNode(BaseNodeType.JVM, addedRef);
+
+            List<TargetDiscoveryEvent> discoveryEvents = new ArrayList<>();
+            storage.addTargetDiscoveryListener(discoveryEvents::add);
+
+            List<? extends AbstractNode> children =
+                    storage.applyDelta(
+                            id,
+                            List.of(
+                                    new NodeDelta(
+                                            NodeDelta.Operation.MODIFY,
+                                            List.of("ns"),
+                                            null,
+                                            modified),
+                                    new NodeDelta(
+                                            NodeDelta.Operation.REMOVE,
+                                            List.of("ns"),
+                                            target2.getName(),
+                                            null),
+                                    new NodeDelta(
+                                            NodeDelta.Operation.ADD, List.of("ns"), null, added)));
+
+            EnvironmentNode expectedNamespace =
+                    new EnvironmentNode(
+                            "ns", BaseNodeType.UNIVERSE, Map.of(), Set.of(modified, added));
+            MatcherAssert.assertThat(children, Matchers.equalTo(List.of(expectedNamespace)));
+
+            Mockito.verify(dao)
+                    .update(
+                            Mockito.eq(id),
+                            Mockito.eq(List.of(expectedNamespace)),
+                            Mockito.isNull());
+            Mockito.verify(jvmIdHelper, Mockito.times(2)).resolveId(Mockito.any());
+
+            MatcherAssert.assertThat(
+                    discoveryEvents,
+                    Matchers.containsInAnyOrder(
+                            new TargetDiscoveryEvent(EventKind.MODIFIED, modifiedRef),
+                            new TargetDiscoveryEvent(EventKind.LOST, serviceRef2),
+                            new TargetDiscoveryEvent(EventKind.FOUND, addedRef)));
+        }
+
+        @Test
+        void clearsRecordedContentHash() throws Exception {
+            Mockito.when(dao.get(Mockito.eq(id))).thenReturn(Optional.of(plugin));
+            Mockito.when(dao.update(Mockito.any(), Mockito.any(Collection.class), Mockito.any()))
+                    .thenReturn(plugin);
+            Mockito.when(jvmIdHelper.resolveId(Mockito.any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            storage.update(id, List.of(target1), "abc123");
+            MatcherAssert.assertThat(storage.isUnchanged(id, "abc123"), Matchers.is(true));
+
+            storage.applyDelta(
+                    id,
+                    List.of(
+                            new NodeDelta(
+                                    NodeDelta.Operation.REMOVE,
+                                    List.of("ns"),
+                                    target1.getName(),
+                                    null)));
+
+            MatcherAssert.assertThat(storage.isUnchanged(id, "abc123"), Matchers.is(false));
+        }
     }
 
     @Nested
@@ -539,6 +736,7 @@ class DiscoveryStorageTest {
         @Test
         void returnsExpectedSubtree() {
             PluginInfo plugin1 = new PluginInfo();
+            plugin1.setId(UUID.randomUUID());
             TargetNode leaf1 =
                     new TargetNode(
                             BaseNodeType.JVM,
@@ -559,6 +757,7 @@ class DiscoveryStorageTest {
             plugin1.setSubtree(gson.toJson(realm1));
 
             PluginInfo plugin2 = new PluginInfo();
+            plugin2.setId(UUID.randomUUID());
             TargetNode leaf3 =
                     new TargetNode(
                             BaseNodeType.JVM,
@@ -592,6 +791,7 @@ class DiscoveryStorageTest {
         @Test
         void returnsExpectedOrderedSubtree() {
             PluginInfo plugin1 = new PluginInfo();
+            plugin1.setId(UUID.randomUUID());
             TargetNode leaf1 =
                     new TargetNode(
                             BaseNodeType.JVM,
@@ -609,6 +809,7 @@ class DiscoveryStorageTest {
             plugin1.setSubtree(gson.toJson(realm1));
 
             PluginInfo plugin2 = new PluginInfo();
+            plugin2.setId(UUID.randomUUID());
             TargetNode leaf2 =
                     new TargetNode(
                             BaseNodeType.JVM,
@@ -626,12 +827,14 @@ class DiscoveryStorageTest {
             plugin2.setSubtree(gson.toJson(realm2));
 
             PluginInfo plugin3 = new PluginInfo();
+            plugin3.setId(UUID.randomUUID());
             EnvironmentNode realm3 =
                     new EnvironmentNode(
                             KubeApiPlatformClient.REALM, BaseNodeType.REALM, Map.of(), Set.of());
             plugin3.setSubtree(gson.toJson(realm3));
 
             PluginInfo plugin4 = new PluginInfo();
+            plugin4.setId(UUID.randomUUID());
             EnvironmentNode realm4 =
                     new EnvironmentNode(
                             "some-agent-plugin-realm", BaseNodeType.REALM, Map.of(), Set.of());
@@ -675,6 +878,7 @@ class DiscoveryStorageTest {
                     new EnvironmentNode(
                             "realm1", BaseNodeType.REALM, Map.of(), Set.of(leaf1, leaf2));
             PluginInfo plugin1 = new PluginInfo();
+            plugin1.setId(UUID.randomUUID());
             plugin1.setSubtree(gson.toJson(realm1));
 
             ServiceRef sr3 =
@@ -689,6 +893,7 @@ class DiscoveryStorageTest {
                     new EnvironmentNode(
                             "realm2", BaseNodeType.REALM, Map.of(), Set.of(leaf3, leaf4));
             PluginInfo plugin2 = new PluginInfo();
+            plugin2.setId(UUID.randomUUID());
             plugin2.setSubtree(gson.toJson(realm2));
 
             Mockito.when(dao.getAll()).thenReturn(List.of(plugin1, plugin2));
@@ -700,6 +905,121 @@ class DiscoveryStorageTest {
         }
     }
 
+    @Nested
+    class Indexing {
+
+        ServiceRef sr1 =
+                new ServiceRef(
+                        "id1", URI.create("service:jmx:rmi:///jndi/rmi://leaf:1/jmxrmi"), "sr1");
+        ServiceRef sr2 =
+                new ServiceRef(
+                        "id2", URI.create("service:jmx:rmi:///jndi/rmi://leaf:2/jmxrmi"), "sr2");
+        UUID id = UUID.randomUUID();
+        PluginInfo plugin;
+
+        @BeforeEach
+        void setup() {
+            EnvironmentNode realm =
+                    new EnvironmentNode(
+                            "realm",
+                            BaseNodeType.REALM,
+                            Map.of(),
+                            Set.of(
+                                    new TargetNode(BaseNodeType.JVM, sr1),
+                                    new TargetNode(BaseNodeType.JVM, sr2)));
+            plugin = new PluginInfo("realm", URI.create("http://example.com"), gson.toJson(realm));
+            plugin.setId(id);
+            Mockito.when(dao.getAll()).thenReturn(List.of(plugin));
+        }
+
+        @Test
+        void readsDaoOnlyOnce() {
+            storage.getDiscoveryTree();
+            storage.listDiscoverableServices();
+            storage.getDiscoveryTree();
+            storage.listDiscoverableServices();
+
+            Mockito.verify(dao, Mockito.times(1)).getAll();
+        }
+
+        @Test
+        void looksUpByConnectUrl() {
+            MatcherAssert.assertThat(
+                    storage.lookupServicesByConnectUrl(sr1.getServiceUri()),
+                    Matchers.contains(sr1));
+            MatcherAssert.assertThat(
+                    storage.lookupServicesByConnectUrl(URI.create("http://unknown:1234")),
+                    Matchers.empty());
+        }
+
+        @Test
+        void looksUpByJvmId() {
+            MatcherAssert.assertThat(storage.lookupServicesByJvmId("id2"), Matchers.contains(sr2));
+            MatcherAssert.assertThat(storage.lookupServicesByJvmId("unknown"), Matchers.empty());
+            MatcherAssert.assertThat(storage.lookupServicesByJvmId(null), Matchers.empty());
+        }
+
+        @Test
+        void looksUpByRealm() {
+            MatcherAssert.assertThat(
+                    storage.listDiscoverableServicesByRealm("realm"),
+                    Matchers.containsInAnyOrder(sr1, sr2));
+            MatcherAssert.assertThat(
+                    storage.listDiscoverableServicesByRealm("unknown"), Matchers.empty());
+        }
+
+        @Test
+        void writesThroughOnUpdate() throws Exception {
+            ServiceRef sr3 =
+                    new ServiceRef(
+                            "id3",
+                            URI.create("service:jmx:rmi:///jndi/rmi://leaf:3/jmxrmi"),
+                            "sr3");
+            TargetNode leaf3 = new TargetNode(BaseNodeType.JVM, sr3);
+            EnvironmentNode next =
+                    new EnvironmentNode("realm", BaseNodeType.REALM, Map.of(), Set.of(leaf3));
+            PluginInfo nextPlugin =
+                    new PluginInfo("realm", URI.create("http://example.com"), gson.toJson(next));
+            nextPlugin.setId(id);
+            Mockito.when(jvmIdHelper.resolveId(Mockito.any())).thenReturn(sr3);
+            Mockito.when(dao.get(id)).thenReturn(Optional.of(plugin));
+            Mockito.when(dao.update(Mockito.any(), Mockito.any(Collection.class)))
+                    .thenReturn(nextPlugin);
+
+            MatcherAssert.assertThat(
+                    storage.listDiscoverableServices(), Matchers.containsInAnyOrder(sr1, sr2));
+
+            List<TargetDiscoveryEvent> discoveryEvents = new ArrayList<>();
+            storage.addTargetDiscoveryListener(discoveryEvents::add);
+            storage.update(id, List.of(leaf3));
+
+            MatcherAssert.assertThat(storage.listDiscoverableServices(), Matchers.contains(sr3));
+            MatcherAssert.assertThat(
+                    storage.lookupServicesByConnectUrl(sr1.getServiceUri()), Matchers.empty());
+            MatcherAssert.assertThat(storage.lookupServicesByJvmId("id3"), Matchers.contains(sr3));
+            MatcherAssert.assertThat(
+                    discoveryEvents,
+                    Matchers.containsInAnyOrder(
+                            new TargetDiscoveryEvent(EventKind.LOST, sr1),
+                            new TargetDiscoveryEvent(EventKind.LOST, sr2),
+                            new TargetDiscoveryEvent(EventKind.FOUND, sr3)));
+            Mockito.verify(dao, Mockito.times(1)).getAll();
+        }
+
+        @Test
+        void removesOnDeregister() {
+            Mockito.when(dao.get(id)).thenReturn(Optional.of(plugin));
+
+            MatcherAssert.assertThat(storage.listDiscoverableServices(), Matchers.hasSize(2));
+
+            storage.deregister(id);
+
+            MatcherAssert.assertThat(storage.listDiscoverableServices(), Matchers.empty());
+            MatcherAssert.assertThat(storage.getDiscoveryTree().getChildren(), Matchers.empty());
+            MatcherAssert.assertThat(storage.lookupServicesByJvmId("id1"), Matchers.empty());
+        }
+    }
+
     @Nested
     class JvmIdResolution {
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.discovery;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import io.cryostat.platform.ServiceRef;
+import io.cryostat.platform.discovery.AbstractNode;
+import io.cryostat.platform.discovery.BaseNodeType;
+import io.cryostat.platform.discovery.EnvironmentNode;
+import io.cryostat.platform.discovery.TargetNode;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NodeDeltaTest {
+
+    TargetNode target1, target2;
+    EnvironmentNode namespace;
+    List<AbstractNode> children;
+
+    @BeforeEach
+    void setup() {
+        target1 = target(1);
+        target2 = target(2);
+        namespace =
+                new EnvironmentNode(
+                        "ns", BaseNodeType.UNIVERSE, Map.of(), List.of(target1, target2));
+        children = List.of(namespace, target(3));
+    }
+
+    static TargetNode target(int port) {
+        return new TargetNode(
+                BaseNodeType.JVM,
+                new ServiceRef(
+                        "id" + port,
+                        URI.create(
+                                String.format(
+                                        "service:jmx:rmi:///jndi/rmi://localhost:%d/jmxrmi", port)),
+                        "target" + port));
+    }
+
+    @Test
+    void shouldAddAtTopLevelWithEmptyPath() {
+        TargetNode added = target(4);
+        NodeDelta delta = new NodeDelta(NodeDelta.Operation.ADD, null, null, added);
+        delta.validate();
+
+        List<AbstractNode> result = delta.applyTo(children);
+
+        MatcherAssert.assertThat(result, Matchers.hasSize(3));
+        MatcherAssert.assertThat(result, Matchers.hasItem(added));
+        MatcherAssert.assertThat(children, Matchers.hasSize(2));
+    }
+
+    @Test
+    void shouldRemoveNestedNodeAndShareSiblings() {
+        NodeDelta delta =
+                new NodeDelta(NodeDelta.Operation.REMOVE, List.of("ns"), target1.getName(), null);
+
+        List<AbstractNode> result = delta.applyTo(children);
+
+        EnvironmentNode ns = (EnvironmentNode) result.get(0);
+        MatcherAssert.assertThat(ns.getChildren(), Matchers.contains(target2));
+        MatcherAssert.assertThat(ns.getChildren().get(0), Matchers.sameInstance(target2));
+        MatcherAssert.assertThat(result.get(1), Matchers.sameInstance(children.get(1)));
+    }
+
+    @Test
+    void shouldModifyByNodeName() {
+        TargetNode modified =
+                new TargetNode(BaseNodeType.JVM, target1.getTarget(), Map.of("new", "label"));
+        NodeDelta delta = new NodeDelta(NodeDelta.Operation.MODIFY, List.of("ns"), null, modified);
+
+        List<AbstractNode> result = delta.applyTo(children);
+
+        EnvironmentNode ns = (EnvironmentNode) result.get(0);
+        MatcherAssert.assertThat(ns.getChildren(), Matchers.containsInAnyOrder(modified, target2));
+    }
+
+    @Test
+    void shouldThrowIfAddedNodeAlreadyExists() {
+        NodeDelta delta = new NodeDelta(NodeDelta.Operation.ADD, List.of("ns"), null, target1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> delta.applyTo(children));
+    }
+
+    @Test
+    void shouldThrowIfAddedNodeNameTakenDespiteExplicitName() {
+        NodeDelta delta = new NodeDelta(NodeDelta.Operation.ADD, List.of("ns"), "foo", target1);
+        Assertions.assertThrows(IllegalArgumentException.class, delta::validate);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> delta.applyTo(children));
+    }
+
+    @Test
+    void shouldThrowIfModifiedNodeNameTakenBySibling() {
+        NodeDelta delta =
+                new NodeDelta(
+                        NodeDelta.Operation.MODIFY, List.of("ns"), target2.getName(), target1);
+        delta.validate();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> delta.applyTo(children));
+    }
+
+    @Test
+    void shouldThrowIfChildNotFound() {
+        NodeDelta delta = new NodeDelta(NodeDelta.Operation.REMOVE, List.of("ns"), "foo", null);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> delta.applyTo(children));
+    }
+
+    @Test
+    void shouldThrowIfPathDoesNotNameEnvironmentNode() {
+        NodeDelta delta =
+                new NodeDelta(
+                        NodeDelta.Operation.REMOVE,
+                        List.of(children.get(1).getName()),
+                        target1.getName(),
+                        null);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> delta.applyTo(children));
+    }
+
+    @Test
+    void shouldThrowIfNameAmbiguous() {
+        List<AbstractNode> duplicated =
+                List.of(namespace, new EnvironmentNode("ns", BaseNodeType.UNIVERSE));
+        NodeDelta delta = new NodeDelta(NodeDelta.Operation.REMOVE, List.of(), "ns", null);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> delta.applyTo(duplicated));
+    }
+
+    @Test
+    void shouldRequireFieldsForOperation() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new NodeDelta(null, List.of(), "foo", null).validate());
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new NodeDelta(NodeDelta.Operation.ADD, List.of(), "foo", null).validate());
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new NodeDelta(NodeDelta.Operation.REMOVE, List.of(), null, null).validate());
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new NodeDelta(
+                                        NodeDelta.Operation.REMOVE,
+                                        Arrays.asList("ns", null),
+                                        "foo",
+                                        null)
+                                .validate());
+    }
+}
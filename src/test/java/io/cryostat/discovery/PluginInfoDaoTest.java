@@ -0,0 +1,211 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.discovery;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import io.cryostat.MainModule;
+import io.cryostat.configuration.Variables;
+import io.cryostat.core.sys.Environment;
+import io.cryostat.platform.discovery.BaseNodeType;
+import io.cryostat.platform.discovery.EnvironmentNode;
+import io.cryostat.storage.StorageModule;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import dagger.Component;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class PluginInfoDaoTest {
+
+    static final int THREADS = 8;
+    static final int ITERATIONS = 50;
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+    Gson gson;
+    EntityManagerFactory emf;
+    ExecutorService executor;
+    PluginInfoDao dao;
+
+    @Singleton
+    @Component(modules = {MainModule.class})
+    interface Client {
+        Gson gson();
+
+        @Component.Builder
+        interface Builder {
+            Client build();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        this.gson = DaggerPluginInfoDaoTest_Client.builder().build().gson();
+        Environment env = Mockito.mock(Environment.class);
+        Map<String, String> overrides =
+                Map.of(
+                        Variables.JDBC_URL,
+                        String.format(
+                                "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1;INIT=create domain if not exists"
+                                        + " jsonb as varchar",
+                                UUID.randomUUID()),
+                        Variables.JDBC_POOL_SIZE,
+                        String.valueOf(THREADS));
+        Mockito.when(env.getEnv(Mockito.anyString(), Mockito.anyString()))
+                .thenAnswer(
+                        invocation ->
+                                overrides.getOrDefault(
+                                        invocation.getArgument(0), invocation.getArgument(1)));
+        Mockito.when(env.getEnv(Variables.JMX_CREDENTIALS_DB_PASSWORD)).thenReturn("secret");
+        this.emf = StorageModule.provideEntityManagerFactory(env);
+        this.executor = Executors.newFixedThreadPool(THREADS);
+        this.dao = new PluginInfoDao(emf, gson);
+    }
+
+    @AfterEach
+    void teardown() {
+        executor.shutdownNow();
+        emf.close();
+    }
+
+    @Test
+    void shouldPersistUpdateAndDeletePlugins() {
+        PluginInfo saved = dao.save("realm", URI.create("http://example.com/cb"), subtree("a"));
+
+        MatcherAssert.assertThat(saved.getId(), Matchers.notNullValue());
+        MatcherAssert.assertThat(dao.getByRealm("realm"), Matchers.equalTo(List.of(saved)));
+
+        PluginInfo updated = dao.update(saved.getId(), subtree("b"));
+
+        MatcherAssert.assertThat(
+                dao.get(saved.getId()).map(PluginInfo::getSubtree).orElseThrow(),
+                Matchers.equalTo(updated.getSubtree()));
+        MatcherAssert.assertThat(
+                labelOf(dao.get(saved.getId()).orElseThrow()), Matchers.equalTo("b"));
+
+        MatcherAssert.assertThat(dao.delete(saved.getId()), Matchers.is(true));
+        MatcherAssert.assertThat(dao.delete(saved.getId()), Matchers.is(false));
+        MatcherAssert.assertThat(dao.getAll(), Matchers.empty());
+    }
+
+    @Test
+    void shouldPersistContentHashOnlyWhenGiven() {
+        PluginInfo saved = dao.save("realm", null, subtree("a"));
+        MatcherAssert.assertThat(saved.getContentHash(), Matchers.nullValue());
+
+        dao.update(saved.getId(), List.of(), "abc123");
+        MatcherAssert.assertThat(
+                dao.get(saved.getId()).orElseThrow().getContentHash(), Matchers.equalTo("abc123"));
+
+        dao.update(saved.getId(), List.of());
+        MatcherAssert.assertThat(
+                dao.get(saved.getId()).orElseThrow().getContentHash(), Matchers.equalTo("abc123"));
+
+        dao.update(saved.getId(), List.of(), null);
+        MatcherAssert.assertThat(
+                dao.get(saved.getId()).orElseThrow().getContentHash(), Matchers.nullValue());
+    }
+
+    @Test
+    void shouldReadWhileAnotherWriteIsUncommitted() throws Exception {
+        PluginInfo committed = dao.save("committed", null, subtree("a"));
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.persist(new PluginInfo("uncommitted", null, gson.toJson(subtree("a"))));
+            em.flush();
+
+            List<PluginInfo> all =
+                    CompletableFuture.supplyAsync(dao::getAll, executor).get(5, TimeUnit.SECONDS);
+
+            MatcherAssert.assertThat(all, Matchers.equalTo(List.of(committed)));
+        } finally {
+            em.getTransaction().rollback();
+            em.close();
+        }
+    }
+
+    @Test
+    void shouldServeConcurrentDiscoveryUpdates() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ids.add(dao.save("realm-" + i, null, subtree("0")).getId());
+        }
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (UUID id : ids) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                for (int i = 1; i <= ITERATIONS; i++) {
+                                    dao.update(id, subtree(String.valueOf(i)));
+                                    dao.get(id).orElseThrow();
+                                    dao.getAll();
+                                }
+                            }));
+        }
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info(
+                "{} threads completed {} DAO operations against embedded H2 in {}ms",
+                THREADS,
+                THREADS * ITERATIONS * 3,
+                elapsedMs);
+
+        List<PluginInfo> all = dao.getAll();
+        MatcherAssert.assertThat(all, Matchers.hasSize(THREADS));
+        for (PluginInfo plugin : all) {
+            MatcherAssert.assertThat(labelOf(plugin), Matchers.equalTo(String.valueOf(ITERATIONS)));
+        }
+    }
+
+    private static EnvironmentNode subtree(String version) {
+        return new EnvironmentNode(
+                "realm", BaseNodeType.REALM, Map.of("version", version), Set.of());
+    }
+
+    private String labelOf(PluginInfo plugin) {
+        return gson.fromJson(plugin.getSubtree(), JsonObject.class)
+                .getAsJsonObject("labels")
+                .get("version")
+                .getAsString();
+    }
+}
@@ -42,10 +42,13 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.net.SocketAddress;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -97,7 +100,16 @@ class MessagingServerTest {
 
         server =
                 new MessagingServer(
-                        vertx, httpServer, env, authManager, notificationFactory, 2, clock, gson);
+                        vertx,
+                        httpServer,
+                        env,
+                        authManager,
+                        notificationFactory,
+                        2,
+                        2,
+                        0,
+                        clock,
+                        gson);
     }
 
     @Test
@@ -321,6 +333,153 @@ class MessagingServerTest {
         verify(sws).close();
     }
 
+    @Test
+    void writeShouldOnlyDelegateToSubscribedClients() throws Exception {
+        ServerWebSocket sws2 = mockClientSocket("categories=Foo,Baz");
+
+        server.start();
+        acceptClients(sws, sws2);
+
+        TestMessage message = new TestMessage("msgId", "test", "message");
+        server.writeMessage("Bar", message);
+        verify(sws).writeTextMessage(gson.toJson(message));
+        verify(sws2, Mockito.never()).writeTextMessage(Mockito.anyString());
+
+        TestMessage message2 = new TestMessage("msgId2", "test", "message");
+        server.writeMessage("Foo", message2);
+        verify(sws).writeTextMessage(gson.toJson(message2));
+        verify(sws2).writeTextMessage(gson.toJson(message2));
+    }
+
+    @Test
+    void shouldQueueMessagesForSlowClientsAndDropOldest() throws Exception {
+        server.start();
+        acceptClients(sws);
+
+        when(sws.writeQueueFull()).thenReturn(true);
+        TestMessage first = new TestMessage("first");
+        TestMessage second = new TestMessage("second");
+        TestMessage third = new TestMessage("third");
+        server.writeMessage(first);
+        server.writeMessage(second);
+        server.writeMessage(third);
+        verify(sws, Mockito.never()).writeTextMessage(Mockito.anyString());
+
+        ArgumentCaptor<Handler<Void>> drainCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(sws, Mockito.atLeastOnce()).drainHandler(drainCaptor.capture());
+        when(sws.writeQueueFull()).thenReturn(false);
+        drainCaptor.getValue().handle(null);
+
+        InOrder inOrder = Mockito.inOrder(sws);
+        inOrder.verify(sws).writeTextMessage(gson.toJson(second));
+        inOrder.verify(sws).writeTextMessage(gson.toJson(third));
+        verify(sws, Mockito.never()).writeTextMessage(gson.toJson(first));
+    }
+
+    @Test
+    void shouldCoalesceNotificationsWithinWindow() throws Exception {
+        server =
+                Mockito.spy(
+                        new MessagingServer(
+                                vertx,
+                                httpServer,
+                                env,
+                                authManager,
+                                notificationFactory,
+                                2,
+                                2,
+                                100,
+                                clock,
+                                gson));
+        server.start();
+        acceptClients(sws);
+
+        Notification first = Mockito.mock(Notification.class);
+        when(first.getCategory()).thenReturn("TargetJvmDiscovery");
+        when(first.getCoalesceKey()).thenReturn("service:jmx:rmi:///jndi/rmi://foo:9091/jmxrmi");
+        Notification second = Mockito.mock(Notification.class);
+        when(second.getCategory()).thenReturn("TargetJvmDiscovery");
+        when(second.getCoalesceKey()).thenReturn("service:jmx:rmi:///jndi/rmi://foo:9091/jmxrmi");
+
+        server.onNotification(first);
+        server.onNotification(second);
+        verify(server, Mockito.never()).writeMessage(Mockito.any(), Mockito.any());
+
+        ArgumentCaptor<Handler<Long>> timerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setTimer(Mockito.eq(100L), timerCaptor.capture());
+        timerCaptor.getValue().handle(MockVertx.TIMER_ID);
+
+        verify(server).writeMessage("TargetJvmDiscovery", second);
+        verify(server, Mockito.never()).writeMessage("TargetJvmDiscovery", first);
+    }
+
+    @Test
+    void shouldFlushCoalescedNotificationsBeforeOthersOfSameCategory() throws Exception {
+        server =
+                Mockito.spy(
+                        new MessagingServer(
+                                vertx,
+                                httpServer,
+                                env,
+                                authManager,
+                                notificationFactory,
+                                2,
+                                2,
+                                100,
+                                clock,
+                                gson));
+        server.start();
+        acceptClients(sws);
+
+        Notification modified = Mockito.mock(Notification.class);
+        when(modified.getCategory()).thenReturn("TargetJvmDiscovery");
+        when(modified.getCoalesceKey()).thenReturn("foo");
+        Notification lost = Mockito.mock(Notification.class);
+        when(lost.getCategory()).thenReturn("TargetJvmDiscovery");
+
+        server.onNotification(modified);
+        server.onNotification(lost);
+
+        InOrder inOrder = Mockito.inOrder(server);
+        inOrder.verify(server).writeMessage("TargetJvmDiscovery", modified);
+        inOrder.verify(server).writeMessage("TargetJvmDiscovery", lost);
+    }
+
+    @Test
+    void shouldParseSubscribedCategories() {
+        MatcherAssert.assertThat(MessagingServer.parseCategories(null), Matchers.empty());
+        MatcherAssert.assertThat(MessagingServer.parseCategories("foo=bar"), Matchers.empty());
+        MatcherAssert.assertThat(
+                MessagingServer.parseCategories("categories=Foo,%20Bar&categories=Baz"),
+                Matchers.containsInAnyOrder("Foo", "Bar", "Baz"));
+    }
+
+    ServerWebSocket mockClientSocket(String query) {
+        ServerWebSocket sws = Mockito.mock(ServerWebSocket.class);
+        SocketAddress addr = Mockito.mock(SocketAddress.class);
+        lenient().when(addr.toString()).thenReturn("mockaddr");
+        lenient().when(sws.remoteAddress()).thenReturn(addr);
+        when(sws.path()).thenReturn("/api/v1/notifications");
+        when(sws.query()).thenReturn(query);
+        lenient().when(sws.isClosed()).thenReturn(false);
+        return sws;
+    }
+
+    void acceptClients(ServerWebSocket... clients) throws Exception {
+        ArgumentCaptor<Handler> websocketHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        Mockito.verify(httpServer).websocketHandler(websocketHandlerCaptor.capture());
+        for (ServerWebSocket client : clients) {
+            websocketHandlerCaptor.getValue().handle(client);
+            ArgumentCaptor<Handler> textMessageHandlerCaptor =
+                    ArgumentCaptor.forClass(Handler.class);
+            verify(client).textMessageHandler(textMessageHandlerCaptor.capture());
+            textMessageHandlerCaptor.getValue().handle("irrelevant");
+        }
+        ArgumentCaptor<Runnable> authSuccessCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(authAction, Mockito.times(clients.length)).onSuccess(authSuccessCaptor.capture());
+        authSuccessCaptor.getAllValues().forEach(Runnable::run);
+    }
+
     static class TestMessage {
         List<String> msgs;
 
@@ -0,0 +1,158 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.cryostat.MainModule;
+import io.cryostat.configuration.CredentialsManager;
+import io.cryostat.core.net.Credentials;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.client.WebClient;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AgentClientTest {
+
+    static final long HTTP_TIMEOUT_SECONDS = 1;
+
+    Vertx vertx;
+    HttpClient httpClient;
+    HttpServer server;
+    ExecutorService executor;
+    volatile Handler<HttpServerRequest> recordingHandler;
+    AgentClient client;
+    @Mock CredentialsManager credentialsManager;
+
+    @BeforeEach
+    void setup() throws Exception {
+        vertx = Vertx.vertx();
+        httpClient = vertx.createHttpClient();
+        executor = Executors.newSingleThreadExecutor();
+        server =
+                vertx.createHttpServer()
+                        .requestHandler(req -> recordingHandler.handle(req))
+                        .listen(0, "localhost")
+                        .toCompletionStage()
+                        .toCompletableFuture()
+                        .get(5, TimeUnit.SECONDS);
+        URI agentUri = URI.create("http://localhost:" + server.actualPort());
+        Mockito.when(credentialsManager.getCredentialsByTargetId(agentUri.toString()))
+                .thenReturn(new Credentials("user", "pass"));
+        client =
+                new AgentClient(
+                        executor,
+                        MainModule.provideGson(),
+                        HTTP_TIMEOUT_SECONDS,
+                        vertx,
+                        httpClient,
+                        WebClient.wrap(httpClient),
+                        credentialsManager,
+                        agentUri);
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        executor.shutdownNow();
+        vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldStreamRecordingWhichStallsLongerThanTimeout() throws Exception {
+        recordingHandler =
+                req -> {
+                    MatcherAssert.assertThat(req.path(), Matchers.equalTo("/recordings/1"));
+                    MatcherAssert.assertThat(
+                            req.getHeader(HttpHeaders.AUTHORIZATION),
+                            Matchers.equalTo("Basic dXNlcjpwYXNz"));
+                    req.response().setChunked(true).write("hello ");
+                    vertx.setTimer(
+                            TimeUnit.SECONDS.toMillis(HTTP_TIMEOUT_SECONDS) * 2,
+                            t -> req.response().end("world"));
+                };
+
+        try (InputStream stream = openStream(1)) {
+            MatcherAssert.assertThat(
+                    new String(stream.readAllBytes(), StandardCharsets.UTF_8),
+                    Matchers.equalTo("hello world"));
+        }
+    }
+
+    @Test
+    void shouldTimeOutWaitingForResponse() {
+        recordingHandler = req -> {};
+
+        ExecutionException ee =
+                Assertions.assertThrows(ExecutionException.class, () -> openStream(1));
+        MatcherAssert.assertThat(ee.getCause(), Matchers.instanceOf(TimeoutException.class));
+    }
+
+    @Test
+    void shouldFailOnErrorStatus() {
+        recordingHandler = req -> req.response().setStatusCode(403).end();
+
+        ExecutionException ee =
+                Assertions.assertThrows(ExecutionException.class, () -> openStream(1));
+        MatcherAssert.assertThat(
+                ee.getCause(), Matchers.instanceOf(AuthorizationErrorException.class));
+    }
+
+    @Test
+    void shouldResetTransferWhenClosedEarly() throws Exception {
+        CompletableFuture<Void> reset = new CompletableFuture<>();
+        recordingHandler =
+                req -> {
+                    req.response().closeHandler(v -> reset.complete(null));
+                    req.response().setChunked(true).write("hello ");
+                };
+
+        InputStream stream = openStream(1);
+        MatcherAssert.assertThat(stream.read(), Matchers.equalTo((int) 'h'));
+        stream.close();
+
+        reset.get(5, TimeUnit.SECONDS);
+    }
+
+    private InputStream openStream(long id) throws Exception {
+        return client.openStream(id)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+    }
+}
@@ -17,7 +17,15 @@ package io.cryostat.net;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.management.remote.JMXServiceURL;
 
@@ -29,6 +37,7 @@ import io.cryostat.platform.PlatformClient;
 import com.github.benmanes.caffeine.cache.Scheduler;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -58,8 +67,10 @@ class TargetConnectionManagerTest {
                         () -> agentConnectionFactory,
                         platformClient,
                         new DirectExecutor(),
+                        new TargetTaskScheduler(new DirectExecutor(), 16, 16, 0, 0),
                         Scheduler.disabledScheduler(),
                         TTL,
+                        Duration.ZERO,
                         -1,
                         10);
     }
@@ -151,8 +162,10 @@ class TargetConnectionManagerTest {
                         () -> agentConnectionFactory,
                         platformClient,
                         ForkJoinPool.commonPool(),
+                        new TargetTaskScheduler(ForkJoinPool.commonPool(), 16, 16, 0, 0),
                         Scheduler.systemScheduler(),
                         Duration.ofNanos(1),
+                        Duration.ZERO,
                         1,
                         10);
         Mockito.when(jfrConnectionToolkit.connect(Mockito.any(), Mockito.any(), Mockito.any()))
@@ -180,8 +193,10 @@ class TargetConnectionManagerTest {
                         () -> agentConnectionFactory,
                         platformClient,
                         Runnable::run,
+                        new TargetTaskScheduler(Runnable::run, 16, 16, 0, 0),
                         Scheduler.disabledScheduler(),
                         Duration.ofNanos(1),
+                        Duration.ZERO,
                         -1,
                         10);
         Mockito.when(jfrConnectionToolkit.connect(Mockito.any(), Mockito.any(), Mockito.any()))
@@ -202,6 +217,260 @@ class TargetConnectionManagerTest {
         MatcherAssert.assertThat(conn1, Matchers.not(Matchers.sameInstance(conn2)));
     }
 
+    @Test
+    void shouldReopenFrequentlyUsedConnectionsWhenKeepAliveEnabled() throws Exception {
+        TargetConnectionManager mgr =
+                new TargetConnectionManager(
+                        () -> jfrConnectionToolkit,
+                        () -> agentConnectionFactory,
+                        platformClient,
+                        new DirectExecutor(),
+                        new TargetTaskScheduler(new DirectExecutor(), 16, 16, 0, 0),
+                        Scheduler.disabledScheduler(),
+                        TTL,
+                        Duration.ofSeconds(60),
+                        -1,
+                        10);
+        ArgumentCaptor<List<Runnable>> closeListeners = ArgumentCaptor.forClass(List.class);
+        Mockito.when(
+                        jfrConnectionToolkit.connect(
+                                Mockito.any(), Mockito.any(), closeListeners.capture()))
+                .thenAnswer(invocation -> Mockito.mock(JFRConnection.class));
+        ConnectionDescriptor desc =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://localhost:0/jmxrmi");
+        mgr.executeConnectedTask(desc, a -> a);
+        mgr.executeConnectedTask(desc, a -> a);
+        closeListeners.getValue().forEach(Runnable::run);
+
+        mgr.keepAliveConnections();
+
+        Mockito.verify(jfrConnectionToolkit, Mockito.times(2))
+                .connect(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void shouldNotReopenConnectionsWhenKeepAliveDisabled() throws Exception {
+        ArgumentCaptor<List<Runnable>> closeListeners = ArgumentCaptor.forClass(List.class);
+        Mockito.when(
+                        jfrConnectionToolkit.connect(
+                                Mockito.any(), Mockito.any(), closeListeners.capture()))
+                .thenAnswer(invocation -> Mockito.mock(JFRConnection.class));
+        ConnectionDescriptor desc =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://localhost:0/jmxrmi");
+        mgr.executeConnectedTask(desc, a -> a);
+        mgr.executeConnectedTask(desc, a -> a);
+        closeListeners.getValue().forEach(Runnable::run);
+
+        mgr.keepAliveConnections();
+
+        Mockito.verify(jfrConnectionToolkit, Mockito.times(1))
+                .connect(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void shouldWarmUpPinnedConnectionsUntilReleased() throws Exception {
+        TargetConnectionManager mgr =
+                new TargetConnectionManager(
+                        () -> jfrConnectionToolkit,
+                        () -> agentConnectionFactory,
+                        platformClient,
+                        new DirectExecutor(),
+                        new TargetTaskScheduler(new DirectExecutor(), 16, 16, 0, 0),
+                        Scheduler.disabledScheduler(),
+                        TTL,
+                        Duration.ofSeconds(60),
+                        -1,
+                        10);
+        ArgumentCaptor<List<Runnable>> closeListeners = ArgumentCaptor.forClass(List.class);
+        Mockito.when(
+                        jfrConnectionToolkit.connect(
+                                Mockito.any(), Mockito.any(), closeListeners.capture()))
+                .thenAnswer(invocation -> Mockito.mock(JFRConnection.class));
+        ConnectionDescriptor desc =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://localhost:0/jmxrmi");
+        CompletableFuture<Void> pin = new CompletableFuture<>();
+
+        mgr.keepAliveWhile(desc, pin);
+        Mockito.verify(jfrConnectionToolkit, Mockito.times(1))
+                .connect(Mockito.any(), Mockito.any(), Mockito.any());
+
+        closeListeners.getValue().forEach(Runnable::run);
+        mgr.keepAliveConnections();
+        Mockito.verify(jfrConnectionToolkit, Mockito.times(2))
+                .connect(Mockito.any(), Mockito.any(), Mockito.any());
+
+        pin.cancel(false);
+        closeListeners.getValue().forEach(Runnable::run);
+        mgr.keepAliveConnections();
+        Mockito.verify(jfrConnectionToolkit, Mockito.times(2))
+                .connect(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void shouldFailInsteadOfWaitingIndefinitelyForConnectionSlot() throws Exception {
+        TargetConnectionManager mgr =
+                new TargetConnectionManager(
+                        () -> jfrConnectionToolkit,
+                        () -> agentConnectionFactory,
+                        platformClient,
+                        Executors.newCachedThreadPool(),
+                        new TargetTaskScheduler(ForkJoinPool.commonPool(), 16, 16, 0, 0),
+                        Scheduler.disabledScheduler(),
+                        Duration.ofSeconds(60),
+                        Duration.ZERO,
+                        1,
+                        1);
+        Mockito.when(jfrConnectionToolkit.connect(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> Mockito.mock(JFRConnection.class));
+        ConnectionDescriptor desc1 =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://localhost:0/jmxrmi");
+        ConnectionDescriptor desc2 =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://example:1/jmxrmi");
+        mgr.executeConnectedTask(desc1, a -> a);
+
+        Assertions.assertThrows(
+                ExecutionException.class, () -> mgr.executeConnectedTask(desc2, a -> a));
+        Mockito.verify(jfrConnectionToolkit, Mockito.times(1))
+                .connect(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void shouldCloseConnectionOpenedAfterLoadTimedOut() throws Exception {
+        TargetConnectionManager mgr =
+                new TargetConnectionManager(
+                        () -> jfrConnectionToolkit,
+                        () -> agentConnectionFactory,
+                        platformClient,
+                        Executors.newCachedThreadPool(),
+                        new TargetTaskScheduler(ForkJoinPool.commonPool(), 16, 16, 0, 0),
+                        Scheduler.disabledScheduler(),
+                        Duration.ofSeconds(60),
+                        Duration.ZERO,
+                        1,
+                        1);
+        JFRConnection late = Mockito.mock(JFRConnection.class);
+        JFRConnection next = Mockito.mock(JFRConnection.class);
+        CountDownLatch latch = new CountDownLatch(1);
+        Mockito.when(jfrConnectionToolkit.connect(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(
+                        invocation -> {
+                            latch.await();
+                            return late;
+                        })
+                .thenReturn(next);
+        ConnectionDescriptor desc =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://localhost:0/jmxrmi");
+
+        Assertions.assertThrows(
+                CompletionException.class,
+                () -> mgr.executeConnectedTaskAsync(desc, a -> a).join());
+        latch.countDown();
+
+        Mockito.verify(late, Mockito.timeout(5_000)).close();
+        MatcherAssert.assertThat(
+                mgr.executeConnectedTask(desc, a -> a), Matchers.sameInstance(next));
+    }
+
+    TargetConnectionManager timingOutManager(int maxRunning) throws Exception {
+        Mockito.when(jfrConnectionToolkit.connect(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> Mockito.mock(JFRConnection.class));
+        return new TargetConnectionManager(
+                () -> jfrConnectionToolkit,
+                () -> agentConnectionFactory,
+                platformClient,
+                Executors.newCachedThreadPool(),
+                new TargetTaskScheduler(Executors.newCachedThreadPool(), maxRunning, 16, 0, 0),
+                Scheduler.disabledScheduler(),
+                Duration.ofSeconds(60),
+                Duration.ZERO,
+                -1,
+                1);
+    }
+
+    @Test
+    void shouldHoldTargetUntilTimedOutTaskIsDone() throws Exception {
+        TargetConnectionManager mgr = timingOutManager(16);
+        ConnectionDescriptor desc =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://localhost:0/jmxrmi");
+        CountDownLatch latch = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<Object> slow =
+                mgr.executeConnectedTaskAsync(
+                        desc,
+                        conn -> {
+                            latch.await();
+                            return null;
+                        });
+        ExecutionException ee = Assertions.assertThrows(ExecutionException.class, slow::get);
+        MatcherAssert.assertThat(ee.getCause(), Matchers.instanceOf(TimeoutException.class));
+
+        CompletableFuture<Object> next =
+                mgr.submitConnectedTask(
+                        desc,
+                        conn -> {
+                            started.countDown();
+                            return null;
+                        });
+        MatcherAssert.assertThat(
+                started.await(100, TimeUnit.MILLISECONDS), Matchers.equalTo(false));
+        MatcherAssert.assertThat(mgr.getTaskStatistics().getOutstanding(), Matchers.equalTo(2));
+
+        latch.countDown();
+        next.get(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(mgr.getTaskQueueDepth(desc.getTargetId()), Matchers.equalTo(0));
+    }
+
+    @Test
+    void shouldSkipTaskWhichTimedOutBeforeStarting() throws Exception {
+        TargetConnectionManager mgr = timingOutManager(1);
+        ConnectionDescriptor desc1 =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://localhost:0/jmxrmi");
+        ConnectionDescriptor desc2 =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://example:1/jmxrmi");
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean skippedRan = new AtomicBoolean();
+
+        CompletableFuture<Object> blocking =
+                mgr.submitConnectedTask(
+                        desc1,
+                        conn -> {
+                            latch.await();
+                            return null;
+                        });
+        CompletableFuture<Object> skipped =
+                mgr.executeConnectedTaskAsync(
+                        desc2,
+                        conn -> {
+                            skippedRan.set(true);
+                            return null;
+                        });
+        Assertions.assertThrows(ExecutionException.class, skipped::get);
+
+        latch.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        mgr.executeConnectedTask(desc2, conn -> null);
+        MatcherAssert.assertThat(skippedRan.get(), Matchers.equalTo(false));
+    }
+
+    @Test
+    void shouldRunNestedTasksForOtherTargetsWithoutWaitingForAFreeThread() throws Exception {
+        TargetConnectionManager mgr = timingOutManager(1);
+        ConnectionDescriptor desc1 =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://localhost:0/jmxrmi");
+        ConnectionDescriptor desc2 =
+                new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://example:1/jmxrmi");
+
+        String result =
+                Assertions.assertTimeoutPreemptively(
+                        Duration.ofSeconds(5),
+                        () ->
+                                mgr.executeConnectedTask(
+                                        desc1,
+                                        conn1 -> mgr.executeConnectedTask(desc2, conn2 -> "done")));
+        MatcherAssert.assertThat(result, Matchers.equalTo("done"));
+    }
+
     @ParameterizedTest
     @ValueSource(
             strings = {
@@ -218,8 +487,10 @@ class TargetConnectionManagerTest {
                         () -> agentConnectionFactory,
                         platformClient,
                         Runnable::run,
+                        new TargetTaskScheduler(Runnable::run, 16, 16, 0, 0),
                         Scheduler.disabledScheduler(),
                         Duration.ofNanos(1),
+                        Duration.ZERO,
                         -1,
                         10);
         ConnectionDescriptor desc = new ConnectionDescriptor(url);
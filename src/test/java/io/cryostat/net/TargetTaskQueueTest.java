@@ -0,0 +1,134 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TargetTaskQueueTest {
+
+    TargetTaskQueue queue;
+    List<String> started;
+    List<TargetTaskQueue> drained;
+
+    @BeforeEach
+    void setup() {
+        this.drained = new ArrayList<>();
+        this.queue = new TargetTaskQueue(drained::add);
+        this.started = new ArrayList<>();
+    }
+
+    CompletableFuture<String> submit(
+            boolean readOnly, String name, CompletableFuture<String> completion) {
+        return queue.submit(
+                readOnly,
+                waitNanos -> {
+                    started.add(name);
+                    return completion;
+                });
+    }
+
+    @Test
+    void shouldRunExclusiveTasksOneAtATime() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        CompletableFuture<String> a = submit(false, "a", first);
+        CompletableFuture<String> b = submit(false, "b", second);
+
+        MatcherAssert.assertThat(started, Matchers.contains("a"));
+        MatcherAssert.assertThat(queue.getDepth(), Matchers.equalTo(2));
+
+        first.complete("a");
+        MatcherAssert.assertThat(a.join(), Matchers.equalTo("a"));
+        MatcherAssert.assertThat(started, Matchers.contains("a", "b"));
+        MatcherAssert.assertThat(b.isDone(), Matchers.is(false));
+
+        second.complete("b");
+        MatcherAssert.assertThat(b.join(), Matchers.equalTo("b"));
+        MatcherAssert.assertThat(queue.getDepth(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void shouldRunConsecutiveReadOnlyTasksConcurrently() {
+        CompletableFuture<String> exclusive = new CompletableFuture<>();
+        CompletableFuture<String> read1 = new CompletableFuture<>();
+        CompletableFuture<String> read2 = new CompletableFuture<>();
+        submit(false, "write1", exclusive);
+        submit(true, "read1", read1);
+        submit(true, "read2", read2);
+        submit(false, "write2", new CompletableFuture<>());
+
+        MatcherAssert.assertThat(started, Matchers.contains("write1"));
+
+        exclusive.complete("write1");
+        MatcherAssert.assertThat(started, Matchers.contains("write1", "read1", "read2"));
+
+        read2.complete("read2");
+        MatcherAssert.assertThat(started, Matchers.contains("write1", "read1", "read2"));
+
+        read1.complete("read1");
+        MatcherAssert.assertThat(started, Matchers.contains("write1", "read1", "read2", "write2"));
+    }
+
+    @Test
+    void shouldReleaseSuccessorsOfFailedTasks() {
+        CompletableFuture<String> failing = new CompletableFuture<>();
+        CompletableFuture<String> a = submit(false, "a", failing);
+        CompletableFuture<String> b = submit(false, "b", CompletableFuture.completedFuture("b"));
+
+        failing.completeExceptionally(new IllegalStateException());
+
+        Assertions.assertThrows(Exception.class, a::join);
+        MatcherAssert.assertThat(b.join(), Matchers.equalTo("b"));
+        MatcherAssert.assertThat(queue.getDepth(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void shouldReportMeanWaitTime() throws Exception {
+        MatcherAssert.assertThat(queue.getMeanWaitTime(), Matchers.equalTo(Duration.ZERO));
+
+        CompletableFuture<String> first = new CompletableFuture<>();
+        submit(false, "a", first);
+        submit(false, "b", CompletableFuture.completedFuture("b"));
+        Thread.sleep(20);
+        first.complete("a");
+
+        MatcherAssert.assertThat(
+                queue.getMeanWaitTime(), Matchers.greaterThanOrEqualTo(Duration.ofMillis(10)));
+    }
+
+    @Test
+    void shouldDrainOnceNoTasksAreLeft() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        submit(false, "a", first);
+        submit(true, "b", CompletableFuture.completedFuture("b"));
+        MatcherAssert.assertThat(drained, Matchers.empty());
+
+        first.complete("a");
+        MatcherAssert.assertThat(drained, Matchers.contains(queue));
+        MatcherAssert.assertThat(
+                submit(false, "c", CompletableFuture.completedFuture("c")), Matchers.nullValue());
+        MatcherAssert.assertThat(started, Matchers.contains("a", "b"));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TargetTaskSchedulerTest {
+
+    // holds dispatched tasks until the test runs them, so that tasks stay running meanwhile
+    Queue<Runnable> executor;
+    List<String> started;
+
+    @BeforeEach
+    void setup() {
+        this.executor = new ArrayDeque<>();
+        this.started = new ArrayList<>();
+    }
+
+    TargetTaskScheduler scheduler(int maxRunning, int maxRunningPerTarget) {
+        return new TargetTaskScheduler(executor::add, maxRunning, maxRunningPerTarget, 0, 0);
+    }
+
+    CompletableFuture<String> dispatch(TargetTaskScheduler scheduler, String target, String name) {
+        return scheduler.dispatch(
+                target,
+                () -> {
+                    started.add(name);
+                    return name;
+                });
+    }
+
+    void runNext() {
+        executor.remove().run();
+    }
+
+    @Test
+    void shouldLimitRunningTasksPerTarget() {
+        TargetTaskScheduler scheduler = scheduler(4, 2);
+        CompletableFuture<String> a1 = dispatch(scheduler, "a", "a1");
+        dispatch(scheduler, "a", "a2");
+        CompletableFuture<String> a3 = dispatch(scheduler, "a", "a3");
+
+        MatcherAssert.assertThat(executor, Matchers.hasSize(2));
+        MatcherAssert.assertThat(scheduler.getStatistics().getRunning(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(scheduler.getStatistics().getWaiting(), Matchers.equalTo(1));
+
+        runNext();
+        MatcherAssert.assertThat(a1.join(), Matchers.equalTo("a1"));
+        MatcherAssert.assertThat(executor, Matchers.hasSize(2));
+        runNext();
+        runNext();
+        MatcherAssert.assertThat(a3.join(), Matchers.equalTo("a3"));
+        MatcherAssert.assertThat(scheduler.getStatistics().getRunning(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void shouldShareSlotsFairlyBetweenTargets() {
+        TargetTaskScheduler scheduler = scheduler(1, 1);
+        dispatch(scheduler, "a", "a1");
+        dispatch(scheduler, "a", "a2");
+        dispatch(scheduler, "a", "a3");
+        dispatch(scheduler, "b", "b1");
+        dispatch(scheduler, "b", "b2");
+
+        while (!executor.isEmpty()) {
+            runNext();
+        }
+
+        MatcherAssert.assertThat(started, Matchers.contains("a1", "b1", "a2", "b2", "a3"));
+    }
+
+    @Test
+    void shouldNotLetReturningTargetClaimSlotsItDidNotUse() {
+        TargetTaskScheduler scheduler = scheduler(1, 1);
+        for (int i = 1; i <= 5; i++) {
+            dispatch(scheduler, "a", "a" + i);
+        }
+        runNext();
+        runNext();
+        dispatch(scheduler, "b", "b1");
+        dispatch(scheduler, "b", "b2");
+        dispatch(scheduler, "b", "b3");
+
+        while (!executor.isEmpty()) {
+            runNext();
+        }
+
+        MatcherAssert.assertThat(started, Matchers.hasSize(8));
+        MatcherAssert.assertThat(started.indexOf("b1"), Matchers.equalTo(3));
+        MatcherAssert.assertThat(started.indexOf("a4"), Matchers.lessThan(started.indexOf("b3")));
+    }
+
+    @Test
+    void shouldReleaseSlotOfFailedTask() {
+        TargetTaskScheduler scheduler = scheduler(1, 1);
+        CompletableFuture<String> failed =
+                scheduler.dispatch(
+                        "a",
+                        () -> {
+                            throw new IllegalStateException();
+                        });
+        CompletableFuture<String> next = dispatch(scheduler, "a", "a2");
+
+        runNext();
+        Assertions.assertThrows(Exception.class, failed::join);
+        runNext();
+        MatcherAssert.assertThat(next.join(), Matchers.equalTo("a2"));
+    }
+
+    @Test
+    void shouldRejectTasksBeyondOutstandingLimits() {
+        TargetTaskScheduler scheduler = new TargetTaskScheduler(executor::add, 1, 1, 2, 3);
+        scheduler.admit("a");
+        scheduler.admit("a");
+        TargetTaskRejectedException busy =
+                Assertions.assertThrows(
+                        TargetTaskRejectedException.class, () -> scheduler.admit("a"));
+        MatcherAssert.assertThat(
+                busy.getReason(), Matchers.equalTo(TargetTaskRejectedException.Reason.TARGET_BUSY));
+
+        scheduler.admit("b");
+        TargetTaskRejectedException overloaded =
+                Assertions.assertThrows(
+                        TargetTaskRejectedException.class, () -> scheduler.admit("c"));
+        MatcherAssert.assertThat(
+                overloaded.getReason(),
+                Matchers.equalTo(TargetTaskRejectedException.Reason.OVERLOADED));
+
+        TargetConnectionManager.TaskStatistics stats = scheduler.getStatistics();
+        MatcherAssert.assertThat(stats.getOutstanding(), Matchers.equalTo(3));
+        MatcherAssert.assertThat(stats.getBusiestTargetOutstanding(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(stats.getActiveTargets(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(stats.getTargetBusyRejections(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(stats.getOverloadedRejections(), Matchers.equalTo(1L));
+
+        scheduler.release("a");
+        scheduler.admit("c");
+        MatcherAssert.assertThat(scheduler.getStatistics().getOutstanding(), Matchers.equalTo(3));
+    }
+}
@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -522,6 +524,149 @@ class OpenShiftAuthManagerTest {
         MatcherAssert.assertThat(logoutRedirectUrl, Matchers.equalTo(EXPECTED_LOGOUT_REDIRECT_URL));
     }
 
+    @Test
+    void shouldCacheTokenReviewDecisions() throws Exception {
+        TokenReview tokenReview =
+                new TokenReviewBuilder()
+                        .withNewStatus()
+                        .withAuthenticated(true)
+                        .endStatus()
+                        .build();
+        server.expect()
+                .post()
+                .withPath(TOKEN_REVIEW_API_PATH)
+                .andReturn(HttpURLConnection.HTTP_CREATED, tokenReview)
+                .once();
+
+        MatcherAssert.assertThat(
+                mgr.validateToken(() -> "userToken", ResourceAction.NONE).get(), Matchers.is(true));
+        // the mock server only answers once, so this must be answered from the cache
+        MatcherAssert.assertThat(
+                mgr.validateToken(() -> "userToken", ResourceAction.NONE).get(), Matchers.is(true));
+    }
+
+    @Test
+    void shouldCacheDeniedAccessReviewDecisions() throws Exception {
+        SelfSubjectAccessReview accessReview =
+                new SelfSubjectAccessReviewBuilder()
+                        .withNewStatus()
+                        .withAllowed(false)
+                        .endStatus()
+                        .build();
+        server.expect()
+                .post()
+                .withPath(SUBJECT_REVIEW_API_PATH)
+                .andReturn(HttpURLConnection.HTTP_CREATED, accessReview)
+                .once();
+
+        for (int i = 0; i < 2; i++) {
+            ExecutionException ee =
+                    Assertions.assertThrows(
+                            ExecutionException.class,
+                            () ->
+                                    mgr.validateToken(
+                                                    () -> "token",
+                                                    Set.of(ResourceAction.READ_RECORDING))
+                                            .get());
+            MatcherAssert.assertThat(
+                    ExceptionUtils.getRootCause(ee),
+                    Matchers.instanceOf(PermissionDeniedException.class));
+        }
+    }
+
+    @Test
+    void shouldReviewSharedResourcesOnceForAllActions() throws Exception {
+        Mockito.when(classPropertiesLoader.loadAsMap(Mockito.any()))
+                .thenReturn(Map.of("RECORDING", "pods/exec", "REPORT", "pods/exec"));
+        mgr =
+                new OpenShiftAuthManager(
+                        env,
+                        () -> NAMESPACE,
+                        () -> client,
+                        tokenProvider,
+                        classPropertiesLoader,
+                        gson,
+                        Runnable::run,
+                        Scheduler.disabledScheduler());
+        SelfSubjectAccessReview accessReview =
+                new SelfSubjectAccessReviewBuilder()
+                        .withNewStatus()
+                        .withAllowed(true)
+                        .endStatus()
+                        .build();
+        server.expect()
+                .post()
+                .withPath(SUBJECT_REVIEW_API_PATH)
+                .andReturn(HttpURLConnection.HTTP_CREATED, accessReview)
+                .once();
+
+        MatcherAssert.assertThat(
+                mgr.validateToken(
+                                () -> "token",
+                                Set.of(ResourceAction.READ_RECORDING, ResourceAction.READ_REPORT))
+                        .get(),
+                Matchers.is(true));
+    }
+
+    @Test
+    void shouldInvalidateCachedDecisionsOnLogout() throws Exception {
+        server.expect()
+                .post()
+                .withPath(TOKEN_REVIEW_API_PATH)
+                .andReturn(
+                        HttpURLConnection.HTTP_CREATED,
+                        new TokenReviewBuilder()
+                                .withNewStatus()
+                                .withAuthenticated(true)
+                                .endStatus()
+                                .build())
+                .once();
+        server.expect()
+                .post()
+                .withPath(TOKEN_REVIEW_API_PATH)
+                .andReturn(
+                        HttpURLConnection.HTTP_CREATED,
+                        new TokenReviewBuilder()
+                                .withNewStatus()
+                                .withAuthenticated(false)
+                                .endStatus()
+                                .build())
+                .once();
+
+        Resource<OAuthAccessToken> token = Mockito.mock(Resource.class);
+        NonNamespaceOperation<OAuthAccessToken, OAuthAccessTokenList, Resource<OAuthAccessToken>>
+                tokens = Mockito.mock(NonNamespaceOperation.class);
+        Mockito.when(client.oAuthAccessTokens()).thenReturn(tokens);
+        Mockito.when(tokens.withName(Mockito.anyString())).thenReturn(token);
+        Mockito.when(token.delete()).thenReturn(List.of());
+        Mockito.when(client.getHttpClient()).thenReturn(httpClient);
+        Mockito.when(client.getMasterUrl()).thenReturn(new URL("https://example.com"));
+        HttpRequest.Builder requestBuilder = Mockito.mock(HttpRequest.Builder.class);
+        Mockito.when(requestBuilder.uri(Mockito.any(URI.class))).thenReturn(requestBuilder);
+        Mockito.when(requestBuilder.header(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(requestBuilder);
+        HttpRequest request = Mockito.mock(HttpRequest.class);
+        Mockito.when(requestBuilder.build()).thenReturn(request);
+        Mockito.when(httpClient.newHttpRequestBuilder()).thenReturn(requestBuilder);
+        HttpResponse<String> resp = Mockito.mock(HttpResponse.class);
+        Mockito.when(resp.body()).thenReturn(OAUTH_METADATA);
+        Mockito.when(httpClient.sendAsync(request, String.class))
+                .thenReturn(CompletableFuture.completedFuture(resp));
+
+        MatcherAssert.assertThat(
+                mgr.validateToken(() -> "myToken", ResourceAction.NONE).get(), Matchers.is(true));
+
+        mgr.logout(
+                () ->
+                        "Bearer "
+                                + Base64.getUrlEncoder()
+                                        .encodeToString(
+                                                "myToken".getBytes(StandardCharsets.UTF_8)));
+
+        MatcherAssert.assertThat(
+                mgr.validateToken(() -> "myToken", ResourceAction.NONE).get(), Matchers.is(false));
+    }
+
     @ParameterizedTest
     @EnumSource(mode = EnumSource.Mode.MATCH_ANY, names = "^([a-zA-Z]+_(RECORDING|CERTIFICATE))$")
     void shouldValidateExpectedPermissionsPerSecuredResource(ResourceAction resourceAction)
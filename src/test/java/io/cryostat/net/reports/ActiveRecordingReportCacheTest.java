@@ -19,13 +19,17 @@ import static org.mockito.ArgumentMatchers.anyString;
 
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.inject.Provider;
 
+import org.openjdk.jmc.flightrecorder.rules.RuleRegistry;
+
 import io.cryostat.core.sys.Environment;
 import io.cryostat.core.sys.FileSystem;
 import io.cryostat.jmc.serialization.HyperlinkedSerializableRecordingDescriptor;
@@ -36,6 +40,7 @@ import io.cryostat.recordings.RecordingNotFoundException;
 import io.cryostat.recordings.RecordingTargetHelper;
 import io.cryostat.util.JavaProcess;
 
+import com.google.gson.JsonObject;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
@@ -58,8 +63,32 @@ class ActiveRecordingReportCacheTest {
     @Mock Path destinationFile;
     @Mock JavaProcess.Builder javaProcessBuilder;
     Provider<JavaProcess.Builder> javaProcessBuilderProvider = () -> javaProcessBuilder;
-    final String REPORT_DOC = "<html><body><p>This is a report</p></body></html>";
-    final String REPORT_JSON = "{\"report\": \"This is an unformatted report\"";
+    final String REPORT_DOC = reportFor("");
+    final AtomicReference<String> generated = new AtomicReference<>();
+
+    static String reportFor(String filter) {
+        JsonObject report = new JsonObject();
+        for (String ruleId : RuleEvaluations.ruleIds(filter)) {
+            JsonObject result = new JsonObject();
+            result.addProperty("name", ruleId);
+            result.addProperty("score", 0.0);
+            report.add(ruleId, result);
+        }
+        return report.toString();
+    }
+
+    void generateReportsForFilter() throws Exception {
+        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
+        Mockito.when(
+                        subprocessReportGenerator.exec(
+                                Mockito.any(RecordingDescriptor.class), anyString()))
+                .then(
+                        invocation -> {
+                            generated.set(reportFor(invocation.getArgument(1)));
+                            return pathFuture;
+                        });
+        Mockito.when(fs.readString(destinationFile)).then(invocation -> generated.get());
+    }
 
     @BeforeEach
     void setup() {
@@ -75,12 +104,7 @@ class ActiveRecordingReportCacheTest {
 
     @Test
     void shouldReturnTrueWhenDeletingReport() throws Exception {
-        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
-        Mockito.when(
-                        subprocessReportGenerator.exec(
-                                Mockito.any(RecordingDescriptor.class), anyString()))
-                .thenReturn(pathFuture);
-        Mockito.when(fs.readString(destinationFile)).thenReturn(REPORT_DOC);
+        generateReportsForFilter();
 
         String targetId = "foo";
         String recordingName = "bar";
@@ -92,12 +116,7 @@ class ActiveRecordingReportCacheTest {
 
     @Test
     void shouldReturnGeneratedReportResult() throws Exception {
-        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
-        Mockito.when(
-                        subprocessReportGenerator.exec(
-                                Mockito.any(RecordingDescriptor.class), anyString()))
-                .thenReturn(pathFuture);
-        Mockito.when(fs.readString(destinationFile)).thenReturn(REPORT_DOC);
+        generateReportsForFilter();
 
         String targetId = "foo";
 
@@ -112,52 +131,58 @@ class ActiveRecordingReportCacheTest {
 
     @Test
     void shouldReturnGeneratedReportResultFiltered() throws Exception {
-        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
-        Mockito.when(
-                        subprocessReportGenerator.exec(
-                                Mockito.any(RecordingDescriptor.class), anyString()))
-                .thenReturn(pathFuture);
-        Mockito.when(fs.readString(destinationFile)).thenReturn(REPORT_DOC);
+        generateReportsForFilter();
+        String topic = RuleRegistry.getRules().iterator().next().getTopic();
 
         String targetId = "foo";
 
         ConnectionDescriptor connectionDescriptor = new ConnectionDescriptor(targetId);
-        Future<String> report = cache.get(connectionDescriptor, "foo", "non-null");
-        MatcherAssert.assertThat(report.get(), Matchers.equalTo(REPORT_DOC));
+        Future<String> report = cache.get(connectionDescriptor, "foo", topic);
+        MatcherAssert.assertThat(report.get(), Matchers.equalTo(reportFor(topic)));
 
         Mockito.verify(subprocessReportGenerator)
-                .exec(Mockito.any(RecordingDescriptor.class), Mockito.eq("non-null"));
+                .exec(Mockito.any(RecordingDescriptor.class), Mockito.eq(topic));
         Mockito.verify(fs).readString(destinationFile);
     }
 
     @Test
-    void shouldReturnGeneratedReportResultUnformatted() throws Exception {
-        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
-        Mockito.when(
-                        subprocessReportGenerator.exec(
-                                Mockito.any(RecordingDescriptor.class), anyString()))
-                .thenReturn(pathFuture);
-        Mockito.when(fs.readString(destinationFile)).thenReturn(REPORT_JSON);
+    void shouldNotGenerateReportForFilterMatchingNoRules() throws Exception {
+        ConnectionDescriptor connectionDescriptor = new ConnectionDescriptor("foo");
+        Future<String> report = cache.get(connectionDescriptor, "foo", "non-null");
+        MatcherAssert.assertThat(report.get(), Matchers.equalTo("{}"));
 
-        String targetId = "foo";
+        Mockito.verifyNoInteractions(subprocessReportGenerator);
+    }
 
-        ConnectionDescriptor connectionDescriptor = new ConnectionDescriptor(targetId);
-        Future<String> report = cache.get(connectionDescriptor, "foo", "non-null");
-        MatcherAssert.assertThat(report.get(), Matchers.equalTo(REPORT_JSON));
+    @Test
+    void shouldOnlyEvaluateRulesNotYetEvaluated() throws Exception {
+        generateReportsForFilter();
+        String topic = RuleRegistry.getRules().iterator().next().getTopic();
+        Set<String> remaining = RuleEvaluations.ruleIds("");
+        remaining.removeAll(RuleEvaluations.ruleIds(topic));
+
+        ConnectionDescriptor connectionDescriptor = new ConnectionDescriptor("foo");
+        MatcherAssert.assertThat(
+                cache.get(connectionDescriptor, "bar", topic).get(),
+                Matchers.equalTo(reportFor(topic)));
+        MatcherAssert.assertThat(
+                cache.get(connectionDescriptor, "bar", "").get(), Matchers.equalTo(REPORT_DOC));
+        MatcherAssert.assertThat(
+                cache.get(connectionDescriptor, "bar", topic).get(),
+                Matchers.equalTo(reportFor(topic)));
 
         Mockito.verify(subprocessReportGenerator)
-                .exec(Mockito.any(RecordingDescriptor.class), Mockito.eq("non-null"));
-        Mockito.verify(fs).readString(destinationFile);
+                .exec(Mockito.any(RecordingDescriptor.class), Mockito.eq(topic));
+        Mockito.verify(subprocessReportGenerator)
+                .exec(
+                        Mockito.any(RecordingDescriptor.class),
+                        Mockito.eq(RuleEvaluations.filter(remaining)));
+        Mockito.verifyNoMoreInteractions(subprocessReportGenerator);
     }
 
     @Test
     void shouldReturnCachedReportResultOnSecondRequest() throws Exception {
-        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
-        Mockito.when(
-                        subprocessReportGenerator.exec(
-                                Mockito.any(RecordingDescriptor.class), anyString()))
-                .thenReturn(pathFuture);
-        Mockito.when(fs.readString(destinationFile)).thenReturn(REPORT_DOC);
+        generateReportsForFilter();
 
         String targetId = "foo";
         String recordingName = "bar";
@@ -175,12 +200,7 @@ class ActiveRecordingReportCacheTest {
     @SuppressWarnings("rawtypes")
     @Test
     void shouldReturnUncachedReportWhenRecordingStopped() throws Exception {
-        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
-        Mockito.when(
-                        subprocessReportGenerator.exec(
-                                Mockito.any(RecordingDescriptor.class), anyString()))
-                .thenReturn(pathFuture);
-        Mockito.when(fs.readString(destinationFile)).thenReturn(REPORT_DOC);
+        generateReportsForFilter();
 
         String targetId = "foo";
         String recordingName = "bar";
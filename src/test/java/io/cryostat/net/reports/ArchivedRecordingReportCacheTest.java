@@ -17,16 +17,24 @@ package io.cryostat.net.reports;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
+import org.openjdk.jmc.flightrecorder.rules.RuleRegistry;
+
 import io.cryostat.core.sys.FileSystem;
 import io.cryostat.recordings.RecordingArchiveHelper;
 import io.cryostat.recordings.RecordingNotFoundException;
 import io.cryostat.rules.ArchivePathException;
 
+import com.google.gson.JsonObject;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -47,6 +55,11 @@ class ArchivedRecordingReportCacheTest {
 
     @Mock CompletableFuture<Path> pathFuture;
     @Mock Path destinationFile;
+    @Mock Path ruleResultsFile;
+    @Mock Path tempFile;
+    @Mock Path reportsPath;
+    @Mock java.nio.file.FileSystem nioFs;
+    @Mock FileSystemProvider provider;
     @Mock FileSystem fs;
     @Mock SubprocessReportGenerator subprocessReportGenerator;
     @Mock RecordingArchiveHelper recordingArchiveHelper;
@@ -55,9 +68,40 @@ class ArchivedRecordingReportCacheTest {
     void setup() {
         this.cache =
                 new ArchivedRecordingReportCache(
-                        fs, () -> subprocessReportGenerator, recordingArchiveHelper, 30);
+                        fs,
+                        () -> subprocessReportGenerator,
+                        recordingArchiveHelper,
+                        reportsPath,
+                        30,
+                        1024);
         this.sourceTarget = "service:jmx:rmi://localhost:9091/jndi/rmi://fooHost:9091/jmxrmi";
         this.recordingName = "foo";
+        Mockito.lenient()
+                .when(destinationFile.resolveSibling(Mockito.anyString()))
+                .thenReturn(ruleResultsFile);
+        Mockito.lenient().when(destinationFile.getFileSystem()).thenReturn(nioFs);
+        Mockito.lenient().when(tempFile.getFileSystem()).thenReturn(nioFs);
+        Mockito.lenient().when(nioFs.provider()).thenReturn(provider);
+    }
+
+    void stubTempFile() throws IOException {
+        Mockito.when(
+                        fs.createTempFile(
+                                Mockito.nullable(Path.class),
+                                Mockito.nullable(String.class),
+                                Mockito.nullable(String.class)))
+                .thenReturn(tempFile);
+    }
+
+    static String reportFor(String filter) {
+        JsonObject report = new JsonObject();
+        for (String ruleId : RuleEvaluations.ruleIds(filter)) {
+            JsonObject result = new JsonObject();
+            result.addProperty("name", ruleId);
+            result.addProperty("score", 0.0);
+            report.add(ruleId, result);
+        }
+        return report.toString();
     }
 
     @Test
@@ -69,6 +113,7 @@ class ArchivedRecordingReportCacheTest {
                 .thenReturn(future1);
 
         Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(false);
+        stubTempFile();
         Mockito.when(fs.deleteIfExists(Mockito.any(Path.class))).thenReturn(false);
 
         CompletableFuture<Path> future2 = Mockito.mock(CompletableFuture.class);
@@ -92,7 +137,7 @@ class ArchivedRecordingReportCacheTest {
                 ExceptionUtils.getRootCause(ee),
                 Matchers.instanceOf(RecordingNotFoundException.class));
         Mockito.verify(fs, Mockito.atLeastOnce()).isReadable(destinationFile);
-        Mockito.verify(fs, Mockito.atLeastOnce()).deleteIfExists(destinationFile);
+        Mockito.verify(fs, Mockito.atLeastOnce()).deleteIfExists(tempFile);
     }
 
     @Test
@@ -104,6 +149,7 @@ class ArchivedRecordingReportCacheTest {
                 .thenReturn(future1);
 
         Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(false);
+        stubTempFile();
 
         CompletableFuture<Path> future2 = Mockito.mock(CompletableFuture.class);
         Path recording = Mockito.mock(Path.class);
@@ -114,7 +160,7 @@ class ArchivedRecordingReportCacheTest {
                                 Mockito.nullable(String.class), Mockito.anyString()))
                 .thenReturn(future2);
 
-        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
+        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(tempFile);
 
         Mockito.when(
                         subprocessReportGenerator.exec(
@@ -123,24 +169,47 @@ class ArchivedRecordingReportCacheTest {
                                 Mockito.anyString()))
                 .thenReturn(pathFuture);
 
+        Mockito.when(fs.readString(tempFile)).thenReturn(reportFor(""));
+
         Future<Path> res = cache.get(sourceTarget, recordingName, "");
 
         MatcherAssert.assertThat(res.get(), Matchers.sameInstance(destinationFile));
-        Mockito.verify(subprocessReportGenerator).exec(recording, destinationFile, "");
+        Mockito.verify(subprocessReportGenerator).exec(recording, tempFile, "");
         Mockito.verify(fs, Mockito.atLeastOnce()).isReadable(destinationFile);
+        Mockito.verify(destinationFile).resolveSibling("foo.rules.json");
+        Mockito.verify(fs)
+                .writeString(
+                        Mockito.eq(ruleResultsFile),
+                        Mockito.eq(reportFor("")),
+                        Mockito.any(),
+                        Mockito.any(),
+                        Mockito.any());
+        Mockito.verify(fs)
+                .writeString(
+                        Mockito.eq(tempFile),
+                        Mockito.eq(reportFor("")),
+                        Mockito.any(),
+                        Mockito.any(),
+                        Mockito.any());
+        Mockito.verify(provider)
+                .move(
+                        tempFile,
+                        destinationFile,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
     }
 
     @Test
     void getShouldGenerateAndCacheReportFiltered() throws Exception {
+        String topic = RuleRegistry.getRules().iterator().next().getTopic();
         CompletableFuture<Path> future1 = Mockito.mock(CompletableFuture.class);
         Mockito.when(future1.get()).thenReturn(destinationFile);
 
-        Mockito.when(
-                        recordingArchiveHelper.getCachedReportPath(
-                                sourceTarget, recordingName, "someFilter"))
+        Mockito.when(recordingArchiveHelper.getCachedReportPath(sourceTarget, recordingName, topic))
                 .thenReturn(future1);
 
         Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(false);
+        stubTempFile();
 
         CompletableFuture<Path> future2 = Mockito.mock(CompletableFuture.class);
         Path recording = Mockito.mock(Path.class);
@@ -151,7 +220,7 @@ class ArchivedRecordingReportCacheTest {
                                 Mockito.nullable(String.class), Mockito.anyString()))
                 .thenReturn(future2);
 
-        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
+        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(tempFile);
 
         Mockito.when(
                         subprocessReportGenerator.exec(
@@ -159,49 +228,73 @@ class ArchivedRecordingReportCacheTest {
                                 Mockito.any(Path.class),
                                 Mockito.anyString()))
                 .thenReturn(pathFuture);
+        Mockito.when(fs.readString(tempFile)).thenReturn(reportFor(topic));
 
-        Future<Path> res = cache.get(sourceTarget, recordingName, "someFilter");
+        Future<Path> res = cache.get(sourceTarget, recordingName, topic);
 
         MatcherAssert.assertThat(res.get(), Matchers.sameInstance(destinationFile));
-        Mockito.verify(subprocessReportGenerator).exec(recording, destinationFile, "someFilter");
+        Mockito.verify(subprocessReportGenerator).exec(recording, tempFile, topic);
         Mockito.verify(fs, Mockito.atLeastOnce()).isReadable(destinationFile);
     }
 
     @Test
-    void getShouldGenerateReportUnformatted() throws Exception {
-        CompletableFuture<Path> future1 = Mockito.mock(CompletableFuture.class);
-        Mockito.when(future1.get()).thenReturn(destinationFile);
-
-        Mockito.when(
-                        recordingArchiveHelper.getCachedReportPath(
-                                sourceTarget, recordingName, "someFilter"))
-                .thenReturn(future1);
+    void getShouldOnlyEvaluateRulesNotYetEvaluated() throws Exception {
+        String topic = RuleRegistry.getRules().iterator().next().getTopic();
+        Set<String> remaining = RuleEvaluations.ruleIds("");
+        remaining.removeAll(RuleEvaluations.ruleIds(topic));
+        String remainingFilter = RuleEvaluations.filter(remaining);
 
+        Mockito.when(recordingArchiveHelper.getCachedReportPath(sourceTarget, recordingName, ""))
+                .thenReturn(CompletableFuture.completedFuture(destinationFile));
         Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(false);
-
-        CompletableFuture<Path> future2 = Mockito.mock(CompletableFuture.class);
+        stubTempFile();
+        Mockito.when(fs.isRegularFile(ruleResultsFile)).thenReturn(true);
+        Mockito.when(fs.readString(ruleResultsFile)).thenReturn(reportFor(topic));
         Path recording = Mockito.mock(Path.class);
-        Mockito.when(future2.get()).thenReturn(recording);
+        Mockito.when(recordingArchiveHelper.getRecordingPath(sourceTarget, recordingName))
+                .thenReturn(CompletableFuture.completedFuture(recording));
+        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(tempFile);
+        Mockito.when(subprocessReportGenerator.exec(recording, tempFile, remainingFilter))
+                .thenReturn(pathFuture);
+        Mockito.when(fs.readString(tempFile)).thenReturn(reportFor(remainingFilter));
 
-        Mockito.when(
-                        recordingArchiveHelper.getRecordingPath(
-                                Mockito.nullable(String.class), Mockito.anyString()))
-                .thenReturn(future2);
+        Future<Path> res = cache.get(sourceTarget, recordingName, "");
 
-        Mockito.when(pathFuture.get(Mockito.anyLong(), Mockito.any())).thenReturn(destinationFile);
+        MatcherAssert.assertThat(res.get(), Matchers.sameInstance(destinationFile));
+        Mockito.verify(subprocessReportGenerator).exec(recording, tempFile, remainingFilter);
+        Mockito.verify(fs)
+                .writeString(
+                        Mockito.eq(tempFile),
+                        Mockito.eq(reportFor("")),
+                        Mockito.any(),
+                        Mockito.any(),
+                        Mockito.any());
+    }
 
-        Mockito.when(
-                        subprocessReportGenerator.exec(
-                                Mockito.any(Path.class),
-                                Mockito.any(Path.class),
-                                Mockito.anyString()))
-                .thenReturn(pathFuture);
+    @Test
+    void getShouldSelectFromEvaluatedRulesWithoutGenerating() throws Exception {
+        String topic = RuleRegistry.getRules().iterator().next().getTopic();
+
+        Mockito.when(recordingArchiveHelper.getCachedReportPath(sourceTarget, recordingName, topic))
+                .thenReturn(CompletableFuture.completedFuture(destinationFile));
+        Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(false);
+        stubTempFile();
+        Mockito.when(fs.isRegularFile(ruleResultsFile)).thenReturn(true);
+        Mockito.when(fs.readString(ruleResultsFile)).thenReturn(reportFor(""));
 
-        Future<Path> res = cache.get(sourceTarget, recordingName, "someFilter");
+        Future<Path> res = cache.get(sourceTarget, recordingName, topic);
 
         MatcherAssert.assertThat(res.get(), Matchers.sameInstance(destinationFile));
-        Mockito.verify(subprocessReportGenerator).exec(recording, destinationFile, "someFilter");
-        Mockito.verify(fs, Mockito.atLeastOnce()).isReadable(destinationFile);
+        Mockito.verifyNoInteractions(subprocessReportGenerator);
+        Mockito.verify(recordingArchiveHelper, Mockito.never())
+                .getRecordingPath(Mockito.any(), Mockito.any());
+        Mockito.verify(fs)
+                .writeString(
+                        Mockito.eq(tempFile),
+                        Mockito.eq(reportFor(topic)),
+                        Mockito.any(),
+                        Mockito.any(),
+                        Mockito.any());
     }
 
     @Test
@@ -232,6 +325,7 @@ class ArchivedRecordingReportCacheTest {
                 .thenReturn(future1);
 
         Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(false);
+        stubTempFile();
 
         CompletableFuture<Path> future2 = Mockito.mock(CompletableFuture.class);
         Path recording = Mockito.mock(Path.class);
@@ -271,15 +365,15 @@ class ArchivedRecordingReportCacheTest {
         Mockito.when(recordingArchiveHelper.getCachedReportPath(sourceTarget, recordingName, ""))
                 .thenReturn(future1);
 
-        Mockito.when(fs.deleteIfExists(Mockito.nullable(Path.class))).thenReturn(false);
-
         ExecutionException ee =
                 Assertions.assertThrows(
                         ExecutionException.class, () -> cache.get(sourceTarget, "foo", "").get());
         MatcherAssert.assertThat(
                 ExceptionUtils.getRootCause(ee), Matchers.instanceOf(IOException.class));
 
-        Mockito.verify(fs, Mockito.atLeastOnce()).deleteIfExists(null);
+        // there is no destination path to clean up
+        Mockito.verify(fs, Mockito.never()).deleteIfExists(Mockito.any());
+        Mockito.verifyNoInteractions(subprocessReportGenerator);
     }
 
     @Test
@@ -300,6 +394,7 @@ class ArchivedRecordingReportCacheTest {
                 .thenReturn(future2);
 
         Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(true);
+        stubTempFile();
         Mockito.when(fs.deleteIfExists(Mockito.nullable(Path.class))).thenReturn(false);
 
         ExecutionException ee =
@@ -308,6 +403,141 @@ class ArchivedRecordingReportCacheTest {
         MatcherAssert.assertThat(
                 ExceptionUtils.getRootCause(ee), Matchers.instanceOf(ArchivePathException.class));
 
-        Mockito.verify(fs, Mockito.atLeastOnce()).deleteIfExists(destinationFile);
+        Mockito.verify(fs, Mockito.atLeastOnce()).deleteIfExists(tempFile);
+        Mockito.verify(fs, Mockito.never()).deleteIfExists(destinationFile);
+    }
+
+    @Test
+    void concurrentMissesShouldShareOneGeneration() throws Exception {
+        Mockito.when(recordingArchiveHelper.getCachedReportPath(sourceTarget, recordingName, ""))
+                .thenReturn(CompletableFuture.completedFuture(destinationFile));
+        Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(false);
+        stubTempFile();
+        Path recording = Mockito.mock(Path.class);
+        Mockito.when(recordingArchiveHelper.getRecordingPath(sourceTarget, recordingName))
+                .thenReturn(CompletableFuture.completedFuture(recording));
+
+        CompletableFuture<Path> generation = new CompletableFuture<>();
+        CountDownLatch generating = new CountDownLatch(1);
+        Mockito.when(subprocessReportGenerator.exec(recording, tempFile, ""))
+                .then(
+                        invocation -> {
+                            generating.countDown();
+                            return generation;
+                        });
+
+        CompletableFuture<Path> first =
+                CompletableFuture.supplyAsync(() -> getUnchecked(sourceTarget, recordingName));
+        generating.await();
+
+        // a file appearing at the destination mid-generation is not served as a cache hit, and
+        // the second request does not block a thread waiting for the first
+        Mockito.lenient().when(fs.isReadable(destinationFile)).thenReturn(true);
+        Mockito.lenient().when(fs.isRegularFile(destinationFile)).thenReturn(true);
+        Future<Path> second = cache.get(sourceTarget, recordingName, "");
+        MatcherAssert.assertThat(second.isDone(), Matchers.is(false));
+
+        Mockito.when(fs.readString(tempFile)).thenReturn(reportFor(""));
+        generation.complete(tempFile);
+
+        MatcherAssert.assertThat(first.get(), Matchers.sameInstance(destinationFile));
+        MatcherAssert.assertThat(second.get(), Matchers.sameInstance(destinationFile));
+        Mockito.verify(subprocessReportGenerator, Mockito.times(1))
+                .exec(Mockito.any(Path.class), Mockito.any(Path.class), Mockito.anyString());
+        Mockito.verify(provider)
+                .move(
+                        tempFile,
+                        destinationFile,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+        MatcherAssert.assertThat(cache.inFlight, Matchers.anEmptyMap());
+    }
+
+    Path getUnchecked(String sourceTarget, String recordingName) {
+        try {
+            return cache.get(sourceTarget, recordingName, "").get();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedReportsOverSizeLimit() throws Exception {
+        Path report1 = Mockito.mock(Path.class);
+        Path report2 = Mockito.mock(Path.class);
+        Mockito.when(recordingArchiveHelper.getCachedReportPath(sourceTarget, "one", ""))
+                .thenReturn(CompletableFuture.completedFuture(report1));
+        Mockito.when(recordingArchiveHelper.getCachedReportPath(sourceTarget, "two", ""))
+                .thenReturn(CompletableFuture.completedFuture(report2));
+        Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(true);
+        Mockito.when(fs.isRegularFile(Mockito.any(Path.class))).thenReturn(true);
+        Mockito.when(fs.size(report1)).thenReturn(600L);
+        Mockito.when(fs.size(report2)).thenReturn(600L);
+
+        cache.get(sourceTarget, "one", "").get();
+        Mockito.verify(fs, Mockito.never()).deleteIfExists(Mockito.any());
+
+        cache.get(sourceTarget, "two", "").get();
+
+        Mockito.verify(fs).deleteIfExists(report1);
+        Mockito.verify(fs, Mockito.never()).deleteIfExists(report2);
+    }
+
+    @Test
+    void shouldSeedFromExistingReportsAndEvictOverSizeLimit() throws Exception {
+        Path subdirectory = Mockito.mock(Path.class);
+        Path report = Mockito.mock(Path.class);
+        Path ruleResults = Mockito.mock(Path.class);
+        Mockito.when(fs.listDirectoryChildren(reportsPath)).thenReturn(List.of("subdir"));
+        Mockito.when(reportsPath.resolve("subdir")).thenReturn(subdirectory);
+        Mockito.when(fs.isDirectory(subdirectory)).thenReturn(true);
+        Mockito.when(fs.listDirectoryChildren(subdirectory))
+                .thenReturn(List.of("one-0.report.json", "one.rules.json", "upload.jfr"));
+        Mockito.when(subdirectory.resolve("one-0.report.json")).thenReturn(report);
+        Mockito.when(subdirectory.resolve("one.rules.json")).thenReturn(ruleResults);
+        Mockito.when(fs.size(report)).thenReturn(600L);
+        Mockito.when(fs.size(ruleResults)).thenReturn(600L);
+
+        new ArchivedRecordingReportCache(
+                fs, () -> subprocessReportGenerator, recordingArchiveHelper, reportsPath, 30, 1024);
+
+        Mockito.verify(fs).deleteIfExists(report);
+        Mockito.verify(fs, Mockito.never()).deleteIfExists(ruleResults);
+        Mockito.verify(subdirectory, Mockito.never()).resolve("upload.jfr");
+    }
+
+    @Test
+    void deleteShouldStopCountingDeletedReports() throws Exception {
+        Path subdirectory = Mockito.mock(Path.class);
+        Path report1 = Mockito.mock(Path.class);
+        Path report2 = Mockito.mock(Path.class);
+        Mockito.when(recordingArchiveHelper.getCachedReportPath(sourceTarget, "one", ""))
+                .thenReturn(CompletableFuture.completedFuture(report1));
+        Mockito.when(recordingArchiveHelper.getCachedReportPath(sourceTarget, "two", ""))
+                .thenReturn(CompletableFuture.completedFuture(report2));
+        Mockito.when(fs.isReadable(Mockito.any(Path.class))).thenReturn(true);
+        Mockito.when(fs.isRegularFile(Mockito.any(Path.class))).thenReturn(true);
+        Mockito.when(fs.size(report1)).thenReturn(600L);
+        Mockito.when(fs.size(report2)).thenReturn(600L);
+        Mockito.when(reportsPath.resolve("subdir")).thenReturn(subdirectory);
+        Mockito.when(fs.listDirectoryChildren(subdirectory))
+                .thenReturn(List.of("one-0.report.json"));
+        Mockito.when(subdirectory.resolve("one-0.report.json")).thenReturn(report1);
+
+        cache.get(sourceTarget, "one", "").get();
+        MatcherAssert.assertThat(cache.delete("subdir", "one"), Matchers.equalTo(true));
+        cache.get(sourceTarget, "two", "").get();
+
+        Mockito.verify(fs, Mockito.times(1)).deleteIfExists(report1);
+        Mockito.verify(fs, Mockito.never()).deleteIfExists(report2);
+    }
+
+    @Test
+    void deleteShouldReturnFalseIfFileSystemThrows() throws Exception {
+        Path subdirectory = Mockito.mock(Path.class);
+        Mockito.when(reportsPath.resolve("subdir")).thenReturn(subdirectory);
+        Mockito.when(fs.listDirectoryChildren(subdirectory)).thenThrow(IOException.class);
+
+        MatcherAssert.assertThat(cache.delete("subdir", "one"), Matchers.equalTo(false));
     }
 }
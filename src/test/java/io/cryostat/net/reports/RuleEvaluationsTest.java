@@ -0,0 +1,85 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.reports;
+
+import java.util.Set;
+
+import org.openjdk.jmc.flightrecorder.rules.IRule;
+import org.openjdk.jmc.flightrecorder.rules.RuleRegistry;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+class RuleEvaluationsTest {
+
+    @Test
+    void blankFilterShouldSelectAllRules() {
+        Set<String> ruleIds = RuleEvaluations.ruleIds("");
+        MatcherAssert.assertThat(ruleIds, Matchers.not(Matchers.empty()));
+        MatcherAssert.assertThat(ruleIds, Matchers.hasSize(RuleRegistry.getRules().size()));
+    }
+
+    @Test
+    void filterShouldSelectRulesByIdAndTopic() {
+        IRule rule = RuleRegistry.getRules().iterator().next();
+
+        MatcherAssert.assertThat(
+                RuleEvaluations.ruleIds(rule.getId()), Matchers.equalTo(Set.of(rule.getId())));
+        MatcherAssert.assertThat(
+                RuleEvaluations.ruleIds(rule.getTopic().toUpperCase()),
+                Matchers.hasItem(rule.getId()));
+        MatcherAssert.assertThat(RuleEvaluations.ruleIds("not-a-rule"), Matchers.empty());
+    }
+
+    @Test
+    void filterShouldRoundTripRuleIds() {
+        Set<String> ruleIds = RuleEvaluations.ruleIds("");
+        MatcherAssert.assertThat(
+                RuleEvaluations.ruleIds(RuleEvaluations.filter(ruleIds)),
+                Matchers.equalTo(ruleIds));
+    }
+
+    @Test
+    void shouldReportMissingRules() {
+        RuleEvaluations evaluations = RuleEvaluations.parse("{\"a\":{\"score\":1.0}}");
+        MatcherAssert.assertThat(evaluations.ruleIds(), Matchers.equalTo(Set.of("a")));
+        MatcherAssert.assertThat(
+                evaluations.missing(Set.of("a", "b", "c")), Matchers.contains("b", "c"));
+        MatcherAssert.assertThat(evaluations.missing(Set.of("a")), Matchers.empty());
+        MatcherAssert.assertThat(
+                RuleEvaluations.EMPTY.missing(Set.of("a")), Matchers.contains("a"));
+    }
+
+    @Test
+    void shouldMergeAndSelectResults() {
+        RuleEvaluations evaluations =
+                RuleEvaluations.parse("{\"a\":{\"score\":1.0},\"b\":{\"score\":2.0}}")
+                        .merge(RuleEvaluations.parse("{\"b\":{\"score\":3.0},\"c\":{}}"));
+
+        MatcherAssert.assertThat(evaluations.ruleIds(), Matchers.equalTo(Set.of("a", "b", "c")));
+        MatcherAssert.assertThat(
+                evaluations.select(Set.of("b")), Matchers.equalTo("{\"b\":{\"score\":3.0}}"));
+        MatcherAssert.assertThat(evaluations.select(Set.of("d")), Matchers.equalTo("{}"));
+    }
+
+    @Test
+    void mergeShouldNotModifyOriginal() {
+        RuleEvaluations original = RuleEvaluations.parse("{\"a\":{}}");
+        original.merge(RuleEvaluations.parse("{\"b\":{}}"));
+        MatcherAssert.assertThat(original.ruleIds(), Matchers.equalTo(Set.of("a")));
+    }
+}
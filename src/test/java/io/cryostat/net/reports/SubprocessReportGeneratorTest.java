@@ -17,17 +17,14 @@ package io.cryostat.net.reports;
 
 import java.nio.file.Path;
 import java.time.Duration;
-import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import io.cryostat.core.net.Credentials;
-import io.cryostat.core.sys.Environment;
 import io.cryostat.core.sys.FileSystem;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.TargetConnectionManager;
-import io.cryostat.util.JavaProcess;
 
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -35,7 +32,6 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
@@ -45,11 +41,9 @@ import org.mockito.stubbing.Answer;
 @ExtendWith(MockitoExtension.class)
 class SubprocessReportGeneratorTest {
 
-    @Mock Environment env;
     @Mock FileSystem fs;
     @Mock TargetConnectionManager targetConnectionManager;
-    @Mock JavaProcess.Builder javaProcessBuilder;
-    @Mock Process proc;
+    @Mock SubprocessReportWorkerPool workerPool;
     ConnectionDescriptor connectionDescriptor;
     RecordingDescriptor recordingDescriptor;
     @Mock Path recordingFile;
@@ -67,35 +61,9 @@ class SubprocessReportGeneratorTest {
                 .when(fs.createTempFile(null, null))
                 .thenReturn(tempFile1)
                 .thenReturn(tempFile2);
-        Mockito.lenient().when(tempFile1.toAbsolutePath()).thenReturn(tempFile1);
-        Mockito.lenient().when(tempFile1.toString()).thenReturn("/tmp/file1.tmp");
-        Mockito.lenient().when(tempFile2.toAbsolutePath()).thenReturn(tempFile2);
-        Mockito.lenient().when(tempFile2.toString()).thenReturn("/tmp/file2.tmp");
-        Mockito.lenient().when(recordingFile.toAbsolutePath()).thenReturn(recordingFile);
         Mockito.lenient().when(recordingFile.toString()).thenReturn("/dest/recording.tmp");
 
-        Mockito.lenient()
-                .when(javaProcessBuilder.env(Mockito.anyMap()))
-                .thenReturn(javaProcessBuilder);
-        Mockito.lenient()
-                .when(javaProcessBuilder.jvmArgs(Mockito.anyList()))
-                .thenReturn(javaProcessBuilder);
-        Mockito.lenient()
-                .when(javaProcessBuilder.klazz(Mockito.any(Class.class)))
-                .thenReturn(javaProcessBuilder);
-        Mockito.lenient()
-                .when(javaProcessBuilder.processArgs(Mockito.anyList()))
-                .thenReturn(javaProcessBuilder);
-        Mockito.lenient().when(javaProcessBuilder.exec()).thenReturn(proc);
-        Mockito.lenient()
-                .when(
-                        env.getEnv(
-                                Mockito.eq("CRYOSTAT_REPORT_GENERATION_MAX_HEAP"),
-                                Mockito.anyString()))
-                .thenReturn("200");
-        this.generator =
-                new SubprocessReportGenerator(
-                        env, fs, targetConnectionManager, () -> javaProcessBuilder, 30);
+        this.generator = new SubprocessReportGenerator(fs, targetConnectionManager, workerPool, 30);
     }
 
     @Test
@@ -119,88 +87,21 @@ class SubprocessReportGeneratorTest {
     }
 
     @Test
-    void shouldUseSelfAsForkedProcess() throws Exception {
-        Path dest = Mockito.mock(Path.class);
-        Mockito.when(dest.toAbsolutePath()).thenReturn(dest);
-        Mockito.when(dest.toString()).thenReturn("/dest/somefile.tmp");
-
-        generator.exec(recordingFile, dest, "");
-
-        Mockito.verify(javaProcessBuilder).klazz(SubprocessReportGenerator.class);
-    }
-
-    @Test
-    void shouldSetJvmArgs() throws Exception {
-        Path dest = Mockito.mock(Path.class);
-        Mockito.when(dest.toAbsolutePath()).thenReturn(dest);
-        Mockito.when(dest.toString()).thenReturn("/dest/somefile.tmp");
-
-        generator.exec(recordingFile, dest, "");
-
-        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
-        Mockito.verify(javaProcessBuilder).jvmArgs(captor.capture());
-
-        List<String> expected =
-                List.of("-Xms200M", "-Xmx200M", "-XX:+ExitOnOutOfMemoryError", "-XX:+UseSerialGC");
-        MatcherAssert.assertThat(captor.getValue(), Matchers.equalTo(expected));
-    }
-
-    @Test
-    void shouldSetJvmArgsWithoutReportMaxHeapEnvVar() throws Exception {
-        Path dest = Mockito.mock(Path.class);
-        Mockito.when(dest.toAbsolutePath()).thenReturn(dest);
-        Mockito.when(dest.toString()).thenReturn("/dest/somefile.tmp");
-        Mockito.when(
-                        env.getEnv(
-                                Mockito.eq("CRYOSTAT_REPORT_GENERATION_MAX_HEAP"),
-                                Mockito.anyString()))
-                .thenReturn("0");
-
-        generator.exec(recordingFile, dest, "");
-
-        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
-        Mockito.verify(javaProcessBuilder).jvmArgs(captor.capture());
-
-        List<String> expected = List.of("-XX:+ExitOnOutOfMemoryError", "-XX:+UseSerialGC");
-        MatcherAssert.assertThat(captor.getValue(), Matchers.equalTo(expected));
-    }
-
-    @Test
-    void shouldSetProcessArgs() throws Exception {
-        Path dest = Mockito.mock(Path.class);
-        Mockito.when(dest.toAbsolutePath()).thenReturn(dest);
-        Mockito.when(dest.toString()).thenReturn("/dest/somefile.tmp");
-
-        generator.exec(recordingFile, dest, "");
-
-        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
-        Mockito.verify(javaProcessBuilder).processArgs(captor.capture());
-
-        List<String> expected = List.of("/dest/recording.tmp", "/dest/somefile.tmp", "");
-        MatcherAssert.assertThat(captor.getValue(), Matchers.equalTo(expected));
-    }
-
-    @Test
-    void shouldSetProcessArgsFilteredUnformatted() throws Exception {
+    void shouldSubmitToWorkerPool() throws Exception {
         Path dest = Mockito.mock(Path.class);
-        Mockito.when(dest.toAbsolutePath()).thenReturn(dest);
-        Mockito.when(dest.toString()).thenReturn("/dest/somefile.tmp");
+        Mockito.when(workerPool.execute(recordingFile, dest, "someFilter", 29, TimeUnit.SECONDS))
+                .thenReturn(SubprocessReportGenerator.ExitStatus.OK);
 
-        generator.exec(recordingFile, dest, "someFilter");
+        generator.exec(recordingFile, dest, "someFilter").get();
 
-        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
-        Mockito.verify(javaProcessBuilder).processArgs(captor.capture());
-
-        List<String> expected = List.of("/dest/recording.tmp", "/dest/somefile.tmp", "someFilter");
-        MatcherAssert.assertThat(captor.getValue(), Matchers.equalTo(expected));
+        Mockito.verify(workerPool).execute(recordingFile, dest, "someFilter", 29, TimeUnit.SECONDS);
     }
 
     @Test
-    void shouldExecuteProcessAndReturnPathOnOkExit() throws Exception {
+    void shouldExecuteAndReturnPathOnOkStatus() throws Exception {
         Path dest = Mockito.mock(Path.class);
-        Mockito.when(dest.toAbsolutePath()).thenReturn(dest);
-        Mockito.when(dest.toString()).thenReturn("/dest/somefile.tmp");
-        Mockito.when(proc.waitFor(29, TimeUnit.SECONDS)).thenReturn(true);
+        Mockito.when(workerPool.execute(recordingFile, dest, "", 29, TimeUnit.SECONDS))
+                .thenReturn(SubprocessReportGenerator.ExitStatus.OK);
 
         Assertions.assertTimeoutPreemptively(
                 Duration.ofSeconds(2),
@@ -211,13 +112,10 @@ class SubprocessReportGeneratorTest {
     }
 
     @Test
-    void shouldExecuteProcessAndThrowExceptionOnNonOkExit() throws Exception {
+    void shouldExecuteAndThrowExceptionOnNoSuchRecordingStatus() throws Exception {
         Path dest = Mockito.mock(Path.class);
-        Mockito.when(dest.toAbsolutePath()).thenReturn(dest);
-        Mockito.when(dest.toString()).thenReturn("/dest/somefile.tmp");
-        Mockito.when(proc.waitFor(29, TimeUnit.SECONDS)).thenReturn(false);
-        Mockito.when(proc.exitValue())
-                .thenReturn(SubprocessReportGenerator.ExitStatus.NO_SUCH_RECORDING.code);
+        Mockito.when(workerPool.execute(recordingFile, dest, "", 29, TimeUnit.SECONDS))
+                .thenReturn(SubprocessReportGenerator.ExitStatus.NO_SUCH_RECORDING);
         Assertions.assertTimeoutPreemptively(
                 Duration.ofSeconds(2),
                 () -> {
@@ -234,9 +132,35 @@ class SubprocessReportGeneratorTest {
     }
 
     @Test
-    void shouldExecuteProcessAndDeleteRecordingOnCompletion() throws Exception {
-        Mockito.when(proc.waitFor(29, TimeUnit.SECONDS)).thenReturn(true);
-        Mockito.when(proc.exitValue()).thenReturn(SubprocessReportGenerator.ExitStatus.OK.code);
+    void shouldExecuteAndThrowExceptionOnTimeoutStatus() throws Exception {
+        Path dest = Mockito.mock(Path.class);
+        Mockito.when(workerPool.execute(recordingFile, dest, "", 29, TimeUnit.SECONDS))
+                .thenReturn(SubprocessReportGenerator.ExitStatus.TIMED_OUT);
+
+        ExecutionException ex =
+                Assertions.assertThrows(
+                        ExecutionException.class,
+                        () -> generator.exec(recordingFile, dest, "").get());
+        MatcherAssert.assertThat(
+                ex.getCause(),
+                Matchers.instanceOf(
+                        SubprocessReportGenerator.SubprocessReportGenerationException.class));
+        MatcherAssert.assertThat(
+                ((SubprocessReportGenerator.SubprocessReportGenerationException) ex.getCause())
+                        .getStatus(),
+                Matchers.equalTo(SubprocessReportGenerator.ExitStatus.TIMED_OUT));
+    }
+
+    @Test
+    void shouldExecuteAndDeleteRecordingOnCompletion() throws Exception {
+        Mockito.when(
+                        workerPool.execute(
+                                Mockito.any(),
+                                Mockito.any(),
+                                Mockito.any(),
+                                Mockito.anyLong(),
+                                Mockito.any()))
+                .thenReturn(SubprocessReportGenerator.ExitStatus.OK);
 
         Mockito.when(targetConnectionManager.executeConnectedTask(Mockito.any(), Mockito.any()))
                 .then(
@@ -254,10 +178,15 @@ class SubprocessReportGeneratorTest {
     }
 
     @Test
-    void shouldExecuteProcessAndDeleteRecordingOnFailure() throws Exception {
-        Mockito.when(proc.waitFor(29, TimeUnit.SECONDS)).thenReturn(true);
-        Mockito.when(proc.exitValue())
-                .thenReturn(SubprocessReportGenerator.ExitStatus.NO_SUCH_RECORDING.code);
+    void shouldExecuteAndDeleteRecordingOnFailure() throws Exception {
+        Mockito.when(
+                        workerPool.execute(
+                                Mockito.any(),
+                                Mockito.any(),
+                                Mockito.any(),
+                                Mockito.anyLong(),
+                                Mockito.any()))
+                .thenReturn(SubprocessReportGenerator.ExitStatus.NO_SUCH_RECORDING);
 
         Mockito.when(targetConnectionManager.executeConnectedTask(Mockito.any(), Mockito.any()))
                 .then(
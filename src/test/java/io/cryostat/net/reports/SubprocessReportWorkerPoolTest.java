@@ -0,0 +1,267 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.reports;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.cryostat.MainModule;
+import io.cryostat.core.sys.Environment;
+import io.cryostat.net.reports.SubprocessReportGenerator.ExitStatus;
+import io.cryostat.util.JavaProcess;
+
+import com.google.gson.Gson;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SubprocessReportWorkerPoolTest {
+
+    @Mock Environment env;
+    @Mock JavaProcess.Builder javaProcessBuilder;
+    @Mock Process proc;
+    @Mock Path recordingFile;
+    @Mock Path saveFile;
+    Gson gson = MainModule.provideGson();
+    ByteArrayOutputStream requests;
+    SubprocessReportWorkerPool pool;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Mockito.lenient().when(recordingFile.toAbsolutePath()).thenReturn(recordingFile);
+        Mockito.lenient().when(recordingFile.toString()).thenReturn("/dest/recording.tmp");
+        Mockito.lenient().when(saveFile.toAbsolutePath()).thenReturn(saveFile);
+        Mockito.lenient().when(saveFile.toString()).thenReturn("/dest/somefile.tmp");
+
+        Mockito.lenient()
+                .when(javaProcessBuilder.jvmArgs(Mockito.anyList()))
+                .thenReturn(javaProcessBuilder);
+        Mockito.lenient()
+                .when(javaProcessBuilder.klazz(Mockito.any(Class.class)))
+                .thenReturn(javaProcessBuilder);
+        Mockito.lenient()
+                .when(javaProcessBuilder.inheritIO(Mockito.anyBoolean()))
+                .thenReturn(javaProcessBuilder);
+        Mockito.lenient().when(javaProcessBuilder.exec()).thenReturn(proc);
+        Mockito.lenient()
+                .when(
+                        env.getEnv(
+                                Mockito.eq("CRYOSTAT_REPORT_GENERATION_MAX_HEAP"),
+                                Mockito.anyString()))
+                .thenReturn("200");
+
+        this.requests = new ByteArrayOutputStream();
+        Mockito.lenient().when(proc.getOutputStream()).thenReturn(requests);
+        Mockito.lenient().when(proc.isAlive()).thenReturn(true);
+
+        // workers are spawned synchronously so that replacements can be verified
+        this.pool =
+                new SubprocessReportWorkerPool(
+                        env, () -> javaProcessBuilder, gson, Runnable::run, 1);
+    }
+
+    void respond(String responses) {
+        Mockito.when(proc.getInputStream())
+                .thenReturn(new ByteArrayInputStream(responses.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldUseSelfAsForkedProcessWithPipes() throws Exception {
+        respond("0\n");
+
+        pool.execute(recordingFile, saveFile, "", 10, TimeUnit.SECONDS);
+
+        Mockito.verify(javaProcessBuilder).klazz(SubprocessReportGenerator.class);
+        Mockito.verify(javaProcessBuilder).inheritIO(false);
+    }
+
+    @Test
+    void shouldSetJvmArgs() throws Exception {
+        respond("0\n");
+
+        pool.execute(recordingFile, saveFile, "", 10, TimeUnit.SECONDS);
+
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(javaProcessBuilder).jvmArgs(captor.capture());
+
+        List<String> expected =
+                List.of("-Xms200M", "-Xmx200M", "-XX:+ExitOnOutOfMemoryError", "-XX:+UseSerialGC");
+        MatcherAssert.assertThat(captor.getValue(), Matchers.equalTo(expected));
+    }
+
+    @Test
+    void shouldSetJvmArgsWithoutReportMaxHeapEnvVar() throws Exception {
+        respond("0\n");
+        Mockito.when(
+                        env.getEnv(
+                                Mockito.eq("CRYOSTAT_REPORT_GENERATION_MAX_HEAP"),
+                                Mockito.anyString()))
+                .thenReturn("0");
+
+        pool.execute(recordingFile, saveFile, "", 10, TimeUnit.SECONDS);
+
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(javaProcessBuilder).jvmArgs(captor.capture());
+
+        List<String> expected = List.of("-XX:+ExitOnOutOfMemoryError", "-XX:+UseSerialGC");
+        MatcherAssert.assertThat(captor.getValue(), Matchers.equalTo(expected));
+    }
+
+    @Test
+    void shouldWriteRequestAndReadStatus() throws Exception {
+        respond(ExitStatus.NO_SUCH_RECORDING.code + "\n");
+
+        ExitStatus status =
+                pool.execute(recordingFile, saveFile, "someFilter", 10, TimeUnit.SECONDS);
+
+        MatcherAssert.assertThat(status, Matchers.equalTo(ExitStatus.NO_SUCH_RECORDING));
+        String request = requests.toString(StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(request, Matchers.endsWith("\n"));
+        MatcherAssert.assertThat(
+                gson.fromJson(request, SubprocessReportGenerator.WorkRequest.class),
+                Matchers.equalTo(
+                        new SubprocessReportGenerator.WorkRequest(
+                                "/dest/recording.tmp", "/dest/somefile.tmp", "someFilter")));
+    }
+
+    @Test
+    void shouldReuseWorkerForSubsequentRequests() throws Exception {
+        respond("0\n0\n0\n");
+
+        for (int i = 0; i < 3; i++) {
+            MatcherAssert.assertThat(
+                    pool.execute(recordingFile, saveFile, "", 10, TimeUnit.SECONDS),
+                    Matchers.equalTo(ExitStatus.OK));
+        }
+
+        Mockito.verify(javaProcessBuilder, Mockito.times(1)).exec();
+        Mockito.verify(proc, Mockito.never()).destroyForcibly();
+    }
+
+    @Test
+    void shouldReplaceWorkerWhichExited() throws Exception {
+        Process replacement = Mockito.mock(Process.class);
+        Mockito.when(javaProcessBuilder.exec()).thenReturn(proc).thenReturn(replacement);
+        respond("");
+        Mockito.when(proc.waitFor(Mockito.anyLong(), Mockito.any())).thenReturn(true);
+        Mockito.when(proc.exitValue()).thenReturn(ExitStatus.OUT_OF_MEMORY.code);
+        Mockito.when(replacement.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+        Mockito.when(replacement.getInputStream())
+                .thenReturn(new ByteArrayInputStream("0\n".getBytes(StandardCharsets.UTF_8)));
+        Mockito.when(replacement.isAlive()).thenReturn(true);
+
+        MatcherAssert.assertThat(
+                pool.execute(recordingFile, saveFile, "", 10, TimeUnit.SECONDS),
+                Matchers.equalTo(ExitStatus.OUT_OF_MEMORY));
+        Mockito.verify(proc).destroyForcibly();
+        // replaced before the next request arrives
+        Mockito.verify(javaProcessBuilder, Mockito.times(2)).exec();
+
+        MatcherAssert.assertThat(
+                pool.execute(recordingFile, saveFile, "", 10, TimeUnit.SECONDS),
+                Matchers.equalTo(ExitStatus.OK));
+        Mockito.verify(javaProcessBuilder, Mockito.times(2)).exec();
+    }
+
+    @Test
+    void shouldKillWorkerOnTimeout() throws Exception {
+        PipedOutputStream responses = new PipedOutputStream();
+        Mockito.when(proc.getInputStream()).thenReturn(new PipedInputStream(responses));
+        Mockito.when(proc.destroyForcibly())
+                .then(
+                        invocation -> {
+                            responses.close();
+                            return proc;
+                        });
+
+        Assertions.assertTimeoutPreemptively(
+                Duration.ofSeconds(5),
+                () -> {
+                    ExitStatus status =
+                            pool.execute(recordingFile, saveFile, "", 100, TimeUnit.MILLISECONDS);
+                    MatcherAssert.assertThat(status, Matchers.equalTo(ExitStatus.TIMED_OUT));
+                });
+        Mockito.verify(proc, Mockito.atLeastOnce()).destroyForcibly();
+    }
+
+    @Test
+    void shouldSpawnWorkersOnStart() throws Exception {
+        respond("0\n");
+        pool.start();
+        Mockito.verify(javaProcessBuilder, Mockito.times(1)).exec();
+
+        // starting again does not exceed the pool size
+        pool.start();
+        pool.execute(recordingFile, saveFile, "", 10, TimeUnit.SECONDS);
+
+        Mockito.verify(javaProcessBuilder, Mockito.times(1)).exec();
+    }
+
+    @Test
+    void shouldReplaceIdleWorkerWhichExited() throws Exception {
+        Process replacement = Mockito.mock(Process.class);
+        Mockito.when(javaProcessBuilder.exec()).thenReturn(proc).thenReturn(replacement);
+        Mockito.when(replacement.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+        Mockito.when(replacement.getInputStream())
+                .thenReturn(new ByteArrayInputStream("0\n".getBytes(StandardCharsets.UTF_8)));
+        Mockito.when(replacement.isAlive()).thenReturn(true);
+        respond("");
+        pool.start();
+        Mockito.when(proc.isAlive()).thenReturn(false);
+
+        MatcherAssert.assertThat(
+                pool.execute(recordingFile, saveFile, "", 10, TimeUnit.SECONDS),
+                Matchers.equalTo(ExitStatus.OK));
+
+        Mockito.verify(proc).destroyForcibly();
+        Mockito.verify(javaProcessBuilder, Mockito.times(2)).exec();
+    }
+
+    @Test
+    void shouldNotReplaceWorkersAfterShutdown() throws Exception {
+        respond("");
+        pool.start();
+        pool.shutdown();
+
+        Mockito.verify(proc).destroyForcibly();
+        Mockito.verify(javaProcessBuilder, Mockito.times(1)).exec();
+    }
+
+    @Test
+    void shouldDestroyIdleWorkersOnShutdown() throws Exception {
+        respond("0\n");
+
+        pool.execute(recordingFile, saveFile, "", 10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        Mockito.verify(proc).destroyForcibly();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web;
+
+import java.util.concurrent.CompletableFuture;
+
+import io.cryostat.net.web.http.AuthorizingRequestHandler;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.HttpException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizingHandlerDecoratorTest {
+
+    AuthorizingHandlerDecorator decorator;
+    @Mock AuthorizingRequestHandler handler;
+    @Mock WorkerExecutor workers;
+    @Mock RoutingContext ctx;
+    @Mock Vertx vertx;
+    @Mock Context context;
+
+    @BeforeEach
+    void setup() {
+        this.decorator = new AuthorizingHandlerDecorator(handler, workers);
+        Mockito.when(ctx.vertx()).thenReturn(vertx);
+        Mockito.when(vertx.getOrCreateContext()).thenReturn(context);
+        Mockito.lenient()
+                .doAnswer(
+                        invocation -> {
+                            Handler<Void> action = invocation.getArgument(0);
+                            action.handle(null);
+                            return null;
+                        })
+                .when(context)
+                .runOnContext(Mockito.any());
+        Mockito.lenient()
+                .doAnswer(
+                        invocation -> {
+                            Handler<Promise<Object>> task = invocation.getArgument(0);
+                            Handler<AsyncResult<Object>> result = invocation.getArgument(2);
+                            Promise<Object> promise = Promise.promise();
+                            try {
+                                task.handle(promise);
+                            } catch (Exception e) {
+                                promise.tryFail(e);
+                            }
+                            result.handle(promise.future());
+                            return null;
+                        })
+                .when(workers)
+                .executeBlocking(Mockito.any(), Mockito.anyBoolean(), Mockito.any());
+    }
+
+    @Test
+    void shouldOnlyDispatchBlockingHandlerToWorkerOnceAuthorized() {
+        CompletableFuture<Void> authorized = new CompletableFuture<>();
+        Mockito.when(handler.authorize(ctx)).thenReturn(authorized);
+        Mockito.when(handler.isAsync()).thenReturn(false);
+        Mockito.when(handler.isOrdered()).thenReturn(true);
+
+        decorator.handle(ctx);
+
+        Mockito.verifyNoInteractions(workers);
+        Mockito.verify(handler, Mockito.never()).handleAuthorized(Mockito.any());
+
+        authorized.complete(null);
+
+        Mockito.verify(context).runOnContext(Mockito.any());
+        Mockito.verify(workers).executeBlocking(Mockito.any(), Mockito.eq(true), Mockito.any());
+        Mockito.verify(handler).handleAuthorized(ctx);
+        Mockito.verify(ctx, Mockito.never()).fail(Mockito.any(Throwable.class));
+    }
+
+    @Test
+    void shouldHandleAsyncHandlerWithoutWorker() {
+        Mockito.when(handler.authorize(ctx)).thenReturn(CompletableFuture.completedFuture(null));
+        Mockito.when(handler.isAsync()).thenReturn(true);
+
+        decorator.handle(ctx);
+
+        Mockito.verify(handler).handleAuthorized(ctx);
+        Mockito.verifyNoInteractions(workers);
+    }
+
+    @Test
+    void shouldFailRequestWithoutHandlingIfNotAuthorized() {
+        HttpException forbidden = new HttpException(403, "HTTP Forbidden");
+        Mockito.when(handler.authorize(ctx)).thenReturn(CompletableFuture.failedFuture(forbidden));
+
+        decorator.handle(ctx);
+
+        Mockito.verify(ctx).fail(forbidden);
+        Mockito.verify(handler, Mockito.never()).handleAuthorized(Mockito.any());
+        Mockito.verifyNoInteractions(workers);
+    }
+
+    @Test
+    void shouldFailRequestIfBlockingHandlerThrows() {
+        HttpException notFound = new HttpException(404, "Target Not Found");
+        Mockito.when(handler.authorize(ctx)).thenReturn(CompletableFuture.completedFuture(null));
+        Mockito.when(handler.isAsync()).thenReturn(false);
+        Mockito.doThrow(notFound).when(handler).handleAuthorized(ctx);
+
+        decorator.handle(ctx);
+
+        Mockito.verify(ctx).fail(notFound);
+    }
+
+    @Test
+    void undecoratedHandlerShouldHandleBlockingHandlerOnWorkerOnceAuthorized() {
+        CompletableFuture<Void> authorized = new CompletableFuture<>();
+        Mockito.when(handler.authorize(ctx)).thenReturn(authorized);
+        Mockito.when(handler.isAsync()).thenReturn(false);
+        Mockito.when(handler.isOrdered()).thenReturn(true);
+        Mockito.doCallRealMethod().when(handler).handle(ctx);
+        Mockito.doAnswer(
+                        invocation -> {
+                            Handler<Promise<Object>> task = invocation.getArgument(0);
+                            task.handle(Promise.promise());
+                            return null;
+                        })
+                .when(vertx)
+                .executeBlocking(Mockito.any(), Mockito.anyBoolean(), Mockito.any());
+
+        handler.handle(ctx);
+
+        Mockito.verify(handler, Mockito.never()).handleAuthorized(Mockito.any());
+
+        authorized.complete(null);
+
+        Mockito.verify(context).runOnContext(Mockito.any());
+        Mockito.verify(vertx).executeBlocking(Mockito.any(), Mockito.eq(true), Mockito.any());
+        Mockito.verify(handler).handleAuthorized(ctx);
+    }
+}
@@ -64,7 +64,8 @@ class WebServerTest {
 
     @BeforeEach
     void setup() {
-        exporter = new WebServer(httpServer, netConf, Set.of(), gson, authManager, recordingsPath);
+        exporter =
+                new WebServer(httpServer, netConf, Set.of(), gson, authManager, recordingsPath, 1);
     }
 
     @Test
@@ -79,7 +80,13 @@ class WebServerTest {
         assertDoesNotThrow(
                 () ->
                         new WebServer(
-                                httpServer, netConf, Set.of(), gson, authManager, recordingsPath));
+                                httpServer,
+                                netConf,
+                                Set.of(),
+                                gson,
+                                authManager,
+                                recordingsPath,
+                                1));
     }
 
     @Test
@@ -29,6 +29,7 @@ import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.PermissionDeniedException;
+import io.cryostat.net.TargetTaskRejectedException;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.api.ApiVersion;
 
@@ -221,6 +222,37 @@ class AbstractAuthenticatedRequestHandlerTest {
             MatcherAssert.assertThat(ex.getPayload(), Matchers.equalTo("Target Not Found"));
         }
 
+        @Test
+        void shouldThrow429IfTargetIsBusy() {
+            Exception expectedException =
+                    new ExecutionException(
+                            new TargetTaskRejectedException(
+                                    "foo", TargetTaskRejectedException.Reason.TARGET_BUSY));
+            handler = new ThrowingAuthenticatedHandler(auth, credentialsManager, expectedException);
+
+            Mockito.when(ctx.response()).thenReturn(resp);
+
+            HttpException ex =
+                    Assertions.assertThrows(HttpException.class, () -> handler.handle(ctx));
+            MatcherAssert.assertThat(ex.getStatusCode(), Matchers.equalTo(429));
+            Mockito.verify(resp).putHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+
+        @Test
+        void shouldThrow503IfTargetsAreOverloaded() {
+            Exception expectedException =
+                    new TargetTaskRejectedException(
+                            "foo", TargetTaskRejectedException.Reason.OVERLOADED);
+            handler = new ThrowingAuthenticatedHandler(auth, credentialsManager, expectedException);
+
+            Mockito.when(ctx.response()).thenReturn(resp);
+
+            HttpException ex =
+                    Assertions.assertThrows(HttpException.class, () -> handler.handle(ctx));
+            MatcherAssert.assertThat(ex.getStatusCode(), Matchers.equalTo(503));
+            Mockito.verify(resp).putHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+
         @Test
         void shouldThrow500IfHandlerThrowsUnexpectedly() {
             Exception expectedException = new NullPointerException();
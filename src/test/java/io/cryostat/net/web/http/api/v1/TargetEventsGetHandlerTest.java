@@ -26,13 +26,12 @@ import org.openjdk.jmc.rjmx.services.jfr.IEventTypeInfo;
 
 import io.cryostat.MainModule;
 import io.cryostat.configuration.CredentialsManager;
-import io.cryostat.core.net.CryostatFlightRecorderService;
-import io.cryostat.core.net.JFRConnection;
 import io.cryostat.jmc.serialization.SerializableEventTypeInfo;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.ConnectionDescriptor;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
+import io.cryostat.recordings.EventTypeIndex;
+import io.cryostat.recordings.TargetCatalogCache;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -58,13 +57,12 @@ class TargetEventsGetHandlerTest {
     TargetEventsGetHandler handler;
     @Mock AuthManager auth;
     @Mock CredentialsManager credentialsManager;
-    @Mock TargetConnectionManager connectionManager;
+    @Mock TargetCatalogCache catalogCache;
     Gson gson = MainModule.provideGson();
 
     @BeforeEach
     void setup() {
-        this.handler =
-                new TargetEventsGetHandler(auth, credentialsManager, connectionManager, gson);
+        this.handler = new TargetEventsGetHandler(auth, credentialsManager, catalogCache, gson);
     }
 
     @Test
@@ -86,10 +84,7 @@ class TargetEventsGetHandlerTest {
 
     @Test
     void shouldRespondWithErrorIfExceptionThrown() throws Exception {
-        Mockito.when(
-                        connectionManager.executeConnectedTask(
-                                Mockito.any(ConnectionDescriptor.class),
-                                Mockito.any(TargetConnectionManager.ConnectedTask.class)))
+        Mockito.when(catalogCache.getEventTypes(Mockito.any(ConnectionDescriptor.class)))
                 .thenThrow(new Exception("dummy exception"));
 
         RoutingContext ctx = Mockito.mock(RoutingContext.class);
@@ -103,9 +98,6 @@ class TargetEventsGetHandlerTest {
 
     @Test
     void shouldRespondWithEventsList() throws Exception {
-        JFRConnection connection = Mockito.mock(JFRConnection.class);
-        CryostatFlightRecorderService service = Mockito.mock(CryostatFlightRecorderService.class);
-
         IEventTypeInfo event1 = Mockito.mock(IEventTypeInfo.class);
         IEventTypeID eventTypeId1 = Mockito.mock(IEventTypeID.class);
         Mockito.when(eventTypeId1.getFullKey()).thenReturn("com.example.foo");
@@ -126,16 +118,9 @@ class TargetEventsGetHandlerTest {
 
         Collection events = Arrays.asList(event1, event2);
 
-        Mockito.when(
-                        connectionManager.executeConnectedTask(
-                                Mockito.any(ConnectionDescriptor.class), Mockito.any()))
-                .thenAnswer(
-                        arg0 ->
-                                ((TargetConnectionManager.ConnectedTask<Object>)
-                                                arg0.getArgument(1))
-                                        .execute(connection));
-        Mockito.when(connection.getService()).thenReturn(service);
-        Mockito.when(service.getAvailableEventTypes()).thenReturn(events);
+        EventTypeIndex index = new EventTypeIndex(events);
+        Mockito.when(catalogCache.getEventTypes(Mockito.any(ConnectionDescriptor.class)))
+                .thenReturn(index);
 
         RoutingContext ctx = Mockito.mock(RoutingContext.class);
         HttpServerResponse resp = Mockito.mock(HttpServerResponse.class);
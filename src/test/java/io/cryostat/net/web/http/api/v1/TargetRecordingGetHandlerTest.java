@@ -43,6 +43,7 @@ import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.buffer.impl.BufferImpl;
@@ -199,7 +200,7 @@ class TargetRecordingGetHandlerTest {
         ByteArrayInputStream source = new ByteArrayInputStream(src);
         when(future.get()).thenReturn(Optional.of(source));
 
-        // **************Mocking specific to OutputToReadStream****************
+        // **************Mocking specific to InputToReadStream****************
         Context context = mock(Context.class);
         when(vertx.getOrCreateContext()).thenReturn(context);
         doAnswer(
@@ -210,6 +211,14 @@ class TargetRecordingGetHandlerTest {
                         })
                 .when(context)
                 .runOnContext(Mockito.any(Handler.class));
+        doAnswer(
+                        invocation -> {
+                            Handler<Promise<Object>> task = invocation.getArgument(0);
+                            task.handle(Promise.promise());
+                            return null;
+                        })
+                .when(context)
+                .executeBlocking(Mockito.any(Handler.class), Mockito.anyBoolean());
 
         when(targetConnectionManager.markConnectionInUse(Mockito.any())).thenReturn(false);
         // ********************************************************************
@@ -256,7 +265,7 @@ class TargetRecordingGetHandlerTest {
         ByteArrayInputStream source = new ByteArrayInputStream(src);
         when(future.get()).thenReturn(Optional.of(source));
 
-        // **************Mocking specific to OutputToReadStream***************
+        // **************Mocking specific to InputToReadStream***************
         Buffer dst = Buffer.buffer(1024 * 1024);
         doAnswer(
                         invocation -> {
@@ -277,6 +286,14 @@ class TargetRecordingGetHandlerTest {
                         })
                 .when(context)
                 .runOnContext(Mockito.any(Handler.class));
+        doAnswer(
+                        invocation -> {
+                            Handler<Promise<Object>> task = invocation.getArgument(0);
+                            task.handle(Promise.promise());
+                            return null;
+                        })
+                .when(context)
+                .executeBlocking(Mockito.any(Handler.class), Mockito.anyBoolean());
 
         doAnswer(
                         invocation -> {
@@ -17,6 +17,7 @@ package io.cryostat.net.web.http.api.v1;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.openjdk.jmc.common.unit.IConstrainedMap;
 import org.openjdk.jmc.flightrecorder.configuration.recording.RecordingOptionsBuilder;
@@ -95,9 +96,9 @@ class TargetRecordingOptionsGetHandlerTest {
     @Test
     void shouldRespondWithErrorIfExceptionThrown() throws Exception {
         Mockito.when(
-                        targetConnectionManager.executeConnectedTask(
+                        targetConnectionManager.submitConnectedTask(
                                 Mockito.any(ConnectionDescriptor.class), Mockito.any()))
-                .thenThrow(new Exception("dummy exception"));
+                .thenReturn(CompletableFuture.failedFuture(new Exception("dummy exception")));
 
         RoutingContext ctx = Mockito.mock(RoutingContext.class);
         Mockito.when(ctx.pathParam("targetId")).thenReturn("foo:9091");
@@ -125,16 +126,18 @@ class TargetRecordingOptionsGetHandlerTest {
         Mockito.when(recordingOptions.get("maxSize")).thenReturn(optionValues.get("maxSize"));
 
         Mockito.when(
-                        targetConnectionManager.executeConnectedTask(
+                        targetConnectionManager.submitConnectedTask(
                                 Mockito.any(ConnectionDescriptor.class), Mockito.any()))
                 .thenAnswer(
                         new Answer<>() {
                             @Override
-                            public Map answer(InvocationOnMock args) throws Throwable {
+                            public CompletableFuture<Map> answer(InvocationOnMock args)
+                                    throws Throwable {
                                 TargetConnectionManager.ConnectedTask ct =
                                         (TargetConnectionManager.ConnectedTask)
                                                 args.getArguments()[1];
-                                return (Map) ct.execute(jfrConnection);
+                                return CompletableFuture.completedFuture(
+                                        (Map) ct.execute(jfrConnection));
                             }
                         });
         RoutingContext ctx = Mockito.mock(RoutingContext.class);
@@ -18,6 +18,7 @@ package io.cryostat.net.web.http.api.v1;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.openjdk.jmc.common.unit.IQuantity;
 import org.openjdk.jmc.common.unit.QuantityConversionException;
@@ -101,9 +102,9 @@ class TargetRecordingsGetHandlerTest {
     @Test
     void shouldRespondWithErrorIfExceptionThrown() throws Exception {
         Mockito.when(
-                        connectionManager.executeConnectedTask(
+                        connectionManager.submitConnectedTask(
                                 Mockito.any(ConnectionDescriptor.class), Mockito.any()))
-                .thenThrow(new Exception("dummy exception"));
+                .thenReturn(CompletableFuture.failedFuture(new Exception("dummy exception")));
 
         RoutingContext ctx = Mockito.mock(RoutingContext.class);
         Mockito.when(ctx.pathParam("targetId")).thenReturn("foo:9091");
@@ -120,13 +121,14 @@ class TargetRecordingsGetHandlerTest {
         CryostatFlightRecorderService service = Mockito.mock(CryostatFlightRecorderService.class);
 
         Mockito.when(
-                        connectionManager.executeConnectedTask(
+                        connectionManager.submitConnectedTask(
                                 Mockito.any(ConnectionDescriptor.class), Mockito.any()))
                 .thenAnswer(
                         arg0 ->
-                                ((TargetConnectionManager.ConnectedTask<Object>)
-                                                arg0.getArgument(1))
-                                        .execute(connection));
+                                CompletableFuture.completedFuture(
+                                        ((TargetConnectionManager.ConnectedTask<Object>)
+                                                        arg0.getArgument(1))
+                                                .execute(connection)));
         Mockito.when(connection.getService()).thenReturn(service);
         Mockito.when(connection.getHost()).thenReturn("fooHost");
         Mockito.when(connection.getPort()).thenReturn(1);
@@ -17,6 +17,7 @@ package io.cryostat.net.web.http.api.v1;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.core.FlightRecorderException;
@@ -96,9 +97,11 @@ class TargetTemplateGetHandlerTest {
         Mockito.when(req.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
 
         Mockito.when(
-                        targetConnectionManager.executeConnectedTask(
+                        targetConnectionManager.submitConnectedTask(
                                 Mockito.any(ConnectionDescriptor.class), Mockito.any()))
-                .thenThrow(FlightRecorderException.class);
+                .thenReturn(
+                        CompletableFuture.failedFuture(
+                                new FlightRecorderException(new Exception("test message"))));
 
         Assertions.assertThrows(
                 FlightRecorderException.class, () -> handler.handleAuthenticated(ctx));
@@ -119,17 +122,18 @@ class TargetTemplateGetHandlerTest {
                 .thenReturn(Optional.empty());
 
         Mockito.when(
-                        targetConnectionManager.executeConnectedTask(
+                        targetConnectionManager.submitConnectedTask(
                                 Mockito.any(ConnectionDescriptor.class), Mockito.any()))
                 .thenAnswer(
                         new Answer<>() {
                             @Override
-                            public Optional<Document> answer(InvocationOnMock args)
-                                    throws Throwable {
+                            public CompletableFuture<Optional<Document>> answer(
+                                    InvocationOnMock args) throws Throwable {
                                 TargetConnectionManager.ConnectedTask ct =
                                         (TargetConnectionManager.ConnectedTask)
                                                 args.getArguments()[1];
-                                return (Optional<Document>) ct.execute(conn);
+                                return CompletableFuture.completedFuture(
+                                        (Optional<Document>) ct.execute(conn));
                             }
                         });
 
@@ -160,17 +164,18 @@ class TargetTemplateGetHandlerTest {
         Mockito.when(doc.toString()).thenReturn("Mock Document XML");
 
         Mockito.when(
-                        targetConnectionManager.executeConnectedTask(
+                        targetConnectionManager.submitConnectedTask(
                                 Mockito.any(ConnectionDescriptor.class), Mockito.any()))
                 .thenAnswer(
                         new Answer<>() {
                             @Override
-                            public Optional<Document> answer(InvocationOnMock args)
-                                    throws Throwable {
+                            public CompletableFuture<Optional<Document>> answer(
+                                    InvocationOnMock args) throws Throwable {
                                 TargetConnectionManager.ConnectedTask ct =
                                         (TargetConnectionManager.ConnectedTask)
                                                 args.getArguments()[1];
-                                return (Optional<Document>) ct.execute(conn);
+                                return CompletableFuture.completedFuture(
+                                        (Optional<Document>) ct.execute(conn));
                             }
                         });
 
@@ -21,14 +21,13 @@ import java.util.Set;
 
 import io.cryostat.MainModule;
 import io.cryostat.configuration.CredentialsManager;
-import io.cryostat.core.net.JFRConnection;
+import io.cryostat.core.templates.LocalStorageTemplateService;
 import io.cryostat.core.templates.Template;
-import io.cryostat.core.templates.TemplateService;
 import io.cryostat.core.templates.TemplateType;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.ConnectionDescriptor;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
+import io.cryostat.recordings.TargetCatalogCache;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -54,13 +53,15 @@ class TargetTemplatesGetHandlerTest {
     TargetTemplatesGetHandler handler;
     @Mock AuthManager auth;
     @Mock CredentialsManager credentialsManager;
-    @Mock TargetConnectionManager connectionManager;
+    @Mock TargetCatalogCache catalogCache;
+    @Mock LocalStorageTemplateService localTemplateService;
     Gson gson = MainModule.provideGson();
 
     @BeforeEach
     void setup() {
         this.handler =
-                new TargetTemplatesGetHandler(auth, credentialsManager, connectionManager, gson);
+                new TargetTemplatesGetHandler(
+                        auth, credentialsManager, catalogCache, localTemplateService, gson);
     }
 
     @Test
@@ -83,9 +84,7 @@ class TargetTemplatesGetHandlerTest {
 
     @Test
     void shouldRespondWithErrorIfExceptionThrown() throws Exception {
-        Mockito.when(
-                        connectionManager.executeConnectedTask(
-                                Mockito.any(ConnectionDescriptor.class), Mockito.any()))
+        Mockito.when(catalogCache.getTargetTemplates(Mockito.any(ConnectionDescriptor.class)))
                 .thenThrow(new Exception("dummy exception"));
 
         RoutingContext ctx = Mockito.mock(RoutingContext.class);
@@ -99,25 +98,14 @@ class TargetTemplatesGetHandlerTest {
 
     @Test
     void shouldRespondWithTemplatesList() throws Exception {
-        JFRConnection connection = Mockito.mock(JFRConnection.class);
-        TemplateService templateService = Mockito.mock(TemplateService.class);
-
         Template template1 =
                 new Template("FooTemplate", "Template for foo-ing", "Test 1", TemplateType.TARGET);
         Template template2 =
                 new Template("BarTemplate", "Template for bar-ing", "Test 2", TemplateType.CUSTOM);
 
-        Mockito.when(
-                        connectionManager.executeConnectedTask(
-                                Mockito.any(ConnectionDescriptor.class), Mockito.any()))
-                .thenAnswer(
-                        arg0 ->
-                                ((TargetConnectionManager.ConnectedTask<Object>)
-                                                arg0.getArgument(1))
-                                        .execute(connection));
-        Mockito.when(connection.getTemplateService()).thenReturn(templateService);
-        Mockito.when(templateService.getTemplates())
-                .thenReturn(Arrays.asList(template1, template2));
+        Mockito.when(catalogCache.getTargetTemplates(Mockito.any(ConnectionDescriptor.class)))
+                .thenReturn(List.of(template1));
+        Mockito.when(localTemplateService.getTemplates()).thenReturn(List.of(template2));
 
         RoutingContext ctx = Mockito.mock(RoutingContext.class);
         HttpServerResponse resp = Mockito.mock(HttpServerResponse.class);
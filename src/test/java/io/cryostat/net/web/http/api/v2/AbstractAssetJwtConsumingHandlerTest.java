@@ -18,6 +18,8 @@ package io.cryostat.net.web.http.api.v2;
 import java.net.URL;
 import java.net.UnknownHostException;
 import java.rmi.ConnectIOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -73,6 +75,17 @@ class AbstractAssetJwtConsumingHandlerTest {
         this.handler =
                 new JwtConsumingHandler(auth, credentialsManager, jwtHelper, () -> webServer);
         Mockito.lenient().when(ctx.response()).thenReturn(resp);
+        Map<String, Object> data = new HashMap<>();
+        Mockito.lenient()
+                .when(ctx.put(Mockito.anyString(), Mockito.any()))
+                .thenAnswer(
+                        invocation -> {
+                            data.put(invocation.getArgument(0), invocation.getArgument(1));
+                            return ctx;
+                        });
+        Mockito.lenient()
+                .when(ctx.get(Mockito.anyString()))
+                .thenAnswer(invocation -> data.get(invocation.getArgument(0)));
         Mockito.lenient()
                 .when(
                         resp.putHeader(
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import javax.script.ScriptException;
 
@@ -35,13 +36,17 @@ import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.core.net.Credentials;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.ConnectionDescriptor;
+import io.cryostat.net.TargetTaskRejectedException;
 import io.cryostat.net.security.ResourceAction;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.net.web.http.RequestHandler;
 import io.cryostat.net.web.http.api.ApiVersion;
 
 import com.google.gson.Gson;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
@@ -57,6 +62,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -217,6 +223,37 @@ class AbstractV2RequestHandlerTest {
             MatcherAssert.assertThat(ex.getFailureReason(), Matchers.equalTo("Target Not Found"));
         }
 
+        @Test
+        void shouldThrow429IfTargetIsBusy() {
+            Exception expectedException =
+                    new ExecutionException(
+                            new TargetTaskRejectedException(
+                                    "foo", TargetTaskRejectedException.Reason.TARGET_BUSY));
+            handler =
+                    new ThrowingAuthenticatedHandler(
+                            auth, credentialsManager, gson, expectedException);
+
+            ApiException ex =
+                    Assertions.assertThrows(ApiException.class, () -> handler.handle(ctx));
+            MatcherAssert.assertThat(ex.getStatusCode(), Matchers.equalTo(429));
+            Mockito.verify(resp).putHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+
+        @Test
+        void shouldThrow503IfTargetsAreOverloaded() {
+            Exception expectedException =
+                    new TargetTaskRejectedException(
+                            "foo", TargetTaskRejectedException.Reason.OVERLOADED);
+            handler =
+                    new ThrowingAuthenticatedHandler(
+                            auth, credentialsManager, gson, expectedException);
+
+            ApiException ex =
+                    Assertions.assertThrows(ApiException.class, () -> handler.handle(ctx));
+            MatcherAssert.assertThat(ex.getStatusCode(), Matchers.equalTo(503));
+            Mockito.verify(resp).putHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+
         @Test
         void shouldThrow500IfHandlerThrowsUnexpectedly() {
             Exception expectedException = new NullPointerException();
@@ -397,6 +434,59 @@ class AbstractV2RequestHandlerTest {
         }
     }
 
+    @Nested
+    class WithAsyncHandler {
+
+        @Mock Vertx vertx;
+        @Mock Context context;
+        CompletableFuture<IntermediateResponse<String>> response;
+
+        @BeforeEach
+        void setup2() {
+            when(ctx.vertx()).thenReturn(vertx);
+            when(vertx.getOrCreateContext()).thenReturn(context);
+            Mockito.doAnswer(
+                            invocation -> {
+                                Handler<Void> action = invocation.getArgument(0);
+                                action.handle(null);
+                                return null;
+                            })
+                    .when(context)
+                    .runOnContext(Mockito.any());
+            response = new CompletableFuture<>();
+            handler = new AsyncHandler(auth, credentialsManager, gson, response);
+        }
+
+        @Test
+        void shouldWriteResponseOnContextOnceHandled() {
+            ((AbstractV2RequestHandler<?>) handler).handleAuthorized(ctx);
+
+            Mockito.verify(resp, Mockito.never()).end(Mockito.anyString());
+
+            response.complete(new IntermediateResponse<String>().body("OK"));
+
+            Mockito.verify(context).runOnContext(Mockito.any());
+            Mockito.verify(resp).setStatusCode(200);
+            Mockito.verify(resp).end(Mockito.contains("\"result\":\"OK\""));
+        }
+
+        @Test
+        void shouldFailContextIfHandlingFails() {
+            ((AbstractV2RequestHandler<?>) handler).handleAuthorized(ctx);
+
+            response.completeExceptionally(
+                    new TargetTaskRejectedException(
+                            "fooTarget", TargetTaskRejectedException.Reason.TARGET_BUSY));
+
+            ArgumentCaptor<Throwable> failure = ArgumentCaptor.forClass(Throwable.class);
+            Mockito.verify(ctx).fail(failure.capture());
+            MatcherAssert.assertThat(failure.getValue(), Matchers.instanceOf(ApiException.class));
+            MatcherAssert.assertThat(
+                    ((ApiException) failure.getValue()).getStatusCode(), Matchers.equalTo(429));
+            Mockito.verify(resp, Mockito.never()).end(Mockito.anyString());
+        }
+    }
+
     static class AuthenticatedHandler extends AbstractV2RequestHandler<String> {
         AuthenticatedHandler(AuthManager auth, CredentialsManager credentialsManager, Gson gson) {
             super(auth, credentialsManager, gson);
@@ -456,6 +546,30 @@ class AbstractV2RequestHandlerTest {
         }
     }
 
+    static class AsyncHandler extends AuthenticatedHandler {
+        private final CompletableFuture<IntermediateResponse<String>> response;
+
+        AsyncHandler(
+                AuthManager auth,
+                CredentialsManager credentialsManager,
+                Gson gson,
+                CompletableFuture<IntermediateResponse<String>> response) {
+            super(auth, credentialsManager, gson);
+            this.response = response;
+        }
+
+        @Override
+        public IntermediateResponse<String> handle(RequestParameters params) throws Exception {
+            return await(handleAsync(params));
+        }
+
+        @Override
+        protected CompletableFuture<IntermediateResponse<String>> handleAsync(
+                RequestParameters params) {
+            return response;
+        }
+    }
+
     static class ConnectionDescriptorHandler extends AuthenticatedHandler {
         ConnectionDescriptor desc;
 
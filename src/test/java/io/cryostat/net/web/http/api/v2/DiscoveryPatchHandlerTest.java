@@ -0,0 +1,189 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import io.cryostat.MainModule;
+import io.cryostat.discovery.DiscoveryStorage;
+import io.cryostat.discovery.DiscoveryStorage.NotFoundException;
+import io.cryostat.discovery.NodeDelta;
+import io.cryostat.net.AuthManager;
+import io.cryostat.net.security.ResourceAction;
+import io.cryostat.net.security.jwt.DiscoveryJwtHelper;
+import io.cryostat.net.web.WebServer;
+import io.cryostat.net.web.http.api.ApiVersion;
+
+import com.google.gson.Gson;
+import com.nimbusds.jwt.JWT;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RequestBody;
+import io.vertx.ext.web.RoutingContext;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DiscoveryPatchHandlerTest {
+    AbstractDiscoveryJwtConsumingHandler<Void> handler;
+    @Mock AuthManager auth;
+    @Mock DiscoveryJwtHelper jwt;
+    @Mock WebServer webServer;
+    @Mock DiscoveryStorage storage;
+    Gson gson = MainModule.provideGson();
+
+    @BeforeEach
+    void setup() {
+        this.handler =
+                new DiscoveryPatchHandler(
+                        auth, jwt, () -> webServer, storage, UUID::fromString, gson);
+    }
+
+    @Nested
+    class BasicHandlerDefinition {
+        @Test
+        void shouldBePATCHHandler() {
+            MatcherAssert.assertThat(handler.httpMethod(), Matchers.equalTo(HttpMethod.PATCH));
+        }
+
+        @Test
+        void shouldBe2_2APIVersion() {
+            MatcherAssert.assertThat(handler.apiVersion(), Matchers.equalTo(ApiVersion.V2_2));
+        }
+
+        @Test
+        void shouldHaveExpectedPath() {
+            MatcherAssert.assertThat(handler.path(), Matchers.equalTo("/api/v2.2/discovery/:id"));
+        }
+
+        @Test
+        void shouldHaveExpectedRequiredPermissions() {
+            MatcherAssert.assertThat(
+                    handler.resourceActions(),
+                    Matchers.equalTo(
+                            Set.of(
+                                    ResourceAction.CREATE_TARGET,
+                                    ResourceAction.UPDATE_TARGET,
+                                    ResourceAction.DELETE_TARGET)));
+        }
+    }
+
+    @Nested
+    class RequestHandling {
+
+        @Mock RoutingContext ctx;
+        @Mock JWT jwt;
+
+        UUID uuid;
+
+        void mockRequest(String json) {
+            uuid = UUID.randomUUID();
+            Mockito.when(ctx.pathParam("id")).thenReturn(uuid.toString());
+            RequestBody body = Mockito.mock(RequestBody.class);
+            Mockito.when(ctx.body()).thenReturn(body);
+            Mockito.when(body.asString()).thenReturn(json);
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @ValueSource(strings = {" ", "\n", "\t", "not a uuid", "1234", "abc-123"})
+        void shouldThrowIfIdParamInvalid(String id) throws Exception {
+            if (id != null) {
+                Mockito.when(ctx.pathParam("id")).thenReturn(id);
+            }
+
+            ApiException ex =
+                    Assertions.assertThrows(
+                            ApiException.class, () -> handler.handleWithValidJwt(ctx, jwt));
+
+            MatcherAssert.assertThat(ex.getStatusCode(), Matchers.equalTo(400));
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @ValueSource(strings = {"not json", "null", "{\"op\":\"REMOVE\"}"})
+        void shouldThrowIfBodyJsonInvalid(String json) throws Exception {
+            mockRequest(json);
+
+            ApiException ex =
+                    Assertions.assertThrows(
+                            ApiException.class, () -> handler.handleWithValidJwt(ctx, jwt));
+
+            MatcherAssert.assertThat(ex.getStatusCode(), Matchers.equalTo(400));
+        }
+
+        @Test
+        void shouldThrow400IfDeltaDoesNotApply() throws Exception {
+            mockRequest("[]");
+            Mockito.when(storage.applyDelta(Mockito.any(), Mockito.any()))
+                    .thenThrow(IllegalArgumentException.class);
+
+            ApiException ex =
+                    Assertions.assertThrows(
+                            ApiException.class, () -> handler.handleWithValidJwt(ctx, jwt));
+
+            MatcherAssert.assertThat(ex.getStatusCode(), Matchers.equalTo(400));
+        }
+
+        @Test
+        void shouldThrow404IfPluginNotFound() throws Exception {
+            mockRequest("[]");
+            Mockito.when(storage.applyDelta(Mockito.any(), Mockito.any()))
+                    .thenThrow(NotFoundException.class);
+
+            ApiException ex =
+                    Assertions.assertThrows(
+                            ApiException.class, () -> handler.handleWithValidJwt(ctx, jwt));
+
+            MatcherAssert.assertThat(ex.getStatusCode(), Matchers.equalTo(404));
+        }
+
+        @Test
+        void shouldApplyDeltasAndSendResponse() throws Exception {
+            mockRequest(
+                    "[{\"op\":\"REMOVE\",\"path\":[\"ns\"],\"name\":\"service:jmx:rmi:///jndi/rmi://localhost/jmxrmi\"}]");
+
+            handler.handleWithValidJwt(ctx, jwt);
+
+            ArgumentCaptor<List<NodeDelta>> captor = ArgumentCaptor.forClass(List.class);
+            Mockito.verify(storage).applyDelta(Mockito.eq(uuid), captor.capture());
+            Mockito.verify(ctx).json(Mockito.any());
+
+            List<NodeDelta> deltas = captor.getValue();
+            MatcherAssert.assertThat(deltas, Matchers.hasSize(1));
+            NodeDelta delta = deltas.get(0);
+            MatcherAssert.assertThat(delta.getOp(), Matchers.equalTo(NodeDelta.Operation.REMOVE));
+            MatcherAssert.assertThat(delta.getPath(), Matchers.equalTo(List.of("ns")));
+            MatcherAssert.assertThat(
+                    delta.getName(),
+                    Matchers.equalTo("service:jmx:rmi:///jndi/rmi://localhost/jmxrmi"));
+            MatcherAssert.assertThat(delta.getNode(), Matchers.nullValue());
+        }
+    }
+}
@@ -39,6 +39,7 @@ import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RequestBody;
 import io.vertx.ext.web.RoutingContext;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
@@ -144,6 +145,38 @@ class DiscoveryPostHandlerTest {
             MatcherAssert.assertThat(ex.getStatusCode(), Matchers.equalTo(400));
         }
 
+        @Test
+        void shouldSkipUpdateIfContentUnchanged() throws Exception {
+            UUID uuid = UUID.randomUUID();
+            Mockito.when(ctx.pathParam("id")).thenReturn(uuid.toString());
+            RequestBody body = Mockito.mock(RequestBody.class);
+            Mockito.when(ctx.body()).thenReturn(body);
+            Mockito.when(body.asString()).thenReturn("[]");
+            Mockito.when(storage.isUnchanged(uuid, DigestUtils.sha256Hex("[]"))).thenReturn(true);
+
+            handler.handleWithValidJwt(ctx, jwt);
+
+            Mockito.verify(ctx).json(Mockito.any());
+            Mockito.verify(storage, Mockito.never())
+                    .update(Mockito.any(), Mockito.any(), Mockito.any());
+        }
+
+        @Test
+        void shouldUpdateStorageWithContentHash() throws Exception {
+            UUID uuid = UUID.randomUUID();
+            Mockito.when(ctx.pathParam("id")).thenReturn(uuid.toString());
+            RequestBody body = Mockito.mock(RequestBody.class);
+            Mockito.when(ctx.body()).thenReturn(body);
+            Mockito.when(body.asString()).thenReturn("[]");
+            String hash = DigestUtils.sha256Hex("[]");
+            Mockito.when(storage.isUnchanged(uuid, hash)).thenReturn(false);
+
+            handler.handleWithValidJwt(ctx, jwt);
+
+            Mockito.verify(storage).update(uuid, Set.of(), hash);
+            Mockito.verify(ctx).json(Mockito.any());
+        }
+
         @Test
         @Disabled(
                 "Test harness gson instance cannot deserialize AbstractNode - needs to have the"
@@ -172,7 +205,7 @@ class DiscoveryPostHandlerTest {
 
             ArgumentCaptor<Set<AbstractNode>> captor = ArgumentCaptor.forClass(Set.class);
 
-            Mockito.verify(storage).update(Mockito.eq(uuid), captor.capture());
+            Mockito.verify(storage).update(Mockito.eq(uuid), captor.capture(), Mockito.anyString());
 
             Set<AbstractNode> update = captor.getValue();
 
@@ -20,6 +20,7 @@ import static org.mockito.Mockito.when;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.core.net.JFRConnection;
@@ -108,13 +109,14 @@ public class MBeanMetricsGetHandlerTest {
         void shouldReturnMetrics() throws Exception {
             when(requestParams.getPathParams()).thenReturn(Map.of("targetId", "foo"));
             when(requestParams.getHeaders()).thenReturn(MultiMap.caseInsensitiveMultiMap());
-            when(targetConnectionManager.executeConnectedTask(
+            when(targetConnectionManager.submitConnectedTask(
                             Mockito.any(ConnectionDescriptor.class), Mockito.any()))
                     .thenAnswer(
                             arg0 ->
-                                    ((TargetConnectionManager.ConnectedTask<Object>)
-                                                    arg0.getArgument(1))
-                                            .execute(connection));
+                                    CompletableFuture.completedFuture(
+                                            ((TargetConnectionManager.ConnectedTask<Object>)
+                                                            arg0.getArgument(1))
+                                                    .execute(connection)));
 
             when(connection.getMBeanMetrics()).thenReturn(metrics);
 
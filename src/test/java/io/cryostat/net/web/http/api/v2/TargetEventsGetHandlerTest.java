@@ -30,13 +30,12 @@ import org.openjdk.jmc.rjmx.services.jfr.IEventTypeInfo;
 
 import io.cryostat.MainModule;
 import io.cryostat.configuration.CredentialsManager;
-import io.cryostat.core.net.CryostatFlightRecorderService;
-import io.cryostat.core.net.JFRConnection;
 import io.cryostat.jmc.serialization.SerializableEventTypeInfo;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.ConnectionDescriptor;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
+import io.cryostat.recordings.EventTypeIndex;
+import io.cryostat.recordings.TargetCatalogCache;
 
 import com.google.gson.Gson;
 import io.vertx.core.MultiMap;
@@ -56,15 +55,12 @@ class TargetEventsGetHandlerTest {
     TargetEventsGetHandler handler;
     @Mock AuthManager auth;
     @Mock CredentialsManager credentialsManager;
-    @Mock TargetConnectionManager targetConnectionManager;
-    @Mock CryostatFlightRecorderService service;
-    @Mock JFRConnection connection;
+    @Mock TargetCatalogCache catalogCache;
     Gson gson = MainModule.provideGson();
 
     @BeforeEach
     void setup() {
-        this.handler =
-                new TargetEventsGetHandler(auth, credentialsManager, targetConnectionManager, gson);
+        this.handler = new TargetEventsGetHandler(auth, credentialsManager, catalogCache, gson);
     }
 
     @Test
@@ -86,15 +82,8 @@ class TargetEventsGetHandlerTest {
 
     @Test
     void shouldHandleNoMatches() throws Exception {
-        when(targetConnectionManager.executeConnectedTask(
-                        Mockito.any(ConnectionDescriptor.class), Mockito.any()))
-                .thenAnswer(
-                        arg0 ->
-                                ((TargetConnectionManager.ConnectedTask<Object>)
-                                                arg0.getArgument(1))
-                                        .execute(connection));
-        when(connection.getService()).thenReturn(service);
-        when(service.getAvailableEventTypes()).thenReturn(Collections.emptyList());
+        when(catalogCache.getEventTypes(Mockito.any(ConnectionDescriptor.class)))
+                .thenReturn(new EventTypeIndex(Collections.emptyList()));
 
         RequestParameters params =
                 new RequestParameters(
@@ -150,21 +139,8 @@ class TargetEventsGetHandlerTest {
 
         List<IEventTypeInfo> events = Arrays.asList(infoA, infoB, infoC, infoD, infoE);
 
-        when(targetConnectionManager.executeConnectedTask(
-                        Mockito.any(ConnectionDescriptor.class), Mockito.any()))
-                .thenAnswer(
-                        arg0 -> {
-                            try {
-                                return ((TargetConnectionManager.ConnectedTask<Object>)
-                                                arg0.getArgument(1))
-                                        .execute(connection);
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                                throw e;
-                            }
-                        });
-        when(connection.getService()).thenReturn(service);
-        when(service.getAvailableEventTypes()).thenReturn((List) events);
+        EventTypeIndex index = new EventTypeIndex(events);
+        when(catalogCache.getEventTypes(Mockito.any(ConnectionDescriptor.class))).thenReturn(index);
 
         RequestParameters params =
                 new RequestParameters(
@@ -20,6 +20,7 @@ import static org.mockito.Mockito.lenient;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
@@ -144,13 +145,14 @@ public class TargetProbeDeleteHandlerTest {
             IConnectionHandle handle = Mockito.mock(IConnectionHandle.class);
             MBeanServerConnection mbsc = Mockito.mock(MBeanServerConnection.class);
             Mockito.when(
-                            targetConnectionManager.executeConnectedTask(
+                            targetConnectionManager.submitConnectedTask(
                                     Mockito.any(ConnectionDescriptor.class), Mockito.any()))
                     .thenAnswer(
                             arg0 ->
-                                    ((TargetConnectionManager.ConnectedTask<Object>)
-                                                    arg0.getArgument(1))
-                                            .execute(connection));
+                                    CompletableFuture.completedFuture(
+                                            ((TargetConnectionManager.ConnectedTask<Object>)
+                                                            arg0.getArgument(1))
+                                                    .execute(connection)));
             Mockito.when(connection.getHandle()).thenReturn(handle);
             Mockito.when(handle.getServiceOrDummy(MBeanServerConnection.class)).thenReturn(mbsc);
             Mockito.when(
@@ -19,6 +19,7 @@ import static org.mockito.ArgumentMatchers.any;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
@@ -122,13 +123,14 @@ public class TargetProbesGetHandlerTest {
             MBeanServerConnection mbsc = Mockito.mock(MBeanServerConnection.class);
             Mockito.when(connection.getHandle()).thenReturn(handle);
             Mockito.when(
-                            targetConnectionManager.executeConnectedTask(
+                            targetConnectionManager.submitConnectedTask(
                                     Mockito.any(ConnectionDescriptor.class), Mockito.any()))
                     .thenAnswer(
                             arg0 ->
-                                    ((TargetConnectionManager.ConnectedTask<Object>)
-                                                    arg0.getArgument(1))
-                                            .execute(connection));
+                                    CompletableFuture.completedFuture(
+                                            ((TargetConnectionManager.ConnectedTask<Object>)
+                                                            arg0.getArgument(1))
+                                                    .execute(connection)));
             Mockito.when(handle.getServiceOrDummy(MBeanServerConnection.class)).thenReturn(mbsc);
             Object result = Mockito.mock(Object.class);
             Mockito.when(result.toString()).thenReturn("");
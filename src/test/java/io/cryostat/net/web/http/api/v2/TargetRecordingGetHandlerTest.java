@@ -44,6 +44,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.buffer.impl.BufferImpl;
@@ -229,7 +230,7 @@ class TargetRecordingGetHandlerTest {
             InputStream stream = new ByteArrayInputStream(src);
             Mockito.when(svc.openStream(Mockito.any(), Mockito.eq(false))).thenReturn(stream);
 
-            // **************Mocking specific to OutputToReadStream***************
+            // **************Mocking specific to InputToReadStream***************
             Context context = Mockito.mock(Context.class);
             Mockito.when(vertx.getOrCreateContext()).thenReturn(context);
             Mockito.doAnswer(
@@ -240,6 +241,14 @@ class TargetRecordingGetHandlerTest {
                             })
                     .when(context)
                     .runOnContext(Mockito.any(Handler.class));
+            Mockito.doAnswer(
+                            invocation -> {
+                                Handler<Promise<Object>> task = invocation.getArgument(0);
+                                task.handle(Promise.promise());
+                                return null;
+                            })
+                    .when(context)
+                    .executeBlocking(Mockito.any(Handler.class), Mockito.anyBoolean());
 
             Mockito.when(targetConnectionManager.markConnectionInUse(Mockito.any()))
                     .thenReturn(false);
@@ -286,7 +295,7 @@ class TargetRecordingGetHandlerTest {
             InputStream stream = new ByteArrayInputStream(src);
             Mockito.when(svc.openStream(Mockito.any(), Mockito.eq(false))).thenReturn(stream);
 
-            // **************Mocking specific to OutputToReadStream***************
+            // **************Mocking specific to InputToReadStream***************
             Buffer dst = Buffer.buffer(1024 * 1024);
             Mockito.doAnswer(
                             invocation -> {
@@ -307,6 +316,14 @@ class TargetRecordingGetHandlerTest {
                             })
                     .when(context)
                     .runOnContext(Mockito.any(Handler.class));
+            Mockito.doAnswer(
+                            invocation -> {
+                                Handler<Promise<Object>> task = invocation.getArgument(0);
+                                task.handle(Promise.promise());
+                                return null;
+                            })
+                    .when(context)
+                    .executeBlocking(Mockito.any(Handler.class), Mockito.anyBoolean());
 
             Mockito.doAnswer(
                             invocation -> {
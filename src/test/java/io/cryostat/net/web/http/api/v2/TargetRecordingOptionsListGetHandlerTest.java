@@ -26,12 +26,10 @@ import org.openjdk.jmc.common.unit.IOptionDescriptor;
 
 import io.cryostat.MainModule;
 import io.cryostat.configuration.CredentialsManager;
-import io.cryostat.core.net.CryostatFlightRecorderService;
-import io.cryostat.core.net.JFRConnection;
 import io.cryostat.net.AuthManager;
 import io.cryostat.net.ConnectionDescriptor;
-import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.security.ResourceAction;
+import io.cryostat.recordings.TargetCatalogCache;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -57,16 +55,14 @@ class TargetRecordingOptionsListGetHandlerTest {
     TargetRecordingOptionsListGetHandler handler;
     @Mock AuthManager auth;
     @Mock CredentialsManager credentialsManager;
-    @Mock TargetConnectionManager targetConnectionManager;
-    @Mock CryostatFlightRecorderService service;
-    @Mock JFRConnection connection;
+    @Mock TargetCatalogCache catalogCache;
     Gson gson = MainModule.provideGson();
 
     @BeforeEach
     void setup() {
         this.handler =
                 new TargetRecordingOptionsListGetHandler(
-                        auth, credentialsManager, targetConnectionManager, gson);
+                        auth, credentialsManager, catalogCache, gson);
     }
 
     @Test
@@ -94,16 +90,8 @@ class TargetRecordingOptionsListGetHandlerTest {
         Mockito.when(descriptor.getDefault()).thenReturn("bar");
         Map<String, IOptionDescriptor<?>> options = Map.of("foo-option", descriptor);
 
-        Mockito.when(
-                        targetConnectionManager.executeConnectedTask(
-                                Mockito.any(ConnectionDescriptor.class), Mockito.any()))
-                .thenAnswer(
-                        arg0 ->
-                                ((TargetConnectionManager.ConnectedTask<Object>)
-                                                arg0.getArgument(1))
-                                        .execute(connection));
-        Mockito.when(connection.getService()).thenReturn(service);
-        Mockito.when(service.getAvailableRecordingOptions()).thenReturn(options);
+        Mockito.when(catalogCache.getRecordingOptions(Mockito.any(ConnectionDescriptor.class)))
+                .thenReturn(options);
 
         RoutingContext ctx = Mockito.mock(RoutingContext.class);
         HttpServerResponse resp = Mockito.mock(HttpServerResponse.class);
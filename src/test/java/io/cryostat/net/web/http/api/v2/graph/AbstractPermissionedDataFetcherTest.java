@@ -70,6 +70,20 @@ class AbstractPermissionedDataFetcherTest {
         MatcherAssert.assertThat(ex.getMessage(), Matchers.equalTo("Unauthorized"));
     }
 
+    @Test
+    void shouldReuseExecutionAuthorization() throws Exception {
+        when(env.getGraphQlContext()).thenReturn(graphCtx);
+        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        GraphAuthorization authorization = new GraphAuthorization(auth, () -> "Bearer abcd");
+        when(graphCtx.get(GraphAuthorization.class)).thenReturn(authorization);
+
+        fetcher.get(env);
+        fetcher.get(env);
+
+        Mockito.verify(auth, Mockito.times(1)).validateHttpHeader(Mockito.any(), Mockito.any());
+    }
+
     static class PermissionedDataFetcher extends AbstractPermissionedDataFetcher<String> {
         PermissionedDataFetcher(AuthManager auth) {
             super(auth);
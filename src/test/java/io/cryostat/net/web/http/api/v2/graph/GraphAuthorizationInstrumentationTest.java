@@ -0,0 +1,218 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2.graph;
+
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import io.cryostat.net.AuthManager;
+import io.cryostat.net.security.ResourceAction;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeRuntimeWiring;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GraphAuthorizationInstrumentationTest {
+
+    static final String SCHEMA =
+            "type Query { targets: [Target] }\n"
+                    + "type Target { name: String recordings: [String] }";
+
+    GraphQL graph;
+
+    @Mock AuthManager auth;
+    @Mock RoutingContext ctx;
+    @Mock HttpServerRequest req;
+
+    TargetsFetcher targetsFetcher;
+    RecordingsFetcher recordingsFetcher;
+
+    @BeforeEach
+    void setup() {
+        targetsFetcher = new TargetsFetcher(auth);
+        recordingsFetcher = new RecordingsFetcher(auth);
+        RuntimeWiring wiring =
+                RuntimeWiring.newRuntimeWiring()
+                        .type(
+                                TypeRuntimeWiring.newTypeWiring("Query")
+                                        .dataFetcher("targets", targetsFetcher))
+                        .type(
+                                TypeRuntimeWiring.newTypeWiring("Target")
+                                        .dataFetcher("recordings", recordingsFetcher))
+                        .build();
+        graph =
+                GraphQL.newGraphQL(
+                                new SchemaGenerator()
+                                        .makeExecutableSchema(
+                                                new SchemaParser().parse(SCHEMA), wiring))
+                        .instrumentation(
+                                new GraphAuthorizationInstrumentation(
+                                        auth,
+                                        Map.of(
+                                                FieldCoordinates.coordinates("Query", "targets"),
+                                                targetsFetcher.resourceActions(),
+                                                FieldCoordinates.coordinates(
+                                                        "Target", "recordings"),
+                                                recordingsFetcher.resourceActions())))
+                        .build();
+    }
+
+    ExecutionResult execute(String query) {
+        return graph.execute(
+                ExecutionInput.newExecutionInput(query)
+                        .graphQLContext(Map.of(RoutingContext.class, ctx))
+                        .build());
+    }
+
+    @Test
+    void shouldAuthorizeOncePerExecution() throws Exception {
+        when(ctx.request()).thenReturn(req);
+        when(req.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer abcd");
+        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        ExecutionResult result = execute("{ targets { name recordings } }");
+
+        MatcherAssert.assertThat(result.getErrors(), Matchers.empty());
+        Map<String, List<Map<String, Object>>> data = result.getData();
+        MatcherAssert.assertThat(data.get("targets"), Matchers.hasSize(3));
+        MatcherAssert.assertThat(
+                data.get("targets").get(2).get("recordings"), Matchers.equalTo(List.of("rec")));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Supplier<String>> headerCaptor = ArgumentCaptor.forClass(Supplier.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Set<ResourceAction>> actionsCaptor = ArgumentCaptor.forClass(Set.class);
+        Mockito.verify(auth, Mockito.times(1))
+                .validateHttpHeader(headerCaptor.capture(), actionsCaptor.capture());
+        MatcherAssert.assertThat(headerCaptor.getValue().get(), Matchers.equalTo("Bearer abcd"));
+        MatcherAssert.assertThat(
+                actionsCaptor.getValue(),
+                Matchers.equalTo(
+                        Set.of(ResourceAction.READ_TARGET, ResourceAction.READ_RECORDING)));
+    }
+
+    @Test
+    void shouldOnlyRequireSelectedFieldsActions() throws Exception {
+        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        ExecutionResult result = execute("{ targets { name } }");
+
+        MatcherAssert.assertThat(result.getErrors(), Matchers.empty());
+        Mockito.verify(auth, Mockito.times(1))
+                .validateHttpHeader(Mockito.any(), Mockito.eq(Set.of(ResourceAction.READ_TARGET)));
+        Mockito.verifyNoMoreInteractions(auth);
+    }
+
+    @Test
+    void shouldFailBeforeFetchingWhenUnauthorized() throws Exception {
+        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        ExecutionResult result = execute("{ targets { name recordings } }");
+
+        MatcherAssert.assertThat(result.getErrors(), Matchers.hasSize(1));
+        MatcherAssert.assertThat(
+                result.getErrors().get(0).getMessage(), Matchers.containsString("Unauthorized"));
+        MatcherAssert.assertThat(result.getData(), Matchers.nullValue());
+        MatcherAssert.assertThat(targetsFetcher.invocations, Matchers.equalTo(0));
+        MatcherAssert.assertThat(recordingsFetcher.invocations, Matchers.equalTo(0));
+        Mockito.verify(auth, Mockito.times(1)).validateHttpHeader(Mockito.any(), Mockito.any());
+    }
+
+    static class TargetsFetcher extends AbstractPermissionedDataFetcher<List<Map<String, String>>> {
+        int invocations;
+
+        TargetsFetcher(AuthManager auth) {
+            super(auth);
+        }
+
+        @Override
+        Set<String> applicableContexts() {
+            return Set.of("Query");
+        }
+
+        @Override
+        String name() {
+            return "targets";
+        }
+
+        @Override
+        public Set<ResourceAction> resourceActions() {
+            return Set.of(ResourceAction.READ_TARGET);
+        }
+
+        @Override
+        List<Map<String, String>> getAuthenticated(DataFetchingEnvironment environment) {
+            invocations++;
+            return List.of(Map.of("name", "a"), Map.of("name", "b"), Map.of("name", "c"));
+        }
+    }
+
+    static class RecordingsFetcher extends AbstractPermissionedDataFetcher<List<String>> {
+        int invocations;
+
+        RecordingsFetcher(AuthManager auth) {
+            super(auth);
+        }
+
+        @Override
+        Set<String> applicableContexts() {
+            return Set.of("Target");
+        }
+
+        @Override
+        String name() {
+            return "recordings";
+        }
+
+        @Override
+        public Set<ResourceAction> resourceActions() {
+            return Set.of(ResourceAction.READ_RECORDING);
+        }
+
+        @Override
+        List<String> getAuthenticated(DataFetchingEnvironment environment) {
+            invocations++;
+            return List.of("rec");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2.graph;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Provider;
+
+import io.cryostat.configuration.CredentialsManager;
+import io.cryostat.core.net.MBeanMetrics;
+import io.cryostat.net.ConnectionDescriptor;
+import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.TargetConnectionManager.ConnectedTask;
+import io.cryostat.net.web.WebServer;
+import io.cryostat.platform.ServiceRef;
+import io.cryostat.recordings.RecordingArchiveHelper;
+import io.cryostat.recordings.RecordingMetadataManager;
+import io.cryostat.rules.ArchivedRecordingInfo;
+
+import org.dataloader.Try;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GraphDataLoadersTest {
+
+    GraphDataLoaders loaders;
+    @Mock TargetConnectionManager targetConnectionManager;
+    @Mock RecordingArchiveHelper archiveHelper;
+    @Mock CredentialsManager credentialsManager;
+    @Mock RecordingMetadataManager metadataManager;
+    @Mock Provider<WebServer> webServer;
+
+    @BeforeEach
+    void setup() {
+        this.loaders =
+                new GraphDataLoaders(
+                        targetConnectionManager,
+                        archiveHelper,
+                        credentialsManager,
+                        metadataManager,
+                        webServer,
+                        2);
+    }
+
+    static ServiceRef target(String name) {
+        return new ServiceRef(
+                "id-" + name,
+                URI.create(String.format("service:jmx:rmi:///jndi/rmi://%s:9091/jmxrmi", name)),
+                name);
+    }
+
+    @Test
+    void shouldLoadAllKeysInOrderWithBoundedParallelism() {
+        List<CompletableFuture<Integer>> pending = new ArrayList<>();
+        AtomicInteger inProgress = new AtomicInteger();
+        AtomicInteger maxInProgress = new AtomicInteger();
+
+        CompletableFuture<List<Try<Integer>>> result =
+                GraphDataLoaders.loadAll(
+                        List.of(1, 2, 3, 4, 5),
+                        2,
+                        key -> {
+                            maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+                            CompletableFuture<Integer> f = new CompletableFuture<>();
+                            pending.add(f);
+                            return f.whenComplete((v, t) -> inProgress.decrementAndGet());
+                        });
+
+        MatcherAssert.assertThat(pending, Matchers.hasSize(2));
+        for (int i = 0; i < 5; i++) {
+            if (i == 2) {
+                pending.get(i).completeExceptionally(new IllegalStateException());
+            } else {
+                pending.get(i).complete((i + 1) * 10);
+            }
+        }
+
+        List<Try<Integer>> values = result.join();
+        MatcherAssert.assertThat(maxInProgress.get(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(values, Matchers.hasSize(5));
+        MatcherAssert.assertThat(values.get(0).get(), Matchers.equalTo(10));
+        MatcherAssert.assertThat(values.get(1).get(), Matchers.equalTo(20));
+        MatcherAssert.assertThat(values.get(2).isFailure(), Matchers.is(true));
+        MatcherAssert.assertThat(values.get(3).get(), Matchers.equalTo(40));
+        MatcherAssert.assertThat(values.get(4).get(), Matchers.equalTo(50));
+    }
+
+    @Test
+    void shouldLoadNoKeys() {
+        MatcherAssert.assertThat(
+                GraphDataLoaders.loadAll(
+                                List.<Integer>of(),
+                                2,
+                                key -> CompletableFuture.completedFuture(key))
+                        .join(),
+                Matchers.empty());
+    }
+
+    @Test
+    void shouldLoadArchivedRecordingsOfAllTargetsInOneBatch() throws Exception {
+        ArchivedRecordingInfo recording = Mockito.mock(ArchivedRecordingInfo.class);
+        Mockito.when(archiveHelper.getRecordingsByTarget(List.of("foo", "bar", "baz")))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                Map.of("foo", List.of(recording), "bar", List.of())));
+
+        List<List<ArchivedRecordingInfo>> result =
+                loaders.loadArchived(List.of("foo", "bar", "baz")).join();
+
+        MatcherAssert.assertThat(
+                result, Matchers.contains(List.of(recording), List.of(), List.of()));
+        Mockito.verify(archiveHelper).getRecordingsByTarget(Mockito.anyCollection());
+    }
+
+    @Test
+    void shouldLoadEmptyArchivedRecordingsIfArchiveUnavailable() throws Exception {
+        Mockito.when(archiveHelper.getRecordingsByTarget(List.of("foo")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException()));
+
+        MatcherAssert.assertThat(
+                loaders.loadArchived(List.of("foo")).join(), Matchers.equalTo(List.of(List.of())));
+    }
+
+    @Test
+    void shouldLoadNullMBeanMetricsForFailedTargets() throws Exception {
+        ServiceRef foo = target("foo");
+        ServiceRef bar = target("bar");
+        MBeanMetrics metrics = Mockito.mock(MBeanMetrics.class);
+        Mockito.when(
+                        targetConnectionManager.executeConnectedTaskAsync(
+                                Mockito.any(ConnectionDescriptor.class),
+                                Mockito.any(ConnectedTask.class)))
+                .thenReturn(CompletableFuture.completedFuture(metrics))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException()));
+
+        List<MBeanMetrics> result = loaders.loadMBeanMetrics(List.of(foo, bar)).join();
+
+        MatcherAssert.assertThat(result, Matchers.hasSize(2));
+        MatcherAssert.assertThat(result.get(0), Matchers.sameInstance(metrics));
+        MatcherAssert.assertThat(result.get(1), Matchers.nullValue());
+    }
+
+    @Test
+    void shouldFailActiveRecordingsOfFailedTargetsOnly() throws Exception {
+        ServiceRef foo = target("foo");
+        ServiceRef bar = target("bar");
+        GraphRecordingDescriptor recording = Mockito.mock(GraphRecordingDescriptor.class);
+        Mockito.when(
+                        targetConnectionManager.executeConnectedTaskAsync(
+                                Mockito.any(ConnectionDescriptor.class),
+                                Mockito.any(ConnectedTask.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(recording)));
+
+        List<Try<List<GraphRecordingDescriptor>>> result =
+                loaders.loadActive(List.of(foo, bar)).join();
+
+        MatcherAssert.assertThat(result.get(0).isFailure(), Matchers.is(true));
+        MatcherAssert.assertThat(result.get(1).get(), Matchers.contains(recording));
+    }
+}
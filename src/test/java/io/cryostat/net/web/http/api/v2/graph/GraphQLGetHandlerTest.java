@@ -43,11 +43,12 @@ class GraphQLGetHandlerTest {
     GraphQLGetHandler handler;
 
     @Mock GraphQL graph;
+    @Mock GraphDataLoaders dataLoaders;
     @Mock AuthManager auth;
 
     @BeforeEach
     void setup() {
-        this.handler = new GraphQLGetHandler(graph, auth);
+        this.handler = new GraphQLGetHandler(graph, dataLoaders, auth);
     }
 
     @Nested
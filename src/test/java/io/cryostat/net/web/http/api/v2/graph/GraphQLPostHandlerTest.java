@@ -43,11 +43,12 @@ class GraphQLPostHandlerTest {
     GraphQLPostHandler handler;
 
     @Mock GraphQL graph;
+    @Mock GraphDataLoaders dataLoaders;
     @Mock AuthManager auth;
 
     @BeforeEach
     void setup() {
-        this.handler = new GraphQLPostHandler(graph, auth);
+        this.handler = new GraphQLPostHandler(graph, dataLoaders, auth);
     }
 
     @Nested
@@ -0,0 +1,143 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2.graph;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import io.cryostat.net.AuthManager;
+import io.cryostat.platform.ServiceRef;
+import io.cryostat.platform.discovery.BaseNodeType;
+import io.cryostat.platform.discovery.EnvironmentNode;
+import io.cryostat.platform.discovery.TargetNode;
+
+import graphql.execution.CoercedVariables;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GraphQueryCostEstimatorTest {
+
+    GraphQueryCostEstimator estimator;
+    GraphQLSchema schema;
+
+    @Mock AuthManager auth;
+    @Mock ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        // 3 environment nodes, including the root, and 4 targets
+        EnvironmentNode realmA =
+                new EnvironmentNode(
+                        "A",
+                        BaseNodeType.REALM,
+                        Map.of(),
+                        List.of(target("a1"), target("a2"), target("a3")));
+        EnvironmentNode realmB =
+                new EnvironmentNode("B", BaseNodeType.REALM, Map.of(), List.of(target("b1")));
+        EnvironmentNode universe =
+                new EnvironmentNode(
+                        "Universe", BaseNodeType.UNIVERSE, Map.of(), List.of(realmA, realmB));
+        estimator = new GraphQueryCostEstimator(() -> universe);
+        schema =
+                GraphModule.provideGraphQL(
+                                Set.of(),
+                                Set.of(new NodeTypeResolver(), new RecordingTypeResolver()),
+                                auth,
+                                new GraphQueryCostInstrumentation(estimator, 0, 0),
+                                executor)
+                        .getGraphQLSchema();
+    }
+
+    long estimate(String query) {
+        return estimator.estimate(
+                schema, Parser.parse(query), null, CoercedVariables.emptyVariables());
+    }
+
+    @Test
+    void shouldMultiplyByDiscoveredTargets() {
+        // targetNodes + 4 * name
+        MatcherAssert.assertThat(estimate("{ targetNodes { name } }"), Matchers.equalTo(5L));
+    }
+
+    @Test
+    void shouldExpectOneElementWhenFilteredByName() {
+        MatcherAssert.assertThat(
+                estimate("{ targetNodes(filter: { name: \"a1\" }) { name } }"),
+                Matchers.equalTo(2L));
+    }
+
+    @Test
+    void shouldExpectListedNamesWhenFilteredByNames() {
+        MatcherAssert.assertThat(
+                estimate("{ targetNodes(filter: { names: [\"a1\", \"a2\"] }) { name } }"),
+                Matchers.equalTo(3L));
+    }
+
+    @Test
+    void shouldChargeMoreForTargetFields() {
+        // targetNodes + 4 * recordings + 10 * 4 * active + 4 * aggregate + 4 * count
+        MatcherAssert.assertThat(
+                estimate("{ targetNodes { recordings { active { aggregate { count } } } } }"),
+                Matchers.equalTo(53L));
+    }
+
+    @Test
+    void shouldNotChargeTargetFieldsMoreThanOncePerTarget() {
+        // environmentNodes + 3 * descendantTargets + 12 * recordings + 10 * 4 * active
+        // + 12 * aggregate + 12 * count
+        MatcherAssert.assertThat(
+                estimate(
+                        "{ environmentNodes { descendantTargets { recordings { active { aggregate {"
+                                + " count } } } } } }"),
+                Matchers.equalTo(80L));
+    }
+
+    @Test
+    void shouldUseDefaultSizeForOtherLists() {
+        // archivedRecordings + data + 10 * name
+        MatcherAssert.assertThat(
+                estimate("{ archivedRecordings { data { name } } }"), Matchers.equalTo(12L));
+    }
+
+    @Test
+    void shouldFollowFragments() {
+        MatcherAssert.assertThat(
+                estimate("{ targetNodes { ...f } } fragment f on TargetNode { name labels }"),
+                Matchers.equalTo(9L));
+    }
+
+    static TargetNode target(String name) {
+        return new TargetNode(
+                BaseNodeType.JVM,
+                new ServiceRef(
+                        null,
+                        URI.create(
+                                String.format(
+                                        "service:jmx:rmi:///jndi/rmi://%s:9091/jmxrmi", name)),
+                        name));
+    }
+}
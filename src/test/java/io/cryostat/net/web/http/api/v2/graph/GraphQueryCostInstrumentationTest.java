@@ -0,0 +1,152 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.net.web.http.api.v2.graph;
+
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.cryostat.platform.discovery.BaseNodeType;
+import io.cryostat.platform.discovery.EnvironmentNode;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeRuntimeWiring;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GraphQueryCostInstrumentationTest {
+
+    static final String SCHEMA = "type Query { a: String b: String c: String }";
+
+    AtomicLong nanoTime;
+    AtomicInteger fetches;
+    GraphQueryCostEstimator estimator;
+
+    @Mock RoutingContext ctx;
+    @Mock HttpServerRequest req;
+
+    @BeforeEach
+    void setup() {
+        nanoTime = new AtomicLong();
+        fetches = new AtomicInteger();
+        estimator =
+                new GraphQueryCostEstimator(
+                        () -> new EnvironmentNode("Universe", BaseNodeType.UNIVERSE));
+    }
+
+    GraphQL graph(long maxQueryCost, long clientBudget) {
+        RuntimeWiring wiring =
+                RuntimeWiring.newRuntimeWiring()
+                        .type(
+                                TypeRuntimeWiring.newTypeWiring("Query")
+                                        .defaultDataFetcher(
+                                                env -> {
+                                                    fetches.incrementAndGet();
+                                                    return env.getField().getName();
+                                                }))
+                        .build();
+        return GraphQL.newGraphQL(
+                        new SchemaGenerator()
+                                .makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring))
+                .instrumentation(
+                        new GraphQueryCostInstrumentation(
+                                estimator, maxQueryCost, clientBudget, nanoTime::get))
+                .build();
+    }
+
+    ExecutionResult execute(GraphQL graph, String query) {
+        return graph.execute(
+                ExecutionInput.newExecutionInput(query)
+                        .graphQLContext(Map.of(RoutingContext.class, ctx))
+                        .build());
+    }
+
+    @Test
+    void shouldExecuteQueriesWithinLimits() {
+        GraphQL graph = graph(0, 0);
+
+        ExecutionResult result = execute(graph, "{ a b c }");
+
+        MatcherAssert.assertThat(result.getErrors(), Matchers.empty());
+        MatcherAssert.assertThat(
+                result.getData(), Matchers.equalTo(Map.of("a", "a", "b", "b", "c", "c")));
+        MatcherAssert.assertThat(fetches.get(), Matchers.equalTo(3));
+    }
+
+    @Test
+    void shouldRejectQueryExceedingMaximumCost() {
+        GraphQL graph = graph(2, 0);
+
+        ExecutionResult result = execute(graph, "{ a b c }");
+
+        MatcherAssert.assertThat(result.getErrors(), Matchers.hasSize(1));
+        MatcherAssert.assertThat(
+                result.getErrors().get(0).getMessage(),
+                Matchers.containsString("estimated cost 3 exceeds maximum 2"));
+        MatcherAssert.assertThat(fetches.get(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void shouldRejectQueriesExceedingClientBudget() {
+        when(ctx.request()).thenReturn(req);
+        when(req.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer abcd");
+        GraphQL graph = graph(0, 5);
+
+        MatcherAssert.assertThat(execute(graph, "{ a b }").getErrors(), Matchers.empty());
+        MatcherAssert.assertThat(execute(graph, "{ a b c }").getErrors(), Matchers.empty());
+
+        ExecutionResult rejected = execute(graph, "{ a }");
+        MatcherAssert.assertThat(rejected.getErrors(), Matchers.hasSize(1));
+        MatcherAssert.assertThat(
+                rejected.getErrors().get(0).getMessage(),
+                Matchers.containsString("exceeds remaining client budget"));
+        MatcherAssert.assertThat(fetches.get(), Matchers.equalTo(5));
+
+        // the budget is refilled over time
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(12));
+        MatcherAssert.assertThat(execute(graph, "{ a }").getErrors(), Matchers.empty());
+        MatcherAssert.assertThat(execute(graph, "{ a }").getErrors(), Matchers.hasSize(1));
+    }
+
+    @Test
+    void shouldKeepSeparateBudgetsPerClient() {
+        when(ctx.request()).thenReturn(req);
+        when(req.getHeader(HttpHeaders.AUTHORIZATION))
+                .thenReturn("Bearer abcd", "Bearer abcd", "Bearer efgh");
+        GraphQL graph = graph(0, 3);
+
+        MatcherAssert.assertThat(execute(graph, "{ a b c }").getErrors(), Matchers.empty());
+        MatcherAssert.assertThat(execute(graph, "{ a }").getErrors(), Matchers.hasSize(1));
+        MatcherAssert.assertThat(execute(graph, "{ a b c }").getErrors(), Matchers.empty());
+    }
+}
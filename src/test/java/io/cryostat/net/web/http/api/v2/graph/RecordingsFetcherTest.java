@@ -15,7 +15,6 @@
  */
 package io.cryostat.net.web.http.api.v2.graph;
 
-import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
@@ -23,20 +22,11 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
-import javax.inject.Provider;
-
-import io.cryostat.configuration.CredentialsManager;
 import io.cryostat.net.AuthManager;
-import io.cryostat.net.ConnectionDescriptor;
-import io.cryostat.net.TargetConnectionManager;
-import io.cryostat.net.TargetConnectionManager.ConnectedTask;
 import io.cryostat.net.security.ResourceAction;
-import io.cryostat.net.web.WebServer;
 import io.cryostat.net.web.http.api.v2.graph.RecordingsFetcher.Recordings;
 import io.cryostat.platform.ServiceRef;
 import io.cryostat.platform.discovery.TargetNode;
-import io.cryostat.recordings.RecordingArchiveHelper;
-import io.cryostat.recordings.RecordingMetadataManager;
 import io.cryostat.rules.ArchivedRecordingInfo;
 
 import graphql.GraphQLContext;
@@ -44,6 +34,7 @@ import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
 import graphql.schema.SelectedField;
 import io.vertx.ext.web.RoutingContext;
+import org.dataloader.DataLoader;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeAll;
@@ -57,7 +48,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class RecordingsFetcherTest {
     static final String URI_STRING = "service:jmx:rmi:///jndi/rmi://cryostat:9091/jmxrmi";
-    static final String URI_STRING_2 = "cryostat:9091";
     static final URI EXAMPLE_URI = URI.create(URI_STRING);
     static final SelectedField active = Mockito.mock(SelectedField.class);
     static final SelectedField archived = Mockito.mock(SelectedField.class);
@@ -65,17 +55,15 @@ class RecordingsFetcherTest {
     RecordingsFetcher fetcher;
 
     @Mock AuthManager auth;
-    @Mock TargetConnectionManager targetConnectionManager;
-    @Mock RecordingArchiveHelper archiveHelper;
-    @Mock CredentialsManager credentialsManager;
-    @Mock RecordingMetadataManager metadataManager;
-    @Mock Provider<WebServer> webServer;
 
     @Mock DataFetchingEnvironment env;
     @Mock GraphQLContext graphCtx;
     @Mock RoutingContext ctx;
-    @Mock FilterInput filter;
-    @Mock CompletableFuture<List<ArchivedRecordingInfo>> archivedFuture;
+    @Mock DataLoader<ServiceRef, List<GraphRecordingDescriptor>> activeLoader;
+    @Mock DataLoader<String, List<ArchivedRecordingInfo>> archivedLoader;
+    @Mock TargetNode source;
+    @Mock ServiceRef target;
+    @Mock DataFetchingFieldSelectionSet selectionSet;
 
     @BeforeAll
     static void init() {
@@ -85,14 +73,33 @@ class RecordingsFetcherTest {
 
     @BeforeEach
     void setup() {
-        this.fetcher =
-                new RecordingsFetcher(
-                        auth,
-                        targetConnectionManager,
-                        archiveHelper,
-                        credentialsManager,
-                        metadataManager,
-                        webServer);
+        this.fetcher = new RecordingsFetcher(auth);
+    }
+
+    void setupRequest(SelectedField... fields) {
+        when(env.getGraphQlContext()).thenReturn(graphCtx);
+        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(env.getSource()).thenReturn(source);
+        when(env.getSelectionSet()).thenReturn(selectionSet);
+        when(selectionSet.getFields()).thenReturn(List.of(fields));
+        when(source.getTarget()).thenReturn(target);
+        when(target.getServiceUri()).thenReturn(EXAMPLE_URI);
+    }
+
+    void setupActive(List<GraphRecordingDescriptor> recordings) {
+        when(env.<ServiceRef, List<GraphRecordingDescriptor>>getDataLoader(
+                        GraphDataLoaders.ACTIVE_RECORDINGS))
+                .thenReturn(activeLoader);
+        when(activeLoader.load(target)).thenReturn(CompletableFuture.completedFuture(recordings));
+    }
+
+    void setupArchived(List<ArchivedRecordingInfo> recordings) {
+        when(env.<String, List<ArchivedRecordingInfo>>getDataLoader(
+                        GraphDataLoaders.ARCHIVED_RECORDINGS))
+                .thenReturn(archivedLoader);
+        when(archivedLoader.load(URI_STRING))
+                .thenReturn(CompletableFuture.completedFuture(recordings));
     }
 
     @Test
@@ -107,59 +114,29 @@ class RecordingsFetcherTest {
     }
 
     @Test
-    void shouldReturnNone() throws Exception {
-        when(env.getGraphQlContext()).thenReturn(graphCtx);
-        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
-                .thenReturn(CompletableFuture.completedFuture(true));
-
-        TargetNode source = Mockito.mock(TargetNode.class);
-        ServiceRef target = Mockito.mock(ServiceRef.class);
-        DataFetchingFieldSelectionSet selectionSet =
-                Mockito.mock(DataFetchingFieldSelectionSet.class);
-
-        when(env.getSource()).thenReturn(source);
-        when(env.getSelectionSet()).thenReturn(selectionSet);
-        when(selectionSet.getFields()).thenReturn(List.of());
+    void shouldNotBlock() {
+        MatcherAssert.assertThat(fetcher.blocking(), Matchers.is(false));
+    }
 
-        when(source.getTarget()).thenReturn(target);
-        when(target.getServiceUri()).thenReturn(EXAMPLE_URI);
+    @Test
+    void shouldReturnNone() throws Exception {
+        setupRequest();
 
-        Recordings recordings = fetcher.get(env);
+        Recordings recordings = fetcher.get(env).get();
 
         MatcherAssert.assertThat(recordings, Matchers.notNullValue());
-        // should be null ?
         MatcherAssert.assertThat(recordings.active, Matchers.nullValue());
         MatcherAssert.assertThat(recordings.archived, Matchers.nullValue());
+        Mockito.verify(env, Mockito.never()).getDataLoader(Mockito.anyString());
     }
 
     @Test
     void shouldReturnNoneWithRequestedFields() throws Exception {
-        when(env.getGraphQlContext()).thenReturn(graphCtx);
-        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
-                .thenReturn(CompletableFuture.completedFuture(true));
-
-        TargetNode source = Mockito.mock(TargetNode.class);
-        ServiceRef target = Mockito.mock(ServiceRef.class);
-        DataFetchingFieldSelectionSet selectionSet =
-                Mockito.mock(DataFetchingFieldSelectionSet.class);
-
-        when(env.getSource()).thenReturn(source);
-        when(env.getSelectionSet()).thenReturn(selectionSet);
-        when(selectionSet.getFields()).thenReturn(List.of(active, archived));
-
-        when(source.getTarget()).thenReturn(target);
-        when(target.getServiceUri()).thenReturn(EXAMPLE_URI);
-
-        // mock get active recordings
-        when(targetConnectionManager.executeConnectedTask(
-                        Mockito.any(ConnectionDescriptor.class), Mockito.any(ConnectedTask.class)))
-                .thenReturn(List.of());
-
-        // mock get archived recordings
-        when(archiveHelper.getRecordings(Mockito.any())).thenReturn(archivedFuture);
-        when(archivedFuture.get()).thenReturn(List.of());
+        setupRequest(active, archived);
+        setupActive(List.of());
+        setupArchived(List.of());
 
-        Recordings recordings = fetcher.get(env);
+        Recordings recordings = fetcher.get(env).get();
 
         MatcherAssert.assertThat(recordings, Matchers.notNullValue());
         MatcherAssert.assertThat(recordings.active, Matchers.empty());
@@ -168,108 +145,45 @@ class RecordingsFetcherTest {
 
     @Test
     void shouldReturnActiveRecording() throws Exception {
-        when(env.getGraphQlContext()).thenReturn(graphCtx);
-        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
-                .thenReturn(CompletableFuture.completedFuture(true));
-
-        TargetNode source = Mockito.mock(TargetNode.class);
-        ServiceRef target = Mockito.mock(ServiceRef.class);
-        DataFetchingFieldSelectionSet selectionSet =
-                Mockito.mock(DataFetchingFieldSelectionSet.class);
-
-        when(env.getSource()).thenReturn(source);
-        when(env.getSelectionSet()).thenReturn(selectionSet);
-        when(selectionSet.getFields()).thenReturn(List.of(active));
-
-        when(source.getTarget()).thenReturn(target);
-        when(target.getServiceUri()).thenReturn(EXAMPLE_URI);
-
+        setupRequest(active);
         GraphRecordingDescriptor activeRecording = Mockito.mock(GraphRecordingDescriptor.class);
-        when(targetConnectionManager.executeConnectedTask(
-                        Mockito.any(ConnectionDescriptor.class), Mockito.any(ConnectedTask.class)))
-                .thenReturn(List.of(activeRecording));
-
-        ArchivedRecordingInfo archivedRecording = Mockito.mock(ArchivedRecordingInfo.class);
-        lenient().when(archiveHelper.getRecordings(Mockito.any())).thenReturn(archivedFuture);
-        lenient().when(archivedFuture.get()).thenReturn(List.of(archivedRecording));
+        setupActive(List.of(activeRecording));
 
-        Recordings recordings = fetcher.get(env);
+        Recordings recordings = fetcher.get(env).get();
 
         MatcherAssert.assertThat(recordings, Matchers.notNullValue());
         MatcherAssert.assertThat(recordings.active, Matchers.contains(activeRecording));
         MatcherAssert.assertThat(recordings.archived, Matchers.nullValue());
+        Mockito.verify(env, Mockito.never()).getDataLoader(GraphDataLoaders.ARCHIVED_RECORDINGS);
     }
 
     @Test
     void shouldReturnArchivedRecording() throws Exception {
-        when(env.getGraphQlContext()).thenReturn(graphCtx);
-        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
-                .thenReturn(CompletableFuture.completedFuture(true));
-
-        TargetNode source = Mockito.mock(TargetNode.class);
-        ServiceRef target = Mockito.mock(ServiceRef.class);
-        DataFetchingFieldSelectionSet selectionSet =
-                Mockito.mock(DataFetchingFieldSelectionSet.class);
-
-        when(env.getSource()).thenReturn(source);
-        when(env.getSelectionSet()).thenReturn(selectionSet);
-        when(selectionSet.getFields()).thenReturn(List.of(archived));
-
-        when(source.getTarget()).thenReturn(target);
-        when(target.getServiceUri()).thenReturn(EXAMPLE_URI);
-
-        GraphRecordingDescriptor activeRecording = Mockito.mock(GraphRecordingDescriptor.class);
-        lenient()
-                .when(
-                        targetConnectionManager.executeConnectedTask(
-                                Mockito.any(ConnectionDescriptor.class),
-                                Mockito.any(ConnectedTask.class)))
-                .thenReturn(List.of(activeRecording));
-
+        setupRequest(archived);
         ArchivedRecordingInfo archivedRecording = Mockito.mock(ArchivedRecordingInfo.class);
-        when(archiveHelper.getRecordings(Mockito.any())).thenReturn(archivedFuture);
-        when(archivedFuture.get()).thenReturn(List.of(archivedRecording));
+        setupArchived(List.of(archivedRecording));
 
-        Recordings recordings = fetcher.get(env);
+        Recordings recordings = fetcher.get(env).get();
 
         MatcherAssert.assertThat(recordings, Matchers.notNullValue());
         MatcherAssert.assertThat(recordings.active, Matchers.nullValue());
         MatcherAssert.assertThat(recordings.archived, Matchers.contains(archivedRecording));
+        Mockito.verify(env, Mockito.never()).getDataLoader(GraphDataLoaders.ACTIVE_RECORDINGS);
     }
 
     @Test
     void shouldReturnAllRecordings() throws Exception {
-        when(env.getGraphQlContext()).thenReturn(graphCtx);
-        when(auth.validateHttpHeader(Mockito.any(), Mockito.any()))
-                .thenReturn(CompletableFuture.completedFuture(true));
-
-        TargetNode source = Mockito.mock(TargetNode.class);
-        ServiceRef target = Mockito.mock(ServiceRef.class);
-        DataFetchingFieldSelectionSet selectionSet =
-                Mockito.mock(DataFetchingFieldSelectionSet.class);
-
-        when(env.getSource()).thenReturn(source);
-        when(env.getSelectionSet()).thenReturn(selectionSet);
-        when(selectionSet.getFields()).thenReturn(List.of(active, archived));
-
-        when(source.getTarget()).thenReturn(target);
-        when(target.getServiceUri()).thenReturn(EXAMPLE_URI);
-
+        setupRequest(active, archived);
         GraphRecordingDescriptor activeRecording1 = Mockito.mock(GraphRecordingDescriptor.class);
         GraphRecordingDescriptor activeRecording2 = Mockito.mock(GraphRecordingDescriptor.class);
         GraphRecordingDescriptor activeRecording3 = Mockito.mock(GraphRecordingDescriptor.class);
-        when(targetConnectionManager.executeConnectedTask(
-                        Mockito.any(ConnectionDescriptor.class), Mockito.any(ConnectedTask.class)))
-                .thenReturn(List.of(activeRecording1, activeRecording2, activeRecording3));
-
+        setupActive(List.of(activeRecording1, activeRecording2, activeRecording3));
         ArchivedRecordingInfo archivedRecording1 = Mockito.mock(ArchivedRecordingInfo.class);
         ArchivedRecordingInfo archivedRecording2 = Mockito.mock(ArchivedRecordingInfo.class);
         ArchivedRecordingInfo archivedRecording3 = Mockito.mock(ArchivedRecordingInfo.class);
-        when(archiveHelper.getRecordings(Mockito.any())).thenReturn(archivedFuture);
-        when(archivedFuture.get())
-                .thenReturn(List.of(archivedRecording1, archivedRecording2, archivedRecording3));
+        setupArchived(List.of(archivedRecording1, archivedRecording2, archivedRecording3));
 
-        Recordings recordings = fetcher.get(env);
+        Recordings recordings = fetcher.get(env).get();
 
         MatcherAssert.assertThat(recordings, Matchers.notNullValue());
         MatcherAssert.assertThat(
@@ -24,6 +24,7 @@ import java.util.Map;
 import io.cryostat.ApplicationVersion;
 import io.cryostat.MainModule;
 import io.cryostat.core.sys.Environment;
+import io.cryostat.net.TargetConnectionManager;
 import io.cryostat.net.web.http.HttpMimeType;
 
 import com.google.gson.Gson;
@@ -54,15 +55,32 @@ import org.mockito.stubbing.Answer;
 @ExtendWith(MockitoExtension.class)
 class HealthGetHandlerTest {
 
+    static final Map<String, Object> TARGET_TASKS =
+            Map.of(
+                    "running", 1.0,
+                    "waiting", 2.0,
+                    "outstanding", 3.0,
+                    "busiestTargetOutstanding", 2.0,
+                    "activeTargets", 2.0,
+                    "targetBusyRejections", 4.0,
+                    "overloadedRejections", 5.0);
+
     HealthGetHandler handler;
     @Mock ApplicationVersion appVersion;
     @Mock WebClient webClient;
     @Mock Environment env;
+    @Mock TargetConnectionManager targetConnectionManager;
     Gson gson = MainModule.provideGson();
 
     @BeforeEach
     void setup() {
-        this.handler = new HealthGetHandler(appVersion, webClient, env, gson);
+        this.handler =
+                new HealthGetHandler(appVersion, webClient, env, targetConnectionManager, gson);
+    }
+
+    void stubTaskStatistics() {
+        when(targetConnectionManager.getTaskStatistics())
+                .thenReturn(new TargetConnectionManager.TaskStatistics(1, 2, 3, 2, 2, 4, 5));
     }
 
     @Test
@@ -89,6 +107,7 @@ class HealthGetHandlerTest {
 
         when(appVersion.getVersionString()).thenReturn("v1.2.3");
 
+        stubTaskStatistics();
         handler.handle(ctx);
 
         verify(rep).putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
@@ -109,7 +128,8 @@ class HealthGetHandlerTest {
                                 "datasourceConfigured", false,
                                 "datasourceAvailable", false,
                                 "reportsConfigured", false,
-                                "reportsAvailable", true)));
+                                "reportsAvailable", true,
+                                "targetTasks", TARGET_TASKS)));
     }
 
     @Test
@@ -148,6 +168,7 @@ class HealthGetHandlerTest {
                 .when(req)
                 .send(Mockito.any());
 
+        stubTaskStatistics();
         handler.handle(ctx);
 
         verify(rep).putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
@@ -168,7 +189,8 @@ class HealthGetHandlerTest {
                                 "datasourceConfigured", true,
                                 "datasourceAvailable", true,
                                 "reportsConfigured", false,
-                                "reportsAvailable", true)));
+                                "reportsAvailable", true,
+                                "targetTasks", TARGET_TASKS)));
     }
 
     @Test
@@ -207,6 +229,7 @@ class HealthGetHandlerTest {
                 .when(req)
                 .send(Mockito.any());
 
+        stubTaskStatistics();
         handler.handle(ctx);
 
         verify(rep).putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
@@ -227,7 +250,8 @@ class HealthGetHandlerTest {
                                 "datasourceConfigured", false,
                                 "datasourceAvailable", false,
                                 "reportsConfigured", false,
-                                "reportsAvailable", true)));
+                                "reportsAvailable", true,
+                                "targetTasks", TARGET_TASKS)));
     }
 
     @Test
@@ -266,6 +290,7 @@ class HealthGetHandlerTest {
                 .when(req)
                 .send(Mockito.any());
 
+        stubTaskStatistics();
         handler.handle(ctx);
 
         verify(rep).putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
@@ -286,7 +311,8 @@ class HealthGetHandlerTest {
                                 "datasourceConfigured", false,
                                 "datasourceAvailable", false,
                                 "reportsConfigured", false,
-                                "reportsAvailable", true)));
+                                "reportsAvailable", true,
+                                "targetTasks", TARGET_TASKS)));
     }
 
     @Test
@@ -325,6 +351,7 @@ class HealthGetHandlerTest {
                 .when(req)
                 .send(Mockito.any());
 
+        stubTaskStatistics();
         handler.handle(ctx);
 
         verify(rep).putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
@@ -345,7 +372,8 @@ class HealthGetHandlerTest {
                                 "datasourceConfigured", false,
                                 "datasourceAvailable", false,
                                 "reportsConfigured", false,
-                                "reportsAvailable", true)));
+                                "reportsAvailable", true,
+                                "targetTasks", TARGET_TASKS)));
     }
 
     @Test
@@ -383,6 +411,7 @@ class HealthGetHandlerTest {
                 .when(req)
                 .send(Mockito.any());
 
+        stubTaskStatistics();
         handler.handle(ctx);
 
         verify(rep).putHeader(HttpHeaders.CONTENT_TYPE, HttpMimeType.JSON.mime());
@@ -403,6 +432,7 @@ class HealthGetHandlerTest {
                                 "datasourceConfigured", false,
                                 "datasourceAvailable", false,
                                 "reportsConfigured", false,
-                                "reportsAvailable", true)));
+                                "reportsAvailable", true,
+                                "targetTasks", TARGET_TASKS)));
     }
 }
@@ -16,6 +16,7 @@
 package io.cryostat.platform;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -148,4 +149,39 @@ class ServiceRefTest {
         sr.setPlatformAnnotations(Map.of());
         MatcherAssert.assertThat(sr.getPlatformAnnotations(), Matchers.equalTo(Map.of()));
     }
+
+    @Test
+    void compareShouldClassifyAddedRemovedAndUpdated() {
+        URI otherUri = URI.create("service:jmx:rmi:///jndi/rmi://other:9091/jmxrmi");
+        URI thirdUri = URI.create("service:jmx:rmi:///jndi/rmi://third:9091/jmxrmi");
+        ServiceRef unchanged = new ServiceRef(EXAMPLE_JVMID, EXAMPLE_URI, EXAMPLE_ALIAS);
+        ServiceRef before = new ServiceRef(null, otherUri, "other");
+        ServiceRef after = new ServiceRef("resolved", otherUri, "other");
+        ServiceRef lost = new ServiceRef("lost", thirdUri, "third");
+        ServiceRef found =
+                new ServiceRef(
+                        "found",
+                        URI.create("service:jmx:rmi:///jndi/rmi://fourth:9091/jmxrmi"),
+                        "fourth");
+
+        ServiceRef.Compare compare =
+                ServiceRef.compare(List.of(unchanged, before, lost))
+                        .to(List.of(unchanged, after, found));
+
+        MatcherAssert.assertThat(compare.added(), Matchers.containsInAnyOrder(found));
+        MatcherAssert.assertThat(compare.removed(), Matchers.containsInAnyOrder(lost));
+        MatcherAssert.assertThat(compare.updated(), Matchers.containsInAnyOrder(after));
+    }
+
+    @Test
+    void compareShouldBeEmptyForIdenticalRefs() {
+        ServiceRef sr = new ServiceRef(EXAMPLE_JVMID, EXAMPLE_URI, EXAMPLE_ALIAS);
+        ServiceRef.Compare compare =
+                ServiceRef.compare(List.of(sr))
+                        .to(List.of(new ServiceRef(EXAMPLE_JVMID, EXAMPLE_URI, EXAMPLE_ALIAS)));
+
+        MatcherAssert.assertThat(compare.added(), Matchers.empty());
+        MatcherAssert.assertThat(compare.removed(), Matchers.empty());
+        MatcherAssert.assertThat(compare.updated(), Matchers.empty());
+    }
 }
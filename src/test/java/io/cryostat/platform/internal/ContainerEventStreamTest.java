@@ -0,0 +1,166 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.platform.internal;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.cryostat.MainModule;
+import io.cryostat.platform.internal.ContainerEventStream.ContainerEvent;
+
+import com.google.gson.Gson;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ContainerEventStreamTest {
+
+    ContainerEventStream stream;
+    Vertx vertx;
+    HttpServer server;
+    Gson gson = MainModule.provideGson();
+
+    BlockingQueue<HttpServerRequest> requests;
+    BlockingQueue<ContainerEvent> events;
+    Semaphore subscribed;
+
+    @BeforeEach
+    void setup() throws Exception {
+        vertx = Vertx.vertx();
+        requests = new LinkedBlockingQueue<>();
+        events = new LinkedBlockingQueue<>();
+        subscribed = new Semaphore(0);
+        server =
+                vertx.createHttpServer()
+                        .requestHandler(
+                                req -> {
+                                    req.response().setChunked(true);
+                                    requests.add(req);
+                                })
+                        .listen(0, "localhost")
+                        .toCompletionStage()
+                        .toCompletableFuture()
+                        .get(5, TimeUnit.SECONDS);
+        stream =
+                new ContainerEventStream(
+                        () -> vertx,
+                        SocketAddress.inetSocketAddress(server.actualPort(), "localhost"),
+                        "/events?stream=true",
+                        gson,
+                        events::add,
+                        subscribed::release,
+                        10);
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        stream.stop();
+        vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldHandleEventsAsTheyArrive() throws Exception {
+        stream.start();
+
+        HttpServerRequest req = requests.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(req, Matchers.notNullValue());
+        MatcherAssert.assertThat(req.uri(), Matchers.equalTo("/events?stream=true"));
+
+        String first = gson.toJson(event("start", "abc"));
+        // events may be split across chunks
+        req.response().write(first.substring(0, 10));
+        req.response().write(first.substring(10) + "\n" + gson.toJson(event("die", "def")));
+
+        ContainerEvent start = events.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(start, Matchers.notNullValue());
+        MatcherAssert.assertThat(start.Action(), Matchers.equalTo("start"));
+        MatcherAssert.assertThat(start.Actor().ID(), Matchers.equalTo("abc"));
+        ContainerEvent die = events.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(die, Matchers.notNullValue());
+        MatcherAssert.assertThat(die.Action(), Matchers.equalTo("die"));
+        MatcherAssert.assertThat(die.Actor().ID(), Matchers.equalTo("def"));
+        MatcherAssert.assertThat(subscribed.availablePermits(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void shouldReconnectWhenStreamEnds() throws Exception {
+        stream.start();
+
+        HttpServerRequest req = requests.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(req, Matchers.notNullValue());
+        req.response().end();
+        MatcherAssert.assertThat(subscribed.tryAcquire(5, TimeUnit.SECONDS), Matchers.is(true));
+
+        HttpServerRequest retry = requests.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(retry, Matchers.notNullValue());
+        retry.response().write(gson.toJson(event("start", "abc")));
+        MatcherAssert.assertThat(subscribed.tryAcquire(5, TimeUnit.SECONDS), Matchers.is(true));
+
+        ContainerEvent start = events.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(start, Matchers.notNullValue());
+        MatcherAssert.assertThat(start.Actor().ID(), Matchers.equalTo("abc"));
+    }
+
+    @Test
+    void shouldNotReconnectAfterStop() throws Exception {
+        stream.start();
+
+        HttpServerRequest req = requests.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(req, Matchers.notNullValue());
+        stream.stop();
+
+        MatcherAssert.assertThat(requests.poll(200, TimeUnit.MILLISECONDS), Matchers.nullValue());
+        MatcherAssert.assertThat(subscribed.availablePermits(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void shouldReconnectWhenStreamUnparseable() throws Exception {
+        stream.start();
+
+        HttpServerRequest req = requests.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(req, Matchers.notNullValue());
+        req.response().write("{\"Type\": ]");
+        MatcherAssert.assertThat(subscribed.tryAcquire(5, TimeUnit.SECONDS), Matchers.is(true));
+
+        HttpServerRequest retry = requests.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(retry, Matchers.notNullValue());
+        retry.response().write(gson.toJson(event("start", "abc")));
+
+        ContainerEvent start = events.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(start, Matchers.notNullValue());
+        MatcherAssert.assertThat(start.Actor().ID(), Matchers.equalTo("abc"));
+        MatcherAssert.assertThat(subscribed.tryAcquire(5, TimeUnit.SECONDS), Matchers.is(true));
+    }
+
+    static Map<String, Object> event(String action, String id) {
+        return Map.of(
+                "Type",
+                "container",
+                "Action",
+                action,
+                "Actor",
+                Map.of("ID", id, "Attributes", Map.of()));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.platform.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ContainerListingGuardTest {
+
+    ContainerListingGuard guard;
+    AtomicInteger relists;
+
+    @BeforeEach
+    void setup() {
+        this.relists = new AtomicInteger();
+        this.guard = new ContainerListingGuard(relists::incrementAndGet);
+    }
+
+    @Test
+    void shouldApplyListingsWithoutLaterEvents() {
+        long full = guard.listingRequested();
+        long partial = guard.eventReceived();
+
+        MatcherAssert.assertThat(guard.isCurrent(partial), Matchers.is(true));
+        MatcherAssert.assertThat(
+                guard.isCurrentFullListing(guard.listingRequested()), Matchers.is(true));
+        MatcherAssert.assertThat(guard.isCurrentFullListing(full), Matchers.is(false));
+        MatcherAssert.assertThat(relists.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void shouldRelistOnceForManyStaleListings() {
+        long full = guard.listingRequested();
+        long first = guard.eventReceived();
+        long second = guard.eventReceived();
+        guard.eventReceived();
+
+        MatcherAssert.assertThat(guard.isCurrentFullListing(full), Matchers.is(false));
+        MatcherAssert.assertThat(guard.isCurrent(first), Matchers.is(false));
+        MatcherAssert.assertThat(guard.isCurrent(second), Matchers.is(false));
+        MatcherAssert.assertThat(relists.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void shouldRelistAgainIfRelistingIsStale() {
+        long first = guard.eventReceived();
+        long relisting = guard.listingRequested();
+        guard.eventReceived();
+
+        MatcherAssert.assertThat(guard.isCurrent(first), Matchers.is(false));
+        MatcherAssert.assertThat(guard.isCurrentFullListing(relisting), Matchers.is(false));
+        MatcherAssert.assertThat(relists.get(), Matchers.equalTo(2));
+    }
+}
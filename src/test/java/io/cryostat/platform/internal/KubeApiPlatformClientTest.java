@@ -21,9 +21,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -35,6 +37,7 @@ import io.cryostat.platform.TargetDiscoveryEvent;
 import io.cryostat.platform.discovery.AbstractNode;
 import io.cryostat.platform.discovery.BaseNodeType;
 import io.cryostat.platform.discovery.EnvironmentNode;
+import io.cryostat.platform.discovery.TargetNode;
 import io.cryostat.platform.internal.KubeApiPlatformClient.KubernetesNodeType;
 
 import io.fabric8.kubernetes.api.model.EndpointAddressBuilder;
@@ -43,6 +46,10 @@ import io.fabric8.kubernetes.api.model.Endpoints;
 import io.fabric8.kubernetes.api.model.EndpointsBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.ReplicaSet;
+import io.fabric8.kubernetes.api.model.apps.ReplicaSetBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
 import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
@@ -823,6 +830,173 @@ class KubeApiPlatformClientTest {
                     modifiedEvent.getEventKind(), Matchers.equalTo(EventKind.MODIFIED));
             MatcherAssert.assertThat(modifiedEvent.getServiceRef(), Matchers.equalTo(modified));
         }
+
+        @Test
+        public void shouldResolveOwnerChainFromInformers() throws Exception {
+            Deployment deployment =
+                    new DeploymentBuilder()
+                            .withNewMetadata()
+                            .withName("deployment")
+                            .withNamespace(NAMESPACE)
+                            .withUid("deployment-uid")
+                            .withLabels(Map.of("app", "foo"))
+                            .endMetadata()
+                            .build();
+            k8sClient.apps().deployments().inNamespace(NAMESPACE).resource(deployment).create();
+            ReplicaSet replicaSet =
+                    new ReplicaSetBuilder()
+                            .withNewMetadata()
+                            .withName("replicaset")
+                            .withNamespace(NAMESPACE)
+                            .withUid("replicaset-uid")
+                            .addNewOwnerReference()
+                            .withApiVersion("apps/v1")
+                            .withKind("Deployment")
+                            .withName("deployment")
+                            .withUid("deployment-uid")
+                            .endOwnerReference()
+                            .endMetadata()
+                            .build();
+            k8sClient.apps().replicaSets().inNamespace(NAMESPACE).resource(replicaSet).create();
+            Pod target =
+                    new PodBuilder()
+                            .withNewMetadata()
+                            .withName("target")
+                            .withNamespace(NAMESPACE)
+                            .addNewOwnerReference()
+                            .withApiVersion("apps/v1")
+                            .withKind("ReplicaSet")
+                            .withName("replicaset")
+                            .withUid("replicaset-uid")
+                            .endOwnerReference()
+                            .endMetadata()
+                            .build();
+            k8sClient.pods().inNamespace(NAMESPACE).resource(target).create();
+            k8sClient
+                    .endpoints()
+                    .inNamespace(NAMESPACE)
+                    .resource(endpointsFor(target, "192.168.1.10", 9091))
+                    .create();
+
+            platformClient.start();
+
+            EnvironmentNode realmNode = platformClient.getDiscoveryTree();
+            MatcherAssert.assertThat(realmNode.getChildren(), Matchers.hasSize(1));
+            EnvironmentNode namespaceNode = (EnvironmentNode) realmNode.getChildren().get(0);
+            MatcherAssert.assertThat(namespaceNode.getName(), Matchers.equalTo(NAMESPACE));
+            MatcherAssert.assertThat(namespaceNode.getChildren(), Matchers.hasSize(1));
+
+            EnvironmentNode deploymentNode = (EnvironmentNode) namespaceNode.getChildren().get(0);
+            MatcherAssert.assertThat(deploymentNode.getName(), Matchers.equalTo("deployment"));
+            MatcherAssert.assertThat(
+                    deploymentNode.getNodeType(), Matchers.equalTo(KubernetesNodeType.DEPLOYMENT));
+            MatcherAssert.assertThat(
+                    deploymentNode.getLabels(), Matchers.equalTo(Map.of("app", "foo")));
+            MatcherAssert.assertThat(deploymentNode.getChildren(), Matchers.hasSize(1));
+
+            EnvironmentNode replicaSetNode = (EnvironmentNode) deploymentNode.getChildren().get(0);
+            MatcherAssert.assertThat(replicaSetNode.getName(), Matchers.equalTo("replicaset"));
+            MatcherAssert.assertThat(
+                    replicaSetNode.getNodeType(), Matchers.equalTo(KubernetesNodeType.REPLICASET));
+            MatcherAssert.assertThat(replicaSetNode.getChildren(), Matchers.hasSize(1));
+
+            EnvironmentNode podNode = (EnvironmentNode) replicaSetNode.getChildren().get(0);
+            MatcherAssert.assertThat(podNode.getName(), Matchers.equalTo("target"));
+            MatcherAssert.assertThat(
+                    podNode.getNodeType(), Matchers.equalTo(KubernetesNodeType.POD));
+            MatcherAssert.assertThat(podNode.getChildren(), Matchers.hasSize(1));
+            TargetNode targetNode = (TargetNode) podNode.getChildren().get(0);
+            MatcherAssert.assertThat(
+                    targetNode.getTarget().getAlias(), Matchers.equalTo(Optional.of("target")));
+
+            // owners are served from the informers' stores, not queried from the API server
+            int requests = server.getRequestCount();
+            MatcherAssert.assertThat(
+                    platformClient.getDiscoveryTree(), Matchers.equalTo(realmNode));
+            MatcherAssert.assertThat(
+                    platformClient.listDiscoverableServices(), Matchers.hasSize(1));
+            MatcherAssert.assertThat(server.getRequestCount(), Matchers.equalTo(requests));
+        }
+
+        @Test
+        public void shouldNotifyOnAsyncPodLabelsModified() throws Exception {
+            Pod target =
+                    new PodBuilder()
+                            .withNewMetadata()
+                            .withName("target")
+                            .withNamespace(NAMESPACE)
+                            .endMetadata()
+                            .build();
+            k8sClient.pods().inNamespace(NAMESPACE).resource(target).create();
+            k8sClient
+                    .endpoints()
+                    .inNamespace(NAMESPACE)
+                    .resource(endpointsFor(target, "192.168.1.10", 9091))
+                    .create();
+
+            CountDownLatch latch = new CountDownLatch(2);
+            Queue<TargetDiscoveryEvent> events = new ConcurrentLinkedQueue<>();
+            platformClient.addTargetDiscoveryListener(
+                    tde -> {
+                        events.add(tde);
+                        latch.countDown();
+                    });
+
+            platformClient.start();
+
+            k8sClient
+                    .pods()
+                    .inNamespace(NAMESPACE)
+                    .withName("target")
+                    .edit(
+                            p ->
+                                    new PodBuilder(p)
+                                            .editMetadata()
+                                            .addToLabels("foo", "bar")
+                                            .endMetadata()
+                                            .build());
+
+            MatcherAssert.assertThat(latch.await(10, TimeUnit.SECONDS), Matchers.is(true));
+            Thread.sleep(100); // to ensure no more events are coming
+
+            MatcherAssert.assertThat(events, Matchers.hasSize(2));
+            TargetDiscoveryEvent found = events.remove();
+            MatcherAssert.assertThat(found.getEventKind(), Matchers.equalTo(EventKind.FOUND));
+            MatcherAssert.assertThat(found.getServiceRef().getLabels(), Matchers.equalTo(Map.of()));
+            TargetDiscoveryEvent modified = events.remove();
+            MatcherAssert.assertThat(modified.getEventKind(), Matchers.equalTo(EventKind.MODIFIED));
+            MatcherAssert.assertThat(
+                    modified.getServiceRef().getLabels(), Matchers.equalTo(Map.of("foo", "bar")));
+            MatcherAssert.assertThat(
+                    modified.getServiceRef().getServiceUri(),
+                    Matchers.equalTo(found.getServiceRef().getServiceUri()));
+        }
+
+        private Endpoints endpointsFor(Pod target, String ip, int port) {
+            return new EndpointsBuilder()
+                    .withNewMetadata()
+                    .withName("endpoints-" + target.getMetadata().getName())
+                    .withNamespace(NAMESPACE)
+                    .endMetadata()
+                    .addNewSubset()
+                    .withAddresses(
+                            new EndpointAddressBuilder()
+                                    .withIp(ip)
+                                    .withNewTargetRef()
+                                    .withName(target.getMetadata().getName())
+                                    .withKind("Pod")
+                                    .withNamespace(NAMESPACE)
+                                    .endTargetRef()
+                                    .build())
+                    .withPorts(
+                            new EndpointPortBuilder()
+                                    .withName("jfr-jmx")
+                                    .withPort(port)
+                                    .withProtocol("tcp")
+                                    .build())
+                    .endSubset()
+                    .build();
+        }
     }
 
     @Nested
@@ -0,0 +1,208 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.platform.internal;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.cryostat.MainModule;
+import io.cryostat.core.net.JFRConnectionToolkit;
+import io.cryostat.core.net.discovery.JvmDiscoveryClient.EventKind;
+import io.cryostat.core.sys.Environment;
+import io.cryostat.platform.TargetDiscoveryEvent;
+
+import com.google.gson.Gson;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.client.WebClient;
+import org.apache.commons.lang3.tuple.Pair;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PodmanPlatformClientTest {
+
+    static final String CONTAINER_ID = "abc123";
+    static final String JMX_URL = "service:jmx:rmi:///jndi/rmi://app:9091/jmxrmi";
+
+    PodmanPlatformClient client;
+    Vertx vertx;
+    WebClient webClient;
+    HttpServer server;
+    ExecutorService executor;
+    @Mock Environment env;
+    @Mock JFRConnectionToolkit connectionToolkit;
+    Gson gson = MainModule.provideGson();
+
+    volatile List<Map<String, Object>> listedContainers;
+    volatile boolean holdFullListings;
+    BlockingQueue<Pair<HttpServerResponse, String>> heldListings;
+    BlockingQueue<HttpServerResponse> eventStreams;
+    BlockingQueue<TargetDiscoveryEvent> events;
+
+    @BeforeEach
+    void setup() throws Exception {
+        vertx = Vertx.vertx();
+        webClient = WebClient.create(vertx);
+        executor = Executors.newCachedThreadPool();
+        listedContainers = List.of();
+        heldListings = new LinkedBlockingQueue<>();
+        eventStreams = new LinkedBlockingQueue<>();
+        events = new LinkedBlockingQueue<>();
+        // stands in for the Podman API socket
+        server =
+                vertx.createHttpServer()
+                        .requestHandler(
+                                req -> {
+                                    if (req.path().endsWith("/containers/json")) {
+                                        // the listing reflects the containers at the time of the
+                                        // request, even if its response is held back
+                                        String listing = gson.toJson(listedContainers);
+                                        boolean full = !req.getParam("filters").contains("\"id\"");
+                                        if (full && holdFullListings) {
+                                            heldListings.add(Pair.of(req.response(), listing));
+                                        } else {
+                                            req.response().end(listing);
+                                        }
+                                    } else if (req.path().endsWith("/events")) {
+                                        // the engine accepts the subscription immediately
+                                        req.response().setChunked(true).write("");
+                                        eventStreams.add(req.response());
+                                    } else {
+                                        req.response().setStatusCode(404).end();
+                                    }
+                                })
+                        .listen(0, "localhost")
+                        .toCompletionStage()
+                        .toCompletableFuture()
+                        .get(5, TimeUnit.SECONDS);
+        client =
+                new PodmanPlatformClient(
+                        env,
+                        executor,
+                        () -> webClient,
+                        () -> vertx,
+                        SocketAddress.inetSocketAddress(server.actualPort(), "localhost"),
+                        () -> connectionToolkit,
+                        gson);
+        client.addTargetDiscoveryListener(events::add);
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        client.stop();
+        vertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldDiscoverContainersFromEventStream() throws Exception {
+        client.start();
+        HttpServerResponse eventStream = eventStreams.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(eventStream, Matchers.notNullValue());
+
+        listedContainers = List.of(container());
+        eventStream.write(gson.toJson(event("start")) + "\n");
+
+        TargetDiscoveryEvent found = events.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(found, Matchers.notNullValue());
+        MatcherAssert.assertThat(found.getEventKind(), Matchers.equalTo(EventKind.FOUND));
+        MatcherAssert.assertThat(
+                found.getServiceRef().getServiceUri(), Matchers.equalTo(URI.create(JMX_URL)));
+        MatcherAssert.assertThat(client.listDiscoverableServices(), Matchers.hasSize(1));
+
+        listedContainers = List.of();
+        eventStream.write(gson.toJson(event("died")) + "\n");
+
+        TargetDiscoveryEvent lost = events.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(lost, Matchers.notNullValue());
+        MatcherAssert.assertThat(lost.getEventKind(), Matchers.equalTo(EventKind.LOST));
+        MatcherAssert.assertThat(client.listDiscoverableServices(), Matchers.empty());
+    }
+
+    @Test
+    void shouldDropListingRequestedBeforeLaterEvents() throws Exception {
+        listedContainers = List.of(container());
+        holdFullListings = true;
+        client.start();
+        HttpServerResponse eventStream = eventStreams.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(eventStream, Matchers.notNullValue());
+        Pair<HttpServerResponse, String> subscriptionListing =
+                heldListings.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(subscriptionListing, Matchers.notNullValue());
+
+        eventStream.write(gson.toJson(event("start")) + "\n");
+        TargetDiscoveryEvent found = events.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(found, Matchers.notNullValue());
+        MatcherAssert.assertThat(found.getEventKind(), Matchers.equalTo(EventKind.FOUND));
+
+        listedContainers = List.of();
+        eventStream.write(gson.toJson(event("died")) + "\n");
+        TargetDiscoveryEvent lost = events.poll(5, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(lost, Matchers.notNullValue());
+        MatcherAssert.assertThat(lost.getEventKind(), Matchers.equalTo(EventKind.LOST));
+
+        // the listing from before the container died still includes it, so it is dropped and
+        // the containers listed again instead
+        holdFullListings = false;
+        subscriptionListing.getLeft().end(subscriptionListing.getRight());
+
+        MatcherAssert.assertThat(events.poll(500, TimeUnit.MILLISECONDS), Matchers.nullValue());
+        MatcherAssert.assertThat(client.listDiscoverableServices(), Matchers.empty());
+    }
+
+    static Map<String, Object> container() {
+        return Map.of(
+                "Id",
+                CONTAINER_ID,
+                "Image",
+                "app:latest",
+                "Labels",
+                Map.of(
+                        PodmanPlatformClient.DISCOVERY_LABEL,
+                        "true",
+                        PodmanPlatformClient.JMX_URL_LABEL,
+                        JMX_URL),
+                "Names",
+                List.of("app"),
+                "State",
+                "running");
+    }
+
+    static Map<String, Object> event(String action) {
+        return Map.of(
+                "Type",
+                "container",
+                "Action",
+                action,
+                "Actor",
+                Map.of("ID", CONTAINER_ID, "Attributes", Map.of("name", "app")));
+    }
+}
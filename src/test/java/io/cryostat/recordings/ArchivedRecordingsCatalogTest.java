@@ -0,0 +1,148 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.recordings;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import io.cryostat.DirectExecutorService;
+import io.cryostat.MainModule;
+import io.cryostat.core.sys.FileSystem;
+import io.cryostat.recordings.RecordingMetadataManager.Metadata;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ArchivedRecordingsCatalogTest {
+
+    ArchivedRecordingsCatalog catalog;
+    @Mock FileSystem fs;
+    @Mock Path catalogPath;
+
+    @BeforeEach
+    void setup() {
+        this.catalog =
+                new ArchivedRecordingsCatalog(
+                        fs, catalogPath, new DirectExecutorService(), MainModule.provideGson());
+    }
+
+    @Test
+    void shouldNotBeReadyUntilLoadedOrReconciled() {
+        MatcherAssert.assertThat(catalog.isReady(), Matchers.is(false));
+        catalog.load();
+        MatcherAssert.assertThat(catalog.isReady(), Matchers.is(false));
+        catalog.reconcile(Map.of());
+        MatcherAssert.assertThat(catalog.isReady(), Matchers.is(true));
+    }
+
+    @Test
+    void shouldLoadPersistedCatalog() throws Exception {
+        catalog.put(
+                "subdir",
+                "connectUrl",
+                "jvmId",
+                new ArchivedRecordingsCatalog.Entry(
+                        "foo.jfr", 10, 20, new Metadata(Map.of("key", "value"))));
+        ArgumentCaptor<CharSequence> json = ArgumentCaptor.forClass(CharSequence.class);
+        Mockito.verify(fs)
+                .writeString(
+                        Mockito.eq(catalogPath),
+                        json.capture(),
+                        Mockito.any(),
+                        Mockito.any(),
+                        Mockito.any());
+
+        Mockito.when(fs.isRegularFile(catalogPath)).thenReturn(true);
+        Mockito.when(fs.readFile(catalogPath))
+                .thenReturn(new BufferedReader(new StringReader(json.getValue().toString())));
+        ArchivedRecordingsCatalog loaded =
+                new ArchivedRecordingsCatalog(
+                        fs, catalogPath, new DirectExecutorService(), MainModule.provideGson());
+        loaded.load();
+
+        MatcherAssert.assertThat(loaded.isReady(), Matchers.is(true));
+        ArchivedRecordingsCatalog.Directory directory = loaded.getDirectory("subdir").orElseThrow();
+        MatcherAssert.assertThat(directory.getConnectUrl(), Matchers.equalTo("connectUrl"));
+        MatcherAssert.assertThat(directory.getJvmId(), Matchers.equalTo("jvmId"));
+        ArchivedRecordingsCatalog.Entry entry = directory.getRecording("foo.jfr").orElseThrow();
+        MatcherAssert.assertThat(entry.getSize(), Matchers.equalTo(10L));
+        MatcherAssert.assertThat(entry.getArchivedTime(), Matchers.equalTo(20L));
+        MatcherAssert.assertThat(
+                entry.getMetadata(), Matchers.equalTo(new Metadata(Map.of("key", "value"))));
+    }
+
+    @Test
+    void shouldIgnoreUnreadablePersistedCatalog() throws Exception {
+        Mockito.when(fs.isRegularFile(catalogPath)).thenReturn(true);
+        Mockito.when(fs.readFile(catalogPath))
+                .thenReturn(new BufferedReader(new StringReader("{not json")));
+
+        catalog.load();
+
+        MatcherAssert.assertThat(catalog.isReady(), Matchers.is(false));
+    }
+
+    @Test
+    void shouldUpdateMetadataOfCatalogedRecordingsOnly() {
+        catalog.put(
+                "subdir",
+                "connectUrl",
+                "jvmId",
+                new ArchivedRecordingsCatalog.Entry("foo.jfr", 10, 20, new Metadata()));
+
+        catalog.setMetadata("subdir", "foo.jfr", new Metadata(Map.of("key", "value")));
+        catalog.setMetadata("subdir", "active", new Metadata(Map.of("key", "value")));
+
+        MatcherAssert.assertThat(
+                catalog.getEntry("subdir", "foo.jfr").orElseThrow().getMetadata(),
+                Matchers.equalTo(new Metadata(Map.of("key", "value"))));
+        MatcherAssert.assertThat(
+                catalog.getEntry("subdir", "active"), Matchers.equalTo(Optional.empty()));
+    }
+
+    @Test
+    void shouldMoveAndRemoveRecordings() {
+        catalog.put(
+                "old",
+                "connectUrl",
+                "oldJvmId",
+                new ArchivedRecordingsCatalog.Entry("foo.jfr", 10, 20, new Metadata()));
+
+        catalog.moveDirectory("old", "new", "connectUrl", "newJvmId");
+
+        MatcherAssert.assertThat(catalog.getDirectory("old"), Matchers.equalTo(Optional.empty()));
+        MatcherAssert.assertThat(
+                catalog.findSubdirectory("foo.jfr"), Matchers.equalTo(Optional.of("new")));
+        MatcherAssert.assertThat(
+                catalog.getDirectory("new").orElseThrow().getJvmId(), Matchers.equalTo("newJvmId"));
+
+        MatcherAssert.assertThat(catalog.remove("new", "foo.jfr").isPresent(), Matchers.is(true));
+        MatcherAssert.assertThat(catalog.remove("new", "foo.jfr").isPresent(), Matchers.is(false));
+        MatcherAssert.assertThat(
+                catalog.findSubdirectory("foo.jfr"), Matchers.equalTo(Optional.empty()));
+    }
+}
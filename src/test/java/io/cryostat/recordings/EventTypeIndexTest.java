@@ -0,0 +1,123 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.recordings;
+
+import java.util.List;
+
+import org.openjdk.jmc.flightrecorder.configuration.events.IEventTypeID;
+import org.openjdk.jmc.rjmx.services.jfr.IEventTypeInfo;
+
+import io.cryostat.jmc.serialization.SerializableEventTypeInfo;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+
+class EventTypeIndexTest {
+
+    EventTypeIndex index;
+
+    @BeforeEach
+    void setup() {
+        this.index =
+                new EventTypeIndex(
+                        List.of(
+                                event(
+                                        "jdk.CPULoad",
+                                        "CPU Load",
+                                        "OS CPU load",
+                                        "Operating System",
+                                        "Processor"),
+                                event(
+                                        "jdk.GCHeapSummary",
+                                        "Heap Summary",
+                                        null,
+                                        "Java Virtual Machine",
+                                        "GC"),
+                                event(
+                                        "com.example.Foo",
+                                        "Foo",
+                                        "Does some fooing",
+                                        "Application")));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" "})
+    void shouldReturnAllForBlankQuery(String q) {
+        MatcherAssert.assertThat(index.search(q), Matchers.equalTo(index.getEventTypes()));
+        MatcherAssert.assertThat(index.search(q), Matchers.hasSize(3));
+    }
+
+    @Test
+    void shouldMatchSubstringsIgnoringCase() {
+        MatcherAssert.assertThat(typeIds(index.search("CPU")), Matchers.contains("jdk.CPULoad"));
+        MatcherAssert.assertThat(
+                typeIds(index.search("heap sum")), Matchers.contains("jdk.GCHeapSummary"));
+        MatcherAssert.assertThat(
+                typeIds(index.search("FOOING")), Matchers.contains("com.example.Foo"));
+    }
+
+    @Test
+    void shouldMatchCategories() {
+        MatcherAssert.assertThat(
+                typeIds(index.search("virtual machine")), Matchers.contains("jdk.GCHeapSummary"));
+    }
+
+    @Test
+    void shouldMatchShortQueriesInOrder() {
+        MatcherAssert.assertThat(
+                typeIds(index.search("c")),
+                Matchers.contains("jdk.CPULoad", "jdk.GCHeapSummary", "com.example.Foo"));
+        MatcherAssert.assertThat(
+                typeIds(index.search("gc")), Matchers.contains("jdk.GCHeapSummary"));
+    }
+
+    @Test
+    void shouldNotMatchAcrossFields() {
+        EventTypeIndex index =
+                new EventTypeIndex(List.of(event("com.example.Bar", "abcd", "bcde")));
+        // every trigram of the query appears in the event, but no single field contains it
+        MatcherAssert.assertThat(index.search("abcde"), Matchers.empty());
+        MatcherAssert.assertThat(index.search("bcd"), Matchers.hasSize(1));
+    }
+
+    @Test
+    void shouldReturnEmptyForUnknownTerm() {
+        MatcherAssert.assertThat(index.search("nonexistent"), Matchers.empty());
+    }
+
+    private static List<String> typeIds(List<SerializableEventTypeInfo> infos) {
+        return infos.stream().map(SerializableEventTypeInfo::getTypeId).toList();
+    }
+
+    private static IEventTypeInfo event(
+            String typeId, String name, String description, String... category) {
+        IEventTypeInfo info = Mockito.mock(IEventTypeInfo.class);
+        IEventTypeID id = Mockito.mock(IEventTypeID.class);
+        Mockito.when(id.getFullKey()).thenReturn(typeId);
+        Mockito.when(info.getEventTypeID()).thenReturn(id);
+        Mockito.when(info.getName()).thenReturn(name);
+        Mockito.when(info.getDescription()).thenReturn(description);
+        Mockito.when(info.getHierarchicalCategory()).thenReturn(category);
+        return info;
+    }
+}
@@ -28,6 +28,8 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -35,6 +37,8 @@ import javax.management.remote.JMXServiceURL;
 
 import org.openjdk.jmc.rjmx.services.jfr.IRecordingDescriptor;
 
+import io.cryostat.DirectExecutorService;
+import io.cryostat.MainModule;
 import io.cryostat.core.net.CryostatFlightRecorderService;
 import io.cryostat.core.net.JFRConnection;
 import io.cryostat.core.sys.Clock;
@@ -43,6 +47,7 @@ import io.cryostat.messaging.notifications.Notification;
 import io.cryostat.messaging.notifications.NotificationFactory;
 import io.cryostat.net.ConnectionDescriptor;
 import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.net.reports.ReportService;
 import io.cryostat.net.web.WebServer;
 import io.cryostat.net.web.http.HttpMimeType;
 import io.cryostat.platform.PlatformClient;
@@ -63,6 +68,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
@@ -73,15 +79,21 @@ import org.mockito.stubbing.Answer;
 class RecordingArchiveHelperTest {
 
     RecordingArchiveHelper recordingArchiveHelper;
+    ArchivedRecordingsCatalog catalog;
     @Mock TargetConnectionManager targetConnectionManager;
     @Mock RecordingMetadataManager recordingMetadataManager;
     @Mock FileSystem fs;
     @Mock WebServer webServer;
+    @Mock ReportService reportService;
     @Mock Path destinationFile;
     @Mock Path archivedRecordingsPath;
     @Mock Path archivedRecordingsReportPath;
+    @Mock Path catalogPath;
     @Mock Clock clock;
-    @Mock PlatformClient platformClient;
+
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    PlatformClient platformClient;
+
     @Mock NotificationFactory notificationFactory;
     @Mock JvmIdHelper jvmIdHelper;
     @Mock Base32 base32;
@@ -142,14 +154,20 @@ class RecordingArchiveHelperTest {
 
         lenient().when(vertx.fileSystem()).thenReturn(vertxFs);
 
+        this.catalog =
+                new ArchivedRecordingsCatalog(
+                        fs, catalogPath, new DirectExecutorService(), MainModule.provideGson());
+
         this.recordingArchiveHelper =
                 new RecordingArchiveHelper(
                         fs,
                         () -> webServer,
+                        () -> reportService,
                         archivedRecordingsPath,
                         archivedRecordingsReportPath,
                         targetConnectionManager,
                         recordingMetadataManager,
+                        catalog,
                         clock,
                         platformClient,
                         notificationFactory,
@@ -762,8 +780,12 @@ class RecordingArchiveHelperTest {
         String jvmId123 = "encodedJvmId123";
 
         Mockito.when(fs.exists(Mockito.any())).thenReturn(true);
-        Mockito.when(fs.isRegularFile(Mockito.any())).thenReturn(true);
         Mockito.when(fs.isReadable(Mockito.any())).thenReturn(true);
+        Mockito.when(fs.isDirectory(Mockito.any())).thenReturn(true);
+
+        BufferedReader reader = Mockito.mock(BufferedReader.class);
+        Mockito.when(fs.readFile(Mockito.any(Path.class))).thenReturn(reader);
+        Mockito.when(reader.readLine()).thenReturn("connectUrlA").thenReturn("connectUrl123");
 
         List<String> subdirectories = List.of(jvmIdA, jvmId123);
         Mockito.when(fs.listDirectoryChildren(archivedRecordingsPath)).thenReturn(subdirectories);
@@ -777,7 +799,7 @@ class RecordingArchiveHelperTest {
                 .thenReturn(List.of("123recording", "connectUrl"));
 
         Mockito.when(fs.listDirectoryChildren(Path.of(jvmId123).normalize().toAbsolutePath()))
-                .thenReturn(List.of("123recording", "connectUrl"));
+                .thenReturn(List.of("connectUrl"));
 
         Mockito.when(webServer.getArchivedReportURL(Mockito.anyString(), Mockito.anyString()))
                 .thenAnswer(
@@ -804,12 +826,6 @@ class RecordingArchiveHelperTest {
                 .thenReturn(new Metadata());
 
         Path tempSubdirectory = Mockito.mock(Path.class);
-        Mockito.when(tempSubdirectory.resolve(Mockito.anyString())).thenReturn(destinationFile);
-        Mockito.when(destinationFile.toAbsolutePath()).thenReturn(destinationFile);
-        Mockito.when(archivedRecordingsReportPath.resolve(Mockito.any(String.class)))
-                .thenReturn(tempSubdirectory);
-        Mockito.when(fs.listDirectoryChildren(tempSubdirectory))
-                .thenReturn(List.of("123recording.report.html"));
 
         Mockito.when(fs.exists(Mockito.any(Path.class))).thenReturn(true);
         Mockito.lenient()
@@ -839,7 +855,11 @@ class RecordingArchiveHelperTest {
 
         MatcherAssert.assertThat(deleted, Matchers.equalTo(matcher));
 
-        Mockito.verify(fs).deleteIfExists(destinationFile);
+        Mockito.verify(reportService).delete(Mockito.anyString(), Mockito.eq(recordingName));
+        MatcherAssert.assertThat(
+                catalog.findSubdirectory(recordingName), Matchers.equalTo(Optional.empty()));
+        MatcherAssert.assertThat(
+                catalog.getDirectory(jvmId123), Matchers.equalTo(Optional.empty()));
         Mockito.verify(notificationFactory)
                 .createOwnedResourceBuilder("uploads", "ArchivedRecordingDeleted");
         Mockito.verify(notificationOwnedResourceBuilder).messageEntry("recording", matcher);
@@ -848,43 +868,22 @@ class RecordingArchiveHelperTest {
     }
 
     @Test
-    void deleteReportShouldDelegateToFileSystem() throws IOException {
-        String subdirectoryName = "subdir";
-
-        Path tempSubdirectory = Mockito.mock(Path.class);
-        Mockito.when(tempSubdirectory.resolve(Mockito.anyString())).thenReturn(destinationFile);
-        lenient()
-                .when(archivedRecordingsReportPath.resolve(subdirectoryName))
-                .thenReturn(tempSubdirectory);
-        Mockito.when(fs.listDirectoryChildren(tempSubdirectory))
-                .thenReturn(List.of("foo.report.html"));
-        Mockito.when(destinationFile.toAbsolutePath()).thenReturn(destinationFile);
-
-        Mockito.when(fs.exists(Mockito.any())).thenReturn(true);
-        Mockito.when(fs.deleteIfExists(Mockito.any())).thenReturn(true);
+    void deleteReportsShouldDelegateToReportService() {
+        Mockito.when(reportService.delete("subdir", "foo")).thenReturn(true);
 
         MatcherAssert.assertThat(
-                recordingArchiveHelper.deleteReports(subdirectoryName, "foo"),
-                Matchers.equalTo(true));
+                recordingArchiveHelper.deleteReports("subdir", "foo"), Matchers.equalTo(true));
 
-        Mockito.verify(fs).deleteIfExists(destinationFile);
-        Mockito.verify(tempSubdirectory).resolve("foo.report.html");
-        Mockito.verify(destinationFile).toAbsolutePath();
+        Mockito.verify(reportService).delete("subdir", "foo");
+        Mockito.verifyNoInteractions(fs);
     }
 
     @Test
-    void deleteReportsShouldReturnFalseIfFileSystemThrows() throws IOException {
-        String subdirectoryName = "subdir";
-
-        Path tempSubdirectory = Mockito.mock(Path.class);
-        lenient()
-                .when(archivedRecordingsReportPath.resolve(subdirectoryName))
-                .thenReturn(tempSubdirectory);
-        Mockito.when(fs.listDirectoryChildren(tempSubdirectory)).thenThrow(IOException.class);
+    void deleteReportsShouldReturnFalseIfReportServiceFails() {
+        Mockito.when(reportService.delete("subdir", "foo")).thenReturn(false);
 
         MatcherAssert.assertThat(
-                recordingArchiveHelper.deleteReports(subdirectoryName, "foo"),
-                Matchers.equalTo(false));
+                recordingArchiveHelper.deleteReports("subdir", "foo"), Matchers.equalTo(false));
     }
 
     @Test
@@ -930,7 +929,9 @@ class RecordingArchiveHelperTest {
                             }
                         });
 
-        Mockito.when(recordingMetadataManager.getMetadata(Mockito.any(), Mockito.anyString()))
+        Mockito.when(
+                        recordingMetadataManager.getMetadataFromPathIfExists(
+                                Mockito.any(), Mockito.anyString()))
                 .thenReturn(new Metadata());
 
         List<ArchivedRecordingInfo> result = recordingArchiveHelper.getRecordings().get();
@@ -952,7 +953,9 @@ class RecordingArchiveHelperTest {
                                 new Metadata(),
                                 0,
                                 0));
-        MatcherAssert.assertThat(result, Matchers.equalTo(expected));
+        MatcherAssert.assertThat(
+                result,
+                Matchers.containsInAnyOrder(expected.toArray(new ArchivedRecordingInfo[0])));
     }
 
     @Test
@@ -976,21 +979,22 @@ class RecordingArchiveHelperTest {
 
     @Test
     void getRecordingsShouldDifferentiateBetweenUploadsAndTarget() throws Exception {
-        Mockito.when(fs.exists(Mockito.any())).thenReturn(true);
-        Mockito.when(fs.isReadable(Mockito.any())).thenReturn(true);
-        Mockito.when(fs.isDirectory(Mockito.any())).thenReturn(true);
-
         String targetIdUploads = "uploads";
         String targetIdTarget = "someServiceUri";
         lenient()
                 .when(jvmIdHelper.getJvmId(Mockito.eq(targetIdUploads)))
                 .thenReturn(targetIdUploads);
         lenient().when(jvmIdHelper.getJvmId(Mockito.eq(targetIdTarget))).thenReturn(targetIdTarget);
-        Path specificRecordingsPath = Path.of("/some/path/");
-        Mockito.when(archivedRecordingsPath.resolve(Mockito.anyString()))
-                .thenReturn(specificRecordingsPath);
-        Mockito.when(fs.listDirectoryChildren(Mockito.any(Path.class)))
-                .thenReturn(List.of("foo_recording"));
+
+        ArchivedRecordingsCatalog.Directory uploads =
+                new ArchivedRecordingsCatalog.Directory(targetIdUploads, targetIdUploads);
+        uploads.add(new ArchivedRecordingsCatalog.Entry("foo_recording", 1, 2, new Metadata()));
+        ArchivedRecordingsCatalog.Directory target =
+                new ArchivedRecordingsCatalog.Directory(targetIdTarget, targetIdTarget);
+        target.add(
+                new ArchivedRecordingsCatalog.Entry(
+                        "bar_recording", 3, 4, new Metadata(Map.of("key", "value"))));
+        catalog.reconcile(Map.of(targetIdUploads, uploads, targetIdTarget, target));
 
         Mockito.when(webServer.getArchivedReportURL(Mockito.anyString(), Mockito.anyString()))
                 .thenAnswer(
@@ -1011,24 +1015,10 @@ class RecordingArchiveHelperTest {
                             }
                         });
 
-        Mockito.when(recordingMetadataManager.getMetadata(Mockito.any(), Mockito.anyString()))
-                .thenReturn(new Metadata());
-
-        Mockito.when(jvmIdHelper.jvmIdToSubdirectoryName(Mockito.anyString()))
-                .thenAnswer(
-                        new Answer<String>() {
-                            @Override
-                            public String answer(InvocationOnMock invocation) throws Throwable {
-                                return invocation.getArgument(0);
-                            }
-                        });
-
         // Test get recordings from uploads
         List<ArchivedRecordingInfo> result =
                 recordingArchiveHelper.getRecordings(targetIdUploads).get();
 
-        Mockito.verify(archivedRecordingsPath).resolve(targetIdUploads);
-
         List<ArchivedRecordingInfo> expected =
                 List.of(
                         new ArchivedRecordingInfo(
@@ -1037,24 +1027,68 @@ class RecordingArchiveHelperTest {
                                 "/some/path/download/foo_recording",
                                 "/some/path/archive/foo_recording",
                                 new Metadata(),
-                                0,
-                                0));
+                                1,
+                                2));
         MatcherAssert.assertThat(result, Matchers.equalTo(expected));
 
         // Test get recordings from target
         result = recordingArchiveHelper.getRecordings(targetIdTarget).get();
-        Mockito.verify(archivedRecordingsPath).resolve(targetIdTarget);
 
         expected =
                 List.of(
                         new ArchivedRecordingInfo(
                                 targetIdTarget,
-                                "foo_recording",
-                                "/some/path/download/foo_recording",
-                                "/some/path/archive/foo_recording",
-                                new Metadata(),
-                                0,
-                                0));
+                                "bar_recording",
+                                "/some/path/download/bar_recording",
+                                "/some/path/archive/bar_recording",
+                                new Metadata(Map.of("key", "value")),
+                                3,
+                                4));
+        MatcherAssert.assertThat(result, Matchers.equalTo(expected));
+    }
+
+    @Test
+    void getRecordingsByTargetShouldReadCatalogOnceAndOmitUnknownTargets() throws Exception {
+        String targetIdUploads = "uploads";
+        String targetIdTarget = "someServiceUri";
+        String targetIdUnknown = "unknownServiceUri";
+        Mockito.when(jvmIdHelper.getJvmId(Mockito.eq(targetIdUploads))).thenReturn(targetIdUploads);
+        Mockito.when(jvmIdHelper.getJvmId(Mockito.eq(targetIdTarget))).thenReturn(targetIdTarget);
+        Mockito.when(jvmIdHelper.getJvmId(Mockito.eq(targetIdUnknown)))
+                .thenThrow(new JvmIdGetException(new Exception("timed out"), targetIdUnknown));
+
+        ArchivedRecordingsCatalog.Directory uploads =
+                new ArchivedRecordingsCatalog.Directory(targetIdUploads, targetIdUploads);
+        uploads.add(new ArchivedRecordingsCatalog.Entry("foo_recording", 1, 2, new Metadata()));
+        catalog.reconcile(Map.of(targetIdUploads, uploads));
+
+        Mockito.when(webServer.getArchivedReportURL(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn("/some/path/archive/foo_recording");
+        Mockito.when(webServer.getArchivedDownloadURL(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn("/some/path/download/foo_recording");
+
+        Map<String, List<ArchivedRecordingInfo>> result =
+                recordingArchiveHelper
+                        .getRecordingsByTarget(
+                                List.of(targetIdUploads, targetIdTarget, targetIdUnknown))
+                        .get();
+
+        MatcherAssert.assertThat(
+                result,
+                Matchers.equalTo(
+                        Map.of(
+                                targetIdUploads,
+                                List.of(
+                                        new ArchivedRecordingInfo(
+                                                targetIdUploads,
+                                                "foo_recording",
+                                                "/some/path/download/foo_recording",
+                                                "/some/path/archive/foo_recording",
+                                                new Metadata(),
+                                                1,
+                                                2)),
+                                targetIdTarget,
+                                List.of())));
     }
 
     @Test
@@ -1133,20 +1167,112 @@ class RecordingArchiveHelperTest {
                                                 0,
                                                 0))));
 
+        // directories are listed in subdirectory name order
         MatcherAssert.assertThat(result, Matchers.hasSize(2));
         MatcherAssert.assertThat(
-                result.get(0).getConnectUrl(), Matchers.equalTo(expected.get(0).getConnectUrl()));
+                result.get(0).getConnectUrl(), Matchers.equalTo(expected.get(1).getConnectUrl()));
+        MatcherAssert.assertThat(
+                result.get(0).getJvmId(), Matchers.equalTo(expected.get(1).getJvmId()));
+        MatcherAssert.assertThat(
+                result.get(0).getRecordings(), Matchers.equalTo(expected.get(1).getRecordings()));
+
+        MatcherAssert.assertThat(
+                result.get(1).getConnectUrl(), Matchers.equalTo(expected.get(0).getConnectUrl()));
         MatcherAssert.assertThat(
-                result.get(0).getJvmId(), Matchers.equalTo(expected.get(0).getJvmId()));
+                result.get(1).getJvmId(), Matchers.equalTo(expected.get(0).getJvmId()));
         MatcherAssert.assertThat(
-                result.get(0).getRecordings(), Matchers.equalTo(expected.get(0).getRecordings()));
+                result.get(1).getRecordings(), Matchers.equalTo(expected.get(0).getRecordings()));
+    }
+
+    @Test
+    void reconcileShouldKeepKnownRecordingsAndDescribeOnlyNewOnes() throws Exception {
+        Mockito.when(fs.exists(Mockito.any())).thenReturn(true);
+        Mockito.when(fs.isReadable(Mockito.any())).thenReturn(true);
+        Mockito.when(fs.isDirectory(Mockito.any())).thenReturn(true);
+
+        String subdirectoryName = "encodedJvmIdA";
+        ArchivedRecordingsCatalog.Directory known =
+                new ArchivedRecordingsCatalog.Directory("connectUrlA", subdirectoryName);
+        known.add(
+                new ArchivedRecordingsCatalog.Entry(
+                        "knownRecording", 10, 20, new Metadata(Map.of("key", "value"))));
+        known.add(new ArchivedRecordingsCatalog.Entry("deletedRecording", 30, 40, new Metadata()));
+        catalog.reconcile(Map.of(subdirectoryName, known));
+
+        Mockito.when(fs.listDirectoryChildren(archivedRecordingsPath))
+                .thenReturn(List.of(subdirectoryName));
+        Mockito.when(archivedRecordingsPath.resolve(subdirectoryName))
+                .thenReturn(Path.of(subdirectoryName));
+        Mockito.when(fs.listDirectoryChildren(Path.of(subdirectoryName)))
+                .thenReturn(List.of("knownRecording", "newRecording", "connectUrl"));
+        BufferedReader reader = Mockito.mock(BufferedReader.class);
+        Mockito.when(fs.readFile(Mockito.any(Path.class))).thenReturn(reader);
+        Mockito.when(reader.readLine()).thenReturn("connectUrlA");
+        Mockito.when(
+                        recordingMetadataManager.getMetadataFromPathIfExists(
+                                subdirectoryName, "newRecording"))
+                .thenReturn(new Metadata(Map.of("new", "label")));
+
+        recordingArchiveHelper.reconcileCatalog();
+
+        Mockito.verify(recordingMetadataManager, Mockito.never())
+                .getMetadataFromPathIfExists(subdirectoryName, "knownRecording");
+        ArchivedRecordingsCatalog.Directory directory =
+                catalog.getDirectory(subdirectoryName).orElseThrow();
+        MatcherAssert.assertThat(directory.getConnectUrl(), Matchers.equalTo("connectUrlA"));
+        MatcherAssert.assertThat(directory.getRecordings(), Matchers.hasSize(2));
+        ArchivedRecordingsCatalog.Entry knownEntry =
+                directory.getRecording("knownRecording").orElseThrow();
+        MatcherAssert.assertThat(knownEntry.getSize(), Matchers.equalTo(10L));
+        MatcherAssert.assertThat(knownEntry.getArchivedTime(), Matchers.equalTo(20L));
+        MatcherAssert.assertThat(
+                knownEntry.getMetadata(), Matchers.equalTo(new Metadata(Map.of("key", "value"))));
+        MatcherAssert.assertThat(
+                directory.getRecording("newRecording").orElseThrow().getMetadata(),
+                Matchers.equalTo(new Metadata(Map.of("new", "label"))));
+        MatcherAssert.assertThat(
+                directory.getRecording("deletedRecording"), Matchers.equalTo(Optional.empty()));
+    }
 
+    @Test
+    void listsAndLookupsShouldNotTouchFileSystemOnceCataloged() throws Exception {
+        ArchivedRecordingsCatalog.Directory directory =
+                new ArchivedRecordingsCatalog.Directory("connectUrlA", "encodedJvmIdA");
+        directory.add(new ArchivedRecordingsCatalog.Entry("recordingA", 1, 2, new Metadata()));
+        catalog.reconcile(Map.of("encodedJvmIdA", directory));
+        Mockito.when(archivedRecordingsPath.resolve("encodedJvmIdA"))
+                .thenReturn(Path.of("encodedJvmIdA"));
+        Mockito.when(webServer.getArchivedDownloadURL(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn("/some/path/download/recordingA");
+        Mockito.when(webServer.getArchivedReportURL(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn("/some/path/archive/recordingA");
+        Mockito.clearInvocations(fs);
+
+        MatcherAssert.assertThat(recordingArchiveHelper.getRecordings().get(), Matchers.hasSize(1));
+        MatcherAssert.assertThat(
+                recordingArchiveHelper.getRecordingsAndDirectories().get(), Matchers.hasSize(1));
         MatcherAssert.assertThat(
-                result.get(1).getConnectUrl(), Matchers.equalTo(expected.get(1).getConnectUrl()));
+                recordingArchiveHelper.getRecordingPath("recordingA").get(),
+                Matchers.equalTo(Path.of("encodedJvmIdA", "recordingA").toAbsolutePath()));
         MatcherAssert.assertThat(
-                result.get(1).getJvmId(), Matchers.equalTo(expected.get(1).getJvmId()));
+                recordingArchiveHelper
+                        .getRecordingPathFromPath("encodedJvmIdA", "recordingA")
+                        .get(),
+                Matchers.equalTo(Path.of("encodedJvmIdA", "recordingA")));
+
+        Mockito.verifyNoInteractions(fs);
+    }
+
+    @Test
+    void getRecordingPathShouldFailForUncatalogedRecording() throws Exception {
+        catalog.reconcile(Map.of());
+
+        ExecutionException ex =
+                Assertions.assertThrows(
+                        ExecutionException.class,
+                        () -> recordingArchiveHelper.getRecordingPath("missing").get());
         MatcherAssert.assertThat(
-                result.get(1).getRecordings(), Matchers.equalTo(expected.get(1).getRecordings()));
+                ex.getCause(), Matchers.instanceOf(RecordingNotFoundException.class));
     }
 
     @Test
@@ -20,11 +20,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.StringReader;
-import java.nio.file.OpenOption;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.inject.Provider;
 
@@ -45,8 +46,12 @@ import io.cryostat.recordings.RecordingMetadataManager.Metadata;
 import io.cryostat.recordings.RecordingMetadataManager.StoredRecordingMetadata;
 
 import com.google.gson.Gson;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
 import org.apache.commons.codec.binary.Base32;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -70,7 +75,9 @@ public class RecordingMetadataManagerTest {
     @Mock Path recordingMetadataDir;
     @Mock Path archivedRecordingsPath;
     @Mock FileSystem fs;
+    @Mock RecordingMetadataStore store;
     @Mock Provider<RecordingArchiveHelper> archiveHelperProvider;
+    @Mock ArchivedRecordingsCatalog catalog;
     @Mock Base32 base32;
     @Mock TargetConnectionManager targetConnectionManager;
     @Mock CredentialsManager credentialsManager;
@@ -136,7 +143,9 @@ public class RecordingMetadataManagerTest {
                         archivedRecordingsPath,
                         30,
                         fs,
+                        store,
                         archiveHelperProvider,
+                        catalog,
                         targetConnectionManager,
                         credentialsManager,
                         platformClient,
@@ -147,6 +156,41 @@ public class RecordingMetadataManagerTest {
         this.recordingMetadataManager.init(vertx, null);
     }
 
+    @Test
+    void shouldFlushImportedLegacyMetadataBeforeDeletingIt() throws Exception {
+        Path subdirectory = Mockito.mock(Path.class);
+        Path readable = Mockito.mock(Path.class);
+        Path unreadable = Mockito.mock(Path.class);
+        Mockito.when(fs.listDirectoryChildren(archivedRecordingsPath)).thenReturn(List.of());
+        Mockito.when(fs.listDirectoryChildren(recordingMetadataDir)).thenReturn(List.of("jvm1"));
+        Mockito.when(recordingMetadataDir.resolve("jvm1")).thenReturn(subdirectory);
+        Mockito.when(fs.isDirectory(subdirectory)).thenReturn(true);
+        Mockito.when(fs.listDirectoryChildren(subdirectory)).thenReturn(List.of("a", "b"));
+        Mockito.when(subdirectory.resolve("a")).thenReturn(readable);
+        Mockito.when(subdirectory.resolve("b")).thenReturn(unreadable);
+        Mockito.when(fs.isRegularFile(readable)).thenReturn(true);
+        Mockito.when(fs.isRegularFile(unreadable)).thenReturn(true);
+        StoredRecordingMetadata srm =
+                StoredRecordingMetadata.of(
+                        "target", "jvm1", "foo", new Metadata(Map.of("key", "value")));
+        Mockito.when(fs.readFile(readable))
+                .thenReturn(new BufferedReader(new StringReader(gson.toJson(srm))));
+        Mockito.when(fs.readFile(unreadable)).thenThrow(new IOException("unreadable"));
+        Mockito.when(fs.exists(readable)).thenReturn(true);
+        Mockito.when(fs.deleteIfExists(readable)).thenReturn(true);
+        Mockito.when(vertx.eventBus()).thenReturn(Mockito.mock(EventBus.class));
+
+        Promise<Void> promise = Promise.promise();
+        recordingMetadataManager.start(promise);
+
+        MatcherAssert.assertThat(promise.future().succeeded(), Matchers.is(true));
+        InOrder inOrder = Mockito.inOrder(store, fs);
+        inOrder.verify(store).put(srm);
+        inOrder.verify(store).flush();
+        inOrder.verify(fs).deleteIfExists(readable);
+        Mockito.verify(fs, Mockito.never()).deleteIfExists(unreadable);
+    }
+
     @Test
     void shouldParseAndStoreLabels() throws Exception {
         String recordingName = "someRecording";
@@ -157,21 +201,40 @@ public class RecordingMetadataManagerTest {
 
         when(jvmIdHelper.getJvmId(Mockito.any(ConnectionDescriptor.class))).thenReturn(jvmId);
         when(connectionDescriptor.getTargetId()).thenReturn("someTarget");
-        Path mockPath = Mockito.mock(Path.class);
-        when(recordingMetadataDir.resolve(Mockito.anyString())).thenReturn(mockPath);
-        when(mockPath.resolve(Mockito.anyString())).thenReturn(mockPath);
 
         recordingMetadataManager
                 .setRecordingMetadata(connectionDescriptor, recordingName, new Metadata(labels))
                 .get();
 
-        verify(fs)
-                .writeString(
-                        Mockito.any(Path.class),
-                        Mockito.anyString(),
-                        Mockito.any(OpenOption.class),
-                        Mockito.any(OpenOption.class),
-                        Mockito.any(OpenOption.class));
+        verify(store)
+                .put(
+                        StoredRecordingMetadata.of(
+                                "someTarget", jvmId, recordingName, new Metadata(labels)));
+        Mockito.verifyNoInteractions(fs);
+    }
+
+    @Test
+    void shouldGetStoredLabelsWithoutWritingDefaults() throws Exception {
+        String recordingName = "someRecording";
+        String jvmId = "id";
+        Metadata metadata = new Metadata(Map.of("KEY", "value"));
+
+        when(jvmIdHelper.getJvmId(Mockito.any(ConnectionDescriptor.class))).thenReturn(jvmId);
+        when(connectionDescriptor.getTargetId()).thenReturn("someTarget");
+        when(store.get(jvmId, recordingName))
+                .thenReturn(
+                        Optional.of(
+                                StoredRecordingMetadata.of(
+                                        "someTarget", jvmId, recordingName, metadata)));
+
+        MatcherAssert.assertThat(
+                recordingMetadataManager.getMetadata(connectionDescriptor, recordingName),
+                Matchers.equalTo(metadata));
+        MatcherAssert.assertThat(
+                recordingMetadataManager.getMetadataFromPathIfExists(jvmId, "other"),
+                Matchers.equalTo(new Metadata()));
+        Mockito.verify(store, Mockito.never()).put(Mockito.any());
+        Mockito.verifyNoInteractions(fs);
     }
 
     @ParameterizedTest
@@ -204,24 +267,23 @@ public class RecordingMetadataManagerTest {
 
         when(jvmIdHelper.getJvmId(Mockito.any(ConnectionDescriptor.class))).thenReturn(jvmId);
         when(connectionDescriptor.getTargetId()).thenReturn("someTarget");
-        Path mockPath = Mockito.mock(Path.class);
-        Path parentPath = Mockito.mock(Path.class);
-        when(recordingMetadataDir.resolve(Mockito.anyString())).thenReturn(mockPath);
-        when(mockPath.resolve(Mockito.anyString())).thenReturn(mockPath);
-        when(mockPath.getParent()).thenReturn(parentPath);
-
-        when(fs.deleteIfExists(mockPath)).thenReturn(true);
-        when(fs.isRegularFile(mockPath)).thenReturn(true);
-        when(fs.readFile(mockPath))
-                .thenReturn(new BufferedReader(new StringReader("{\"labels\":{}}")));
+        when(store.remove(jvmId, recordingName))
+                .thenReturn(
+                        Optional.of(
+                                StoredRecordingMetadata.of(
+                                        "someTarget", jvmId, recordingName, metadata)))
+                .thenReturn(Optional.empty());
 
         recordingMetadataManager
                 .setRecordingMetadata(connectionDescriptor, recordingName, metadata)
                 .get();
 
-        recordingMetadataManager.deleteRecordingMetadataIfExists(jvmId, recordingName);
-
-        verify(fs).deleteIfExists(Mockito.any(Path.class));
+        MatcherAssert.assertThat(
+                recordingMetadataManager.deleteRecordingMetadataIfExists(jvmId, recordingName),
+                Matchers.equalTo(metadata));
+        MatcherAssert.assertThat(
+                recordingMetadataManager.deleteRecordingMetadataIfExists(jvmId, recordingName),
+                Matchers.nullValue());
     }
 
     @Test
@@ -241,9 +303,6 @@ public class RecordingMetadataManagerTest {
 
         when(jvmIdHelper.getJvmId(Mockito.any(ConnectionDescriptor.class))).thenReturn(jvmId);
         when(connectionDescriptor.getTargetId()).thenReturn(targetId);
-        Path mockPath = Mockito.mock(Path.class);
-        when(recordingMetadataDir.resolve(Mockito.anyString())).thenReturn(mockPath);
-        when(mockPath.resolve(Mockito.anyString())).thenReturn(mockPath);
 
         recordingMetadataManager
                 .setRecordingMetadata(connectionDescriptor, recordingName, metadata)
@@ -253,21 +312,9 @@ public class RecordingMetadataManagerTest {
                 .setRecordingMetadata(connectionDescriptor, recordingName, updatedMetadata)
                 .get();
 
-        InOrder inOrder = Mockito.inOrder(fs);
-        inOrder.verify(fs)
-                .writeString(
-                        mockPath,
-                        gson.toJson(srm),
-                        StandardOpenOption.WRITE,
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.TRUNCATE_EXISTING);
-        inOrder.verify(fs)
-                .writeString(
-                        mockPath,
-                        gson.toJson(updatedSrm),
-                        StandardOpenOption.WRITE,
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.TRUNCATE_EXISTING);
+        InOrder inOrder = Mockito.inOrder(store);
+        inOrder.verify(store).put(srm);
+        inOrder.verify(store).put(updatedSrm);
     }
 
     @Test
@@ -282,9 +329,7 @@ public class RecordingMetadataManagerTest {
         String filename = "archivedRecording";
         when(jvmIdHelper.getJvmId(Mockito.any(ConnectionDescriptor.class))).thenReturn(jvmId);
         when(connectionDescriptor.getTargetId()).thenReturn(targetId);
-        Path mockPath = Mockito.mock(Path.class);
-        when(recordingMetadataDir.resolve(Mockito.anyString())).thenReturn(mockPath);
-        when(mockPath.resolve(Mockito.anyString())).thenReturn(mockPath);
+        when(store.get(jvmId, recordingName)).thenReturn(Optional.of(srm));
 
         recordingMetadataManager
                 .setRecordingMetadata(connectionDescriptor, recordingName, metadata)
@@ -293,12 +338,7 @@ public class RecordingMetadataManagerTest {
         recordingMetadataManager.copyMetadataToArchives(
                 connectionDescriptor, recordingName, filename);
 
-        Mockito.verify(fs)
-                .writeString(
-                        mockPath,
-                        gson.toJson(srm),
-                        StandardOpenOption.WRITE,
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.TRUNCATE_EXISTING);
+        Mockito.verify(store).put(srm);
+        Mockito.verify(store).put(StoredRecordingMetadata.of(targetId, jvmId, filename, metadata));
     }
 }
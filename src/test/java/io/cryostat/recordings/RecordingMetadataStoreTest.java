@@ -0,0 +1,179 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.recordings;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+
+import io.cryostat.MainModule;
+import io.cryostat.core.sys.FileSystem;
+import io.cryostat.recordings.RecordingMetadataManager.Metadata;
+import io.cryostat.recordings.RecordingMetadataManager.StoredRecordingMetadata;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RecordingMetadataStoreTest {
+
+    RecordingMetadataStore store;
+    @TempDir Path dir;
+    @Mock ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setup() throws Exception {
+        this.store = newStore();
+        store.load();
+    }
+
+    RecordingMetadataStore newStore() {
+        return new RecordingMetadataStore(
+                new FileSystem(), dir, scheduler, 1000, MainModule.provideGson());
+    }
+
+    static StoredRecordingMetadata srm(String jvmId, String recordingName, String value) {
+        return StoredRecordingMetadata.of(
+                "target", jvmId, recordingName, new Metadata(Map.of("key", value)));
+    }
+
+    @Test
+    void shouldScheduleFlushesOnLoad() {
+        Mockito.verify(scheduler)
+                .scheduleWithFixedDelay(
+                        Mockito.any(Runnable.class),
+                        Mockito.eq(1000L),
+                        Mockito.eq(1000L),
+                        Mockito.any());
+    }
+
+    @Test
+    void shouldServeWritesFromMemoryBeforeFlush() {
+        store.put(srm("jvm1", "foo", "a"));
+        store.put(srm("jvm1", "bar", "b"));
+        store.put(srm("jvm2", "foo", "c"));
+
+        MatcherAssert.assertThat(
+                store.get("jvm1", "foo"), Matchers.equalTo(Optional.of(srm("jvm1", "foo", "a"))));
+        MatcherAssert.assertThat(
+                store.getAll("jvm1"),
+                Matchers.containsInAnyOrder(srm("jvm1", "foo", "a"), srm("jvm1", "bar", "b")));
+        MatcherAssert.assertThat(store.getAll(), Matchers.hasSize(3));
+        MatcherAssert.assertThat(
+                Files.exists(dir.resolve(RecordingMetadataStore.LOG_FILE)), Matchers.is(false));
+    }
+
+    @Test
+    void shouldReplayFlushedLog() throws Exception {
+        store.put(srm("jvm1", "foo", "a"));
+        store.put(srm("jvm1", "foo", "b"));
+        store.put(srm("jvm1", "bar", "c"));
+        MatcherAssert.assertThat(
+                store.remove("jvm1", "bar"),
+                Matchers.equalTo(Optional.of(srm("jvm1", "bar", "c"))));
+        MatcherAssert.assertThat(store.remove("jvm1", "bar"), Matchers.equalTo(Optional.empty()));
+        store.flush();
+
+        RecordingMetadataStore reloaded = newStore();
+        reloaded.load();
+
+        MatcherAssert.assertThat(reloaded.getAll(), Matchers.contains(srm("jvm1", "foo", "b")));
+    }
+
+    @Test
+    void shouldSkipTornRecords() throws Exception {
+        store.put(srm("jvm1", "foo", "a"));
+        store.flush();
+        Files.writeString(
+                dir.resolve(RecordingMetadataStore.LOG_FILE),
+                "{\"op\":\"PUT\",\"metad",
+                StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        RecordingMetadataStore reloaded = newStore();
+        reloaded.load();
+
+        MatcherAssert.assertThat(reloaded.getAll(), Matchers.contains(srm("jvm1", "foo", "a")));
+    }
+
+    @Test
+    void shouldNotAppendAfterTornRecord() throws Exception {
+        store.put(srm("jvm1", "foo", "a"));
+        store.flush();
+        Path log = dir.resolve(RecordingMetadataStore.LOG_FILE);
+        Files.writeString(
+                log, "{\"op\":\"PUT\",\"metad", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        RecordingMetadataStore reloaded = newStore();
+        reloaded.load();
+        MatcherAssert.assertThat(Files.readString(log), Matchers.endsWith("\n"));
+        reloaded.put(srm("jvm1", "bar", "b"));
+        reloaded.flush();
+
+        RecordingMetadataStore again = newStore();
+        again.load();
+        MatcherAssert.assertThat(
+                again.getAll(),
+                Matchers.containsInAnyOrder(srm("jvm1", "foo", "a"), srm("jvm1", "bar", "b")));
+        MatcherAssert.assertThat(Files.readAllLines(log), Matchers.hasSize(2));
+    }
+
+    @Test
+    void shouldFlushAndShutDownSchedulerOnClose() throws Exception {
+        store.put(srm("jvm1", "foo", "a"));
+
+        store.close();
+
+        Mockito.verify(scheduler).shutdown();
+        RecordingMetadataStore reloaded = newStore();
+        reloaded.load();
+        MatcherAssert.assertThat(reloaded.getAll(), Matchers.contains(srm("jvm1", "foo", "a")));
+    }
+
+    @Test
+    void shouldCompactLogOfMostlySupersededRecords() throws Exception {
+        for (int i = 0; i < RecordingMetadataStore.COMPACTION_MIN_RECORDS; i++) {
+            store.put(srm("jvm1", "foo", String.valueOf(i)));
+        }
+        store.put(srm("jvm1", "bar", "x"));
+        store.flush();
+
+        Path log = dir.resolve(RecordingMetadataStore.LOG_FILE);
+        MatcherAssert.assertThat(Files.readAllLines(log), Matchers.hasSize(2));
+
+        RecordingMetadataStore reloaded = newStore();
+        reloaded.load();
+        MatcherAssert.assertThat(
+                reloaded.getAll(),
+                Matchers.containsInAnyOrder(
+                        srm(
+                                "jvm1",
+                                "foo",
+                                String.valueOf(RecordingMetadataStore.COMPACTION_MIN_RECORDS - 1)),
+                        srm("jvm1", "bar", "x")));
+    }
+}
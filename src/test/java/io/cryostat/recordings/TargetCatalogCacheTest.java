@@ -0,0 +1,245 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.recordings;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import org.openjdk.jmc.common.unit.IOptionDescriptor;
+import org.openjdk.jmc.flightrecorder.configuration.events.IEventTypeID;
+import org.openjdk.jmc.rjmx.services.jfr.IEventTypeInfo;
+
+import io.cryostat.core.net.Credentials;
+import io.cryostat.core.net.CryostatFlightRecorderService;
+import io.cryostat.core.net.JFRConnection;
+import io.cryostat.core.net.discovery.JvmDiscoveryClient.EventKind;
+import io.cryostat.core.templates.Template;
+import io.cryostat.core.templates.TemplateService;
+import io.cryostat.core.templates.TemplateType;
+import io.cryostat.net.ConnectionDescriptor;
+import io.cryostat.net.TargetConnectionManager;
+import io.cryostat.platform.PlatformClient;
+import io.cryostat.platform.ServiceRef;
+import io.cryostat.platform.TargetDiscoveryEvent;
+import io.cryostat.util.events.Event;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TargetCatalogCacheTest {
+
+    TargetCatalogCache cache;
+    @Mock TargetConnectionManager targetConnectionManager;
+    @Mock JvmIdHelper jvmIdHelper;
+    @Mock PlatformClient platform;
+    @Mock JFRConnection connection;
+    @Mock CryostatFlightRecorderService service;
+    @Mock IEventTypeInfo eventTypeInfo;
+    @Mock IEventTypeID eventTypeId;
+
+    ConnectionDescriptor cd =
+            new ConnectionDescriptor("service:jmx:rmi:///jndi/rmi://foo:9091/jmxrmi");
+
+    @BeforeEach
+    void setup() throws Exception {
+        this.cache =
+                new TargetCatalogCache(
+                        targetConnectionManager, jvmIdHelper, platform, Duration.ofMinutes(5));
+    }
+
+    void givenTarget() throws Exception {
+        Mockito.when(
+                        targetConnectionManager.executeConnectedTask(
+                                Mockito.any(ConnectionDescriptor.class), Mockito.any()))
+                .thenAnswer(
+                        arg0 ->
+                                ((TargetConnectionManager.ConnectedTask<Object>)
+                                                arg0.getArgument(1))
+                                        .execute(connection));
+        Mockito.lenient().when(connection.getService()).thenReturn(service);
+        Mockito.lenient().when(eventTypeId.getFullKey()).thenReturn("jdk.CPULoad");
+        Mockito.lenient().when(eventTypeInfo.getEventTypeID()).thenReturn(eventTypeId);
+        Mockito.lenient().when(eventTypeInfo.getName()).thenReturn("CPU Load");
+        Mockito.lenient()
+                .when(eventTypeInfo.getHierarchicalCategory())
+                .thenReturn(new String[] {"Operating System", "Processor"});
+        Mockito.lenient()
+                .when(service.getAvailableEventTypes())
+                .thenReturn((List) List.of(eventTypeInfo));
+    }
+
+    @Test
+    void shouldServeEventTypesFromCacheForKnownJvm() throws Exception {
+        givenTarget();
+        Mockito.when(jvmIdHelper.getJvmId(cd)).thenReturn("abcd1234");
+
+        EventTypeIndex first = cache.getEventTypes(cd);
+        EventTypeIndex second = cache.getEventTypes(cd);
+
+        MatcherAssert.assertThat(second, Matchers.sameInstance(first));
+        MatcherAssert.assertThat(first.getEventTypes(), Matchers.hasSize(1));
+        Mockito.verify(targetConnectionManager, Mockito.times(1))
+                .executeConnectedTask(Mockito.any(ConnectionDescriptor.class), Mockito.any());
+    }
+
+    @Test
+    void shouldNotCacheWhenJvmIdUnknown() throws Exception {
+        givenTarget();
+        Mockito.when(jvmIdHelper.getJvmId(cd))
+                .thenThrow(new JvmIdHelper.JvmIdGetException("unreachable", cd.getTargetId()));
+
+        cache.getEventTypes(cd);
+        cache.getEventTypes(cd);
+
+        Mockito.verify(targetConnectionManager, Mockito.times(2))
+                .executeConnectedTask(Mockito.any(ConnectionDescriptor.class), Mockito.any());
+    }
+
+    @Test
+    void shouldReloadAfterJvmIdInvalidated() throws Exception {
+        givenTarget();
+        Mockito.when(jvmIdHelper.getJvmId(cd)).thenReturn("abcd1234");
+        Mockito.verify(jvmIdHelper).addListener(cache);
+
+        EventTypeIndex first = cache.getEventTypes(cd);
+        cache.onEvent(new Event<>(JvmIdHelper.IdEvent.INVALIDATED, "abcd1234"));
+        EventTypeIndex second = cache.getEventTypes(cd);
+
+        MatcherAssert.assertThat(second, Matchers.not(Matchers.sameInstance(first)));
+        Mockito.verify(targetConnectionManager, Mockito.times(2))
+                .executeConnectedTask(Mockito.any(ConnectionDescriptor.class), Mockito.any());
+    }
+
+    @Test
+    void shouldReloadAfterTargetLost() throws Exception {
+        ArgumentCaptor<Consumer<TargetDiscoveryEvent>> listener =
+                ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(platform).addTargetDiscoveryListener(listener.capture());
+        givenTarget();
+        IOptionDescriptor<?> option = Mockito.mock(IOptionDescriptor.class);
+        Mockito.when(service.getAvailableRecordingOptions())
+                .thenReturn((Map) Map.of("maxAge", option));
+        Mockito.when(jvmIdHelper.getJvmId(cd)).thenReturn("abcd1234");
+
+        cache.getRecordingOptions(cd);
+        cache.getRecordingOptions(cd);
+        Mockito.verify(targetConnectionManager, Mockito.times(1))
+                .executeConnectedTask(Mockito.any(ConnectionDescriptor.class), Mockito.any());
+
+        listener.getValue()
+                .accept(
+                        new TargetDiscoveryEvent(
+                                EventKind.LOST,
+                                new ServiceRef("abcd1234", URI.create(cd.getTargetId()), "foo")));
+        Map<String, IOptionDescriptor<?>> options = cache.getRecordingOptions(cd);
+
+        MatcherAssert.assertThat(options, Matchers.hasKey("maxAge"));
+        Mockito.verify(targetConnectionManager, Mockito.times(2))
+                .executeConnectedTask(Mockito.any(ConnectionDescriptor.class), Mockito.any());
+    }
+
+    @Test
+    void shouldOnlyCacheTargetTemplates() throws Exception {
+        givenTarget();
+        Mockito.when(jvmIdHelper.getJvmId(cd)).thenReturn("abcd1234");
+        TemplateService templateService = Mockito.mock(TemplateService.class);
+        Mockito.when(connection.getTemplateService()).thenReturn(templateService);
+        Template target = new Template("Profiling", "desc", "Oracle", TemplateType.TARGET);
+        Template custom = new Template("Custom", "desc", "Cryostat", TemplateType.CUSTOM);
+        Mockito.when(templateService.getTemplates()).thenReturn(List.of(target, custom));
+
+        MatcherAssert.assertThat(cache.getTargetTemplates(cd), Matchers.equalTo(List.of(target)));
+        MatcherAssert.assertThat(cache.getTargetTemplates(cd), Matchers.equalTo(List.of(target)));
+        Mockito.verify(templateService, Mockito.times(1)).getTemplates();
+    }
+
+    @Test
+    void shouldNotServeCachedEntryToOtherCredentials() throws Exception {
+        givenTarget();
+        ConnectionDescriptor authorized =
+                new ConnectionDescriptor(cd.getTargetId(), new Credentials("user", "pass"));
+        ConnectionDescriptor wrong =
+                new ConnectionDescriptor(cd.getTargetId(), new Credentials("user", "wrong"));
+        Mockito.when(jvmIdHelper.getJvmId(Mockito.any(ConnectionDescriptor.class)))
+                .thenReturn("abcd1234");
+
+        cache.getEventTypes(authorized);
+        Mockito.doThrow(new SecurityException("authentication failed"))
+                .when(targetConnectionManager)
+                .executeConnectedTask(Mockito.eq(wrong), Mockito.any());
+        Mockito.doThrow(new SecurityException("authentication required"))
+                .when(targetConnectionManager)
+                .executeConnectedTask(Mockito.eq(cd), Mockito.any());
+
+        Assertions.assertThrows(SecurityException.class, () -> cache.getEventTypes(wrong));
+        Assertions.assertThrows(SecurityException.class, () -> cache.getEventTypes(cd));
+        cache.getEventTypes(authorized);
+
+        Mockito.verify(targetConnectionManager, Mockito.times(1))
+                .executeConnectedTask(Mockito.eq(authorized), Mockito.any());
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        Mockito.when(jvmIdHelper.getJvmId(cd)).thenReturn("abcd1234");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(
+                        targetConnectionManager.executeConnectedTask(
+                                Mockito.any(ConnectionDescriptor.class), Mockito.any()))
+                .thenAnswer(
+                        invocation -> {
+                            loading.countDown();
+                            release.await();
+                            return new EventTypeIndex(List.of());
+                        });
+
+        CompletableFuture<EventTypeIndex> first = loadAsync();
+        loading.await();
+        CompletableFuture<EventTypeIndex> second = loadAsync();
+        release.countDown();
+
+        MatcherAssert.assertThat(second.get(), Matchers.sameInstance(first.get()));
+        Mockito.verify(targetConnectionManager, Mockito.times(1))
+                .executeConnectedTask(Mockito.any(ConnectionDescriptor.class), Mockito.any());
+    }
+
+    CompletableFuture<EventTypeIndex> loadAsync() {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return cache.getEventTypes(cd);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.rules;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import javax.script.ScriptEngine;
+
+import io.cryostat.MainModule;
+import io.cryostat.configuration.CredentialsManager;
+import io.cryostat.platform.ServiceRef;
+import io.cryostat.platform.ServiceRef.AnnotationKey;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MatchExpressionCompilerTest {
+
+    MatchExpressionCompiler compiler;
+    MatchExpressionEvaluator scriptEvaluator;
+    ScriptEngine scriptEngine;
+    List<ServiceRef> targets;
+
+    @Mock CredentialsManager credentials;
+    @Mock RuleRegistry rules;
+
+    @BeforeEach
+    void setup() throws Exception {
+        this.compiler = new MatchExpressionCompiler();
+        this.scriptEngine = MainModule.provideScriptEngine();
+        this.scriptEvaluator = new MatchExpressionEvaluator(scriptEngine, credentials, rules);
+
+        ServiceRef full =
+                new ServiceRef(
+                        "-some1234HashId=",
+                        new URI("service:jmx:rmi:///jndi/rmi://cryostat:9091/jmxrmi"),
+                        "io.cryostat.Cryostat");
+        Map<String, String> labels = new HashMap<>();
+        labels.put("app", "cryostat");
+        labels.put("tier", "");
+        labels.put("nullish", null);
+        full.setLabels(labels);
+        full.setPlatformAnnotations(Map.of("port", "9091", "hex", "0x10", "flag", "true"));
+        full.setCryostatAnnotations(
+                Map.of(
+                        AnnotationKey.PORT, "9091",
+                        AnnotationKey.HOST, "cryostat",
+                        AnnotationKey.JAVA_MAIN, "io.cryostat.Cryostat"));
+
+        ServiceRef bare = new ServiceRef(null, new URI("http://localhost:8181/"), null);
+
+        ServiceRef multiline =
+                new ServiceRef("abc", new URI("service:jmx:rmi:///jndi/rmi://foo:1/jmxrmi"), "x");
+        multiline.setLabels(Map.of("app", "cryostat\n", "tier", " 10 "));
+
+        this.targets = List.of(full, bare, multiline);
+    }
+
+    private boolean script(String expression, ServiceRef serviceRef) throws Exception {
+        Object result = scriptEngine.eval(expression, scriptEvaluator.createBindings(serviceRef));
+        return (Boolean) result;
+    }
+
+    @Nested
+    class Compiled {
+
+        @ParameterizedTest
+        @ValueSource(
+                strings = {
+                    "true",
+                    "false",
+                    "!true",
+                    "(true)",
+                    "true && false",
+                    "true || false",
+                    "target.alias == 'io.cryostat.Cryostat'",
+                    "target.alias === 'io.cryostat.Cryostat'",
+                    "target.alias != 'io.cryostat.Cryostat'",
+                    "target.alias !== null",
+                    "target.alias == null",
+                    "target.alias === undefined",
+                    "target.jvmId == null",
+                    "target.jvmId === null",
+                    "target.connectUrl == 'http://localhost:8181/'",
+                    "target.connectUrl != 'http://localhost:8181/' && !(target.alias == 'x')",
+                    "target.labels.app == 'cryostat'",
+                    "target.labels['app'] === 'cryostat'",
+                    "target.labels.missing == null",
+                    "target.labels.missing === null",
+                    "target.labels.missing === undefined",
+                    "target.labels.nullish === null",
+                    "target.labels.nullish == undefined",
+                    "target.labels.tier == 0",
+                    "target.labels.tier == false",
+                    "target.labels.tier === ''",
+                    "target.labels.tier == 10",
+                    "target.noSuchProperty == undefined",
+                    "target.annotations.platform.port == 9091",
+                    "target.annotations.platform.port === 9091",
+                    "target.annotations.platform.hex == 16",
+                    "target.annotations.platform.flag == true",
+                    "target.annotations.cryostat.PORT == 9091",
+                    "target.annotations.cryostat.HOST == 'cryostat'",
+                    "target.annotations.cryostat.NOT_A_KEY === undefined",
+                    "target.annotations.cryostat.JAVA_MAIN == target.alias",
+                    "/^io\\.cryostat/.test(target.alias)",
+                    "/Cryostat$/.test(target.alias)",
+                    "/cryostat$/.test(target.labels.app)",
+                    "/cryostat$/m.test(target.labels.app)",
+                    "/CRYOSTAT/i.test(target.labels.app)",
+                    "/^[a-z]+$/.test(target.labels.app)",
+                    "/^[^:]+:(\\d+)$/.test('host:9091')",
+                    "/undefined/.test(target.labels.missing)",
+                    "/null/.test(target.alias)",
+                    "/:9091/.test(target.connectUrl) || target.jvmId == 'abc'",
+                    "target.connectUrl.startsWith('service:jmx')",
+                    "target.connectUrl.endsWith('/jmxrmi')",
+                    "target.alias != null && target.alias.startsWith('io')",
+                    "target.alias !== null && target.alias.endsWith('Cryostat')",
+                    "'cryostat'.startsWith(target.connectUrl) || true",
+                    "target.connectUrl.indexOf('localhost') >= 0",
+                    "target.connectUrl.indexOf('cryostat') == -1",
+                    "target.connectUrl.indexOf('jmx') === 8",
+                    "target.connectUrl.indexOf(target.labels.missing) < 0",
+                    "target.connectUrl.indexOf(target.jvmId) > -1",
+                    "target.connectUrl.indexOf(9091) <= 40",
+                    "target.connectUrl.toUpperCase().startsWith('SERVICE')",
+                    "target.connectUrl.toLowerCase() === target.connectUrl",
+                    "'\\u0130'.toLowerCase() == 'i\\u0307'",
+                    "'stra\\u00dfe'.toUpperCase() === 'STRASSE'",
+                    "target.connectUrl.match(/:\\d+/) != null",
+                    "target.connectUrl.match(/CRYOSTAT/i) === null",
+                    "target.connectUrl.match(/^http/) == undefined",
+                })
+        void shouldAgreeWithScriptEngine(String expression) throws Exception {
+            Optional<Predicate<ServiceRef>> predicate = compiler.compile(expression);
+            MatcherAssert.assertThat(expression, predicate.isPresent(), Matchers.is(true));
+            for (ServiceRef target : targets) {
+                MatcherAssert.assertThat(
+                        expression + " -> " + target,
+                        predicate.get().test(target),
+                        Matchers.equalTo(script(expression, target)));
+            }
+        }
+    }
+
+    @Nested
+    class Deferred {
+
+        @ParameterizedTest
+        @ValueSource(
+                strings = {
+                    "target.alias.startsWith('io')",
+                    "target.labels.app.endsWith('t')",
+                    "target.connectUrl.startsWith(target.alias)",
+                    "target.alias.indexOf('io') == 0",
+                    "target.alias.toLowerCase() == 'io'",
+                    "target.labels.app.match(/t/) != null",
+                })
+        void shouldDeferToScriptEngineWhereScriptThrows(String expression) throws Exception {
+            Optional<Predicate<ServiceRef>> predicate = compiler.compile(expression);
+            MatcherAssert.assertThat(expression, predicate.isPresent(), Matchers.is(true));
+            // the bare target has neither an alias nor labels
+            ServiceRef bare = targets.get(1);
+            Assertions.assertThrows(
+                    MatchExpressionCompiler.UnsupportedExpressionException.class,
+                    () -> predicate.get().test(bare));
+            // not always a ScriptException, ex. a null argument to a java.lang.String method
+            Assertions.assertThrows(Exception.class, () -> script(expression, bare));
+        }
+    }
+
+    @Nested
+    class FallBack {
+
+        @ParameterizedTest
+        @ValueSource(
+                strings = {
+                    "target.alias",
+                    "'string'",
+                    "target.labels",
+                    "target.labels.app && true",
+                    "!target.alias",
+                    "target.labels.empty == true",
+                    "target.labels.size == 1",
+                    "target.labels.app.length == 8",
+                    "target.alias.includes('io')",
+                    "target.alias.startsWith('io', 1)",
+                    "target.alias.startsWith(1)",
+                    "target.alias.startsWith(/io/)",
+                    "target.alias.indexOf('io')",
+                    "target.alias.indexOf('io', 1) == 0",
+                    "target.alias.toLowerCase('tr') == 'io'",
+                    "target.alias.toLocaleLowerCase() == 'io'",
+                    "target.alias.match(/io/) == 'io'",
+                    "target.alias.match(/io/) == target.alias",
+                    "target.alias.match('io') != null",
+                    "/io/.test(target.alias.match(/io/))",
+                    "target.labels.startsWith('a')",
+                    "target.startsWith('a')",
+                    "(1).toString() == '1'",
+                    "target.alias < 'b'",
+                    "target.labels[target.alias] == 'x'",
+                    "someGlobal == true",
+                    "/a/g.test(target.alias)",
+                    "/[^]/.test(target.alias)",
+                    "/(?<name>a)/.test(target.alias)",
+                    "/\\v/.test(target.alias)",
+                    "target.alias == 'a'; true",
+                    "Java.type('java.lang.System') == null",
+                    "target.alias ==",
+                })
+        void shouldNotCompile(String expression) {
+            MatcherAssert.assertThat(
+                    expression, compiler.compile(expression).isPresent(), Matchers.is(false));
+        }
+    }
+}
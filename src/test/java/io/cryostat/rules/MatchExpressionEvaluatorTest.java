@@ -250,6 +250,19 @@ class MatchExpressionEvaluatorTest {
             Assertions.assertTrue(ruleMatcher.applies(expr, serviceRef));
         }
 
+        @Test
+        void shouldMatchOnStringMethods() throws Exception {
+            String expr = "target.alias.startsWith('some') && target.labels.label1.endsWith('l')";
+            Assertions.assertTrue(ruleMatcher.applies(expr, serviceRef));
+        }
+
+        @Test
+        void shouldReportScriptErrorOnMethodOfMissingProperty() throws Exception {
+            String expr = "target.labels.label2.startsWith('some')";
+            Assertions.assertThrows(
+                    ScriptException.class, () -> ruleMatcher.applies(expr, serviceRef));
+        }
+
         @ParameterizedTest
         @ValueSource(strings = {"1", "null", "target.alias", "\"a string\""})
         void shouldThrowExceptionOnNonBooleanExpressionEval(String expr) throws Exception {
@@ -0,0 +1,136 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.rules;
+
+import java.net.URI;
+import java.util.Map;
+
+import io.cryostat.platform.ServiceRef;
+import io.cryostat.platform.ServiceRef.AnnotationKey;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RuleMatchIndexTest {
+
+    RuleMatchIndex index;
+    ServiceRef target;
+
+    @BeforeEach
+    void setup() {
+        this.index = new RuleMatchIndex(new MatchExpressionCompiler());
+        this.target =
+                new ServiceRef(
+                        "id",
+                        URI.create("service:jmx:rmi:///jndi/rmi://app:9091/jmxrmi"),
+                        "com.example.App");
+        target.setLabels(Map.of("app.kubernetes.io/name", "app"));
+        target.setPlatformAnnotations(Map.of("io.cryostat/port", "9091"));
+        target.setCryostatAnnotations(Map.of(AnnotationKey.HOST, "app"));
+    }
+
+    static Rule rule(String name, String matchExpression) throws Exception {
+        return new Rule.Builder()
+                .name(name)
+                .matchExpression(matchExpression)
+                .eventSpecifier("template=Continuous")
+                .build();
+    }
+
+    @Test
+    void shouldReturnIndexedRulesWithMatchingTerm() throws Exception {
+        Rule alias = rule("alias", "target.alias == 'com.example.App'");
+        Rule label = rule("label", "target.labels['app.kubernetes.io/name'] === 'app'");
+        Rule platform =
+                rule(
+                        "platform",
+                        "'9091' == target.annotations.platform['io.cryostat/port'] &&"
+                                + " /foo/.test(target.alias)");
+        Rule cryostat = rule("cryostat", "(target.annotations.cryostat.HOST == 'app')");
+        index.add(alias);
+        index.add(label);
+        index.add(platform);
+        index.add(cryostat);
+
+        MatcherAssert.assertThat(
+                index.getCandidates(target),
+                Matchers.containsInAnyOrder(alias, label, platform, cryostat));
+    }
+
+    @Test
+    void shouldExcludeIndexedRulesWithoutMatchingTerm() throws Exception {
+        index.add(rule("alias", "target.alias == 'com.example.Other'"));
+        index.add(rule("label", "target.labels.missing == 'app'"));
+        index.add(rule("cryostat", "target.annotations.cryostat.NOT_A_KEY == 'app'"));
+        index.add(rule("jvmId", "target.jvmId === 'other' && target.alias == 'com.example.App'"));
+
+        MatcherAssert.assertThat(index.getCandidates(target), Matchers.empty());
+    }
+
+    @Test
+    void shouldAlwaysReturnUnindexedRules() throws Exception {
+        Rule disjunction =
+                rule("disjunction", "target.alias == 'com.example.Other' || target.alias == 'foo'");
+        Rule inequality = rule("inequality", "target.alias != 'com.example.Other'");
+        Rule regex = rule("regex", "/Other/.test(target.alias)");
+        index.add(disjunction);
+        index.add(inequality);
+        index.add(regex);
+
+        MatcherAssert.assertThat(
+                index.getCandidates(target),
+                Matchers.containsInAnyOrder(disjunction, inequality, regex));
+    }
+
+    @Test
+    void shouldRemoveRulesByName() throws Exception {
+        Rule indexed = rule("indexed", "target.alias == 'com.example.App'");
+        Rule unindexed = rule("unindexed", "true");
+        index.add(indexed);
+        index.add(unindexed);
+
+        index.remove("indexed");
+        index.remove("unindexed");
+
+        MatcherAssert.assertThat(index.getCandidates(target), Matchers.empty());
+    }
+
+    @Test
+    void shouldReplaceRulesWithSameName() throws Exception {
+        index.add(rule("rule", "target.alias == 'com.example.App'"));
+        Rule replacement = rule("rule", "target.alias == 'com.example.Other'");
+        index.add(replacement);
+
+        MatcherAssert.assertThat(index.getCandidates(target), Matchers.empty());
+    }
+
+    @Test
+    void shouldFilterCandidateTargetsForRule() throws Exception {
+        MatcherAssert.assertThat(
+                index.candidateFilter(rule("rule", "target.alias == 'com.example.App'"))
+                        .test(target),
+                Matchers.is(true));
+        MatcherAssert.assertThat(
+                index.candidateFilter(rule("rule", "target.alias == 'com.example.Other'"))
+                        .test(target),
+                Matchers.is(false));
+        MatcherAssert.assertThat(
+                index.candidateFilter(rule("rule", "/Other/.test(target.alias)")).test(target),
+                Matchers.is(true));
+    }
+}
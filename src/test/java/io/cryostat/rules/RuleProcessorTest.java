@@ -16,6 +16,7 @@
 package io.cryostat.rules;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -166,7 +167,8 @@ class RuleProcessorTest {
                         .archivalPeriodSeconds(67)
                         .build();
 
-        Mockito.when(registry.getRules(serviceRef)).thenReturn(Set.of(rule));
+        Mockito.when(registry.getRules(List.of(serviceRef)))
+                .thenReturn(Map.of(serviceRef, Set.of(rule)));
 
         IRecordingDescriptor autoRule = Mockito.mock(IRecordingDescriptor.class);
 
@@ -300,7 +302,8 @@ class RuleProcessorTest {
                         .eventSpecifier("archive")
                         .build();
 
-        Mockito.when(registry.getRules(serviceRef)).thenReturn(Set.of(rule));
+        Mockito.when(registry.getRules(List.of(serviceRef)))
+                .thenReturn(Map.of(serviceRef, Set.of(rule)));
 
         Mockito.when(recordingArchiveHelper.saveRecording(Mockito.any(), Mockito.any()))
                 .thenReturn(
@@ -377,7 +380,8 @@ class RuleProcessorTest {
                                                         arg0.getArgument(1))
                                                 .execute(connection)));
 
-        Mockito.when(registry.getRules(serviceRef)).thenReturn(Set.of(rule));
+        Mockito.when(registry.getRules(List.of(serviceRef)))
+                .thenReturn(Map.of(serviceRef, Set.of(rule)));
 
         IRecordingDescriptor autoRule = Mockito.mock(IRecordingDescriptor.class);
 
@@ -501,7 +505,8 @@ class RuleProcessorTest {
                         .archivalPeriodSeconds(67)
                         .build();
 
-        Mockito.when(registry.getRules(serviceRef)).thenReturn(Set.of(rule));
+        Mockito.when(registry.getRules(Set.of(serviceRef)))
+                .thenReturn(Map.of(serviceRef, Set.of(rule)));
 
         EventListener<CredentialsManager.CredentialsEvent, String> listener =
                 processor.credentialsListener();
@@ -590,7 +595,8 @@ class RuleProcessorTest {
                         .enabled(false)
                         .build();
 
-        Mockito.when(registry.getRules(serviceRef)).thenReturn(Set.of(rule));
+        Mockito.when(registry.getRules(List.of(serviceRef)))
+                .thenReturn(Map.of(serviceRef, Set.of(rule)));
 
         processor.accept(tde);
 
@@ -22,6 +22,7 @@ import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -219,6 +220,67 @@ class RuleRegistryTest {
                 Matchers.equalTo(Set.of(testRule)));
     }
 
+    @Test
+    void testGetRulesByServiceRefSkipsEvaluationForNonCandidates() throws Exception {
+        registry.addRule(testRule);
+
+        MatcherAssert.assertThat(
+                registry.getRules(
+                        new ServiceRef(
+                                "id",
+                                URI.create("service:jmx:rmi:///jndi/rmi://app:9091/jmxrmi"),
+                                "com.example.Other")),
+                Matchers.equalTo(Set.of()));
+        Mockito.verifyNoInteractions(matchExpressionEvaluator);
+    }
+
+    @Test
+    void testGetRulesByServiceRefBatch() throws Exception {
+        Mockito.when(matchExpressionEvaluator.applies(Mockito.any(), Mockito.any()))
+                .thenReturn(true);
+
+        registry.addRule(testRule);
+
+        ServiceRef app =
+                new ServiceRef(
+                        "id1",
+                        URI.create("service:jmx:rmi:///jndi/rmi://app:9091/jmxrmi"),
+                        "com.example.App");
+        ServiceRef other =
+                new ServiceRef(
+                        "id2",
+                        URI.create("service:jmx:rmi:///jndi/rmi://other:9091/jmxrmi"),
+                        "com.example.Other");
+
+        MatcherAssert.assertThat(
+                registry.getRules(List.of(app, other)),
+                Matchers.equalTo(Map.of(app, Set.of(testRule))));
+        Mockito.verify(matchExpressionEvaluator, Mockito.times(1))
+                .applies(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testGetTargetsForRule() throws Exception {
+        Mockito.when(matchExpressionEvaluator.applies(Mockito.any(), Mockito.any()))
+                .thenReturn(true);
+
+        ServiceRef app =
+                new ServiceRef(
+                        "id1",
+                        URI.create("service:jmx:rmi:///jndi/rmi://app:9091/jmxrmi"),
+                        "com.example.App");
+        ServiceRef other =
+                new ServiceRef(
+                        "id2",
+                        URI.create("service:jmx:rmi:///jndi/rmi://other:9091/jmxrmi"),
+                        "com.example.Other");
+
+        MatcherAssert.assertThat(
+                registry.getTargets(testRule, List.of(app, other)), Matchers.equalTo(Set.of(app)));
+        Mockito.verify(matchExpressionEvaluator).applies(testRule.getMatchExpression(), app);
+        Mockito.verifyNoMoreInteractions(matchExpressionEvaluator);
+    }
+
     @Test
     void testGetRulesByServiceRefIgnoresArchivers() throws Exception {
         Rule archiverRule =
@@ -0,0 +1,188 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.cryostat.net.ConnectionDescriptor;
+import io.cryostat.net.TargetConnectionManager;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InputToReadStreamTest {
+
+    static final int CHUNK_SIZE = 1024;
+
+    @Mock Context context;
+    @Mock TargetConnectionManager targetConnectionManager;
+    ConnectionDescriptor connectionDescriptor = new ConnectionDescriptor("fooHost:0");
+
+    // holds read tasks until the test runs them
+    Queue<Runnable> executor;
+    byte[] src;
+    ByteArrayInputStream source;
+    List<Buffer> received;
+    AtomicBoolean ended;
+    List<Throwable> errors;
+
+    @BeforeEach
+    void setup() {
+        Mockito.lenient()
+                .doAnswer(
+                        invocation -> {
+                            Handler<Void> action = invocation.getArgument(0);
+                            action.handle(null);
+                            return null;
+                        })
+                .when(context)
+                .runOnContext(Mockito.any());
+        this.executor = new ArrayDeque<>();
+        this.src = new byte[10 * CHUNK_SIZE + 100];
+        new Random(123456).nextBytes(src);
+        this.source = new ByteArrayInputStream(src);
+        this.received = new ArrayList<>();
+        this.ended = new AtomicBoolean();
+        this.errors = new ArrayList<>();
+    }
+
+    InputToReadStream stream(Duration keepAliveInterval) {
+        InputToReadStream stream =
+                new InputToReadStream(
+                        context,
+                        executor::add,
+                        source,
+                        targetConnectionManager,
+                        connectionDescriptor,
+                        CHUNK_SIZE,
+                        keepAliveInterval);
+        stream.endHandler(v -> ended.set(true));
+        stream.exceptionHandler(errors::add);
+        return stream;
+    }
+
+    void runReads() {
+        while (!executor.isEmpty()) {
+            executor.remove().run();
+        }
+    }
+
+    byte[] receivedBytes() {
+        Buffer all = Buffer.buffer();
+        received.forEach(all::appendBuffer);
+        return all.getBytes();
+    }
+
+    @Test
+    void shouldDeliverAllDataInChunksThenEnd() {
+        Mockito.when(targetConnectionManager.markConnectionInUse(connectionDescriptor))
+                .thenReturn(true);
+        InputToReadStream stream = stream(Duration.ZERO);
+        stream.handler(received::add);
+
+        runReads();
+
+        Assertions.assertArrayEquals(src, receivedBytes());
+        MatcherAssert.assertThat(received, Matchers.hasSize(11));
+        MatcherAssert.assertThat(received.get(0).length(), Matchers.equalTo(CHUNK_SIZE));
+        MatcherAssert.assertThat(ended.get(), Matchers.is(true));
+        MatcherAssert.assertThat(errors, Matchers.empty());
+    }
+
+    @Test
+    void shouldOnlyReadAheadOfDemandByAFewChunks() {
+        Mockito.when(targetConnectionManager.markConnectionInUse(connectionDescriptor))
+                .thenReturn(true);
+        InputToReadStream stream = stream(Duration.ZERO);
+        stream.pause();
+        stream.handler(received::add);
+
+        runReads();
+
+        MatcherAssert.assertThat(received, Matchers.empty());
+        MatcherAssert.assertThat(
+                source.available(),
+                Matchers.equalTo(src.length - InputToReadStream.READ_AHEAD_CHUNKS * CHUNK_SIZE));
+
+        stream.fetch(2);
+        runReads();
+
+        MatcherAssert.assertThat(received, Matchers.hasSize(2));
+        MatcherAssert.assertThat(
+                source.available(),
+                Matchers.equalTo(
+                        src.length - (InputToReadStream.READ_AHEAD_CHUNKS + 2) * CHUNK_SIZE));
+
+        stream.resume();
+        runReads();
+
+        Assertions.assertArrayEquals(src, receivedBytes());
+        MatcherAssert.assertThat(ended.get(), Matchers.is(true));
+    }
+
+    @Test
+    void shouldThrottleConnectionKeepAlive() {
+        Mockito.when(targetConnectionManager.markConnectionInUse(connectionDescriptor))
+                .thenReturn(true);
+        InputToReadStream stream = stream(Duration.ofHours(1));
+        stream.handler(received::add);
+
+        runReads();
+
+        Assertions.assertArrayEquals(src, receivedBytes());
+        // once before the first read and once after the last
+        Mockito.verify(targetConnectionManager, Mockito.times(2))
+                .markConnectionInUse(connectionDescriptor);
+    }
+
+    @Test
+    void shouldFailIfConnectionClosed() {
+        Mockito.when(targetConnectionManager.markConnectionInUse(connectionDescriptor))
+                .thenReturn(false);
+        InputToReadStream stream = stream(Duration.ZERO);
+        stream.handler(received::add);
+
+        runReads();
+
+        MatcherAssert.assertThat(received, Matchers.empty());
+        MatcherAssert.assertThat(ended.get(), Matchers.is(false));
+        MatcherAssert.assertThat(errors, Matchers.hasSize(1));
+        MatcherAssert.assertThat(errors.get(0), Matchers.instanceOf(IOException.class));
+        MatcherAssert.assertThat(
+                errors.get(0).getMessage(),
+                Matchers.equalTo(
+                        "Target connection unexpectedly closed while streaming recording"));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright The Cryostat Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.cryostat.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.buffer.Buffer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WriteStreamToInputStreamTest {
+
+    WriteStreamToInputStream stream;
+
+    @BeforeEach
+    void setup() {
+        this.stream = new WriteStreamToInputStream(8);
+    }
+
+    @Test
+    void shouldReadWrittenDataUntilEnd() throws Exception {
+        stream.write(Buffer.buffer("hello "));
+        stream.write(Buffer.buffer("world"));
+        stream.end();
+
+        MatcherAssert.assertThat(
+                new String(stream.readAllBytes(), StandardCharsets.UTF_8),
+                Matchers.equalTo("hello world"));
+        MatcherAssert.assertThat(stream.read(), Matchers.equalTo(-1));
+    }
+
+    @Test
+    void shouldBlockReaderUntilDataIsWritten() throws Exception {
+        CompletableFuture<Integer> read =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return stream.read();
+                            } catch (IOException e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        Thread.sleep(50);
+        MatcherAssert.assertThat(read.isDone(), Matchers.is(false));
+
+        stream.write(Buffer.buffer(new byte[] {42}));
+
+        MatcherAssert.assertThat(
+                Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> read.get()),
+                Matchers.equalTo(42));
+    }
+
+    @Test
+    void shouldApplyBackpressureAndDrainOnceHalfIsRead() throws Exception {
+        AtomicInteger drains = new AtomicInteger();
+        stream.write(Buffer.buffer("abcd"));
+        MatcherAssert.assertThat(stream.writeQueueFull(), Matchers.is(false));
+        stream.write(Buffer.buffer("efgh"));
+        MatcherAssert.assertThat(stream.writeQueueFull(), Matchers.is(true));
+        stream.drainHandler(v -> drains.incrementAndGet());
+
+        byte[] b = new byte[4];
+        MatcherAssert.assertThat(stream.read(b), Matchers.equalTo(4));
+        MatcherAssert.assertThat(drains.get(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(stream.writeQueueFull(), Matchers.is(false));
+
+        MatcherAssert.assertThat(stream.read(b), Matchers.equalTo(4));
+        MatcherAssert.assertThat(drains.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void shouldThrowAfterWrittenDataWhenFailed() throws Exception {
+        stream.write(Buffer.buffer("ab"));
+        stream.fail(new IllegalStateException("connection reset"));
+
+        MatcherAssert.assertThat(stream.read(), Matchers.equalTo((int) 'a'));
+        MatcherAssert.assertThat(stream.read(), Matchers.equalTo((int) 'b'));
+        IOException ioe = Assertions.assertThrows(IOException.class, () -> stream.read());
+        MatcherAssert.assertThat(ioe.getCause(), Matchers.instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    void closeShouldCallCloseHandlerBeforeEnd() {
+        AtomicInteger aborts = new AtomicInteger();
+        stream.closeHandler(v -> aborts.incrementAndGet());
+        stream.write(Buffer.buffer("ab"));
+
+        stream.close();
+        stream.close();
+
+        MatcherAssert.assertThat(aborts.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void closeShouldNotCallCloseHandlerAfterEnd() throws Exception {
+        AtomicInteger aborts = new AtomicInteger();
+        stream.closeHandler(v -> aborts.incrementAndGet());
+        stream.write(Buffer.buffer("ab"));
+        stream.end();
+
+        stream.close();
+
+        MatcherAssert.assertThat(aborts.get(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void closeShouldDiscardFurtherWritesAndReleaseWriter() throws Exception {
+        AtomicInteger drains = new AtomicInteger();
+        stream.write(Buffer.buffer("abcdefgh"));
+        stream.drainHandler(v -> drains.incrementAndGet());
+
+        stream.close();
+
+        MatcherAssert.assertThat(drains.get(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(stream.writeQueueFull(), Matchers.is(false));
+        stream.write(Buffer.buffer("ijklmnop"));
+        MatcherAssert.assertThat(stream.available(), Matchers.equalTo(0));
+        Assertions.assertThrows(IOException.class, () -> stream.read());
+    }
+}